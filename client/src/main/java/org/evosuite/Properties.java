@@ -125,6 +125,9 @@ public class Properties {
 	@Parameter(key = "reset_all_classes_during_assertion_generation", group = "Test Creation", description = "Test Generation does not apply the selective method of selection of class re-initalization")
 	public static boolean RESET_ALL_CLASSES_DURING_ASSERTION_GENERATION = true;
 
+	@Parameter(key = "reset_dirty_classes_only", group = "Test Creation", description = "Only re-initialize classes whose static state was possibly modified during the test execution (PUTSTATIC, or reads of static arrays/collections), also when all classes should be reset")
+	public static boolean RESET_DIRTY_CLASSES_ONLY = false;
+
 
 	@Parameter(key = "reset_standard_streams", group = "Test Creation", description = "Restore System.out, System.in and DebugGraphics.logStream after test execution")
 	public static boolean RESET_STANDARD_STREAMS = false;
@@ -304,6 +307,9 @@ public class Properties {
 	@Parameter(key = "migrants_communication_rate", group = "Test Creation", description = "Determines amount of migrants per communication step")
 	public static int MIGRANTS_COMMUNICATION_RATE = 3;
 
+	@Parameter(key = "share_covered_goals", group = "Test Creation", description = "When running several clients in parallel, inform each client of the goals covered by the others, so that no search budget is spent on them")
+	public static boolean SHARE_COVERED_GOALS = true;
+
 	// ---------------------------------------------------------------
 	// Search algorithm
 	public enum Algorithm {
@@ -663,12 +669,15 @@ public class Properties {
 	public static MutationProbabilityDistribution MUTATION_PROBABILITY_DISTRIBUTION = MutationProbabilityDistribution.UNIFORM;
 
 	public enum SecondaryObjective {
-		AVG_LENGTH, MAX_LENGTH, TOTAL_LENGTH, SIZE, EXCEPTIONS, IBRANCH, RHO
+		AVG_LENGTH, MAX_LENGTH, TOTAL_LENGTH, SIZE, EXCEPTIONS, IBRANCH, RHO, COST
 	}
 
 	@Parameter(key = "secondary_objectives", group = "Search Algorithm", description = "Secondary objective during search")
 	public static SecondaryObjective[] SECONDARY_OBJECTIVE = new SecondaryObjective[] { SecondaryObjective.TOTAL_LENGTH };
 
+	@Parameter(key = "profile_execution_cost", group = "Search Algorithm", description = "Measure CPU time and allocated bytes of each executed statement (always on with the COST secondary objective)")
+	public static boolean PROFILE_EXECUTION_COST = false;
+
 	@Parameter(key = "enable_secondary_objective_after", group = "Search Algorithm", description = "Activate the second secondary objective after a certain amount of search budget")
 	public static int ENABLE_SECONDARY_OBJECTIVE_AFTER = 0;
 
@@ -788,6 +797,12 @@ public class Properties {
 	@Parameter(key = "ctg_min_time_per_job", group = "Continuous Test Generation", description = "How many minutes each class under test should have at least")
 	public static int CTG_MIN_TIME_PER_JOB = 1;
 
+	@Parameter(key = "ctg_donate_unused_budget", group = "Continuous Test Generation", description = "If true, the time not used by jobs that finish early is given to the jobs still waiting to be executed")
+	public static boolean CTG_DONATE_UNUSED_BUDGET = true;
+
+	@Parameter(key = "ctg_memory_aware", group = "Continuous Test Generation", description = "If true, do not start a new job while other jobs are running and the machine has not enough free physical memory for it")
+	public static boolean CTG_MEMORY_AWARE = true;
+
 	@Parameter(key = "ctg_dir", group = "Continuous Test Generation", description = "Where generated files will be stored")
 	public static String CTG_DIR = ".evosuite";
 
@@ -827,6 +842,9 @@ public class Properties {
 	@Parameter(key = "ctg_project_info", group = "Continuous Test Generation", description = "XML file which stores stats about all CTG executions")
 	public static String CTG_PROJECT_INFO = "project_info.xml";
 
+	@Parameter(key = "ctg_incremental", group = "Continuous Test Generation", description = "If true, only generate tests for the classes whose bytecode, or the bytecode of the project classes they use, changed since the last CTG run")
+	public static boolean CTG_INCREMENTAL = false;
+
 	@Parameter(key = "ctg_history_file", group = "Continuous Test Generation", description = "File with the list of new(A)/modified(M)/deleted(D) files")
 	public static String CTG_HISTORY_FILE = null;
 
@@ -913,6 +931,9 @@ public class Properties {
 	@Parameter(key = "coverage_matrix_filename", group = "Output", description = "File to which the coverage matrix is written")
 	public static String COVERAGE_MATRIX_FILENAME = "matrix";
 
+	@Parameter(key = "coverage_matrix_cache", group = "Output", description = "Store in the report dir which goals are covered by each JUnit test, and reuse it when measuring coverage again if neither the tests nor the SUT have changed")
+	public static boolean COVERAGE_MATRIX_CACHE = false;
+
 	@Parameter(key = "junit_tests", group = "Output", description = "Create JUnit test suites")
 	public static boolean JUNIT_TESTS = true;
 
@@ -923,6 +944,9 @@ public class Properties {
 	@Parameter(key = "junit_check", group = "Output", description = "Compile and run resulting JUnit test suite (if any was created)")
 	public static JUnitCheckValues JUNIT_CHECK = JUnitCheckValues.TRUE;
 
+	@Parameter(key = "junit_check_repetitions", group = "Output", description = "How many times the generated JUnit tests are run to check if they are stable. Each run uses freshly loaded classes")
+	public static int JUNIT_CHECK_REPETITIONS = 1;
+
 	@Parameter(key = "junit_check_on_separate_process", group = "Output", description = "Compile and run resulting JUnit test suite on a separate process")
 	@Deprecated
 	//this gives quite a few issues. and hopefully the problems it was aimed to fix are no longer
@@ -983,6 +1007,9 @@ public class Properties {
 	@Deprecated
 	public static boolean MINIMIZE_OLD = false;
 
+	@Parameter(key = "minimize_ddmin", group = "Output", description = "Minimize test cases with delta debugging, removing chunks of statements before single statements")
+	public static boolean MINIMIZE_DDMIN = true;
+
 	@Parameter(key = "minimize_values", group = "Output", description = "Minimize constants and method calls")
 	public static boolean MINIMIZE_VALUES = false;
 
@@ -1124,6 +1151,9 @@ public class Properties {
     @Parameter(key = "timeline_interpolation", group = "Output", description = "Interpolate timeline values")
     public static boolean TIMELINE_INTERPOLATION = true;
 
+	@Parameter(key = "timeline_raw_data", group = "Output", description = "Also append all the samples of the timeline variables to timelines.bin in the report dir, as length-prefixed primitive columns")
+	public static boolean TIMELINE_RAW_DATA = false;
+
     public enum OutputGranularity {
 		MERGED, TESTCASE
 	}
@@ -1190,6 +1220,9 @@ public class Properties {
 	@Parameter(key = "branch_eval", description = "Jeremy's branch evaluation")
 	public static boolean BRANCH_EVAL = false;
 
+	@Parameter(key = "max_trace_entries", description = "Maximum number of branch entries kept in the method call trace of a single execution; beyond this, calls are summarized per method, which loses the order of the trace (0 = unbounded)")
+	public static int MAX_TRACE_ENTRIES = 0;
+
 	@Parameter(key = "branch_statement", description = "Require statement coverage for branch coverage")
 	public static boolean BRANCH_STATEMENT = false;
 
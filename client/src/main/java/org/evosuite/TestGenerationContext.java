@@ -40,6 +40,7 @@ import org.evosuite.graphs.cfg.BytecodeInstructionPool;
 import org.evosuite.graphs.cfg.CFGMethodAdapter;
 import org.evosuite.instrumentation.InstrumentingClassLoader;
 import org.evosuite.instrumentation.LinePool;
+import org.evosuite.instrumentation.MutableInstanceAnalyzer;
 import org.evosuite.runtime.Runtime;
 import org.evosuite.runtime.classhandling.ModifiedTargetStaticFields;
 import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
@@ -157,6 +158,7 @@ public class TestGenerationContext {
 		// TODO: BranchPool should not be static
 		BranchPool.getInstance(classLoader).reset();
 		RemoveFinalClassAdapter.reset();
+		MutableInstanceAnalyzer.clearAll();
 		LinePool.reset();
 		MutationPool.getInstance(classLoader).clear();
 
@@ -68,6 +68,7 @@ import java.io.File;
 import java.lang.reflect.Method;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main entry point. Does all the static analysis, invokes a test generation
@@ -280,6 +281,47 @@ public class TestSuiteGenerator {
 		ClassReInitializer.getInstance().setReInitializeAllClasses(reset_all_classes);
 	}
 
+	/**
+	 * Reports how much the loops in the CUT were exercised during the search
+	 */
+	private void publishLoopStatistics() {
+		LoopCounter loopCounter = LoopCounter.getInstance();
+		ClientServices.track(RuntimeVariable.Max_Loop_Iterations, loopCounter.getMaxIterations());
+		ClientServices.track(RuntimeVariable.Exceeded_Loop_Budgets, loopCounter.getNumberOfExceededBudgets());
+		if (logger.isDebugEnabled()) {
+			for (String loop : loopCounter.getHottestLoops(5)) {
+				logger.debug("Hot loop: " + loop);
+			}
+		}
+	}
+
+	/**
+	 * Reports how much the re-initialization of classes after each test execution cost during the search
+	 */
+	private void publishClassResetStatistics() {
+		Map<String, Integer> counts = ClassReInitializer.getInstance().getResetCounts();
+		Map<String, Long> times = ClassReInitializer.getInstance().getResetTimes();
+
+		int resets = 0;
+		for (int count : counts.values()) {
+			resets += count;
+		}
+		long nanos = 0L;
+		for (long time : times.values()) {
+			nanos += time;
+		}
+		ClientServices.track(RuntimeVariable.Class_Resets, resets);
+		ClientServices.track(RuntimeVariable.Class_Reset_Time, TimeUnit.NANOSECONDS.toMillis(nanos));
+
+		if (logger.isDebugEnabled()) {
+			times.entrySet().stream()
+					.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+					.limit(5)
+					.forEach(e -> logger.debug("Class " + e.getKey() + " was reset " + counts.get(e.getKey())
+							+ " times, in " + TimeUnit.NANOSECONDS.toMillis(e.getValue()) + "ms"));
+		}
+	}
+
 	private static void writeJUnitTestSuiteForFailedInitialization() throws EvosuiteError {
 		TestSuiteChromosome suite = new TestSuiteChromosome();
 		DefaultTestCase test = buildLoadTargetClassTestCase(Properties.TARGET_CLASS);
@@ -637,6 +679,8 @@ public class TestSuiteGenerator {
 		TestSuiteGeneratorHelper.getBytecodeStatistics();
 
 		ClientServices.getInstance().getClientNode().publishPermissionStatistics();
+		publishLoopStatistics();
+		publishClassResetStatistics();
 
 		writeObjectPool(testSuite);
 
@@ -132,15 +132,15 @@ public abstract class AssertionGenerator {
 			result = TestCaseExecutor.getInstance().execute(test);
 			int num = test.size();
 			MaxStatementsStoppingCondition.statementsExecuted(num);
-			result.setTrace(comparisonObserver.getTrace(), ComparisonTraceEntry.class);
-			result.setTrace(primitiveObserver.getTrace(), PrimitiveTraceEntry.class);
-			result.setTrace(inspectorObserver.getTrace(), InspectorTraceEntry.class);
-			result.setTrace(fieldObserver.getTrace(), PrimitiveFieldTraceEntry.class);
-			result.setTrace(nullObserver.getTrace(), NullTraceEntry.class);
-			result.setTrace(sameObserver.getTrace(), SameTraceEntry.class);
-			result.setTrace(arrayObserver.getTrace(), ArrayTraceEntry.class);
-			result.setTrace(arrayLengthObserver.getTrace(), ArrayLengthTraceEntry.class);
-			result.setTrace(containsTraceObserver.getTrace(), ContainsTraceEntry.class);
+			result.setTrace(comparisonObserver.detachTrace(), ComparisonTraceEntry.class);
+			result.setTrace(primitiveObserver.detachTrace(), PrimitiveTraceEntry.class);
+			result.setTrace(inspectorObserver.detachTrace(), InspectorTraceEntry.class);
+			result.setTrace(fieldObserver.detachTrace(), PrimitiveFieldTraceEntry.class);
+			result.setTrace(nullObserver.detachTrace(), NullTraceEntry.class);
+			result.setTrace(sameObserver.detachTrace(), SameTraceEntry.class);
+			result.setTrace(arrayObserver.detachTrace(), ArrayTraceEntry.class);
+			result.setTrace(arrayLengthObserver.detachTrace(), ArrayLengthTraceEntry.class);
+			result.setTrace(containsTraceObserver.detachTrace(), ContainsTraceEntry.class);
 		} catch (Exception e) {
 			throw new Error(e);
 		}
@@ -197,4 +197,16 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
 		return trace.clone();
 	}
 
+	/**
+	 * Hand over the trace recorded so far, and start recording a new one.
+	 * Unlike {@link #getTrace()}, no entry is copied
+	 * 
+	 * @return a {@link org.evosuite.assertion.OutputTrace} object.
+	 */
+	public synchronized OutputTrace<T> detachTrace() {
+		OutputTrace<T> recorded = trace;
+		trace = new OutputTrace<>();
+		return recorded;
+	}
+
 }
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -40,6 +42,9 @@ public class Inspector implements Serializable {
 
 	private transient Method method;
 
+	/** Resolved on first use, and again after the method changes */
+	private transient MethodHandle handle;
+
 	/**
 	 * <p>
 	 * Constructor for Inspector.
@@ -86,7 +91,17 @@ public class Inspector implements Serializable {
 		Object ret = null;
 
 		try {
-			ret = this.method.invoke(object);
+			MethodHandle mh = getHandle();
+			if (mh == null) {
+				ret = this.method.invoke(object);
+			} else {
+				try {
+					ret = mh.invoke(object);
+				} catch (Throwable t) {
+					// same as reflection, which wraps whatever the inspector throws
+					throw new InvocationTargetException(t);
+				}
+			}
 		} finally {
 			if(needsSandbox) {
 				if(!safe)
@@ -99,6 +114,18 @@ public class Inspector implements Serializable {
 		return ret;
 	}
 
+	private MethodHandle getHandle() {
+		if (handle == null) {
+			try {
+				handle = MethodHandles.lookup().unreflect(method);
+			} catch (IllegalAccessException e) {
+				// keep using reflection
+				return null;
+			}
+		}
+		return handle;
+	}
+
 	/**
 	 * <p>
 	 * Getter for the field <code>method</code>.
@@ -235,6 +262,7 @@ public class Inspector implements Serializable {
 					if (equals) {
 						this.method = newMethod;
 						this.method.setAccessible(true);
+						this.handle = null;
 						return;
 					}
 				}
@@ -68,6 +68,26 @@ public class InspectorTraceObserver extends AssertionTraceObserver<InspectorTrac
 
 		InspectorTraceEntry entry = new InspectorTraceEntry(var);
 
+		// The target is the same for all inspectors, so only look it up once
+		Object target = null;
+		if (!inspectors.isEmpty()) {
+			try {
+				target = var.getObject(scope);
+			} catch (Exception e) {
+				logger.debug("Exception " + e + " / " + e.getCause());
+			}
+		}
+
+		if (target != null) {
+			String targetClassName = target.getClass().getCanonicalName();
+			// Don't call inspector methods on mock objects
+			if (targetClassName != null && targetClassName.contains("EnhancerByMockito"))
+				return;
+			// Anonymous and local classes have no canonical name, and never got inspector values
+			if (targetClassName == null)
+				target = null;
+		}
+
 		for (Inspector i : inspectors) {
 
 			// No inspectors from java.lang.Object
@@ -75,13 +95,8 @@ public class InspectorTraceObserver extends AssertionTraceObserver<InspectorTrac
 				continue;
 
 			try {
-				Object target = var.getObject(scope);
 				if (target != null) {
 
-					// Don't call inspector methods on mock objects
-					if(target.getClass().getCanonicalName().contains("EnhancerByMockito"))
-						return;
-
 					Object value = i.getValue(target);
 					logger.debug("Inspector " + i.getMethodCall() + " is: " + value);
 
@@ -148,15 +148,15 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
 			int num = test.size();
 			MaxStatementsStoppingCondition.statementsExecuted(num);
 
-			result.setTrace(comparisonObserver.getTrace(), ComparisonTraceEntry.class);
-			result.setTrace(sameObserver.getTrace(), SameTraceEntry.class);
-			result.setTrace(primitiveObserver.getTrace(), PrimitiveTraceEntry.class);
-			result.setTrace(inspectorObserver.getTrace(), InspectorTraceEntry.class);
-			result.setTrace(fieldObserver.getTrace(), PrimitiveFieldTraceEntry.class);
-			result.setTrace(nullObserver.getTrace(), NullTraceEntry.class);
-			result.setTrace(arrayObserver.getTrace(), ArrayTraceEntry.class);
-			result.setTrace(arrayLengthObserver.getTrace(), ArrayLengthTraceEntry.class);
-			result.setTrace(containsTraceObserver.getTrace(), ContainsTraceEntry.class);
+			result.setTrace(comparisonObserver.detachTrace(), ComparisonTraceEntry.class);
+			result.setTrace(sameObserver.detachTrace(), SameTraceEntry.class);
+			result.setTrace(primitiveObserver.detachTrace(), PrimitiveTraceEntry.class);
+			result.setTrace(inspectorObserver.detachTrace(), InspectorTraceEntry.class);
+			result.setTrace(fieldObserver.detachTrace(), PrimitiveFieldTraceEntry.class);
+			result.setTrace(nullObserver.detachTrace(), NullTraceEntry.class);
+			result.setTrace(arrayObserver.detachTrace(), ArrayTraceEntry.class);
+			result.setTrace(arrayLengthObserver.detachTrace(), ArrayLengthTraceEntry.class);
+			result.setTrace(containsTraceObserver.detachTrace(), ContainsTraceEntry.class);
 
 		} catch (Exception e) {
 			throw new Error(e);
@@ -232,33 +232,37 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
 	 */
 	protected int getNumKilledMutants(TestCase test, Map<Mutation, List<OutputTrace<?>>> mutation_traces,
 			List<Mutation> executedMutants) {
-		List<Assertion> assertions;
 		Set<Integer> killed = new HashSet<>();
-		assertions = test.getAssertions();
-		for (Assertion assertion : assertions) {
-			for (Mutation m : executedMutants) {
-
-				boolean isKilled = false;
-				if (mutation_traces.containsKey(m)) {
-					int i = 0;
-					for (OutputTrace<?> trace : mutation_traces.get(m)) {
-						isKilled = trace.isDetectedBy(assertion);
-						if (isKilled) {
-							logger.debug("Mutation killed: " + m.getId() + " by trace " + i++);
-							killed.add(m.getId());
-							break;
-						}
-						i++;
-					}
-				} else {
-					isKilled = true;
-				}
+		List<Assertion> assertions = test.getAssertions();
+		// once a mutant is killed by one assertion, there is no need to check the others
+		for (Mutation m : executedMutants) {
+			List<OutputTrace<?>> traces = mutation_traces.get(m);
+			if (traces != null && isDetectedByAny(assertions, traces)) {
+				logger.debug("Mutation killed: " + m.getId());
+				killed.add(m.getId());
 			}
 		}
 		logger.debug("Killed mutants: " + killed);
 		return killed.size();
 	}
 
+	/**
+	 * Returns true if any of the assertions fails on any of the traces
+	 * 
+	 * @param assertions
+	 * @param traces
+	 * @return
+	 */
+	protected boolean isDetectedByAny(List<Assertion> assertions, List<OutputTrace<?>> traces) {
+		for (Assertion assertion : assertions) {
+			for (OutputTrace<?> trace : traces) {
+				if (trace.isDetectedBy(assertion))
+					return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Returns true if the statement has nothing but null assertions
 	 * 
@@ -236,6 +236,21 @@ public class OutputTrace<T extends OutputTraceEntry> implements Cloneable {
 	public boolean isDetectedBy(Assertion assertion) {
 		assert (assertion.isValid());
 
+		VariableReference source = assertion.getSource();
+		if (source != null) {
+			/*
+			 * Entries only detect assertions on the variable they are stored for,
+			 * so there is no need to look at the other variables
+			 */
+			Integer var = source.getStPosition();
+			for (Map<Integer, T> entries : trace.values()) {
+				T entry = entries.get(var);
+				if (entry != null && entry.isDetectedBy(assertion))
+					return true;
+			}
+			return false;
+		}
+
 		for (Integer statement : trace.keySet()) {
 			for (Integer var : trace.get(statement).keySet()) {
 				if (trace.get(statement).get(var).isDetectedBy(assertion))
@@ -21,14 +21,17 @@ package org.evosuite.ga.archive;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.SecondaryObjective;
+import org.evosuite.rmi.ClientServices;
 import org.evosuite.runtime.util.AtMostOnceLogger;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.testcase.TestCase;
@@ -74,6 +77,12 @@ public abstract class Archive implements Serializable {
    */
   protected boolean hasBeenUpdated = false;
 
+  /**
+   * Keys (see {@link ArchiveUtils#getGoalKey}) of the targets that have been covered by other
+   * clients running in parallel. These are updated asynchronously by the RMI thread.
+   */
+  protected final Set<String> coveredElsewhere = ConcurrentHashMap.newKeySet();
+
   /**
    * Register a target.
    *
@@ -131,6 +140,51 @@ public abstract class Archive implements Serializable {
     }
   }
 
+  /**
+   * Informs the other clients running in parallel (if any) that a target has been covered by this
+   * client.
+   *
+   * @param target the newly covered target
+   */
+  protected void publishCoveredTarget(TestFitnessFunction target) {
+    if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.SHARE_COVERED_GOALS) {
+      ClientServices.getInstance().getClientNode()
+          .publishCoveredGoals(Collections.singleton(ArchiveUtils.getGoalKey(target)));
+    }
+  }
+
+  /**
+   * Records that targets have been covered by some other client running in parallel.
+   *
+   * @param targetKeys keys of the covered targets
+   */
+  public void markCoveredElsewhere(Collection<String> targetKeys) {
+    this.coveredElsewhere.addAll(targetKeys);
+  }
+
+  /**
+   * Returns true if the target has been covered by some other client running in parallel, false
+   * otherwise. Note that the target might not be covered by any solution of this archive.
+   *
+   * @param target
+   * @return true if the target has been covered by another client
+   */
+  public boolean isCoveredElsewhere(TestFitnessFunction target) {
+    return !this.coveredElsewhere.isEmpty()
+        && this.coveredElsewhere.contains(ArchiveUtils.getGoalKey(target));
+  }
+
+  /**
+   * Returns the number of targets covered by other clients running in parallel. As that number only
+   * grows during the search, it can be used to cheaply check whether new targets have been covered
+   * elsewhere.
+   *
+   * @return number of targets covered by other clients
+   */
+  public int getNumberOfTargetsCoveredElsewhere() {
+    return this.coveredElsewhere.size();
+  }
+
   /**
    * Updates the archive by adding a chromosome solution that covers a target, or by replacing an
    * existing solution if the new one is better.
@@ -242,7 +296,8 @@ public abstract class Archive implements Serializable {
   public abstract Set<TestFitnessFunction> getCoveredTargets();
 
   /**
-   * Returns the total number of targets that have not been covered by any solution.
+   * Returns the total number of targets that have not been covered by any solution, nor by any
+   * other client running in parallel.
    * 
    * @return
    */
@@ -250,7 +305,8 @@ public abstract class Archive implements Serializable {
 
   /**
    * Returns the total number of targets (of a specific type) that have not been covered by any
-   * solution.
+   * solution. Targets covered by other clients are still counted, as they are not covered by this
+   * archive.
    * 
    * @param targetClass
    * @return
@@ -258,7 +314,8 @@ public abstract class Archive implements Serializable {
   public abstract int getNumberOfUncoveredTargets(Class<?> targetClass);
 
   /**
-   * Returns a set of all targets that have not been covered by any solution.
+   * Returns a set of all targets that have not been covered by any solution, nor by any other
+   * client running in parallel.
    * 
    * @return
    */
@@ -512,6 +569,7 @@ public abstract class Archive implements Serializable {
    */
   public void reset() {
     this.nonCoveredTargetsOfEachMethod.clear();
+    this.coveredElsewhere.clear();
   }
 
   /**
@@ -187,4 +187,15 @@ public final class ArchiveUtils {
 
     return false;
   }
+
+  /**
+   * Returns a key that identifies a goal across different client processes, as goal objects
+   * themselves are created independently by each client.
+   *
+   * @param goal a {@link org.evosuite.testcase.TestFitnessFunction} object
+   * @return the key of the goal
+   */
+  public static String getGoalKey(FitnessFunction<TestChromosome> goal) {
+    return goal.getClass().getName() + ":" + goal.toString();
+  }
 }
@@ -34,6 +34,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Coverage Archive.
@@ -106,6 +107,9 @@ public class CoverageArchive extends Archive {
       // covered targets but it has been considered a better solution
       this.addToArchive(target, solution);
     }
+    if (isNewCoveredTarget) {
+      this.publishCoveredTarget(target);
+    }
   }
 
   private void addToArchive(TestFitnessFunction target, TestChromosome solution) {
@@ -168,7 +172,10 @@ public class CoverageArchive extends Archive {
    */
   @Override
   public int getNumberOfUncoveredTargets() {
-    return this.uncovered.size();
+    if (this.coveredElsewhere.isEmpty()) {
+      return this.uncovered.size();
+    }
+    return this.getUncoveredTargets().size();
   }
 
   /**
@@ -184,13 +191,17 @@ public class CoverageArchive extends Archive {
    */
   @Override
   public Set<TestFitnessFunction> getUncoveredTargets() {
-    return this.uncovered;
+    if (this.coveredElsewhere.isEmpty()) {
+      return this.uncovered;
+    }
+    return this.uncovered.stream().filter(target -> !this.isCoveredElsewhere(target))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
   }
 
   private Set<TestFitnessFunction> getTargets() {
     Set<TestFitnessFunction> targets = new LinkedHashSet<>();
     targets.addAll(this.getCoveredTargets());
-    targets.addAll(this.getUncoveredTargets());
+    targets.addAll(this.uncovered);
     return targets;
   }
 
@@ -96,6 +96,7 @@ public class MIOArchive extends Archive {
     if (isNewCoveredTarget) {
       this.removeNonCoveredTargetOfAMethod(target);
       this.hasBeenUpdated = true;
+      this.publishCoveredTarget(target);
     }
   }
 
@@ -155,8 +156,9 @@ public class MIOArchive extends Archive {
    */
   @Override
   public int getNumberOfUncoveredTargets(Class<?> targetClass) {
-    return (int) this.getUncoveredTargets().stream()
-            .filter(target -> target.getClass() == targetClass)
+    return (int) this.archive.keySet().stream()
+            .filter(target -> target.getClass() == targetClass
+                && !this.archive.get(target).isCovered())
             .count();
   }
 
@@ -166,7 +168,8 @@ public class MIOArchive extends Archive {
   @Override
   public Set<TestFitnessFunction> getUncoveredTargets() {
     return this.archive.keySet().stream()
-            .filter(target -> !this.archive.get(target).isCovered())
+            .filter(target -> !this.archive.get(target).isCovered()
+                && !this.isCoveredElsewhere(target))
             .collect(toSet());
   }
 
@@ -219,8 +222,10 @@ public class MIOArchive extends Archive {
       return null;
     }
 
+    // targets already covered by other clients running in parallel are not worth any more budget
     List<TestFitnessFunction> potentialTargets = targetsWithSolutions.stream()
-        .filter(target -> !this.archive.get(target).isCovered()).collect(toList());
+        .filter(target -> !this.archive.get(target).isCovered() && !this.isCoveredElsewhere(target))
+        .collect(toList());
 
     if (potentialTargets.isEmpty()) {
       potentialTargets =
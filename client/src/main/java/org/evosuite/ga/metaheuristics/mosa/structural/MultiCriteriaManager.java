@@ -91,6 +91,12 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 	 */
 	private final Map<String, TestFitnessFunction> branchlessMethodCoverageMap = new LinkedHashMap<>();
 
+	/**
+	 * Number of goals covered by other clients running in parallel that have already been taken
+	 * into account when updating the current goals.
+	 */
+	private int numGoalsCoveredElsewhere = 0;
+
 	/**
 	 * Creates a new {@code MultiCriteriaManager} with the given list of targets. The targets are
 	 * encoded as fitness functions, which are expected to be minimization functions.
@@ -188,14 +194,14 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 				ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
 				BytecodeInstructionPool pool = BytecodeInstructionPool.getInstance(loader);
 				if (pool.getInstructionsIn(output.getClassName(), output.getMethod()) == null){
-					this.currentGoals.add(ff);
+					addCurrentGoal(ff);
 					continue;
 				}
 				for (BytecodeInstruction instruction : pool.getInstructionsIn(output.getClassName(), output.getMethod())) {
 					if (instruction.getBasicBlock() != null){
 						Set<ControlDependency> cds = instruction.getBasicBlock().getControlDependencies();
 						if (cds.size()==0){
-							this.currentGoals.add(ff);
+							addCurrentGoal(ff);
 						} else {
 							for (ControlDependency cd : cds) {
 								BranchCoverageTestFitness fitness = BranchCoverageFactory.createBranchCoverageTestFitness(cd);
@@ -220,14 +226,14 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 				ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
 				BytecodeInstructionPool pool = BytecodeInstructionPool.getInstance(loader);
 				if (pool.getInstructionsIn(input.getClassName(), input.getMethod()) == null) {
-					this.currentGoals.add(ff);
+					addCurrentGoal(ff);
 					continue;
 				}
 				for (BytecodeInstruction instruction : pool.getInstructionsIn(input.getClassName(), input.getMethod())) {
 					if (instruction.getBasicBlock() != null){
 						Set<ControlDependency> cds = instruction.getBasicBlock().getControlDependencies();
 						if (cds.size()==0){
-							this.currentGoals.add(ff);
+							addCurrentGoal(ff);
 						} else {
 							for (ControlDependency cd : cds) {
 								BranchCoverageTestFitness fitness = BranchCoverageFactory.createBranchCoverageTestFitness(cd);
@@ -291,7 +297,7 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 				WeakMutationTestFitness mutation = (WeakMutationTestFitness) ff;
 				Set<BranchCoverageGoal> goals = mutation.getMutation().getControlDependencies();
 				if (goals.size() == 0){
-					this.currentGoals.add(ff);
+					addCurrentGoal(ff);
 				} else {
 					for (BranchCoverageGoal goal : goals) {
 						BranchCoverageTestFitness fitness = new BranchCoverageTestFitness(goal);
@@ -313,7 +319,7 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 				StrongMutationTestFitness mutation = (StrongMutationTestFitness) ff;
 				Set<BranchCoverageGoal> goals = mutation.getMutation().getControlDependencies();
 				if (goals.size() == 0){
-					this.currentGoals.add(ff);
+					addCurrentGoal(ff);
 				} else {
 					for (BranchCoverageGoal goal : goals) {
 						BranchCoverageTestFitness fitness = new BranchCoverageTestFitness(goal);
@@ -338,7 +344,7 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 				BytecodeInstruction instruction = pool.getFirstInstructionAtLineNumber(line.getClassName(), line.getMethod(), line.getLine());
 				Set<ControlDependency> cds = instruction.getControlDependencies();
 				if(cds.size() == 0)
-					this.currentGoals.add(ff);
+					addCurrentGoal(ff);
 				else {
 					for (ControlDependency cd : cds) {
 						BranchCoverageTestFitness fitness = BranchCoverageFactory.createBranchCoverageTestFitness(cd);
@@ -359,7 +365,7 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 			if (ff instanceof StatementCoverageTestFitness){
 				StatementCoverageTestFitness stmt = (StatementCoverageTestFitness) ff;
 				if (stmt.getBranchFitnesses().size() == 0)
-					this.currentGoals.add(ff);
+					addCurrentGoal(ff);
 				else {
 					for (BranchCoverageTestFitness branch : stmt.getBranchFitnesses()) {
 						this.dependencies.get(branch).add(stmt);
@@ -387,6 +393,8 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 		c.setLastExecutionResult(result);
 		c.setChanged(false);
 
+		skipGoalsCoveredElsewhere();
+
 		// If the test failed to execute properly, or if the test does not cover anything,
     	// it means none of the current gaols could be reached.
 		if (result.hasTimeout() || result.hasTestException() || result.getTrace().getCoveredLines().size() == 0){
@@ -438,6 +446,16 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 						targets.addLast(dependentTarget);
 					}
 				}
+			} else if (this.archive.isCoveredElsewhere(target)) {
+				/*
+				 * Another client has already covered this goal, so it must not become a current
+				 * goal again. As in skipGoalsCoveredElsewhere(), its children take its place.
+				 */
+				currentGoals.remove(target);
+				if (target instanceof BranchCoverageTestFitness) {
+					targets.addAll(graph.getStructuralChildren(target));
+					targets.addAll(dependencies.get(target));
+				}
 			} else {
 				currentGoals.add(target); // marks the goal as uncovered
 			}
@@ -485,6 +503,52 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 		}
 	}
 
+	/**
+	 * Adds the given goal to the current goals, unless it has already been covered by another
+	 * client running in parallel.
+	 *
+	 * @param goal the goal to add
+	 */
+	private void addCurrentGoal(TestFitnessFunction goal) {
+		if (!this.archive.isCoveredElsewhere(goal)) {
+			this.currentGoals.add(goal);
+		}
+	}
+
+	/**
+	 * Replaces the current goals that have been covered by other clients running in parallel with
+	 * their structural children and dependent goals, as if they had been covered by this client.
+	 * This way no search budget is spent on goals another client has already covered.
+	 */
+	protected void skipGoalsCoveredElsewhere() {
+		int numCoveredElsewhere = this.archive.getNumberOfTargetsCoveredElsewhere();
+		if (numCoveredElsewhere == this.numGoalsCoveredElsewhere) {
+			return;
+		}
+		this.numGoalsCoveredElsewhere = numCoveredElsewhere;
+
+		Set<TestFitnessFunction> coveredGoals = this.getCoveredGoals();
+		Set<TestFitnessFunction> visitedTargets = new HashSet<>();
+		LinkedList<TestFitnessFunction> targets = new LinkedList<>(this.currentGoals);
+		while (!targets.isEmpty()) {
+			TestFitnessFunction target = targets.poll();
+			if (!visitedTargets.add(target) || coveredGoals.contains(target)) {
+				continue;
+			}
+
+			if (!this.archive.isCoveredElsewhere(target)) {
+				currentGoals.add(target);
+				continue;
+			}
+
+			currentGoals.remove(target);
+			if (target instanceof BranchCoverageTestFitness) {
+				targets.addAll(graph.getStructuralChildren(target));
+				targets.addAll(dependencies.get(target));
+			}
+		}
+	}
+
 	/**
 	 * This method analyzes the execution results of a TestChromosome looking for generated exceptions.
 	 * Such exceptions are converted in instances of the class {@link ExceptionCoverageTestFitness},
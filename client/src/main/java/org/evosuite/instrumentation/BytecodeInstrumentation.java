@@ -178,7 +178,7 @@ public class BytecodeInstrumentation {
 		}
 
 		if (Properties.RESET_STATIC_FIELDS) {
-			cv = new StaticAccessClassAdapter(cv, className);
+			cv = new StaticAccessClassAdapter(cv, className, classLoader);
 		}
 
 		if (Properties.PURE_INSPECTORS) {
@@ -19,6 +19,7 @@
  */
 package org.evosuite.instrumentation;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -92,21 +93,42 @@ public class InstrumentingClassLoader extends ClassLoader {
 		String className = fullyQualifiedTargetClass.replace('.', '/');
 
 		try(InputStream is = new FileInputStream(new File(fileName))) {
+			Class<?> result = defineFromStream(fullyQualifiedTargetClass, className, is);
+			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from "+fileName);
+			return result;
+		} catch (Throwable t) {
+			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+			throw new ClassNotFoundException(t.getMessage(), t);
+		}
+	}
 
-			byte[] byteBuffer = getTransformedBytes(className, is);
-
-			createPackageDefinition(fullyQualifiedTargetClass);
-			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+	/**
+	 * Load a class from its bytecode, eg compiled in memory without writing
+	 * any file to disk
+	 */
+	public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytes) throws ClassNotFoundException {
 
-			classes.put(fullyQualifiedTargetClass, result);
+		String className = fullyQualifiedTargetClass.replace('.', '/');
 
-			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from "+fileName);
+		try(InputStream is = new ByteArrayInputStream(bytes)) {
+			Class<?> result = defineFromStream(fullyQualifiedTargetClass, className, is);
+			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from memory");
 			return result;
 		} catch (Throwable t) {
 			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
 			throw new ClassNotFoundException(t.getMessage(), t);
 		}
 	}
+
+	private Class<?> defineFromStream(String fullyQualifiedTargetClass, String className, InputStream is) throws IOException {
+		byte[] byteBuffer = getTransformedBytes(className, is);
+
+		createPackageDefinition(fullyQualifiedTargetClass);
+		Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+		classes.put(fullyQualifiedTargetClass, result);
+		return result;
+	}
 	
 	@Override
 	public Class<?> loadClass(String name) throws ClassNotFoundException {
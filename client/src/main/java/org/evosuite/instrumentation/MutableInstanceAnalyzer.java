@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.evosuite.classpath.ResourceList;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+
+/**
+ * Tells whether the instances of a class have some state that can be
+ * modified, by looking at the bytecode of the class as seen by a given class
+ * loader. There is one analyzer per class loader, so that a reloaded SUT or a
+ * different classpath never gets the answers computed for another one.
+ */
+public class MutableInstanceAnalyzer {
+
+	private static final Map<ClassLoader, MutableInstanceAnalyzer> instanceMap = new HashMap<>();
+
+	private final ClassLoader classLoader;
+
+	private final Map<String, Boolean> mutableInstances = new ConcurrentHashMap<>();
+
+	private MutableInstanceAnalyzer(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	public static synchronized MutableInstanceAnalyzer getInstance(ClassLoader classLoader) {
+		return instanceMap.computeIfAbsent(classLoader, MutableInstanceAnalyzer::new);
+	}
+
+	/**
+	 * Forget the analyzers of all class loaders
+	 */
+	public static synchronized void clearAll() {
+		instanceMap.clear();
+	}
+
+	/**
+	 * @param owner
+	 *            a class name in internal form
+	 * @return true if the class declares a non-final field, or a field of a
+	 *         type that can be modified in place. Only the fields declared in
+	 *         the class itself are considered, not the inherited ones. If the
+	 *         bytecode of the class cannot be read, true is returned
+	 */
+	public boolean hasMutableInstances(String owner) {
+		return mutableInstances.computeIfAbsent(owner, this::declaresMutableInstanceFields);
+	}
+
+	private boolean declaresMutableInstanceFields(String owner) {
+		String className = owner.replace('/', '.');
+		try (InputStream in = ResourceList.getInstance(classLoader).getClassAsStream(className)) {
+			if (in == null) {
+				// cannot tell, so better to reset it
+				return true;
+			}
+			ClassNode classNode = new ClassNode();
+			new ClassReader(in).accept(classNode, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+			for (FieldNode field : classNode.fields) {
+				if ((field.access & Opcodes.ACC_STATIC) != 0) {
+					continue;
+				}
+				if ((field.access & Opcodes.ACC_FINAL) == 0 || StaticAccessMethodAdapter.isMutableType(field.desc)) {
+					return true;
+				}
+			}
+			return false;
+		} catch (IOException | RuntimeException e) {
+			return true;
+		}
+	}
+}
@@ -21,6 +21,7 @@ package org.evosuite.instrumentation;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 
 import org.evosuite.runtime.util.ComputeClassWriter;
 import org.objectweb.asm.ClassReader;
@@ -29,8 +30,25 @@ import org.objectweb.asm.ClassWriter;
 
 public class NonInstrumentingClassLoader extends InstrumentingClassLoader {
 
+	/**
+	 * Bytes of the classes already transformed, possibly shared with other
+	 * loaders. Can be {@code null}
+	 */
+	private final Map<String, byte[]> transformedBytes;
+
 	public NonInstrumentingClassLoader(){
+		this(null);
+	}
+
+	/**
+	 * @param transformedBytes
+	 *            map (that must be thread-safe if used by several loaders at the
+	 *            same time) in which the transformed classes are stored, so that
+	 *            other loaders sharing it can just define them again
+	 */
+	public NonInstrumentingClassLoader(Map<String, byte[]> transformedBytes){
 		super();
+		this.transformedBytes = transformedBytes;
 	}
 
 	/*
@@ -45,6 +63,20 @@ public class NonInstrumentingClassLoader extends InstrumentingClassLoader {
 	@Override
 	protected byte[] getTransformedBytes( String className, InputStream is) throws IOException{
 
+		if (transformedBytes == null) {
+			return transform(className, is);
+		}
+
+		byte[] bytes = transformedBytes.get(className);
+		if (bytes == null) {
+			bytes = transform(className, is);
+			transformedBytes.put(className, bytes);
+		}
+		return bytes;
+	}
+
+	private byte[] transform(String className, InputStream is) throws IOException{
+
 		ClassReader reader = new ClassReader(is);
 		int readFlags = ClassReader.SKIP_FRAMES;
 
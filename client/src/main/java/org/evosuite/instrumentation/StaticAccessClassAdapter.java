@@ -33,6 +33,8 @@ public class StaticAccessClassAdapter extends ClassVisitor {
 
 	private final String className;
 
+	private final MutableInstanceAnalyzer mutableInstances;
+
 	/**
 	 * <p>
 	 * Constructor for StaticInitializationClassAdapter.
@@ -42,10 +44,13 @@ public class StaticAccessClassAdapter extends ClassVisitor {
 	 *            a {@link org.objectweb.asm.ClassVisitor} object.
 	 * @param className
 	 *            a {@link java.lang.String} object.
+	 * @param classLoader
+	 *            the class loader the instrumented class is loaded with
 	 */
-	public StaticAccessClassAdapter(ClassVisitor visitor, String className) {
+	public StaticAccessClassAdapter(ClassVisitor visitor, String className, ClassLoader classLoader) {
 		super(Opcodes.ASM9, visitor);
 		this.className = className;
+		this.mutableInstances = MutableInstanceAnalyzer.getInstance(classLoader);
 	}
 
 	/** {@inheritDoc} */
@@ -53,7 +58,7 @@ public class StaticAccessClassAdapter extends ClassVisitor {
 	public MethodVisitor visitMethod(int methodAccess, String name, String descriptor, String signature,
 			String[] exceptions) {
 		MethodVisitor mv = super.visitMethod(methodAccess, name, descriptor, signature, exceptions);
-		StaticAccessMethodAdapter methodAdapter = new StaticAccessMethodAdapter(className, name, mv);
+		StaticAccessMethodAdapter methodAdapter = new StaticAccessMethodAdapter(className, name, mv, mutableInstances);
 		return methodAdapter;
 	}
 }
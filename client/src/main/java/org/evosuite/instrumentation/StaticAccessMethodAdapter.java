@@ -32,7 +32,10 @@ import org.objectweb.asm.Type;
 /**
  * For each PUTSTATIC or GETSTATIC we include a call to
  * <code>ExecutionTracer.passedPutStatic(String,String)</code> passing the class
- * name and the field name of the PUTSTATIC statement.
+ * name and the field name of the PUTSTATIC statement. A GETSTATIC of an array,
+ * a collection or a singleton with mutable fields is reported with
+ * <code>ExecutionTracer.passedGetMutableStatic(String,String)</code>, as its
+ * content could be modified without any PUTSTATIC.
  *
  * @author Juan Galeotti
  */
@@ -40,9 +43,11 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 
 	private static final String PASSED_PUT_STATIC = "passedPutStatic";
 	private static final String PASSED_GET_STATIC = "passedGetStatic";
+	private static final String PASSED_GET_MUTABLE_STATIC = "passedGetMutableStatic";
 
 	private final String className;
 	private final String methodName;
+	private final MutableInstanceAnalyzer mutableInstances;
 
 	/**
 	 * <p>
@@ -53,11 +58,15 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 	 *            a {@link org.objectweb.asm.MethodVisitor} object.
 	 * @param className
 	 *            a {@link java.lang.String} object.
+	 * @param mutableInstances
+	 *            tells which singletons have mutable fields
 	 */
-	public StaticAccessMethodAdapter(String className, String methodName, MethodVisitor mv) {
+	public StaticAccessMethodAdapter(String className, String methodName, MethodVisitor mv,
+			MutableInstanceAnalyzer mutableInstances) {
 		super(Opcodes.ASM9, mv);
 		this.className = className;
 		this.methodName = methodName;
+		this.mutableInstances = mutableInstances;
 	}
 
 	/*
@@ -86,6 +95,9 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 				if (opcode == Opcodes.PUTSTATIC)
 					super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, PASSED_PUT_STATIC,
 							executionTracerDescriptor, false);
+				else if (isPossiblyMutableContainer(owner, name, desc, mutableInstances))
+					super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, PASSED_GET_MUTABLE_STATIC,
+							executionTracerDescriptor, false);
 				else
 					super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, PASSED_GET_STATIC,
 							executionTracerDescriptor, false);
@@ -93,4 +105,45 @@ public class StaticAccessMethodAdapter extends MethodVisitor {
 		}
 		super.visitFieldInsn(opcode, owner, name, desc);
 	}
+
+	/**
+	 * Heuristic to decide whether the given static field could be modified in
+	 * place, ie without a PUTSTATIC. This is the case for arrays and JDK
+	 * containers, and for singletons (a field having the type of its own class)
+	 * with non-final fields. Compiler generated fields, like the values of an enum
+	 * or the tables of a switch on an enum, are never modified
+	 *
+	 * @param owner
+	 *            the class declaring the field, in internal form
+	 * @param name
+	 * @param desc
+	 * @param mutableInstances
+	 *            used to check the fields of a singleton
+	 * @return
+	 */
+	public static boolean isPossiblyMutableContainer(String owner, String name, String desc,
+			MutableInstanceAnalyzer mutableInstances) {
+		if (name.startsWith("$") || name.equals("ENUM$VALUES")) {
+			// eg, $VALUES, $SwitchMap$..., $assertionsDisabled
+			return false;
+		}
+		if (isMutableType(desc)) {
+			return true;
+		}
+		return desc.equals("L" + owner + ";") && mutableInstances.hasMutableInstances(owner);
+	}
+
+	static boolean isMutableType(String desc) {
+		if (desc.startsWith("[")) {
+			return true;
+		}
+		if (desc.equals("Ljava/lang/StringBuilder;") || desc.equals("Ljava/lang/StringBuffer;")) {
+			return true;
+		}
+		return desc.startsWith("Ljava/util/")
+				&& !desc.startsWith("Ljava/util/regex/")
+				&& !desc.equals("Ljava/util/Locale;")
+				&& !desc.equals("Ljava/util/UUID;")
+				&& !desc.equals("Ljava/util/Optional;");
+	}
 }
@@ -152,8 +152,7 @@ public class CoverageAnalysis {
 				EvoRunner.useAgent = false; //avoid double instrumentation
 				EvoRunner.useClassLoader = false; //avoid double instrumentation
 
-				List<JUnitResult> results = executeTests(tests);
-				printReport(results);
+				printReport(tests);
 			} finally {
 				EvoRunner.useAgent = origUseAgent;
 				EvoRunner.useClassLoader = origUseClassLoader;
@@ -196,28 +195,129 @@ public class CoverageAnalysis {
 	 */
 	public static Set<TestFitnessFunction> getCoveredGoals(Class<?> testClass, List<TestFitnessFunction> allGoals) {
 
-	    // A dummy Chromosome
-	    TestChromosome dummy = new TestChromosome();
-        dummy.setChanged(false);
+		Class<?>[] tests = new Class<?>[] { testClass };
+		File file = Properties.COVERAGE_MATRIX_CACHE ? CoverageReportGenerator.getCoverageMatrixFile(testClass.getName()) : null;
 
-        // Execution result of a dummy Test Case
-        ExecutionResult executionResult = new ExecutionResult(dummy.getTestCase());
+		CoverageMatrix matrix = loadCoverageMatrix(file, tests, allGoals);
+		if (matrix == null) {
+			List<JUnitResult> results = executeTests(testClass);
+			matrix = createCoverageMatrix(tests, results, allGoals, null, null);
+			storeCoverageMatrix(file, matrix);
+		}
 
 		Set<TestFitnessFunction> coveredGoals = new HashSet<>();
+		BitSet covered = matrix.getCoveredGoals();
+		for (TestFitnessFunction goal : allGoals) {
+			if (covered.get(matrix.getGoalIndex(CoverageMatrix.getGoalId(goal)))) {
+				coveredGoals.add(goal);
+			}
+		}
+
+		return coveredGoals;
+	}
+
+	/**
+	 * Execute the coverage goals on the traces of the given test results, one
+	 * test at a time.
+	 * 
+	 * @param criteria
+	 *            if not {@code null}, the goals in between {@code offsets[i]} and
+	 *            {@code offsets[i+1]} belong to {@code criteria[i]}, which is
+	 *            set as the only criterion while they are evaluated
+	 */
+	private static CoverageMatrix createCoverageMatrix(Class<?>[] tests, List<JUnitResult> results,
+			List<? extends TestFitnessFunction> goals, Criterion[] criteria, int[] offsets) {
 
-		List<JUnitResult> results = executeTests(testClass);
-		for (JUnitResult testResult : results) {
-		    executionResult.setTrace(testResult.getExecutionTrace());
-            dummy.setLastExecutionResult(executionResult);
+		List<String> testClasses = getNames(tests);
+		CoverageMatrix matrix = new CoverageMatrix(CoverageMatrix.getGoalIds(goals), testClasses);
 
-            for(TestFitnessFunction goal : allGoals) {
-            	if (goal.isCovered(dummy)) {
-					coveredGoals.add(goal);
+		// A dummy Chromosome
+		TestChromosome dummy = new TestChromosome();
+		dummy.setChanged(false);
+
+		// Execution result of a dummy Test Case
+		ExecutionResult executionResult = new ExecutionResult(dummy.getTestCase());
+
+		Criterion[] criterion = Properties.CRITERION;
+		try {
+			for (JUnitResult testResult : results) {
+				executionResult.setTrace(testResult.getExecutionTrace());
+				dummy.getTestCase().clearCoveredGoals();
+				dummy.setLastExecutionResult(executionResult);
+
+				BitSet covered = new BitSet(goals.size());
+				for (int index_component = 0; index_component < goals.size(); index_component++) {
+					if (criteria != null) {
+						for (int i = 0; i < criteria.length; i++) {
+							if (index_component == offsets[i] && offsets[i] < offsets[i + 1]) {
+								Properties.CRITERION = new Criterion[] { criteria[i] };
+							}
+						}
+					}
+					if (goals.get(index_component).isCovered(dummy)) {
+						covered.set(index_component);
+					}
 				}
-            }
+				matrix.addTest(testResult.getName(), covered, testResult.wasSuccessful());
+			}
+		} finally {
+			Properties.CRITERION = criterion;
 		}
 
-		return coveredGoals;
+		Set<String> dependencies = new LinkedHashSet<>(testClasses);
+		dependencies.addAll(TestGenerationContext.getInstance().getClassLoaderForSUT().getViewOfInstrumentedClasses());
+		matrix.setDependencies(dependencies);
+
+		return matrix;
+	}
+
+	/**
+	 * @return the cached matrix, or {@code null} if there is none that is still
+	 *         valid for the given tests and goals
+	 */
+	private static CoverageMatrix loadCoverageMatrix(File file, Class<?>[] tests, List<? extends TestFitnessFunction> goals) {
+		if (file == null || !file.exists()) {
+			return null;
+		}
+
+		try {
+			CoverageMatrix matrix = CoverageMatrix.read(file);
+			if (matrix.getTestClasses().equals(getNames(tests))
+					&& matrix.containsGoals(CoverageMatrix.getGoalIds(goals))
+					&& matrix.isUpToDate()) {
+				LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Reusing coverage of "
+						+ matrix.getNumberOfTests() + " unit test(s) from " + file);
+				ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Tests_Executed, matrix.getNumberOfTests());
+				return matrix;
+			}
+		} catch (IOException e) {
+			logger.warn("Cannot read coverage matrix " + file + ": " + e.getMessage());
+		}
+		return null;
+	}
+
+	private static void storeCoverageMatrix(File file, CoverageMatrix matrix) {
+		if (file == null) {
+			return;
+		}
+
+		try {
+			matrix.write(file);
+		} catch (IOException e) {
+			logger.warn("Cannot write coverage matrix " + file + ": " + e.getMessage());
+		}
+	}
+
+	private static List<String> getNames(Class<?>[] classes) {
+		List<String> names = new ArrayList<>(classes.length);
+		for (Class<?> clazz : classes) {
+			names.add(clazz.getName());
+		}
+		return names;
+	}
+
+	private static boolean isMutation(Criterion criterion) {
+		return criterion == Criterion.MUTATION || criterion == Criterion.STRONGMUTATION;
 	}
 
 	private static List<Class<?>> getTestClassesFromClasspath() {
@@ -455,34 +555,66 @@ public class CoverageAnalysis {
 		return testClasses;
 	}
 
-	private static void analyzeCoverageCriterion(List<JUnitResult> results, Properties.Criterion criterion) {
+	private static void analyzeCoverageCriterion(CoverageMatrix matrix, Properties.Criterion criterion,
+			List<TestFitnessFunction> goals) {
 
 		logger.info("analysing coverage of " + criterion);
 
-		// Factory
-		TestFitnessFactory<? extends TestFitnessFunction> factory = FitnessFunctions.getFitnessFactory(criterion);
+		int numGoals = goals.size();
+		totalGoals += numGoals;
 
-		// Goals
-		List<?> goals = null;
+		if (criterion==Criterion.EXCEPTION) {
+			// TODO collect exception goals from execution results
+		}
 
-		if (criterion == Criterion.MUTATION
-				|| criterion == Criterion.STRONGMUTATION) {
-			goals = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutants();
-		} else {
-			goals = factory.getCoverageGoals();
+		boolean[][] coverage_matrix = getCoverage(matrix, CoverageMatrix.getGoalIds(goals));
+		BitSet covered = new BitSet(numGoals);
+		for (boolean[] row : coverage_matrix) {
+			for (int index_component = 0; index_component < numGoals; index_component++) {
+				if (row[index_component]) {
+					covered.set(index_component);
+				}
+			}
 		}
-		totalGoals += goals.size();
 
-		// A dummy Chromosome
-        TestChromosome dummy = new TestChromosome();
-        dummy.setChanged(false);
+        reportCoverage(criterion, covered, numGoals, coverage_matrix);
+	}
+
+	/**
+	 * Coverage matrix of the given goals: each row represents the coverage of
+	 * each test case and each column the coverage of each goal (e.g., line),
+	 * plus a last column with the test result. This is useful for Rho fitness.
+	 *
+	 * <p>
+	 * Goals are looked up by id, as a cached matrix might have been created
+	 * for more goals, or for the goals of the criteria in a different order
+	 */
+	static boolean[][] getCoverage(CoverageMatrix matrix, List<String> goalIds) {
+		int numGoals = goalIds.size();
+		int[] indices = new int[numGoals];
+		for (int index_component = 0; index_component < numGoals; index_component++) {
+			indices[index_component] = matrix.getGoalIndex(goalIds.get(index_component));
+		}
 
-        // Execution result of a dummy Test Case
-        ExecutionResult executionResult = new ExecutionResult(dummy.getTestCase());
+		boolean[][] coverage_matrix = new boolean[matrix.getNumberOfTests()][numGoals + 1]; // +1 because we also want to include the test result
+		for (int index_test = 0; index_test < matrix.getNumberOfTests(); index_test++) {
+			for (int index_component = 0; index_component < numGoals; index_component++) {
+				int index = indices[index_component];
+				coverage_matrix[index_test][index_component] = index >= 0 && matrix.isCovered(index_test, index);
+			}
+			coverage_matrix[index_test][numGoals] = matrix.wasSuccessful(index_test);
+		}
+		return coverage_matrix;
+	}
+
+	private static void analyzeMutationCriterion(List<JUnitResult> results, Properties.Criterion criterion) {
+
+		logger.info("analysing coverage of " + criterion);
+
+		// Goals
+		List<Mutation> goals = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutants();
+		totalGoals += goals.size();
 
-        // coverage matrix (each row represents the coverage of each test case
-        // and each column represents the coverage of each component (e.g., line)
-        // this coverage matrix is useful for Rho fitness
     	boolean[][] coverage_matrix = new boolean[results.size()][goals.size() + 1]; // +1 because we also want to include the test result
     	BitSet covered = new BitSet(goals.size());
 
@@ -490,51 +622,33 @@ public class CoverageAnalysis {
         	JUnitResult tR = results.get(index_test);
 
         	ExecutionTrace trace = tR.getExecutionTrace();
-            executionResult.setTrace(trace);
-            dummy.getTestCase().clearCoveredGoals();
-            dummy.setLastExecutionResult(executionResult);
-
-            if (criterion == Criterion.MUTATION
-            		|| criterion ==  Criterion.STRONGMUTATION) {
-            	for (Integer mutationID : trace.getTouchedMutants()) {
-					Mutation mutation = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutant(mutationID);
-
-            		if (goals.contains(mutation)) {
-            			MutationObserver.activateMutation(mutationID);
-            			List<JUnitResult> mutationResults = executeTests(tR.getJUnitClass());
-            			MutationObserver.deactivateMutation();
-
-            			for (JUnitResult mR : mutationResults) {
-            				if (mR.getFailureCount() != tR.getFailureCount()) {
-            					logger.info("Mutation killed: " + mutationID);
-            					covered.set(mutation.getId());
-                                coverage_matrix[index_test][mutationID] = true;
-                                break;
-            				}
-            			}
-            		}
-            	}
-            } else {
-            	
-            	if (criterion==Criterion.EXCEPTION) {
-            		// TODO collect exception goals from execution results
-            	}
-            	
-	            for (int index_component = 0; index_component < goals.size(); index_component++) {
-	            	TestFitnessFunction goal = (TestFitnessFunction) goals.get(index_component);
-
-	                if (goal.isCovered(dummy)) {
-	                	covered.set(index_component);
-	                	coverage_matrix[index_test][index_component] = true;
-	                }
-	                else {
-	                	coverage_matrix[index_test][index_component] = false;
-	                }
-	            }
-            }
+        	for (Integer mutationID : trace.getTouchedMutants()) {
+				Mutation mutation = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutant(mutationID);
+
+        		if (goals.contains(mutation)) {
+        			MutationObserver.activateMutation(mutationID);
+        			List<JUnitResult> mutationResults = executeTests(tR.getJUnitClass());
+        			MutationObserver.deactivateMutation();
+
+        			for (JUnitResult mR : mutationResults) {
+        				if (mR.getFailureCount() != tR.getFailureCount()) {
+        					logger.info("Mutation killed: " + mutationID);
+        					covered.set(mutation.getId());
+                            coverage_matrix[index_test][mutationID] = true;
+                            break;
+        				}
+        			}
+        		}
+        	}
 
             coverage_matrix[index_test][goals.size()] = tR.wasSuccessful();
         }
+
+        reportCoverage(criterion, covered, goals.size(), coverage_matrix);
+	}
+
+	private static void reportCoverage(Properties.Criterion criterion, BitSet covered, int numGoals, boolean[][] coverage_matrix) {
+
         totalCoveredGoals += covered.cardinality();
 
         if (Properties.COVERAGE_MATRIX) {
@@ -542,13 +656,13 @@ public class CoverageAnalysis {
         }
 
         StringBuilder str = new StringBuilder();
-        for (int index_component = 0; index_component < goals.size(); index_component++) {
+        for (int index_component = 0; index_component < numGoals; index_component++) {
         	str.append(covered.get(index_component) ? "1" : "0");
         }
         logger.info("* CoverageBitString " + str.toString());
 
         RuntimeVariable bitStringVariable = CoverageCriteriaAnalyzer.getBitStringVariable(criterion);
-        if (goals.isEmpty()) {
+        if (numGoals == 0) {
 			LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Coverage of criterion "
                     + criterion + ": 100% (no goals)");
 			ClientServices.getInstance().getClientNode().trackOutputVariable(CoverageCriteriaAnalyzer.getCoverageVariable(criterion), 1.0);
@@ -557,11 +671,11 @@ public class CoverageAnalysis {
 			}
 		} 
         else {
-        	double coverage = ((double) covered.cardinality()) / ((double) goals.size());
+        	double coverage = ((double) covered.cardinality()) / ((double) numGoals);
         	LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Coverage of criterion " + criterion
                     + ": " + NumberFormat.getPercentInstance().format(coverage));
 			LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Number of covered goals: "
-                    + covered.cardinality() + " / " + goals.size());
+                    + covered.cardinality() + " / " + numGoals);
 
 			ClientServices.getInstance().getClientNode().trackOutputVariable(CoverageCriteriaAnalyzer.getCoverageVariable(criterion), coverage);
 			if (bitStringVariable != null) {
@@ -570,10 +684,11 @@ public class CoverageAnalysis {
         }
 	}
 
-	private static void printReport(List<JUnitResult> results) {
+	private static void printReport(Class<?>[] tests) {
 
 		Iterator<String> it = targetClasses.iterator();
 		Criterion[] criterion = Properties.CRITERION;
+		List<JUnitResult> results = null;
 
 		while (it.hasNext()) {
 			String targetClass = it.next();
@@ -587,10 +702,44 @@ public class CoverageAnalysis {
                     + Properties.TARGET_CLASS);
 			ClientServices.getInstance().getClientNode().updateProperty("TARGET_CLASS", Properties.TARGET_CLASS);
 
-			for (Criterion c : criterion) {
+			/*
+			 * the goals of all criteria share a single matrix, so the tests are executed
+			 * only once. mutation is the exception, as it needs to run the tests on each mutant
+			 */
+			List<TestFitnessFunction> goals = new ArrayList<>();
+			int[] offsets = new int[criterion.length + 1];
+			for (int i = 0; i < criterion.length; i++) {
+				offsets[i] = goals.size();
+				if (!isMutation(criterion[i])) {
+					Properties.CRITERION = new Criterion[]{criterion[i]};
+					goals.addAll(FitnessFunctions.getFitnessFactory(criterion[i]).getCoverageGoals());
+				}
+			}
+			offsets[criterion.length] = goals.size();
+			Properties.CRITERION = criterion;
+
+			File file = Properties.COVERAGE_MATRIX_CACHE ? CoverageReportGenerator.getCoverageMatrixFile("all_tests") : null;
+			CoverageMatrix matrix = loadCoverageMatrix(file, tests, goals);
+			if (matrix == null) {
+				if (results == null) {
+					results = executeTests(tests);
+				}
+				matrix = createCoverageMatrix(tests, results, goals, criterion, offsets);
+				storeCoverageMatrix(file, matrix);
+			}
+
+			for (int i = 0; i < criterion.length; i++) {
+				Criterion c = criterion[i];
 				Properties.CRITERION = new Criterion[]{c};
 
-				analyzeCoverageCriterion(results, c);
+				if (isMutation(c)) {
+					if (results == null) {
+						results = executeTests(tests);
+					}
+					analyzeMutationCriterion(results, c);
+				} else {
+					analyzeCoverageCriterion(matrix, c, goals.subList(offsets[i], offsets[i + 1]));
+				}
 			}
 
 			// restore
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.apache.commons.io.IOUtils;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ResourceList;
+import org.evosuite.testcase.TestFitnessFunction;
+
+/**
+ * Coverage of a set of JUnit tests over the goals of one or more criteria.
+ * 
+ * <p>
+ * Goals of all the criteria share a single index, and each test is stored
+ * as a bit set over such index, so the tests only need to be executed once
+ * whatever the number of criteria. The matrix can be written to disk
+ * together with a fingerprint of the bytecode of the classes used during
+ * the execution (tests and SUT), and reused as long as none of them changes.
+ */
+public class CoverageMatrix {
+
+	private static final int MAGIC = 0x45564d58;
+
+	private static final int VERSION = 1;
+
+	private final List<String> goals;
+
+	private final Map<String, Integer> goalIndex = new HashMap<>();
+
+	private final List<String> testClasses;
+
+	private final List<String> tests = new ArrayList<>();
+
+	private final List<BitSet> rows = new ArrayList<>();
+
+	private final BitSet passed = new BitSet();
+
+	private final BitSet covered = new BitSet();
+
+	private final TreeSet<String> dependencies = new TreeSet<>();
+
+	private String fingerprint = "";
+
+	/**
+	 * @param goals
+	 *            ids of the goals, see {@link #getGoalId(TestFitnessFunction)}
+	 * @param testClasses
+	 *            names of the test classes whose tests will be added
+	 */
+	public CoverageMatrix(List<String> goals, List<String> testClasses) {
+		this.goals = new ArrayList<>(goals);
+		this.testClasses = new ArrayList<>(testClasses);
+		for (int i = 0; i < this.goals.size(); i++) {
+			goalIndex.put(this.goals.get(i), i);
+		}
+	}
+
+	/**
+	 * Goals are not serializable, and their ids need to be stable among
+	 * different JVMs
+	 */
+	public static String getGoalId(TestFitnessFunction goal) {
+		return goal.getClass().getName() + ":" + goal.toString();
+	}
+
+	public static List<String> getGoalIds(List<? extends TestFitnessFunction> goals) {
+		List<String> ids = new ArrayList<>(goals.size());
+		for (TestFitnessFunction goal : goals) {
+			ids.add(getGoalId(goal));
+		}
+		return ids;
+	}
+
+	public void addTest(String name, BitSet coveredGoals, boolean wasSuccessful) {
+		if (wasSuccessful) {
+			passed.set(tests.size());
+		}
+		tests.add(name);
+		rows.add((BitSet) coveredGoals.clone());
+		covered.or(coveredGoals);
+	}
+
+	public int getNumberOfTests() {
+		return tests.size();
+	}
+
+	public int getNumberOfGoals() {
+		return goals.size();
+	}
+
+	public String getTestName(int test) {
+		return tests.get(test);
+	}
+
+	public boolean wasSuccessful(int test) {
+		return passed.get(test);
+	}
+
+	public boolean isCovered(int test, int goal) {
+		return rows.get(test).get(goal);
+	}
+
+	/**
+	 * @return index of the goal, or -1 if it is not part of this matrix
+	 */
+	public int getGoalIndex(String goalId) {
+		Integer index = goalIndex.get(goalId);
+		return index == null ? -1 : index;
+	}
+
+	public boolean containsGoals(Collection<String> goalIds) {
+		return goalIndex.keySet().containsAll(goalIds);
+	}
+
+	/**
+	 * @return the goals covered by at least one test
+	 */
+	public BitSet getCoveredGoals() {
+		return (BitSet) covered.clone();
+	}
+
+	public List<String> getTestClasses() {
+		return Collections.unmodifiableList(testClasses);
+	}
+
+	/**
+	 * Record the classes the coverage depends on, ie all the classes loaded
+	 * while executing the tests
+	 */
+	public void setDependencies(Collection<String> classNames) {
+		dependencies.clear();
+		dependencies.addAll(classNames);
+		fingerprint = computeFingerprint(dependencies);
+	}
+
+	/**
+	 * @return {@code true} if none of the classes the coverage depends on has
+	 *         changed since the matrix was created
+	 */
+	public boolean isUpToDate() {
+		return !dependencies.isEmpty() && fingerprint.equals(computeFingerprint(dependencies));
+	}
+
+	private static String computeFingerprint(Collection<String> classNames) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		ResourceList resources = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+		for (String name : classNames) {
+			digest.update(name.getBytes(StandardCharsets.UTF_8));
+			try (InputStream in = resources.getClassAsStream(name)) {
+				if (in != null) {
+					digest.update(IOUtils.toByteArray(in));
+				}
+			} catch (IOException e) {
+				digest.update((byte) 0);
+			}
+		}
+
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	public void write(File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Cannot create folder " + parent);
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(fingerprint);
+			writeStrings(out, dependencies);
+			writeStrings(out, testClasses);
+			writeStrings(out, goals);
+			out.writeInt(tests.size());
+			for (int i = 0; i < tests.size(); i++) {
+				out.writeUTF(tests.get(i));
+				out.writeBoolean(passed.get(i));
+				long[] words = rows.get(i).toLongArray();
+				out.writeInt(words.length);
+				for (long word : words) {
+					out.writeLong(word);
+				}
+			}
+		}
+	}
+
+	public static CoverageMatrix read(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a coverage matrix, or unsupported version: " + file);
+			}
+			String fingerprint = in.readUTF();
+			List<String> dependencies = readStrings(in);
+			List<String> testClasses = readStrings(in);
+			List<String> goals = readStrings(in);
+
+			CoverageMatrix matrix = new CoverageMatrix(goals, testClasses);
+			matrix.dependencies.addAll(dependencies);
+			matrix.fingerprint = fingerprint;
+
+			int n = in.readInt();
+			for (int i = 0; i < n; i++) {
+				String name = in.readUTF();
+				boolean wasSuccessful = in.readBoolean();
+				long[] words = new long[in.readInt()];
+				for (int j = 0; j < words.length; j++) {
+					words[j] = in.readLong();
+				}
+				matrix.addTest(name, BitSet.valueOf(words), wasSuccessful);
+			}
+			return matrix;
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		int n = in.readInt();
+		List<String> values = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			values.add(in.readUTF());
+		}
+		return values;
+	}
+}
@@ -64,6 +64,16 @@ public class CoverageReportGenerator {
 				criterion.toString() + File.separator + Properties.COVERAGE_MATRIX_FILENAME));
 	}
 
+	/**
+	 * File in which the {@link CoverageMatrix} of the given test classes on the
+	 * current target class is cached
+	 */
+	public static File getCoverageMatrixFile(String name) {
+		return new File(getReportDir().getAbsolutePath() +
+				File.separator + "data" + File.separator +
+				Properties.TARGET_CLASS + File.separator + name + ".matrix");
+	}
+
 	/**
      * Return the folder of where reports should be generated.
      * If the folder does not exist, try to create it
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+/**
+ * Compile a set of classes from their source code in memory, with a single
+ * call to the Java compiler, without writing anything to disk.
+ * Compilation errors are mapped back to the compilation unit that
+ * caused them.
+ */
+class InMemoryCompilation {
+
+	private final boolean successful;
+
+	/**
+	 * Bytecode of all the generated classes (including inner and anonymous ones),
+	 * indexed by fully qualified name
+	 */
+	private final Map<String, byte[]> classes;
+
+	/**
+	 * Fully qualified names of the compilation units with at least one error
+	 */
+	private final Set<String> unitsWithErrors;
+
+	private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+	private InMemoryCompilation(boolean successful, Map<String, byte[]> classes, Set<String> unitsWithErrors,
+			List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+		this.successful = successful;
+		this.classes = classes;
+		this.unitsWithErrors = unitsWithErrors;
+		this.diagnostics = diagnostics;
+	}
+
+	/**
+	 * @param compiler
+	 * @param sources map from fully qualified class name to its source code
+	 * @param classpath
+	 * @return
+	 * @throws IOException
+	 */
+	public static InMemoryCompilation compile(JavaCompiler compiler, Map<String, String> sources, String classpath)
+			throws IOException {
+
+		DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+		List<SourceFile> units = new ArrayList<>();
+		for (Map.Entry<String, String> entry : sources.entrySet()) {
+			units.add(new SourceFile(entry.getKey(), entry.getValue()));
+		}
+
+		Map<String, byte[]> classes = new LinkedHashMap<>();
+		boolean compiled;
+
+		StandardJavaFileManager standard = compiler.getStandardFileManager(collector, Locale.getDefault(),
+				StandardCharsets.UTF_8);
+		try (MemoryFileManager fileManager = new MemoryFileManager(standard)) {
+			List<String> options = new ArrayList<>();
+			options.add("-classpath");
+			options.add(classpath);
+			compiled = compiler.getTask(null, fileManager, collector, options, null, units).call();
+
+			for (Map.Entry<String, ClassFile> entry : fileManager.outputs.entrySet()) {
+				classes.put(entry.getKey(), entry.getValue().bytes.toByteArray());
+			}
+		}
+
+		Set<String> unitsWithErrors = new LinkedHashSet<>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : collector.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getSource() instanceof SourceFile) {
+				unitsWithErrors.add(((SourceFile) diagnostic.getSource()).className);
+			}
+		}
+
+		return new InMemoryCompilation(compiled, classes, unitsWithErrors, collector.getDiagnostics());
+	}
+
+	public boolean isSuccessful() {
+		return successful;
+	}
+
+	public Map<String, byte[]> getClasses() {
+		return Collections.unmodifiableMap(classes);
+	}
+
+	public Set<String> getUnitsWithErrors() {
+		return Collections.unmodifiableSet(unitsWithErrors);
+	}
+
+	public List<Diagnostic<? extends JavaFileObject>> getDiagnostics() {
+		return diagnostics;
+	}
+
+	private static class SourceFile extends SimpleJavaFileObject {
+
+		private final String className;
+		private final String code;
+
+		private SourceFile(String className, String code) {
+			super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.className = className;
+			this.code = code;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return code;
+		}
+	}
+
+	private static class ClassFile extends SimpleJavaFileObject {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private ClassFile(String className) {
+			super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return bytes;
+		}
+	}
+
+	private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+		private final Map<String, ClassFile> outputs = new LinkedHashMap<>();
+
+		private MemoryFileManager(StandardJavaFileManager fileManager) {
+			super(fileManager);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(JavaFileManager.Location location, String className,
+				JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+			if (kind != JavaFileObject.Kind.CLASS) {
+				return super.getJavaFileForOutput(location, className, kind, sibling);
+			}
+			ClassFile file = new ClassFile(className);
+			outputs.put(className, file);
+			return file;
+		}
+	}
+}
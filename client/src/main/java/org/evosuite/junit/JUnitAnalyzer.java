@@ -21,18 +21,12 @@ package org.evosuite.junit;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.*;
 
 import javax.tools.Diagnostic;
-import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
-import javax.tools.JavaCompiler.CompilationTask;
-import javax.tools.JavaFileObject;
-import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
-import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
@@ -44,8 +38,11 @@ import org.evosuite.runtime.classhandling.JDKClassResetter;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.testcase.TestCase;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,17 +58,16 @@ public class JUnitAnalyzer {
 
 	private static final Logger logger = LoggerFactory.getLogger(JUnitAnalyzer.class);
 
-	private static int dirCounter = 0;
-
-	private static final String JAVA = ".java";
-	private static final String CLASS = ".class";
-
-	
 	private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 	
 	/**
 	 * Try to compile each test separately, and remove the ones that cannot be
-	 * compiled
+	 * compiled.
+	 * 
+	 * <p>
+	 * Each test is written in its own test suite, but all of them are compiled
+	 * in memory with a single call to the compiler. Compilation errors are mapped
+	 * back to the tests that caused them, and only those are removed
 	 * 
 	 * @param tests
 	 */
@@ -83,44 +79,79 @@ public class JUnitAnalyzer {
 			return;
 		}
 
-		Iterator<TestCase> iter = tests.iterator();
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			logger.error("No Java compiler is available");
+			return;
+		}
+
+		Map<String, String> sources = new LinkedHashMap<>();
+		Map<String, TestCase> owners = new HashMap<>();
 
-		while (iter.hasNext()) {
+		for (TestCase test : tests) {
 			if(!TimeController.getInstance().hasTimeToExecuteATestCase()) {
 				break;
 			}
+			for (Map.Entry<String, String> unit : createSources(Collections.singletonList(test)).entrySet()) {
+				sources.put(unit.getKey(), unit.getValue());
+				owners.put(unit.getKey(), test);
+			}
+		}
+
+		String classpath = getClassPathForCompilation();
 
-			TestCase test = iter.next();
+		while (!sources.isEmpty()) {
+			InMemoryCompilation compilation;
+			try {
+				compilation = InMemoryCompilation.compile(compiler, sources, classpath);
+			} catch (IOException e) {
+				logger.error("" + e, e);
+				return;
+			}
 
-			File dir = createNewTmpDir();
-			if (dir == null) {
-				logger.warn("Failed to create tmp dir");
+			if (compilation.isSuccessful()) {
 				return;
 			}
-			logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-			try {
-				List<TestCase> singleList = new ArrayList<>();
-				singleList.add(test);
-				List<File> generated = compileTests(singleList, dir);
-				if (generated == null) {
-					iter.remove();
-					String code = test.toCode();
-					logger.error("Failed to compile test case:\n" + code);
+			Set<TestCase> failing = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (String unit : compilation.getUnitsWithErrors()) {
+				TestCase test = owners.get(unit);
+				if (test != null) {
+					failing.add(test);
 				}
-			} finally {
-				//let's be sure we clean up all what we wrote on disk
-				if (dir != null) {
-					try {
-						FileUtils.deleteDirectory(dir);
-						logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-					} catch (Exception e) {
-						logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
-					}
+			}
+
+			if (failing.isEmpty()) {
+				/*
+				 * errors that cannot be related to any test (eg, issues with the classpath).
+				 * none of the tests could be compiled on its own either
+				 */
+				logCompilationErrors(compilation, sources, classpath);
+				failing.addAll(owners.values());
+			}
+
+			Iterator<TestCase> iter = tests.iterator();
+			while (iter.hasNext()) {
+				TestCase test = iter.next();
+				if (failing.contains(test)) {
+					iter.remove();
+					logger.error("Failed to compile test case:\n" + test.toCode());
 				}
 			}
 
-		} // end of while
+			/*
+			 * there might be errors that the compiler did not report because of
+			 * the errors in the removed tests, so compile again the remaining ones
+			 */
+			Iterator<Map.Entry<String, TestCase>> units = owners.entrySet().iterator();
+			while (units.hasNext()) {
+				Map.Entry<String, TestCase> unit = units.next();
+				if (failing.contains(unit.getValue())) {
+					sources.remove(unit.getKey());
+					units.remove();
+				}
+			}
+		}
 	}
 
 	/**
@@ -143,16 +174,9 @@ public class JUnitAnalyzer {
 			return numUnstable;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.error("Failed to create tmp dir");
-			return numUnstable;
-		}
-		logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			InMemoryCompilation compilation = compileTests(tests);
+			if (compilation == null) {
 				/*
 				 * Note: in theory this shouldn't really happen, as check for compilation
 				 * is done before calling this method
@@ -166,23 +190,19 @@ public class JUnitAnalyzer {
                 return numUnstable;
             }
 
-            // Create a new classloader so that each test gets freshly loaded classes
-			loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+			Collection<JUnitFailure> failures = runTestsRepeatedly(compilation);
 
-			if (testClasses == null) {
+			if (failures == null) {
 				logger.error("Found no classes for compiled tests");
 				return numUnstable;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
-
-			if (result.wasSuccessful()) {
+			if (failures.isEmpty()) {
 				return numUnstable; //everything is OK
 			}
 
 
-			failure_loop: for (JUnitFailure failure : result.getFailures()) {
+			failure_loop: for (JUnitFailure failure : failures) {
 				String testName = failure.getDescriptionMethodName();//TODO check if correct
 				for (int i = 0; i < tests.size(); i++) {
 					if (TestSuiteWriterUtils.getNameOfTest(tests, i).equals(testName)) {
@@ -254,29 +274,99 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return numUnstable;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
+		}
 
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (Exception e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
+		//if we arrive here, then it means at least one test was unstable
+		return numUnstable;
+	}
+
+	/**
+	 * Run the compiled tests {@link Properties#JUNIT_CHECK_REPETITIONS} times,
+	 * each time on classes freshly loaded by a new class loader. The loaders
+	 * share the transformed bytes of the SUT classes, so only the first
+	 * repetition pays for their transformation. Tests that already failed are
+	 * not run again.
+	 * 
+	 * @return the first failure of each failing test, or {@code null} if no
+	 *         test class could be loaded
+	 */
+	private static Collection<JUnitFailure> runTestsRepeatedly(InMemoryCompilation compilation)
+	        throws JUnitExecutionException {
+
+		Map<String, byte[]> transformedBytes = new HashMap<>();
+		Map<String, JUnitFailure> failures = new LinkedHashMap<>();
+		int repetitions = Math.max(1, Properties.JUNIT_CHECK_REPETITIONS);
+		int runCount = -1;
+
+		for (int i = 0; i < repetitions; i++) {
+			if (i > 0 && !TimeController.getInstance().hasTimeToExecuteATestCase()) {
+				logger.warn("Ran out of time after " + i + " runs of the stability check");
+				break;
+			}
+
+			// Create a new classloader so that each test gets freshly loaded classes
+			loader = new NonInstrumentingClassLoader(transformedBytes);
+			Class<?>[] testClasses = loadTests(compilation);
+
+			if (testClasses.length == 0) {
+				return null;
+			}
+
+			JUnitResult result = runTests(testClasses, failures.keySet());
+			if (runCount < 0) {
+				runCount = result.getRunCount();
+			}
+
+			for (JUnitFailure failure : result.getFailures()) {
+				String testName = failure.getDescriptionMethodName();
+				if (!failures.containsKey(testName)) {
+					failures.put(testName, failure);
+				}
+				if (testName == null) {
+					//issue in the scaffolding, no point in running the tests again
+					return failures.values();
 				}
 			}
 
+			if (failures.size() >= runCount) {
+				break; //all tests already failed
+			}
 		}
 
-		//if we arrive here, then it means at least one test was unstable
-		return numUnstable;
+		return failures.values();
+	}
+
+	private static JUnitResult runTests(Class<?>[] testClasses)
+	        throws JUnitExecutionException {
+		return runTests(testClasses, Collections.emptySet());
 	}
 
-	private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+	/**
+	 * @param toSkip
+	 *            names of the test methods that should not be run
+	 */
+	private static JUnitResult runTests(Class<?>[] testClasses, Set<String> toSkip)
 	        throws JUnitExecutionException {
-		return runJUnitOnCurrentProcess(testClasses);
+
+		Request request = Request.classes(testClasses);
+		if (!toSkip.isEmpty()) {
+			request = request.filterWith(new Filter() {
+				@Override
+				public boolean shouldRun(Description description) {
+					return description.getMethodName() == null
+					        || !toSkip.contains(description.getMethodName());
+				}
+
+				@Override
+				public String describe() {
+					return "skip " + toSkip;
+				}
+			});
+		}
+		return runJUnitOnCurrentProcess(testClasses, request);
 	}
 
-	private static JUnitResult runJUnitOnCurrentProcess(Class<?>[] testClasses) {
+	private static JUnitResult runJUnitOnCurrentProcess(Class<?>[] testClasses, Request request) {
 
 		JUnitCore runner = new JUnitCore();
 
@@ -303,7 +393,7 @@ public class JUnitAnalyzer {
 			TestGenerationContext.getInstance().goingToExecuteSUTCode();
 			Thread.currentThread().setContextClassLoader(testClasses[0].getClassLoader());
 			JDKClassResetter.reset(); //be sure we reset it here, otherwise "init" in the test case would take current changed state
-			result = runner.run(testClasses);
+			result = runner.run(request);
 		} finally {
 			Thread.currentThread().setContextClassLoader(currentLoader);
 			TestGenerationContext.getInstance().doneWithExecutingSUTCode();
@@ -340,7 +430,12 @@ public class JUnitAnalyzer {
 	// EvoSuite classloader, and thus cannot easily be re-loaded
 	private static int NUM = 0;
 
-	private static List<File> compileTests(List<TestCase> tests, File dir) {
+	/**
+	 * Create the source code of a JUnit test suite for the given tests
+	 * 
+	 * @return map from fully qualified class name to source code
+	 */
+	private static Map<String, String> createSources(List<TestCase> tests) {
 
 		TestSuiteWriter suite = new TestSuiteWriter();
 		suite.insertAllTests(tests);
@@ -350,112 +445,87 @@ public class JUnitAnalyzer {
 		String name = Properties.TARGET_CLASS.substring(beginIndex);
 		name += "_" +(NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX ; //postfix
 
-		try {
-			//now generate the JUnit test case
-			List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-			for (File file : generated) {
-				if (!file.exists()) {
-					logger.error("Supposed to generate " + file
-					        + " but it does not exist");
-					return null;
-				}
-			}
-
-			//try to compile the test cases
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			if (compiler == null) {
-				logger.error("No Java compiler is available");
-				return null;
-			}
-
-			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-			Locale locale = Locale.getDefault();
-			Charset charset = Charset.forName("UTF-8");
-			StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-			                                                                      locale,
-			                                                                      charset);
-
-			Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
-
-			String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-			if(JarPathing.containsAPathingJar(evosuiteCP)){
-				evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-			}
-
-			String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-			if(JarPathing.containsAPathingJar(targetProjectCP)){
-				targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-			}
-
-			String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+		String packagePrefix = Properties.CLASS_PREFIX;
+		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+			packagePrefix += ".";
+		}
 
-			List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+		Map<String, String> sources = new LinkedHashMap<>();
+		for (Map.Entry<String, String> unit : suite.createTestSuiteSources(name, Collections.emptyList()).entrySet()) {
+			sources.put(packagePrefix + unit.getKey(), unit.getValue());
+		}
+		return sources;
+	}
 
-			CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-			                                        optionList, null, compilationUnits);
-			boolean compiled = task.call();
-			fileManager.close();
+	private static String getClassPathForCompilation() {
+		String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+		if(JarPathing.containsAPathingJar(evosuiteCP)){
+			evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+		}
 
-			if (!compiled) {
-				logger.error("Compilation failed on compilation units: "+ compilationUnits);
-				logger.error("Classpath: "+classpath);
-				//TODO remove
-				logger.error("evosuiteCP: "+evosuiteCP);
+		String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		if(JarPathing.containsAPathingJar(targetProjectCP)){
+			targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+		}
 
+		return targetProjectCP + File.pathSeparator + evosuiteCP;
+	}
 
-				for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-					if (diagnostic.getMessage(null).startsWith("error while writing")) {
-						logger.error("Error is due to file permissions, ignoring...");
-						return generated;
-					}
-					logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-					        + diagnostic.getLineNumber());
-				}
+	/**
+	 * Compile all the given tests in a single test suite
+	 * 
+	 * @return {@code null} if the tests could not be compiled
+	 */
+	private static InMemoryCompilation compileTests(List<TestCase> tests) {
 
-				StringBuffer buffer = new StringBuffer();
-				for (JavaFileObject sourceFile : compilationUnits) {
-					List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+		//try to compile the test cases
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			logger.error("No Java compiler is available");
+			return null;
+		}
 
-					buffer.append(compilationUnits.iterator().next().toString()+"\n");
+		Map<String, String> sources = createSources(tests);
+		String classpath = getClassPathForCompilation();
 
-					for (int i = 0; i < lines.size(); i++) {
-						buffer.append((i + 1) + ": " + lines.get(i) +"\n");
-					}
-				}
-				logger.error(buffer.toString());
+		try {
+			InMemoryCompilation compilation = InMemoryCompilation.compile(compiler, sources, classpath);
+			if (!compilation.isSuccessful()) {
+				logCompilationErrors(compilation, sources, classpath);
 				return null;
 			}
-
-			return generated;
-
+			return compilation;
 		} catch (IOException e) {
 			logger.error("" + e, e);
 			return null;
 		}
 	}
 
-	protected static File createNewTmpDir() {
-		File dir = null;
-		String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
-		        + (dirCounter++) + "_" + +System.currentTimeMillis();
+	private static void logCompilationErrors(InMemoryCompilation compilation, Map<String, String> sources, String classpath) {
 
-		//first create a tmp folder
-		dir = new File(dirName);
-		if (!dir.mkdirs()) {
-			logger.error("Cannot create tmp dir: " + dirName);
-			return null;
-		}
+		logger.error("Compilation failed on compilation units: " + sources.keySet());
+		logger.error("Classpath: " + classpath);
 
-		if (!dir.exists()) {
-			logger.error("Weird behavior: we created folder, but Java cannot determine if it exists? Folder: "
-			        + dirName);
-			return null;
+		for (Diagnostic<?> diagnostic : compilation.getDiagnostics()) {
+			logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+			        + diagnostic.getLineNumber());
 		}
 
-		return dir;
+		StringBuilder buffer = new StringBuilder();
+		for (Map.Entry<String, String> unit : sources.entrySet()) {
+			if (!compilation.getUnitsWithErrors().isEmpty() && !compilation.getUnitsWithErrors().contains(unit.getKey())) {
+				continue;
+			}
+			buffer.append(unit.getKey()).append("\n");
+			String[] lines = unit.getValue().split("\n");
+			for (int i = 0; i < lines.length; i++) {
+				buffer.append(i + 1).append(": ").append(lines[i]).append("\n");
+			}
+		}
+		logger.error(buffer.toString());
 	}
 
-	private static Class<?>[] loadTests(List<File> tests) {
+	private static Class<?>[] loadTests(InMemoryCompilation compilation) {
 
 		/*
 		 * Ideally, when we run a generated test case, it
@@ -469,67 +539,43 @@ public class JUnitAnalyzer {
 		 * non-instrumenting classloader to re-load the CUT, and so see
 		 * if the JavaAgent works properly.
 		 */
-		Class<?>[] testClasses = getClassesFromFiles(tests);
-		List<File> otherClasses = listOnlyFiles(tests);
+		Map<String, byte[]> classes = compilation.getClasses();
+
 		/*
-		 * this is important to force the loading of all files generated
-		 * in the target folder.
-		 * If we do not do that, then we will miss all the anonymous classes 
+		 * first load only the scaffolding files
 		 */
-		getClassesFromFiles(otherClasses);
-
-		return testClasses;
-	}
-
-	private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException{
-		if(tests==null || tests.isEmpty()){
-			return null;
-		}
-
-		Set<String> classNames = new LinkedHashSet<>();
-		
-		File parentFolder = tests.get(0).getParentFile();
-		for(File file : tests){
-			if(!file.getParentFile().equals(parentFolder)){
-				throw new IllegalArgumentException("Tests file are not in the same folder");
+		for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+			if (isScaffolding(entry.getKey())) {
+				loadClass(entry.getKey(), entry.getValue());
 			}
-			classNames.add(removeFileExtension(file.getName()));
 		}
-		
+
 		/*
-		 * if we already loaded a CUT due to its .java, do not want
-		 * to re-loaded it for a .class file that is in the same folder
+		 * once the scaffoldings are loaded, we can load the tests that
+		 * depend on them 
 		 */
-		
-		List<File> otherClasses = new LinkedList<>();
-		
-		for(File file : parentFolder.listFiles()){
-			String  name = removeFileExtension(file.getName());
-
-			if(classNames.contains(name)){
+		List<Class<?>> testClasses = new ArrayList<>();
+		for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+			if (isScaffolding(entry.getKey()) || entry.getKey().contains("$")) {
 				continue;
 			}
-			
-			classNames.add(name);
-			otherClasses.add(file);
-		}
-		
-		return otherClasses;
-	}
-	
-
-	private static String removeFileExtension(String str) {
-		if (str == null) {
-			return null;
+			Class<?> clazz = loadClass(entry.getKey(), entry.getValue());
+			if (clazz != null) {
+				testClasses.add(clazz);
+			}
 		}
 
-		int pos = str.lastIndexOf(".");
-
-		if (pos == -1) {
-			return str;
+		/*
+		 * this is important to force the loading of all the other generated
+		 * classes. If we do not do that, then we will miss all the anonymous classes 
+		 */
+		for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+			if (entry.getKey().contains("$")) {
+				loadClass(entry.getKey(), entry.getValue());
+			}
 		}
 
-		return str.substring(0, pos);
+		return testClasses.toArray(new Class<?>[testClasses.size()]);
 	}
 
 	/**
@@ -542,8 +588,7 @@ public class JUnitAnalyzer {
 	 * </p>
 	 * 
 	 * <p>
-	 * Here we compile to a tmp folder, load and execute the test cases, and
-	 * then clean up (ie delete all generated files).
+	 * Here we compile in memory, and then load and execute the test cases.
 	 * </p>
 	 * 
 	 * @param tests
@@ -557,29 +602,23 @@ public class JUnitAnalyzer {
 			return true;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.warn("Failed to create tmp dir");
-			return false;
-		}
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			InMemoryCompilation compilation = compileTests(tests);
+			if (compilation == null) {
 				logger.warn("Failed to compile the test cases ");
 				return false;
 			}
 
 			//as last step, execute the generated/compiled test cases
 
-			Class<?>[] testClasses = loadTests(generated);
+			Class<?>[] testClasses = loadTests(compilation);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return false;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (!result.wasSuccessful()) {
 				logger.error("" + result.getFailureCount() + " test cases failed");
@@ -603,15 +642,6 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return false;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (IOException e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
 		}
 
 		logger.debug("Successfully compiled and run test cases generated for "
@@ -619,89 +649,17 @@ public class JUnitAnalyzer {
 		return true;
 	}
 
-	/**
-	 * Given a list of files representing .java/.class classes, load them (it
-	 * assumes the classpath to be correctly set)
-	 * 
-	 * @param files
-	 * @return
-	 */
-	private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-		/*
-		 * first load only the scaffolding files
-		 */
-		for (File file : files) {
-			if(!isScaffolding(file)){
-				continue;
-			}
-			loadClass(file);			
-		}
-		
-		List<Class<?>> classes = new ArrayList<>();
-		
-		/*
-		 * once the scaffoldings are loaded, we can load the tests that
-		 * depend on them 
-		 */
-		for (File file : files) {
-			if(isScaffolding(file)){
-				continue;
-			}
-			Class<?> clazz = loadClass(file);
-			if(clazz != null){
-				classes.add(clazz);
-			}
-		}
-		
-		return classes.toArray(new Class<?>[classes.size()]);
-	}
-
-	private static boolean isScaffolding(File file){
-		String name = file.getName();
-		return name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+JAVA) || 
-				name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+CLASS);
+	private static boolean isScaffolding(String className){
+		return className.endsWith("_"+Properties.SCAFFOLDING_SUFFIX);
 	}
-	
-	private static Class<?> loadClass(File file){
-		if (!file.isFile()) {
-			return null;
-		}
-
-		String packagePrefix = Properties.CLASS_PREFIX;
-		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-			packagePrefix += ".";
-		}
-
-		String name = file.getName();
-
-		if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-			/*
-			 * this could happen when we scan a folder for all src/compiled
-			 * files
-			 */
-			return null;
-		}
-
-		String fileName = file.getAbsolutePath();
-
-		if (name.endsWith(JAVA)) {
-			name = name.substring(0, name.length() - JAVA.length());
-			fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-		} else {
-			assert name.endsWith(CLASS);
-			name = name.substring(0, name.length() - CLASS.length());
-		}
-
-		String className = packagePrefix + name;
 
+	private static Class<?> loadClass(String className, byte[] bytes){
 		Class<?> testClass = null;
 		try {
 			logger.info("Loading class " + className);
-			//testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-			testClass = loader.loadClassFromFile(className,fileName);
+			testClass = loader.loadClassFromBytes(className, bytes);
 		} catch (ClassNotFoundException e) {
-			logger.error("Failed to load test case " + className + " from file "
-			        + file.getAbsolutePath() + " , error " + e, e);
+			logger.error("Failed to load test case " + className + " from memory, error " + e, e);
 		}
 		return testClass;
 	}
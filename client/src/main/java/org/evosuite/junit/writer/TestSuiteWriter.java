@@ -183,6 +183,34 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
+        Map<String, String> sources = createTestSuiteSources(name, cachedResults);
+
+        List<File> generated = new ArrayList<>();
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        String content = "";
+
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(dir + "/" + source.getKey() + ".java");
+            FileIOUtils.writeFile(source.getValue(), file);
+            generated.add(file);
+            content += source.getValue();
+        }
+
+        writeCoveredGoalsFile();
+
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
+        return generated;
+    }
+
+    /**
+     * Create the source code of the JUnit test suite for class, without
+     * writing anything to disk
+     *
+     * @param name Name of the class
+     * @return map from the simple name of each generated class (eg, tests and scaffolding) to its source code
+     */
+    public Map<String, String> createTestSuiteSources(String name, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -193,9 +221,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
+        Map<String, String> sources = new LinkedHashMap<>();
 
         // Execute all tests
         executor.newObservers();
@@ -238,36 +264,23 @@ public class TestSuiteWriter implements Opcodes {
 
 
         if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
             //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
+            sources.put(name, getUnitTestsAllInSameFile(name, results));
         } else {
             for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
                 //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
-                generated.add(file);
+                sources.put(name + "_" + i, getOneUnitTestInAFile(name, i, results)); // e.g., Foo_ESTest_0
             }
         }
 
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
-            content += scaffoldingContent;
+            sources.put(scaffoldingName, scaffoldingContent);
         }
 
-        writeCoveredGoalsFile();
-
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
-        return generated;
+        return sources;
     }
 
     /**
@@ -21,192 +21,396 @@ package org.evosuite.lm;
 
 import java.io.*;
 
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.Comparator;
-
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
 /**
  * Represents a language model, a set of bigrams, unigrams and associated
  * log-probabilities.
+ *
+ * Unigrams are indexed by position, and all probabilities are stored in
+ * primitive arrays, so that scoring a string works directly on its
+ * <code>char</code> codes. A model can be read either from the textual ARPA
+ * format, or from the compact binary format produced by {@link #main(String[])}.
+ * Models are looked up on the classpath first, and then on the file system.
+ * If a model with the same name plus {@link #BINARY_EXTENSION} exists,
+ * that one is used.
  */
 public class LangModel {
 
-    // class variables
-    // Hashes storing various Language Model probabilities
-    /**
-     * Probability of a unigram occurring.
-     */
-    private Map<String, Double> unigram_probs = new HashMap<>();
     /**
-     * Unigram backoff probabilities (used in bigram probability estimation).
+     * Extension of the binary version of a language model
      */
-    private Map<String, Double> unigram_backoff_probs = new HashMap<>();
-    /**
-     * Probability that Unigram2 follows Unigram1, where each key is of the form "Unigram1 Unigram2".
-     */
-    private Map<String, Double> bigram_probs = new HashMap<>();
+    public static final String BINARY_EXTENSION = ".bin";
+
+    private static final int BINARY_MAGIC = 0x45564C4D; // "EVLM"
+    private static final int BINARY_VERSION = 2;
 
     //Sentinel unigram values:
     public static final String START_OF_STRING = "<s>";
     public static final String END_OF_STRING="</s>";
     public static final String START_NEW_WORD="<w>";
 
-    private double unknown_char_prob = 0;
+    /**
+     * Models are immutable once loaded, so they are shared by all the searches
+     */
+    private static final Map<String, LangModel> instances = new HashMap<>();
 
+    /**
+     * The unigrams, in the order they appear in the model.
+     */
+    private final String[] unigrams;
+
+    private final Map<String, Integer> unigram_index = new HashMap<>();
 
-    // Hashes to store most probable next characters in bigram
     /**
-     * Mapping of the nth most likely unigrams to follow each unigram.
-     * Encoded as: <code>(unigram)(n)> -> (unigram)</code>
+     * Index of the unigram of each single-character unigram, -1 if there is none.
+     */
+    private final int[] char_index;
+
+    /**
+     * Probability of a unigram occurring.
+     */
+    private final double[] unigram_probs;
+    /**
+     * Unigram backoff probabilities (used in bigram probability estimation), NaN if missing.
      */
-    private HashMap<String, String> context_char = new HashMap<>();
+    private final double[] unigram_backoff_probs;
     /**
-     * Mapping of the probability of the nth most likely unigram to follow each unigram.
-     * Encoded as: <code>(unigram)(n)> -> (log_probability)</code>
+     * Probability that Unigram2 follows Unigram1, at position <code>Unigram1 * #unigrams + Unigram2</code>.
+     * NaN if the bigram is not part of the model.
      */
-    private HashMap<String, Double> context_prob = new HashMap<>();
+    private final double[] bigram_probs;
+
+    private final double unknown_char_prob;
+
+    private final int start_of_string_index;
+
+    private final int new_word_index;
 
     // Maximum number of characters to predict for each bigram
-    int predicted_chars = 10;
+    private static final int predicted_chars = 10;
 
-    // Constructors
-    // Read in data from language model to be manipulated later
-    // Takes language model file as argument
+    /**
+     * Index of the nth most likely unigram to follow each unigram, at position
+     * <code>unigram * predicted_chars + n</code>, -1 if there is none.
+     */
+    private final int[] context_char;
+    /**
+     * Log probability of the nth most likely unigram to follow each unigram.
+     */
+    private final double[] context_prob;
+
+    /**
+     * Load the language model, reusing it if it was already loaded.
+     * @param lmFileName name of a language model resource.
+     * @return the language model
+     * @throws IOException if the model file can't be found or read.
+     */
+    public static synchronized LangModel getInstance(String lmFileName) throws IOException {
+        LangModel model = instances.get(lmFileName);
+        if (model == null) {
+            model = new LangModel(lmFileName);
+            instances.put(lmFileName, model);
+        }
+        return model;
+    }
 
     /**
      * Load the language model.
-     * @param lmFileName path to a language model file.
+     * @param lmFileName name of a language model resource.
      * @throws IOException if the model file can't be found or read.
      */
     public LangModel(String lmFileName) throws IOException {
+        this(read(lmFileName));
+    }
+
+    private LangModel(ModelData data) {
+        int n = data.unigrams.size();
+        unigrams = data.unigrams.toArray(new String[0]);
+        unigram_probs = data.unigramProbs;
+        unigram_backoff_probs = data.unigramBackoffProbs;
+
+        int maxChar = -1;
+        double lowest_unigram_prob = 0;
+        for (int i = 0; i < n; i++) {
+            unigram_index.put(unigrams[i], i);
+            if (unigrams[i].length() == 1) {
+                maxChar = Math.max(maxChar, unigrams[i].charAt(0));
+            }
+            lowest_unigram_prob = Math.min(lowest_unigram_prob, unigram_probs[i]);
+        }
+        unknown_char_prob = lowest_unigram_prob;
+        start_of_string_index = unigram_index.getOrDefault(START_OF_STRING, -1);
+        new_word_index = unigram_index.getOrDefault(START_NEW_WORD, -1);
+
+        char_index = new int[maxChar + 1];
+        Arrays.fill(char_index, -1);
+        for (int i = 0; i < n; i++) {
+            if (unigrams[i].length() == 1) {
+                char_index[unigrams[i].charAt(0)] = i;
+            }
+        }
 
+        bigram_probs = new double[n * n];
+        Arrays.fill(bigram_probs, Double.NaN);
+        for (int i = 0; i < data.numBigrams; i++) {
+            bigram_probs[data.bigramStart[i] * n + data.bigramEnd[i]] = data.bigramProbs[i];
+        }
+
+        // Go through each bigram in order (most likely first, in model order if equally likely)
+        // and build a table of the predicted_chars most likely characters to follow each character.
+        Integer[] order = new Integer[data.numBigrams];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(data.bigramProbs[b], data.bigramProbs[a]));
+
+        context_char = new int[n * predicted_chars];
+        context_prob = new double[n * predicted_chars];
+        Arrays.fill(context_char, -1);
+        int[] filled = new int[n];
+        for (int i : order) {
+            int pre = data.bigramStart[i];
+            if (filled[pre] < predicted_chars) {
+                int pos = pre * predicted_chars + filled[pre];
+                context_char[pos] = data.bigramEnd[i];
+                context_prob[pos] = data.bigramProbs[i];
+                filled[pre]++;
+            }
+        }
+    } // LangModel
+
+    /**
+     * Raw content of a model file, before the lookup tables are built
+     */
+    private static class ModelData {
+        private final List<String> unigrams = new ArrayList<>();
+        private double[] unigramProbs = new double[128];
+        private double[] unigramBackoffProbs = new double[128];
+        private int numBigrams = 0;
+        private int[] bigramStart = new int[1024];
+        private int[] bigramEnd = new int[1024];
+        private double[] bigramProbs = new double[1024];
+
+        private final Map<String, Integer> index = new HashMap<>();
+
+        private void addUnigram(String unigram, double prob, double backoff) {
+            Integer i = index.get(unigram);
+            if (i == null) {
+                i = unigrams.size();
+                unigrams.add(unigram);
+                index.put(unigram, i);
+                if (i == unigramProbs.length) {
+                    unigramProbs = Arrays.copyOf(unigramProbs, i * 2);
+                    unigramBackoffProbs = Arrays.copyOf(unigramBackoffProbs, i * 2);
+                }
+            }
+            unigramProbs[i] = prob;
+            unigramBackoffProbs[i] = backoff;
+        }
+
+        private void addBigram(int start, int end, double prob) {
+            if (numBigrams == bigramProbs.length) {
+                bigramStart = Arrays.copyOf(bigramStart, numBigrams * 2);
+                bigramEnd = Arrays.copyOf(bigramEnd, numBigrams * 2);
+                bigramProbs = Arrays.copyOf(bigramProbs, numBigrams * 2);
+            }
+            bigramStart[numBigrams] = start;
+            bigramEnd[numBigrams] = end;
+            bigramProbs[numBigrams] = prob;
+            numBigrams++;
+        }
+    }
+
+    private static ModelData read(String lmFileName) throws IOException {
+        URL binary = locate(lmFileName.endsWith(BINARY_EXTENSION) ? lmFileName
+                : lmFileName + BINARY_EXTENSION);
+        if (binary != null) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(binary.openStream()))) {
+                return readBinary(in);
+            }
+        }
+        return readText(lmFileName);
+    }
 
+    /**
+     * Load the language model from the text format, even if a binary version of it exists.
+     * @param lmFileName name of a language model resource.
+     * @throws IOException if the model file can't be found or read.
+     */
+    static LangModel loadText(String lmFileName) throws IOException {
+        return new LangModel(readText(lmFileName));
+    }
+
+    private static ModelData readText(String lmFileName) throws IOException {
+        URL text = locate(lmFileName);
+        if (text == null) {
+            throw new FileNotFoundException("Cannot find language model " + lmFileName);
+        }
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(text.openStream()))) {
+            return readText(br);
+        }
+    }
+
+    /**
+     * @return the model as a resource on the classpath, or as a file, null if not found
+     */
+    private static URL locate(String lmFileName) throws IOException {
+        URL url = LangModel.class.getClassLoader().getResource(lmFileName);
+        if (url == null && new File(lmFileName).isFile()) {
+            url = new File(lmFileName).toURI().toURL();
+        }
+        return url;
+    }
+
+    /**
+     * Reads a model in the ARPA text format. Only unigrams and bigrams are used,
+     * so the rest of the file is skipped.
+     */
+    private static ModelData readText(BufferedReader br) throws IOException {
+        ModelData data = new ModelData();
 
         // Flag to indicate length of n-grams currently being read (0 == read
         // nothing)
         int ngram_len = 0; //size of the n-grams we're reading (i.e. ngram_len = 5 implies 5-grams).
 
-        InputStream fstream = LangModel.class.getClassLoader().getResourceAsStream(lmFileName);
-        // FileInputStream fstream = new FileInputStream(lmFileName);
-
-        DataInputStream in = new DataInputStream(fstream);
-        BufferedReader br = new BufferedReader(new InputStreamReader(in));
         String strLine;
-
-        double highest_unigram_prob = 0;
-
-        // Read file line by line
         while ((strLine = br.readLine()) != null) {
-            Pattern ngram_len_p = Pattern.compile("(\\d+)-grams:");
-            Matcher match_ngram_len = ngram_len_p.matcher(strLine);
-            //does line match (\d+)-grams: ?
-            if (match_ngram_len.find()) {
-                ngram_len = Integer.parseInt(match_ngram_len.group(1));
-
-            } else if (ngram_len == 1) {
-                //We're looking at unigrams;
-                Pattern unigram_p = Pattern
-                        .compile("([-0-9\\.]+)\\s*(\\S+)\\s*([-0-9\\.]+)");
-                // Match with <floating point number> <one or more chars> <floating point number>
-                //                        |                   |                 +------ backoff probability
-                //                        |                   +------------------------ unigram
-                //                        +-------------------------------------------- unigram probability
-                Matcher match_unigram = unigram_p.matcher(strLine);
-                if (match_unigram.find()) {
-
-                    double unigram_prob = Double.parseDouble(match_unigram
-                            .group(1));
-                    String unigram = match_unigram.group(2);
-                    double unigram_backoff_prob = Double
-                            .parseDouble(match_unigram.group(3));
-
-                    unigram_probs.put(unigram, unigram_prob);
-                    unigram_backoff_probs.put(unigram, unigram_backoff_prob);
-
-                    if(unigram_prob < unknown_char_prob) {
-                        unknown_char_prob = unigram_prob;
-                    } // if
-                    if(unigram_prob > highest_unigram_prob) {
-                        highest_unigram_prob = unigram_prob;
-                    } //if
-
-                } // if
+            if (strLine.endsWith("-grams:")) {
+                ngram_len = Integer.parseInt(strLine.substring(strLine.lastIndexOf('\\') + 1,
+                        strLine.length() - "-grams:".length()));
+                if (ngram_len > 2) {
+                    break;
+                }
+                continue;
+            }
 
-            } else if (ngram_len == 2) {
-                Pattern bigram_p = Pattern.compile("([-0-9\\.]+)\\s*(\\S+) (\\S+)");
-                //Match line with <floating point number> <one or more chars> <one or more chars>
-                //                            |                   |                    +---- end char of bigram
-                //                            |                   +------------------------- start char of bigram
-                //                            +--------------------------------------------- bigram probability
-                Matcher match_bigram = bigram_p.matcher(strLine);
-                if (match_bigram.find()) {
-                    double bigram_prob = Double.parseDouble(match_bigram
-                            .group(1));
-                    String bigram_start = match_bigram.group(2);
-                    String bigram_end = match_bigram.group(3);
-                    String bigram = bigram_start + " " + bigram_end;
-
-                    bigram_probs.put(bigram, bigram_prob);
+            // <log probability> <n-gram chars separated by space> [<backoff log probability>]
+            String[] tokens = strLine.trim().split("\\s+");
+            if (ngram_len == 1 && tokens.length >= 2) {
+                double backoff = tokens.length > 2 ? Double.parseDouble(tokens[2]) : Double.NaN;
+                data.addUnigram(tokens[1], Double.parseDouble(tokens[0]), backoff);
+            } else if (ngram_len == 2 && tokens.length >= 3) {
+                Integer start = data.index.get(tokens[1]);
+                Integer end = data.index.get(tokens[2]);
+                if (start != null && end != null) {
+                    data.addBigram(start, end, Double.parseDouble(tokens[0]));
+                }
+            }
+        }
+        return data;
+    }
 
-                } // if
+    /**
+     * The model is only a few hundred KB, and is read once into the arrays of
+     * {@link ModelData}, so a buffered stream is enough
+     */
+    private static ModelData readBinary(DataInputStream in) throws IOException {
+        if (in.readInt() != BINARY_MAGIC) {
+            throw new IOException("Not a binary language model");
+        }
+        int version = in.readInt();
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported binary language model version: " + version);
+        }
 
-            } // if/else
-        } // while
-        // Close the input stream
-        in.close();
-
-        ValueComparator bvc = new ValueComparator(bigram_probs);
-        TreeMap<String, Double> sorted_bigram_probs = new TreeMap<>(
-                bvc);
-
-        //Store bigrams sorted by probability:
-        sorted_bigram_probs.putAll(bigram_probs);
-
-        // Regular expressions setup
-        Pattern context_p = Pattern.compile("(\\S+) (\\S+)");
-
-        //Go through each bigram in order (most likely first) and build a
-        // table of the predicted_chars most likely characters to follow each character.
-        for (Map.Entry<String, Double> entry : sorted_bigram_probs.entrySet()) {
-            Matcher match_context = context_p.matcher(entry.getKey());
-            if (match_context.find()) {
-                String pre = match_context.group(1);
-                String middle = match_context.group(2);
-
-                // Add to hash (do this by starting counter at 0 and then
-                // testing hash and
-                // filling first empty slot. If no empty slot found then value
-                // is not stored.
-                for (int c = 0; c < predicted_chars; c++) {
-                    String key = pre + c;
-                    if (!context_char.containsKey(key)) {
-                        context_char.put(key, middle);
-                        context_prob.put(key, entry.getValue());
-                        break;
-                    } // if
-                } // for
-            } // if
+        ModelData data = new ModelData();
+        int numUnigrams = in.readInt();
+        for (int i = 0; i < numUnigrams; i++) {
+            byte[] chars = new byte[in.readUnsignedShort()];
+            in.readFully(chars);
+            double prob = in.readDouble();
+            double backoff = in.readDouble();
+            data.addUnigram(new String(chars, StandardCharsets.UTF_8), prob, backoff);
+        }
+        int numBigrams = in.readInt();
+        for (int i = 0; i < numBigrams; i++) {
+            int start = in.readInt();
+            int end = in.readInt();
+            if (start < 0 || start >= numUnigrams || end < 0 || end >= numUnigrams) {
+                throw new IOException("Invalid bigram " + start + " " + end + " in a model with "
+                        + numUnigrams + " unigrams");
+            }
+            data.addBigram(start, end, in.readDouble());
+        }
+        return data;
+    }
 
-        } // for
+    /**
+     * Writes this model in the binary format.
+     * @param out where to write the model
+     * @throws IOException
+     */
+    public void writeBinary(OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(BINARY_MAGIC);
+        dos.writeInt(BINARY_VERSION);
+        dos.writeInt(unigrams.length);
+        for (int i = 0; i < unigrams.length; i++) {
+            byte[] chars = unigrams[i].getBytes(StandardCharsets.UTF_8);
+            if (chars.length > 0xFFFF) {
+                throw new IOException("Unigram too long for the binary format: " + chars.length + " bytes");
+            }
+            dos.writeShort(chars.length);
+            dos.write(chars);
+            dos.writeDouble(unigram_probs[i]);
+            dos.writeDouble(unigram_backoff_probs[i]);
+        }
+        int numBigrams = 0;
+        for (double prob : bigram_probs) {
+            if (!Double.isNaN(prob)) {
+                numBigrams++;
+            }
+        }
+        dos.writeInt(numBigrams);
+        for (int i = 0; i < bigram_probs.length; i++) {
+            if (!Double.isNaN(bigram_probs[i])) {
+                dos.writeInt(i / unigrams.length);
+                dos.writeInt(i % unigrams.length);
+                dos.writeDouble(bigram_probs[i]);
+            }
+        }
+        dos.flush();
+    }
 
-        // Print out as sanity check
-        //for (Map.Entry<String, String> entry : context_char.entrySet()) {
-        // System.out.println("Key = " + entry.getKey() + ", Value = " +
-        // entry.getValue());
-        //}
+    /**
+     * Offline conversion of a language model from the text format to the binary one.
+     * @param args the resource name (or path) of the text model, and the output file
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LangModel <text model> <binary output file>");
+            System.exit(1);
+        }
+        LangModel model = loadText(args[0]);
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            model.writeBinary(out);
+        }
+    }
 
-    } // LangModel
+    /**
+     * @return the index of the unigram for the given character, -1 if unknown
+     */
+    private int indexOf(char c) {
+        if (c == ' ') {
+            return new_word_index;
+        }
+        return c < char_index.length ? char_index[c] : -1;
+    }
 
-    // Method which returns language model score for string str Splits
-    // string into bigrams and looks up the probability for each. If
-    // the bigram isn't found then backs off to use the unigram and
-    // backoff probabilities str is string for which score is
-    // computed, verbose is flag indicating whether to print out
-    // details about how this score is computed
+    private int indexOf(String unigram) {
+        if (unigram.length() == 1) {
+            return indexOf(unigram.charAt(0));
+        }
+        return unigram_index.getOrDefault(unigram, -1);
+    }
 
     /**
      * Splits a string into bigrams and calculates the language model score.
@@ -220,9 +424,9 @@ public class LangModel {
      * @param verbose whether to print information
      * @return
      */
-    public double score(String str, boolean verbose) {
+    public double score(CharSequence str, boolean verbose) {
 
-        if (verbose == true) {
+        if (verbose) {
             System.out.println("String is " + str);
         } // if
 
@@ -230,88 +434,69 @@ public class LangModel {
 
         // Get length of string
         int no_chars = str.length();
+        int n = unigrams.length;
 
         // Break string down into bigrams
-        for (int i = -1; i < (no_chars - 1); i++) {
-            String first_char;
-            String second_char;
-            if (i == -1) {
-                first_char = "<s>";
-                second_char = str.substring(0, 1);
-            } else {
-                first_char = str.substring(i, i + 1);
-                second_char = str.substring(i + 1, i + 2);
-            } // if/else
+        int first = start_of_string_index;
+        for (int i = 0; i < no_chars; i++) {
+            int second = indexOf(str.charAt(i));
 
-            if (first_char.equals(" ")) {
-                first_char = "<w>";
-            } // if
-            if (second_char.equals(" ")) {
-                second_char = "<w>";
-            } // if
-            String bigram = first_char + " " + second_char;
-
-            if (verbose == true) {
-                System.out.println("Bigram is " + bigram);
+            if (verbose) {
+                System.out.println("Bigram is " + unigramName(first, i - 1, str) + " " + unigramName(second, i, str));
             } // if
 
             // Get negative log likelihood for each bigram
             // (Either get directly or estimate using backoff)
-            if (bigram_probs.containsKey(bigram)) {
+            double bigram_prob = first >= 0 && second >= 0 ? bigram_probs[first * n + second] : Double.NaN;
+            if (!Double.isNaN(bigram_prob)) {
                 // Get direct bigram probabilities
-                double bigram_prob = bigram_probs.get(bigram);
                 log_prob = log_prob + bigram_prob;
-                if (verbose == true) {
+                if (verbose) {
                     System.out.println("Direct bigram prob: "
                             + Math.pow(10, bigram_prob) + "\n");
                 } // if
-            } else if(unigram_probs.containsKey(second_char) && unigram_backoff_probs.containsKey(first_char)){
+            } else if (first >= 0 && second >= 0 && !Double.isNaN(unigram_backoff_probs[first])) {
 
                 // Otherwise split into unigrams and do backoff
-                double unigram_backoff_prob = unigram_backoff_probs
-                        .get(first_char);
-                log_prob = log_prob + unigram_backoff_prob;
-                // System.out.println("Unigram ("+first_char+") backoff prob: "+unigram_backoff_prob);
-
+                double unigram_backoff_prob = unigram_backoff_probs[first];
+                double unigram_prob = unigram_probs[second];
+                log_prob = log_prob + unigram_backoff_prob + unigram_prob;
 
-
-
-                double unigram_prob = unigram_probs.get(second_char);
-                log_prob = log_prob + unigram_prob;
-
-                if (verbose == true) {
-                    double bigram_prob = unigram_backoff_prob + unigram_prob;
+                if (verbose) {
                     System.out.println("Inferred bigram prob: "
-                            + Math.pow(10, bigram_prob)
-                            + " (formed from unigram probs " + first_char
+                            + Math.pow(10, unigram_backoff_prob + unigram_prob)
+                            + " (formed from unigram probs " + unigramName(first, i - 1, str)
                             + ": " + Math.pow(10, unigram_backoff_prob)
-                            + " and " + second_char + ": "
+                            + " and " + unigramName(second, i, str) + ": "
                             + Math.pow(10, unigram_prob) + ")\n");
                 } // if
             } else {
                 //Note: we don't penalise strings containing weird (non-printable) characters.
                 //If we hit one (this block), just do nothing.
-                //throw new RuntimeException("Language Model can't give predictions for bigram " + bigram);
-
                 log_prob += unknown_char_prob;
-
             }
 
+            first = second;
         } // for
 
         // Convert log probs to probs and take geometric mean
-        //TODO: if none of the chars are accepted bigrams or unigrams this function used to return 1.0...
-        //did averaging the prob (rather than exponentiating the average log-prob) break anything?
         double avg_prob = Math.pow(10, log_prob / ((double) no_chars));
 
         return avg_prob;
 
     } // score
 
+    private String unigramName(int index, int position, CharSequence str) {
+        if (index >= 0) {
+            return unigrams[index];
+        }
+        return position < 0 ? START_OF_STRING : String.valueOf(str.charAt(position));
+    }
+
     /**
-     * Convenience method for {@link #score(String, boolean)} with verbose flag set to false.
+     * Convenience method for {@link #score(CharSequence, boolean)} with verbose flag set to false.
      */
-    public double score(String str) {
+    public double score(CharSequence str) {
 
         return score(str, false);
 
@@ -322,17 +507,11 @@ public class LangModel {
      */
     public String predict_char(String pre, int n) {
 
-        if (pre.equals(" ")) {
-            pre = "<w>";
-        }
-
-        String key = pre + n;
-
-        if (n < 0 || n > predicted_chars) {
+        int pos = contextPosition(pre, n);
+        if (pos < 0 || context_char[pos] < 0) {
             return null;
-        } else {
-            return context_char.get(key);
-        } // if/else
+        }
+        return unigrams[context_char[pos]];
 
     } // predict_char
 
@@ -341,33 +520,22 @@ public class LangModel {
      */
     public String predict_char(int n) {
 
-        return predict_char("<s>", n);
+        return predict_char(START_OF_STRING, n);
 
     } // predict_char
 
     /**
      * Method which returns the probability of the nth most likely character, given a
      * preceeding character (pre). Use in combination with the predict_char methods.
-     * @return the probability of the nth character that is most likely to appear
+     * @return the probability of the nth character that is most likely to appear, 0 if there is none
      */
     public double predict_char_prob(String pre, int n) {
 
-        if (n < 0 || n > predicted_chars) {
+        int pos = contextPosition(pre, n);
+        if (pos < 0 || context_char[pos] < 0) {
             return 0;
         }
-
-        if (pre.equals(" ")) {
-            pre = "<w>";
-        }
-
-        String key = pre + n;
-        Double prob = context_prob.get(key);
-
-        if (prob != null) {
-            prob = Math.pow(10, prob);
-        } // if
-
-        return prob;
+        return Math.pow(10, context_prob[pos]);
 
     } // predict_char_prob
 
@@ -379,10 +547,18 @@ public class LangModel {
      */
     public double predict_char_prob(int n) {
 
-        return predict_char_prob("<s>", n);
+        return predict_char_prob(START_OF_STRING, n);
 
     } // predict_char_prob
 
+    private int contextPosition(String pre, int n) {
+        if (n < 0 || n >= predicted_chars) {
+            return -1;
+        }
+        int index = indexOf(pre);
+        return index < 0 ? -1 : index * predicted_chars + n;
+    }
+
     public boolean isMagicChar(String character){
 
         return character.equals(START_NEW_WORD) || character.equals(END_OF_STRING) || character.equals(START_OF_STRING);
@@ -394,31 +570,3 @@ public class LangModel {
 
 
 } // LangModel
-
-/**
- * Compares values based on their values in an associated Map.
- */
-class ValueComparator implements Comparator<String> {
-
-    Map<String, Double> base;
-
-    /**
-     * Create a new comparator using a mapping of probabilities.
-     * The comparator will use the attached probabilities to return the
-     * ordering for two Strings.
-     * @param base a mapping of probabilities for strings.
-     */
-    public ValueComparator(Map<String, Double> base) {
-        this.base = base;
-    }
-
-    // Note: this comparator imposes orderings that are inconsistent with
-    // equals.
-    public int compare(String a, String b) {
-        if (base.get(a) >= base.get(b)) {
-            return -1;
-        } else {
-            return 1;
-        } // returning 0 would merge keys
-    }
-}
\ No newline at end of file
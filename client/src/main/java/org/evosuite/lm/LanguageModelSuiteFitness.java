@@ -39,7 +39,7 @@ public class LanguageModelSuiteFitness extends TestSuiteFitnessFunction {
     public LanguageModelSuiteFitness(){
         backingFitness = new BranchCoverageSuiteFitness();
         try {
-            languageModel = new LangModel(Properties.LM_SRC);
+            languageModel = LangModel.getInstance(Properties.LM_SRC);
         } catch (IOException e) {
             //TODO: what's the policy for showstopper exceptions?
             throw new RuntimeException("Language Model failed to initialise");
@@ -40,6 +40,7 @@ import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.coverage.ClassStatisticsPrinter;
 import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.stoppingconditions.RMIStoppingCondition;
 import org.evosuite.junit.CoverageAnalysis;
 import org.evosuite.result.TestGenerationResult;
@@ -97,10 +98,17 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
 	private final BlockingQueue<OutputVariable> outputVariableQueue = new LinkedBlockingQueue<>();
 
+	/**
+	 * Keys of goals covered by this client that still need to be sent to the master
+	 */
+	private final BlockingQueue<String> coveredGoalsQueue = new LinkedBlockingQueue<>();
+
 	private Collection<Set<T>> bestSolutions;
 	
 	private Thread statisticsThread; 
 
+	private Thread coveredGoalsThread;
+
 	//only for testing
 	protected ClientNodeImpl() {
 	}
@@ -223,6 +231,18 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         }
     }
 
+    @Override
+    public void publishCoveredGoals(Set<String> goals) {
+        if (coveredGoalsThread == null) {
+            return;
+        }
+        /*
+         * Same as for the output variables: this is called during the search for
+         * each newly covered goal, so we do not want to pay an RMI call each time
+         */
+        coveredGoalsQueue.addAll(goals);
+    }
+
     @Override
 	public void changeState(ClientState state) {
 		changeState(state, new ClientStateInformation(state));
@@ -361,6 +381,11 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 			statisticsThread = null;
 		}
 
+		if(coveredGoalsThread!=null){
+			coveredGoalsThread.interrupt();
+			coveredGoalsThread = null;
+		}
+
 		changeState(ClientState.FINISHED);
 	}
 
@@ -393,6 +418,30 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 			Sandbox.addPrivilegedThread(statisticsThread);
 			statisticsThread.start();
 
+			if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.SHARE_COVERED_GOALS) {
+				coveredGoalsThread = new Thread() {
+					@Override
+					public void run() {
+						while (!this.isInterrupted()) {
+							Set<String> goals = new HashSet<>();
+							try {
+								goals.add(coveredGoalsQueue.take()); //this is blocking
+								coveredGoalsQueue.drainTo(goals);
+								masterNode.evosuite_publishCoveredGoals(clientRmiIdentifier, goals);
+							} catch (InterruptedException e) {
+								break;
+							} catch (RemoteException e) {
+								logger.error("Error when publishing " + goals.size() + " covered goals", e);
+								break;
+							}
+						}
+					}
+				};
+				coveredGoalsThread.setName("Covered goals sender in client process");
+				Sandbox.addPrivilegedThread(coveredGoalsThread);
+				coveredGoalsThread.start();
+			}
+
 		} catch (Exception e) {
 			logger.error("Error when connecting to master via RMI", e);
 			return false;
@@ -541,6 +590,15 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         bestSolutions.add(solutions);
     }
 
+    @Override
+    public void coveredElsewhere(Set<String> goals) throws RemoteException {
+        logger.debug(ClientProcess.getPrettyPrintIdentifier() + "receiving "
+                + (goals != null ? goals.size() : 0) + " goals covered by other clients");
+        if (goals != null) {
+            Archive.getArchiveInstance().markCoveredElsewhere(goals);
+        }
+    }
+
     @Override
     public void addListener(Listener<Set<T>> listener) {
 	    listeners.add(listener);
@@ -55,4 +55,12 @@ public interface ClientNodeLocal<T extends Chromosome<T>> extends Listenable<Set
 	void sendBestSolution(Set<T> solutions);
 
     Set<Set<T>> getBestSolutions();
+
+	/**
+	 * Asynchronously inform the other clients (through the master) that
+	 * the given goals have been covered by this client
+	 *
+	 * @param goals keys of the newly covered goals
+	 */
+	void publishCoveredGoals(Set<String> goals);
 }
@@ -57,4 +57,12 @@ public interface ClientNodeRemote<T extends Chromosome<T>> extends Remote {
 	void immigrate(Set<T> migrants) throws RemoteException;
 
     void collectBestSolutions(Set<T> solutions) throws RemoteException;
+
+	/**
+	 * Goals that have been covered by some other client running in parallel
+	 *
+	 * @param goals keys of the covered goals
+	 * @throws RemoteException
+	 */
+	void coveredElsewhere(Set<String> goals) throws RemoteException;
 }
@@ -21,6 +21,7 @@ package org.evosuite.rmi.service;
 
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
+import java.util.Set;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
@@ -100,6 +101,11 @@ public class DummyClientNodeImpl<T extends Chromosome<T>> extends ClientNodeImpl
 		
 	}
 
+	@Override
+	public void publishCoveredGoals(Set<String> goals) {
+		// nothing to do, as there is no master to talk to
+	}
+
 	@Override
 	public String getClientRmiIdentifier() {
 		return "dummy";
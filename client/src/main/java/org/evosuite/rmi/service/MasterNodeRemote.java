@@ -60,4 +60,14 @@ public interface MasterNodeRemote extends Remote {
 	void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome> migrants) throws RemoteException;
 
     void evosuite_collectBestSolutions(String clientRmiIdentifier, Set<? extends Chromosome> solutions) throws RemoteException;
+
+    /**
+     * Inform the master that the given client has covered new goals. The master
+     * forwards the goals that were not known yet to all the other clients.
+     *
+     * @param clientRmiIdentifier the client that covered the goals
+     * @param goals keys of the covered goals, as computed by {@link org.evosuite.ga.archive.ArchiveUtils#getGoalKey}
+     * @throws RemoteException
+     */
+    void evosuite_publishCoveredGoals(String clientRmiIdentifier, Set<String> goals) throws RemoteException;
 }
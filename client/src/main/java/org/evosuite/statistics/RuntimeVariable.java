@@ -222,6 +222,14 @@ public enum RuntimeVariable {
 	NumUnstableTests,
 	/** An estimate (ie not precise) of the maximum number of threads running at the same time in the CUT */
 	Threads,
+	/** Highest number of iterations of a single loop in the CUT during a test execution */
+	Max_Loop_Iterations,
+	/** How many times a loop in the CUT was stopped because it went over its iteration budget */
+	Exceeded_Loop_Budgets,
+	/** How many times a class was re-initialized after a test execution, over all classes */
+	Class_Resets,
+	/** Overall time in milliseconds spent re-initializing classes after test executions */
+	Class_Reset_Time,
 	/** Number of top-level methods throwing an undeclared exception explicitly with a 'throw new' */
 	Explicit_MethodExceptions, 
 	/** Number of undeclared exception types that were explicitly thrown with a 'throw new' at least once */
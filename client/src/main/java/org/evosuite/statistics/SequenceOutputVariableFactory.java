@@ -24,6 +24,7 @@ import org.evosuite.TimeController;
 import org.evosuite.testsuite.TestSuiteChromosome;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -38,8 +39,16 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 
 	protected RuntimeVariable variable;
 	
-	protected List<Long> timeStamps = new ArrayList<>();
-	protected List<T> values = new ArrayList<>();
+	/*
+	 * samples are stored in primitive arrays, as there can be one per
+	 * generation for each timeline variable
+	 */
+	private long[] timeStamps = new long[64];
+	private double[] values = new double[64];
+	private int size = 0;
+
+	/** Whether the sampled values are integers, and so should not be reported as doubles */
+	private boolean integral = false;
 	
 	private long startTime = 0L;
 	
@@ -54,8 +63,34 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 	protected abstract T getValue(TestSuiteChromosome individual);
 	
 	public void update(TestSuiteChromosome individual) {
-		timeStamps.add(System.currentTimeMillis() - startTime);
-		values.add(getValue(individual));
+		T value = getValue(individual);
+		if (size == timeStamps.length) {
+			timeStamps = Arrays.copyOf(timeStamps, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		timeStamps[size] = System.currentTimeMillis() - startTime;
+		values[size] = value.doubleValue();
+		integral = value instanceof Integer;
+		size++;
+	}
+
+	public RuntimeVariable getVariable() {
+		return variable;
+	}
+
+	/**
+	 * @return the times (in milliseconds since the start of the search) at which
+	 *         the values were sampled
+	 */
+	public long[] getTimeStamps() {
+		return Arrays.copyOf(timeStamps, size);
+	}
+
+	/**
+	 * @return the sampled values, in the same order as {@link #getTimeStamps()}
+	 */
+	public double[] getSampledValues() {
+		return Arrays.copyOf(values, size);
 	}
 	
 	public List<String> getVariableNames() {
@@ -72,44 +107,54 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 	public List<OutputVariable<T>> getOutputVariables() {
 		List<OutputVariable<T>> variables = new ArrayList<>();
 
-		for(String variableName : getVariableNames()) {
-			OutputVariable<T> variable = new OutputVariable<>(variableName, getTimeLineValue(variableName));
+		List<String> variableNames = getVariableNames();
+
+		/*
+		 * the preferred times are increasing, so all the values can be
+		 * computed with a single pass over the samples
+		 */
+		int first = 0;
+		for(int index = 1; index <= variableNames.size(); index++) {
+			long preferredTime = Properties.TIMELINE_INTERVAL * index;
+			while(first < size && timeStamps[first] < preferredTime) {
+				first++;
+			}
+			OutputVariable<T> variable = new OutputVariable<>(variableNames.get(index - 1), getTimeLineValue(first, preferredTime));
 			variables.add(variable);
 		}
 
 		return variables;
 	}
+
+	@SuppressWarnings("unchecked")
+	private T box(double value) {
+		if(integral) {
+			return (T) Integer.valueOf((int) value);
+		}
+		return (T) Double.valueOf(value);
+	}
 	
+	/**
+	 * @param first index of the first stamp that is not before the preferred time
+	 */
 	@SuppressWarnings("unchecked")
-	private T getTimeLineValue(String name) {
-		long interval = Properties.TIMELINE_INTERVAL;
-		
-		int index = Integer.parseInt( (name.split("_T"))[1] );
-		long preferredTime = interval * index;
+	private T getTimeLineValue(int first, long preferredTime) {
 		
 		/*
 		 * No data. Is it even possible? Maybe if population is too large,
 		 * and budget was not enough to get even first generation
 		 */
-		if(timeStamps.isEmpty()){
+		if(size == 0){
 			return (T) Integer.valueOf(0); // FIXXME - what else?
 		}
 		
-		for(int i=0; i<timeStamps.size(); i++){
-			/*
-			 * find the first stamp that is after the time we would like to
-			 * get coverage from
-			 */
-			long stamp = timeStamps.get(i);
-			if(stamp < preferredTime){
-				continue;
-			}
+		for(int i=first; i<size; i++){
 
 			if(i==0){
 				/*
 				 * it is the first element, so not much to do, we just use it as value
 				 */
-				return values.get(i);
+				return box(values[i]);
 			}
 
 
@@ -117,20 +162,20 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
              * If we do not want to interpolate, return last observed value
              */
             if (! Properties.TIMELINE_INTERPOLATION) {
-                return values.get(i-1);
+                return box(values[i-1]);
             }
 
 			/*
 			 * Now we interpolate the coverage, as usually we don't have the value for exact time we want
 			 */
-			long timeDelta = timeStamps.get(i) - timeStamps.get(i-1);
+			long timeDelta = timeStamps[i] - timeStamps[i-1];
 
 			if(timeDelta > 0 ){
-				double covDelta = values.get(i).doubleValue() - values.get(i-1).doubleValue();
+				double covDelta = values[i] - values[i-1];
 				double ratio = covDelta / timeDelta;
 				
-				long diff = preferredTime - timeStamps.get(i-1);
-				Double cov = values.get(i-1).doubleValue() +  (diff * ratio);
+				long diff = preferredTime - timeStamps[i-1];
+				Double cov = values[i-1] +  (diff * ratio);
 				return (T)cov; // TODO...type
 			}
 		}
@@ -140,7 +185,7 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 		 * So just return last value seen
 		 */
 		
-		return values.get(values.size()-1);
+		return box(values[size-1]);
 	}
 
 	
@@ -46,7 +46,7 @@ public class ConcolicBytecodeInstrumentation {
 	 * Applies DscClassAdapter to the className in the argument
 	 * 
 	 */
-	public byte[] transformBytes(String className, ClassReader reader) {
+	public byte[] transformBytes(ClassLoader classLoader, String className, ClassReader reader) {
 		int readFlags = ClassReader.SKIP_FRAMES;
 
 		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
@@ -54,7 +54,7 @@ public class ConcolicBytecodeInstrumentation {
 		ClassVisitor cv = writer;
 
         if (Properties.RESET_STATIC_FIELDS) {
-            cv = new StaticAccessClassAdapter(cv, className);
+            cv = new StaticAccessClassAdapter(cv, className, classLoader);
         }
 
 		// Apply transformations to class under test and its owned
@@ -111,7 +111,7 @@ public class ConcolicInstrumentingClassLoader extends ClassLoader {
 					        + "' should be in target project, but could not be found!");
 				}
 			}
-			byte[] byteBuffer = instrumentation.transformBytes(className,
+			byte[] byteBuffer = instrumentation.transformBytes(this, className,
 			                                                   new ClassReader(is));
 			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0,
 			                              byteBuffer.length);
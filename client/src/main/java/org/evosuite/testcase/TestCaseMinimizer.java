@@ -24,6 +24,7 @@ import org.evosuite.TimeController;
 import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.SecondaryObjective;
+import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Remove all statements from a test case that do not contribute to the fitness
@@ -44,6 +46,13 @@ public class TestCaseMinimizer {
 
 	private final TestFitnessFunction fitnessFunction;
 
+	/**
+	 * Execution results of already seen test cases, indexed by their code and
+	 * shared among minimizers of different goals. Null if executions are not
+	 * reused
+	 */
+	private final Map<String, ExecutionResult> executionCache;
+
 	/**
 	 * Constructor
 	 * 
@@ -52,7 +61,33 @@ public class TestCaseMinimizer {
 	 *            necessary
 	 */
 	public TestCaseMinimizer(TestFitnessFunction fitnessFunction) {
+		this(fitnessFunction, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param fitnessFunction
+	 *            Fitness function with which to measure whether a statement is
+	 *            necessary
+	 * @param executionCache
+	 *            execution results of test cases indexed by their code, reused instead of
+	 *            executing again a candidate that was already seen. It is
+	 *            ignored if the fitness function has its own way of executing
+	 *            tests (e.g., on a mutant)
+	 */
+	public TestCaseMinimizer(TestFitnessFunction fitnessFunction, Map<String, ExecutionResult> executionCache) {
 		this.fitnessFunction = fitnessFunction;
+		this.executionCache = usesDefaultExecution(fitnessFunction) ? executionCache : null;
+	}
+
+	private static boolean usesDefaultExecution(TestFitnessFunction fitnessFunction) {
+		try {
+			return fitnessFunction.getClass().getMethod("runTest", TestCase.class)
+					.getDeclaringClass().equals(TestFitnessFunction.class);
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
 	}
 
 	/**
@@ -131,72 +166,175 @@ public class TestCaseMinimizer {
 			return;
 		}
 		
-		boolean changed = true;
+		boolean completed = Properties.MINIMIZE_DDMIN ? removeChunksOfStatements(c) : removeSingleStatements(c);
+		if (!completed) {
+			return;
+		}
 
-		while (changed) {
-			changed = false;
+		//TODO: add back this check
+		assert  (fitnessFunction.isMaximizationFunction() ?
+				fitnessFunction.getFitness(c) >= fitness : fitnessFunction.getFitness(c) <= fitness)
+				:
+				"Minimization worsened " + fitnessFunction.getClass().getName()+" fitness from "+fitness+
+						" to "+fitnessFunction.getFitness(c)+" on test "+c.getTestCase().toCode();
 
-			for (int i = c.test.size() - 1; i >= 0; i--) {
-				if (isTimeoutReached()) {
-					logger.debug("Timeout reached before minimizing statement {}", c.test.getStatement(i).getCode());
-					return;
+
+		if (Properties.MINIMIZE_VALUES) {
+			logger.info("Minimizing values of test case");
+			ValueMinimizer minimizer = new ValueMinimizer();
+			minimizer.minimize(c, fitnessFunction);
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Minimized test case: ");
+			logger.debug(c.test.toCode());
+		}
+
+	}
+
+	/**
+	 * Delta debugging (ddmin): try to remove chunks of statements, starting
+	 * with halves of the test and refining the chunks down to single
+	 * statements. A test from which no single statement can be removed is a
+	 * fixpoint, as with {@link #removeSingleStatements(TestChromosome)}, but
+	 * long tests with many unneeded statements require far fewer executions.
+	 * 
+	 * @return false if the timeout was reached
+	 */
+	private boolean removeChunksOfStatements(TestChromosome c) {
+		int granularity = 2;
+
+		while (c.test.size() > 0) {
+			int size = c.test.size();
+			granularity = Math.min(granularity, size);
+			boolean reduced = false;
+
+			// later statements depend on earlier ones, so try the last chunks first
+			for (int chunk = granularity - 1; chunk >= 0; chunk--) {
+				int from = chunk * size / granularity;
+				int to = (chunk + 1) * size / granularity;
+				if (from == to) {
+					continue;
 				}
-				
-				logger.debug("Deleting statement {}", c.test.getStatement(i).getCode());
-				TestChromosome copy = c.clone();
-				boolean modified;
-				try {
-					modified = TestFactory.getInstance().deleteStatementGracefully(c.test, i);
-				} catch (ConstructionFailedException e) {
-					modified = false;
+				if (tryToRemove(c, from, to)) {
+					granularity = Math.max(granularity - 1, 2);
+					reduced = true;
+					break;
 				}
-				
-				if(!modified){
-					c.setChanged(false);
-					c.test = copy.test;
-					logger.debug("Deleting failed");
-					continue;
+				if (isTimeoutReached()) {
+					return false;
 				}
+			}
+
+			if (!reduced) {
+				if (granularity >= size) {
+					break;
+				}
+				granularity = Math.min(size, 2 * granularity);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Loop and try to remove one statement at a time, until no statement can
+	 * be removed
+	 * 
+	 * @return false if the timeout was reached
+	 */
+	private boolean removeSingleStatements(TestChromosome c) {
+		boolean changed = true;
 
-				c.setChanged(true);
+		while (changed) {
+			changed = false;
 
+			for (int i = c.test.size() - 1; i >= 0; i--) {
 				if (isTimeoutReached()) {
-					logger.debug("Keeping original version due to timeout");
-					restoreTestCase(c, copy);
-					return;
+					logger.debug("Timeout reached before minimizing statement {}", c.test.getStatement(i).getCode());
+					return false;
 				}
 
-				if (! isWorse(fitnessFunction, copy, c)) {
-					logger.debug("Keeping shorter version");
+				if (tryToRemove(c, i, i + 1)) {
 					changed = true;
 					break;
-				} else {
-					logger.debug("Keeping original version");
-					restoreTestCase(c, copy);
 				}
+				if (isTimeoutReached()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
 
+	/**
+	 * Delete the statements in [from, to) and keep the shorter test if its
+	 * fitness is not worse, otherwise restore the original test
+	 * 
+	 * @return true if the shorter test was kept
+	 */
+	private boolean tryToRemove(TestChromosome c, int from, int to) {
+		logger.debug("Deleting statements {} to {}", from, to - 1);
+		TestChromosome copy = c.clone();
+		boolean modified = false;
+		try {
+			for (int i = to - 1; i >= from; i--) {
+				// deleting a statement can also delete the statements depending on it
+				if (i < c.test.size()) {
+					modified = TestFactory.getInstance().deleteStatementGracefully(c.test, i) || modified;
+				}
 			}
+		} catch (ConstructionFailedException e) {
+			modified = false;
 		}
 
-		//TODO: add back this check
-		assert  (fitnessFunction.isMaximizationFunction() ?
-				fitnessFunction.getFitness(c) >= fitness : fitnessFunction.getFitness(c) <= fitness)
-				:
-				"Minimization worsened " + fitnessFunction.getClass().getName()+" fitness from "+fitness+
-						" to "+fitnessFunction.getFitness(c)+" on test "+c.getTestCase().toCode();
+		if (!modified) {
+			c.setChanged(false);
+			c.test = copy.test;
+			logger.debug("Deleting failed");
+			return false;
+		}
 
+		c.setChanged(true);
 
-		if (Properties.MINIMIZE_VALUES) {
-			logger.info("Minimizing values of test case");
-			ValueMinimizer minimizer = new ValueMinimizer();
-			minimizer.minimize(c, fitnessFunction);
+		if (isTimeoutReached()) {
+			logger.debug("Keeping original version due to timeout");
+			restoreTestCase(c, copy);
+			return false;
 		}
 
-		if (logger.isDebugEnabled()) {
-			logger.debug("Minimized test case: ");
-			logger.debug(c.test.toCode());
+		String code = executionCache != null ? c.test.toCode() : null;
+		reuseExecution(c, code);
+		boolean worse = isWorse(fitnessFunction, copy, c);
+		storeExecution(c, code);
+
+		if (!worse) {
+			logger.debug("Keeping shorter version");
+			return true;
+		} else {
+			logger.debug("Keeping original version");
+			restoreTestCase(c, copy);
+			return false;
+		}
+	}
+
+	private void reuseExecution(TestChromosome c, String code) {
+		if (executionCache == null) {
+			return;
+		}
+		ExecutionResult cached = executionCache.get(code);
+		if (cached != null) {
+			ExecutionResult result = cached.clone();
+			result.setTest(c.test);
+			c.setLastExecutionResult(result);
+			c.setChanged(false);
 		}
+	}
 
+	private void storeExecution(TestChromosome c, String code) {
+		if (executionCache == null || c.getLastExecutionResult() == null) {
+			return;
+		}
+		executionCache.putIfAbsent(code, c.getLastExecutionResult().clone());
 	}
 
 	private static void restoreTestCase(TestChromosome c, TestChromosome copy) {
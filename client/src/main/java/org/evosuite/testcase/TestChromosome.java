@@ -87,6 +87,28 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
 		this.lastExecutionResult = lastExecutionResult;
 	}
 
+	/**
+	 * Returns the CPU time in nanoseconds spent in the statements of this test
+	 * during its last execution. This is only measured if execution cost is
+	 * profiled, see {@link Properties#PROFILE_EXECUTION_COST}.
+	 *
+	 * @return the CPU time, or 0 if unknown
+	 */
+	public long getExecutionCpuTime() {
+		return lastExecutionResult == null ? 0L : lastExecutionResult.getCpuTime();
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the statements of this test
+	 * during its last execution. This is only measured if execution cost is
+	 * profiled, see {@link Properties#PROFILE_EXECUTION_COST}.
+	 *
+	 * @return the allocated bytes, or 0 if unknown
+	 */
+	public long getExecutionAllocatedBytes() {
+		return lastExecutionResult == null ? 0L : lastExecutionResult.getAllocatedBytes();
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void setChanged(boolean changed) {
@@ -58,6 +58,12 @@ public class ExecutionResult implements Cloneable {
 	/** Number of statements executed */
 	protected int executedStatements = 0;
 
+	/** CPU time in nanoseconds spent in each statement, if execution cost was profiled */
+	protected long[] statementCpuTime = new long[0];
+
+	/** Bytes allocated by each statement, if execution cost was profiled */
+	protected long[] statementAllocatedBytes = new long[0];
+
 	/** Was there a permission denied during execution? */
 	protected boolean hasSecurityException = false;
 
@@ -398,6 +404,62 @@ public class ExecutionResult implements Cloneable {
 		this.executionTime = executionTime;
 	}
 
+	/**
+	 * Record the cost of executing the statement at the given position
+	 *
+	 * @param position
+	 *            the position of the statement in the test
+	 * @param cpuTime
+	 *            CPU time of the test execution thread, in nanoseconds
+	 * @param allocatedBytes
+	 *            bytes allocated by the test execution thread
+	 */
+	public void setStatementCost(int position, long cpuTime, long allocatedBytes) {
+		if (position >= statementCpuTime.length) {
+			int size = Math.max(position + 1, test == null ? 0 : test.size());
+			statementCpuTime = Arrays.copyOf(statementCpuTime, size);
+			statementAllocatedBytes = Arrays.copyOf(statementAllocatedBytes, size);
+		}
+		statementCpuTime[position] = cpuTime;
+		statementAllocatedBytes[position] = allocatedBytes;
+	}
+
+	/**
+	 * @return the CPU time in nanoseconds spent in the statement at the given
+	 *         position, or 0 if it was not executed or not profiled
+	 */
+	public long getStatementCpuTime(int position) {
+		return position < statementCpuTime.length ? statementCpuTime[position] : 0L;
+	}
+
+	/**
+	 * @return the bytes allocated by the statement at the given position, or 0
+	 *         if it was not executed or not profiled
+	 */
+	public long getStatementAllocatedBytes(int position) {
+		return position < statementAllocatedBytes.length ? statementAllocatedBytes[position] : 0L;
+	}
+
+	/**
+	 * @return the CPU time in nanoseconds spent in all statements of the test
+	 */
+	public long getCpuTime() {
+		long sum = 0L;
+		for (long time : statementCpuTime)
+			sum += time;
+		return sum;
+	}
+
+	/**
+	 * @return the bytes allocated by all statements of the test
+	 */
+	public long getAllocatedBytes() {
+		long sum = 0L;
+		for (long bytes : statementAllocatedBytes)
+			sum += bytes;
+		return sum;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public ExecutionResult clone() {
@@ -406,6 +468,8 @@ public class ExecutionResult implements Cloneable {
 		copy.trace = trace.lazyClone();
 		copy.explicitExceptions.putAll(explicitExceptions);
 		copy.executionTime = executionTime;
+		copy.statementCpuTime = statementCpuTime.clone();
+		copy.statementAllocatedBytes = statementAllocatedBytes.clone();
 		copy.inputGoals = new LinkedHashMap<>(inputGoals);
 		copy.outputGoals = new LinkedHashMap<>(outputGoals);
 		for (Class<?> clazz : traces.keySet()) {
@@ -591,6 +591,15 @@ public interface ExecutionTrace {
 	 */
     void getStaticPassed(String classNameWithDots, String fieldName);
 
+	/**
+	 * Record a GETSTATIC of an array or collection field, whose content could
+	 * then be modified in place without any PUTSTATIC
+	 *
+	 * @param classNameWithDots
+	 * @param fieldName
+	 */
+    void getMutableStaticPassed(String classNameWithDots, String fieldName);
+
 	/**
 	 * Retrieve a list of those classes that were affected by a PUTSTATIC.
 	 *
@@ -605,6 +614,14 @@ public interface ExecutionTrace {
 	 */
     Set<String> getClassesWithStaticReads();
 
+	/**
+	 * Retrieve a list of those classes that had an array or collection static
+	 * field read, ie whose static state was possibly modified in place.
+	 *
+	 * @return
+	 */
+    Set<String> getClassesWithMutableStaticReads();
+
 	/**
 	 * Logs that a <clinit> was completed during this test execution
 	 * 
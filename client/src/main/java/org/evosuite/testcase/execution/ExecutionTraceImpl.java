@@ -258,6 +258,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	// active calls
 	LinkedList<MethodCall> stack = new LinkedList<>();
 
+	// number of branch entries held by finishedCalls and stack, bounded by Properties.MAX_TRACE_ENTRIES
+	private int traceEntries = 0;
+	// once the budget is exceeded, calls are collapsed into one summary per method and calling object
+	private boolean summarizeCalls = false;
+	// if the summaries still exceed the budget, calls on different objects are collapsed as well
+	private boolean collapseObjects = false;
+	private Map<String, MethodCall> summarizedCalls = new HashMap<>();
+
 	public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
 
 	public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
@@ -478,7 +486,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		}
 
 		// This requires a lot of memory and should not really be used
-		if (Properties.BRANCH_EVAL) {
+		if (Properties.BRANCH_EVAL
+				&& (Properties.MAX_TRACE_ENTRIES <= 0 || branchesTrace.size() < Properties.MAX_TRACE_ENTRIES)) {
 			branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
 		}
 	}
@@ -543,6 +552,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		// stack.clear();
 		// finished_calls.clear();
 		stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
+		traceEntries = 0;
+		summarizeCalls = false;
+		collapseObjects = false;
+		summarizedCalls = new HashMap<>();
 		coverage = new HashMap<>();
 		returnData = new HashMap<>();
 
@@ -572,6 +585,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		initializedClasses = new ArrayList<>();
 		classesWithStaticReads = new HashSet<>();
 		classesWithStaticWrites  = new HashSet<>();
+		classesWithMutableStaticReads = new HashSet<>();
 	}
 
 	/**
@@ -586,6 +600,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		for (MethodCall call : finishedCalls) {
 			copy.finishedCalls.add(call.clone());
 		}
+		copy.traceEntries = traceEntries;
+		copy.summarizeCalls = summarizeCalls;
+		copy.collapseObjects = collapseObjects;
+		if (summarizeCalls) {
+			for (MethodCall call : copy.finishedCalls) {
+				copy.summarizedCalls.put(copy.getSummaryKey(call), call);
+			}
+		}
 		// copy.finished_calls.addAll(finished_calls);
 		copy.coverage = new HashMap<>();
 		if (coverage != null) {
@@ -621,6 +643,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		copy.initializedClasses.addAll(initializedClasses);
 		copy.classesWithStaticReads.addAll(classesWithStaticReads);
 		copy.classesWithStaticWrites.addAll(classesWithStaticWrites);
+		copy.classesWithMutableStaticReads.addAll(classesWithMutableStaticReads);
 
 		copy.methodId = methodId;
 		copy.duCounter = duCounter;
@@ -811,7 +834,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 				if (!stack.isEmpty() && !(stack.peek().methodName.equals(methodname))) {
 					// Handle cases where unexpected calls are on the stack
 					if (stack.peek().methodName.isEmpty() && !stack.peek().branchTrace.isEmpty()) {
-						finishedCalls.add(stack.pop());
+						addFinishedCall(stack.pop());
 					} else {
 						// Usually, this happens if we use mutation testing and
 						// the mutation causes an unexpected exception or
@@ -819,7 +842,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 						stack.pop();
 					}
 				} else {
-					finishedCalls.add(stack.pop());
+					addFinishedCall(stack.pop());
 				}
 			//}
 		}
@@ -830,7 +853,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	public synchronized void finishCalls() {
 		logger.debug("At the end, we have " + stack.size() + " calls left on stack");
 		while (!stack.isEmpty()) {
-			finishedCalls.add(stack.pop());
+			addFinishedCall(stack.pop());
 		}
 	}
 
@@ -1374,7 +1397,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 						do {
 							logger.debug("Popping method " + stack.peek().methodName + " because we were looking for "
 									+ methodName);
-							finishedCalls.add(stack.pop());
+							addFinishedCall(stack.pop());
 						} while (!stack.isEmpty() && !stack.peek().methodName.equals(methodName)
 								&& !stack.peek().methodName.equals(""));
 					} else {
@@ -1382,7 +1405,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 						logger.warn("Popping method " + stack.peek().methodName + " because we were looking for "
 								+ methodName);
 						logger.warn("Current stack: " + stack);
-						finishedCalls.add(stack.pop());
+						addFinishedCall(stack.pop());
 					}
 					if (stack.isEmpty()) {
 						logger.warn("Method stack is empty: " + className + "." + methodName + " - l" + line); // TODO
@@ -1391,7 +1414,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 						empty = true;
 					}
 				}
-				if (!empty)
+				if (!empty && !summarizeCalls)
 					stack.peek().lineTrace.add(line);
 			}
 		}
@@ -1593,6 +1616,81 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		return ret.toString();
 	}
 
+	/**
+	 * Def-use coverage relies on the order of the trace, which summaries do
+	 * not preserve
+	 */
+	private static boolean canSummarizeCalls() {
+		return !ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE)
+				&& !ArrayUtil.contains(Properties.CRITERION, Criterion.ALLDEFS);
+	}
+
+	/**
+	 * Switches to bounded mode once the trace has exceeded
+	 * Properties.MAX_TRACE_ENTRIES: every call is reduced to the minimal true
+	 * and false distance per branch, and repeated calls of the same method are
+	 * merged. This keeps what ControlFlowDistanceCalculator needs while the
+	 * memory used only depends on the number of distinct methods and branches.
+	 */
+	private void summarizeCalls() {
+		if (!summarizeCalls) {
+			logger.info("Execution trace exceeds {} entries, summarizing method calls",
+					Properties.MAX_TRACE_ENTRIES);
+			summarizeCalls = true;
+		} else {
+			logger.info("Summarized execution trace still exceeds {} entries, merging calls on different objects",
+					Properties.MAX_TRACE_ENTRIES);
+			collapseObjects = true;
+		}
+		List<MethodCall> calls = new ArrayList<>(finishedCalls);
+		finishedCalls = Collections.synchronizedList(new ArrayList<>());
+		summarizedCalls = new HashMap<>();
+		traceEntries = 0;
+		for (MethodCall call : stack) {
+			call.summarize();
+			traceEntries += call.branchTrace.size();
+		}
+		for (MethodCall call : calls) {
+			traceEntries += call.branchTrace.size();
+			addFinishedCall(call);
+		}
+	}
+
+	private String getSummaryKey(MethodCall call) {
+		if (collapseObjects) {
+			return call.className + "." + call.methodName;
+		}
+		return call.className + "." + call.methodName + "@" + call.callingObjectID;
+	}
+
+	/**
+	 * Moves a call that has been popped from the stack to finishedCalls,
+	 * merging it into the existing summary of its method in bounded mode
+	 */
+	private void addFinishedCall(MethodCall call) {
+		if (!summarizeCalls) {
+			finishedCalls.add(call);
+			return;
+		}
+		traceEntries -= call.summarize();
+		if (collapseObjects) {
+			call.callingObjectID = 0;
+		}
+		String key = getSummaryKey(call);
+		MethodCall summary = summarizedCalls.get(key);
+		if (summary == null) {
+			summarizedCalls.put(key, call);
+			finishedCalls.add(call);
+		} else {
+			int entries = summary.branchTrace.size() + call.branchTrace.size();
+			summary.mergeSummary(call);
+			traceEntries -= entries - summary.branchTrace.size();
+		}
+		if (!collapseObjects && traceEntries > Properties.MAX_TRACE_ENTRIES) {
+			summarizeCalls();
+		}
+	}
+
 	/**
 	 * Adds trace information to the active MethodCall in this.stack
 	 */
@@ -1602,10 +1700,21 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			if (stack.isEmpty()) {
 				return;
 			}
+			assert ((true_distance == 0.0) || (false_distance == 0.0));
+			if (summarizeCalls) {
+				if (stack.peek().addSummarized(branch, true_distance, false_distance)) {
+					traceEntries++;
+				}
+				return;
+			}
 			stack.peek().branchTrace.add(branch); // was: bytecode_id
 			stack.peek().trueDistanceTrace.add(true_distance);
 			stack.peek().falseDistanceTrace.add(false_distance);
-			assert ((true_distance == 0.0) || (false_distance == 0.0));
+			traceEntries++;
+			if (Properties.MAX_TRACE_ENTRIES > 0 && traceEntries > Properties.MAX_TRACE_ENTRIES
+					&& canSummarizeCalls()) {
+				summarizeCalls();
+			}
 			// TODO line_trace ?
 			if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE)
 					|| ArrayUtil.contains(Properties.CRITERION, Criterion.ALLDEFS)) {
@@ -1786,11 +1895,28 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		classesWithStaticReads.add(classNameWithDots);
 	}
 
+	/**
+	 * This set keeps those classes that have a static read (i.e. GETSTATIC)
+	 * of an array or collection field during test execution.
+	 */
+	private HashSet<String> classesWithMutableStaticReads = new HashSet<>();
+
+	@Override
+	public void getMutableStaticPassed(String classNameWithDots, String fieldName) {
+		classesWithStaticReads.add(classNameWithDots);
+		classesWithMutableStaticReads.add(classNameWithDots);
+	}
+
 	@Override
 	public Set<String> getClassesWithStaticWrites() {
 		return classesWithStaticWrites;
 	}
 
+	@Override
+	public Set<String> getClassesWithMutableStaticReads() {
+		return classesWithMutableStaticReads;
+	}
+
 	/**
 	 * This field keeps the names of those classes that were initialized (ie
 	 * <clinit> was completed during this test execution). The list has no
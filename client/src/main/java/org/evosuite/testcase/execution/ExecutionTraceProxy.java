@@ -713,11 +713,21 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 		trace.getStaticPassed(classNameWithDots, fieldName);
 	}
 
+	@Override
+	public void getMutableStaticPassed(String classNameWithDots, String fieldName) {
+		trace.getMutableStaticPassed(classNameWithDots, fieldName);
+	}
+
 	@Override
 	public Set<String> getClassesWithStaticWrites() {
 		return trace.getClassesWithStaticWrites();
 	}
 
+	@Override
+	public Set<String> getClassesWithMutableStaticReads() {
+		return trace.getClassesWithMutableStaticReads();
+	}
+
 	@Override
 	public void classInitialized(String classNameWithDots) {
 		trace.classInitialized(classNameWithDots);
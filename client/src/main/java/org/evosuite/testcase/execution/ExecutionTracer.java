@@ -548,6 +548,26 @@ public class ExecutionTracer {
 		tracer.trace.getStaticPassed(classNameWithDots, fieldName);
 	}
 
+	/**
+	 * Called instead of {@link #passedGetStatic(String, String)} when the
+	 * static field is an array or a collection
+	 *
+	 * @param classNameWithDots
+	 * @param fieldName
+	 */
+	public static void passedGetMutableStatic(String classNameWithDots, String fieldName) {
+		ExecutionTracer tracer = getExecutionTracer();
+		if (tracer.disabled)
+			return;
+
+		if (isThreadNeqCurrentThread())
+			return;
+
+		checkTimeout();
+
+		tracer.trace.getMutableStaticPassed(classNameWithDots, fieldName);
+	}
+
 
 	/**
 	 * Called by the instrumented code each time a new branch is taken
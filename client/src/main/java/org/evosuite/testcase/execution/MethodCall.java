@@ -25,7 +25,9 @@
 package org.evosuite.testcase.execution;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 public class MethodCall implements Cloneable {
 	public String className;
 	public String methodName;
@@ -37,6 +39,10 @@ public class MethodCall implements Cloneable {
 	public int methodId;
 	public int callingObjectID;
 	public int callDepth;
+	/** Number of invocations this call stands for once it has been summarized */
+	public int callCount = 1;
+	/** Position of each branch in the trace, only kept once the call has been summarized */
+	private Map<Integer, Integer> summaryPositions;
 
 	/**
 	 * <p>Constructor for MethodCall.</p>
@@ -151,6 +157,80 @@ public class MethodCall implements Cloneable {
 		return r.toString();
 	}
 
+	/**
+	 * Collapses the branch trace so that every branch occurs only once, keeping
+	 * the minimal true and false distance observed for it. This is all that is
+	 * needed to compute control flow distances, but the order of the trace and
+	 * the line and def-use traces are lost.
+	 *
+	 * @return the number of trace entries that were dropped
+	 */
+	public int summarize() {
+		int before = branchTrace.size();
+		List<Integer> branches = new ArrayList<>();
+		List<Double> trueDistances = new ArrayList<>();
+		List<Double> falseDistances = new ArrayList<>();
+		Map<Integer, Integer> positions = new HashMap<>();
+		for (int i = 0; i < before; i++) {
+			Integer branch = branchTrace.get(i);
+			Integer position = positions.get(branch);
+			if (position == null) {
+				positions.put(branch, branches.size());
+				branches.add(branch);
+				trueDistances.add(trueDistanceTrace.get(i));
+				falseDistances.add(falseDistanceTrace.get(i));
+			} else {
+				trueDistances.set(position, Math.min(trueDistances.get(position), trueDistanceTrace.get(i)));
+				falseDistances.set(position, Math.min(falseDistances.get(position), falseDistanceTrace.get(i)));
+			}
+		}
+		branchTrace = branches;
+		trueDistanceTrace = trueDistances;
+		falseDistanceTrace = falseDistances;
+		summaryPositions = positions;
+		lineTrace = new ArrayList<>();
+		defuseCounterTrace = new ArrayList<>();
+		return before - branchTrace.size();
+	}
+
+	/**
+	 * Records a passed branch in a summarized call, i.e. only lowers the
+	 * distances if the branch has already been traced.
+	 *
+	 * @return true if a new trace entry was added
+	 */
+	public boolean addSummarized(int branch, double trueDistance, double falseDistance) {
+		if (summaryPositions == null) {
+			summarize();
+		}
+		Integer position = summaryPositions.get(branch);
+		if (position != null) {
+			if (trueDistance < trueDistanceTrace.get(position))
+				trueDistanceTrace.set(position, trueDistance);
+			if (falseDistance < falseDistanceTrace.get(position))
+				falseDistanceTrace.set(position, falseDistance);
+			return false;
+		}
+		summaryPositions.put(branch, branchTrace.size());
+		branchTrace.add(branch);
+		trueDistanceTrace.add(trueDistance);
+		falseDistanceTrace.add(falseDistance);
+		return true;
+	}
+
+	/**
+	 * Merges another summarized call of the same method into this one.
+	 *
+	 * @param other a summarized {@link MethodCall}
+	 */
+	public void mergeSummary(MethodCall other) {
+		for (int i = 0; i < other.branchTrace.size(); i++) {
+			addSummarized(other.branchTrace.get(i), other.trueDistanceTrace.get(i),
+			        other.falseDistanceTrace.get(i));
+		}
+		callCount += other.callCount;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public MethodCall clone() {
@@ -161,6 +241,10 @@ public class MethodCall implements Cloneable {
 		copy.trueDistanceTrace = new ArrayList<>(trueDistanceTrace);
 		copy.falseDistanceTrace = new ArrayList<>(falseDistanceTrace);
 		copy.defuseCounterTrace = new ArrayList<>(defuseCounterTrace);
+		copy.callCount = callCount;
+		if (summaryPositions != null) {
+			copy.summaryPositions = new HashMap<>(summaryPositions);
+		}
 		return copy;
 	}
 }
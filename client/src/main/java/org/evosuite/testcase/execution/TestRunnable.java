@@ -21,6 +21,8 @@ package org.evosuite.testcase.execution;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -38,6 +40,7 @@ import org.evosuite.runtime.thread.KillSwitch;
 import org.evosuite.runtime.thread.ThreadStopper;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.TestCase;
+import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,8 +60,20 @@ public class TestRunnable implements InterfaceTestRunnable {
 
 	private static ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
 
+	/**
+	 * Used to measure CPU time and allocated bytes of each statement. This is
+	 * only obtained, and the JVM-wide measurements only turned on, the first
+	 * time a test is executed with profiling enabled. That happens when the
+	 * TestRunnable is created, i.e., outside of the sandbox
+	 */
+	private static volatile ThreadMXBean threadMXBean;
+
+	private static boolean threadMXBeanInitialized = false;
+
 	private final TestCase test;
 
+	private final boolean profileCost;
+
 	private final Scope scope;
 
 	protected boolean runFinished;
@@ -97,6 +112,7 @@ public class TestRunnable implements InterfaceTestRunnable {
 		threadsToIgnore.addAll(Arrays.asList(Properties.IGNORE_THREADS));
 		
 		threadStopper = new ThreadStopper(killSwitch, threadsToIgnore, Properties.TIMEOUT);
+		profileCost = isCostProfilingEnabled();
 	}
 
 	/**
@@ -124,6 +140,68 @@ public class TestRunnable implements InterfaceTestRunnable {
 		threadStopper.killAndJoinClientThreads();
 	}
 
+	private static synchronized ThreadMXBean getThreadMXBean() {
+		if (!threadMXBeanInitialized) {
+			threadMXBean = initThreadMXBean();
+			threadMXBeanInitialized = true;
+		}
+		return threadMXBean;
+	}
+
+	private static ThreadMXBean initThreadMXBean() {
+		try {
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean.isCurrentThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+				bean.setThreadCpuTimeEnabled(true);
+			}
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported() && !sunBean.isThreadAllocatedMemoryEnabled()) {
+					sunBean.setThreadAllocatedMemoryEnabled(true);
+				}
+			}
+			return bean;
+		} catch (Throwable t) {
+			logger.warn("Cannot measure the execution cost of statements: " + t.getMessage());
+			return null;
+		}
+	}
+
+	private static boolean isCostProfilingEnabled() {
+		if (!Properties.PROFILE_EXECUTION_COST
+		        && !ArrayUtil.contains(Properties.SECONDARY_OBJECTIVE, Properties.SecondaryObjective.COST)) {
+			return false;
+		}
+		return getThreadMXBean() != null;
+	}
+
+	/**
+	 * @return the CPU time of the current thread in nanoseconds, or 0 if it
+	 *         cannot be measured
+	 */
+	private static long getCurrentThreadCpuTime() {
+		try {
+			return Math.max(0L, threadMXBean.getCurrentThreadCpuTime());
+		} catch (UnsupportedOperationException | SecurityException e) {
+			return 0L;
+		}
+	}
+
+	/**
+	 * @return the number of bytes allocated so far by the current thread, or 0
+	 *         if it cannot be measured
+	 */
+	private static long getCurrentThreadAllocatedBytes() {
+		if (!(threadMXBean instanceof com.sun.management.ThreadMXBean))
+			return 0L;
+		try {
+			return Math.max(0L, ((com.sun.management.ThreadMXBean) threadMXBean)
+			        .getThreadAllocatedBytes(Thread.currentThread().getId()));
+		} catch (UnsupportedOperationException | SecurityException e) {
+			return 0L;
+		}
+	}
+
 	/**
 	 * Inform all observers that we are going to execute the input statement
 	 * 
@@ -275,6 +353,7 @@ public class TestRunnable implements InterfaceTestRunnable {
 			InvocationTargetException, IllegalAccessException,
 			InstantiationException, VMError, EvosuiteError {
 		
+		// Only the test execution thread is measured, not threads spawned by the SUT
 		for (Statement s : test) {
 
 			if (Thread.currentThread().isInterrupted() || Thread.interrupted()) {
@@ -292,8 +371,16 @@ public class TestRunnable implements InterfaceTestRunnable {
 			/*
 			 * Here actually execute a statement of the SUT
 			 */
+			long cpuTimeBefore = profileCost ? getCurrentThreadCpuTime() : 0L;
+			long allocatedBytesBefore = profileCost ? getCurrentThreadAllocatedBytes() : 0L;
+
 			Throwable exceptionThrown = s.execute(scope, out);
 
+			if (profileCost) {
+				result.setStatementCost(num.get(), getCurrentThreadCpuTime() - cpuTimeBefore,
+				        getCurrentThreadAllocatedBytes() - allocatedBytesBefore);
+			}
+
 			if (exceptionThrown != null) {
 				// if internal error, then throw exception
 				// -------------------------------------------------------
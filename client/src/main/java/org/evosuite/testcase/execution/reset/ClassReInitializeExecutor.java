@@ -20,7 +20,10 @@
 package org.evosuite.testcase.execution.reset;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -45,6 +48,16 @@ class ClassReInitializeExecutor {
 
 	private static final ClassReInitializeExecutor instance = new ClassReInitializeExecutor();
 
+	/**
+	 * Number of re-initializations for each class
+	 */
+	private final Map<String, Integer> resetCounts = new LinkedHashMap<>();
+
+	/**
+	 * Overall time (in nanoseconds) spent in __STATIC_RESET() for each class
+	 */
+	private final Map<String, Long> resetTimes = new LinkedHashMap<>();
+
 	private ClassReInitializeExecutor() {
 	}
 
@@ -94,6 +107,7 @@ class ClassReInitializeExecutor {
 
 		// className.__STATIC_RESET() exists
 		logger.debug("Resetting class " + className);
+		long startTime = System.nanoTime();
 
 		int mutationActive = MutationObserver.activeMutation;
 		MutationObserver.deactivateMutation();
@@ -121,6 +135,25 @@ class ClassReInitializeExecutor {
 			TestGenerationContext.getInstance().doneWithExecutingSUTCode();
 			MutationObserver.activateMutation(mutationActive);
 			LoopCounter.getInstance().setActive(wasLoopCheckOn);
+			recordResetCost(className, System.nanoTime() - startTime);
 		}
 	}
+
+	private synchronized void recordResetCost(String className, long elapsedNanos) {
+		resetCounts.merge(className, 1, Integer::sum);
+		resetTimes.merge(className, elapsedNanos, Long::sum);
+	}
+
+	public synchronized Map<String, Integer> getResetCounts() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(resetCounts));
+	}
+
+	public synchronized Map<String, Long> getResetTimes() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(resetTimes));
+	}
+
+	public synchronized void clearResetCosts() {
+		resetCounts.clear();
+		resetTimes.clear();
+	}
 }
@@ -23,6 +23,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.evosuite.Properties;
 import org.evosuite.assertion.CheapPurityAnalyzer;
@@ -55,6 +57,7 @@ public class ClassReInitializer {
 
 	public static void resetSingleton() {
 		instance = null;
+		ClassReInitializeExecutor.getInstance().clearResetCosts();
 	}
 
 	public static ClassReInitializer getInstance() {
@@ -152,18 +155,27 @@ public class ClassReInitializer {
 		} else {
 
 			// second, re-initialize classes
-			if (reset_all_observed_classes) {
+			if (reset_all_observed_classes && !Properties.RESET_DIRTY_CLASSES_ONLY) {
 				ClassReInitializeExecutor.getInstance().resetClasses(initializedClasses);
+			} else if (reset_all_observed_classes) {
+				// keep the initialization order, but skip those classes
+				// whose static state was not touched during test execution
+				Set<String> dirtyClasses = getClassesToReset(executedTestCase, testCaseResult);
+				List<String> classesToReset = new LinkedList<>();
+				for (String className : initializedClasses) {
+					if (dirtyClasses.remove(className)) {
+						classesToReset.add(className);
+					}
+				}
+				List<String> remaining = new LinkedList<>(dirtyClasses);
+				Collections.sort(remaining);
+				classesToReset.addAll(remaining);
+				ClassReInitializeExecutor.getInstance().resetClasses(classesToReset);
 			} else {
 				// reset only classes that were "observed" to have some
 				// GETSTATIC/PUTSTATIC updating their state during test
 				// execution
-                List<String> classesToReset = new LinkedList<>(trace.getClassesWithStaticWrites());
-				if (Properties.RESET_STATIC_FIELD_GETS) {
-					classesToReset.addAll(trace.getClassesWithStaticReads());
-				}
-				HashSet<String> moreClassesForReset = getMoreClassesToReset(executedTestCase, testCaseResult);
-				classesToReset.addAll(moreClassesForReset);
+				List<String> classesToReset = new LinkedList<>(getClassesToReset(executedTestCase, testCaseResult));
 				// sort classes to reset
 				Collections.sort(classesToReset);
 
@@ -184,6 +196,45 @@ public class ClassReInitializer {
 		}
 	}
 
+	/**
+	 * Collects the classes whose static state was (possibly) modified by the
+	 * given test execution
+	 * 
+	 * @param executedTestCase
+	 * @param testCaseResult
+	 * @return
+	 */
+	static Set<String> getClassesToReset(TestCase executedTestCase, ExecutionResult testCaseResult) {
+		final ExecutionTrace trace = testCaseResult.getTrace();
+		Set<String> classesToReset = new HashSet<>(trace.getClassesWithStaticWrites());
+		if (Properties.RESET_STATIC_FIELD_GETS) {
+			classesToReset.addAll(trace.getClassesWithStaticReads());
+		} else if (Properties.RESET_DIRTY_CLASSES_ONLY) {
+			classesToReset.addAll(trace.getClassesWithMutableStaticReads());
+		}
+		classesToReset.addAll(getMoreClassesToReset(executedTestCase, testCaseResult));
+		return classesToReset;
+	}
+
+	/**
+	 * Returns how many times each class was re-initialized so far
+	 * 
+	 * @return
+	 */
+	public Map<String, Integer> getResetCounts() {
+		return ClassReInitializeExecutor.getInstance().getResetCounts();
+	}
+
+	/**
+	 * Returns the overall time (in nanoseconds) spent re-initializing each
+	 * class so far
+	 * 
+	 * @return
+	 */
+	public Map<String, Long> getResetTimes() {
+		return ClassReInitializeExecutor.getInstance().getResetTimes();
+	}
+
 	private boolean reset_all_observed_classes = false;
 
 	/**
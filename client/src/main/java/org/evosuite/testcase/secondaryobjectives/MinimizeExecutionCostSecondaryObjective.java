@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.secondaryobjectives;
+
+import org.evosuite.ga.SecondaryObjective;
+import org.evosuite.testcase.TestChromosome;
+
+/**
+ * Prefers tests that are cheaper to execute, so that the search does not
+ * spend its budget on tests calling expensive methods of the SUT without
+ * gaining fitness. Costs are compared by order of magnitude (powers of two),
+ * first by CPU time and then by allocated bytes, as small differences are
+ * just measurement noise.
+ */
+public class MinimizeExecutionCostSecondaryObjective extends SecondaryObjective<TestChromosome> {
+
+	private static final long serialVersionUID = 3174956389722510531L;
+
+	private static int magnitude(long value) {
+		return 64 - Long.numberOfLeadingZeros(Math.max(0L, value));
+	}
+
+	private int compareCost(long cpuTime1, long allocatedBytes1, long cpuTime2, long allocatedBytes2) {
+		int result = Integer.compare(magnitude(cpuTime1), magnitude(cpuTime2));
+		if (result != 0)
+			return result;
+		return Integer.compare(magnitude(allocatedBytes1), magnitude(allocatedBytes2));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int compareChromosomes(TestChromosome chromosome1, TestChromosome chromosome2) {
+		return compareCost(chromosome1.getExecutionCpuTime(), chromosome1.getExecutionAllocatedBytes(),
+		        chromosome2.getExecutionCpuTime(), chromosome2.getExecutionAllocatedBytes());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int compareGenerations(TestChromosome parent1, TestChromosome parent2,
+			TestChromosome child1, TestChromosome child2) {
+		return compareCost(
+		        Math.min(parent1.getExecutionCpuTime(), parent2.getExecutionCpuTime()),
+		        Math.min(parent1.getExecutionAllocatedBytes(), parent2.getExecutionAllocatedBytes()),
+		        Math.min(child1.getExecutionCpuTime(), child2.getExecutionCpuTime()),
+		        Math.min(child1.getExecutionAllocatedBytes(), child2.getExecutionAllocatedBytes()));
+	}
+
+}
@@ -38,6 +38,9 @@ public class TestCaseSecondaryObjective {
           case EXCEPTIONS:
             secondaryObjectiveInstance = new MinimizeExceptionsSecondaryObjective();
             break;
+          case COST:
+            secondaryObjectiveInstance = new MinimizeExecutionCostSecondaryObjective();
+            break;
           default:
             throw new RuntimeException("ERROR: asked for unknown secondary objective \""
                 + secondaryObjective.name() + "\"");
@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.runtime.util.Inputs;
+import org.evosuite.utils.DebuggingObjectOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Versioned binary container for serialized tests, used for the
+ * CTG seed files.
+ *
+ * <p>
+ * Layout:
+ * <pre>
+ *   int  MAGIC
+ *   int  VERSION
+ *   int  length of the dictionary, followed by the dictionary bytes
+ *   n records: int length, followed by the compressed serialization of one TestChromosome
+ *   long offset of each record (n times)
+ *   int  n
+ *   int  FOOTER_MAGIC
+ * </pre>
+ *
+ * <p>
+ * Compressing each test on its own would lose the redundancy among tests: every
+ * record would repeat the class descriptors and the names of the classes and methods
+ * under test. To avoid it, the plain serialization of the first test is stored once
+ * as a dictionary shared by all the records, and each record is deflated against it.
+ * On suites of similar tests this makes the archive smaller than the old format with
+ * a single object stream for all tests, where descriptors are written only once
+ * but nothing is compressed (see {@code SerializedTestArchiveTest}).
+ * Archives of version 1 (no dictionary) can still be read.
+ *
+ * <p>
+ * As each test is in its own record, tests can be read and decoded lazily
+ * one at a time. A test that cannot be read back (eg, EvoSuite got updated
+ * and one of its classes changed) does not prevent reading all the following ones.
+ * The file is read through a {@link FileChannel}, which stays open till
+ * {@link #close()} is called. Unlike a memory mapping, which is only released
+ * when garbage collected, this does not keep the file locked on Windows.
+ */
+public class SerializedTestArchive implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(SerializedTestArchive.class);
+
+	/**
+	 * "EVST"
+	 */
+	public static final int MAGIC = 0x45565354;
+
+	public static final int VERSION = 2;
+
+	/**
+	 * Deflate can only refer back this many bytes, so a longer dictionary would be useless
+	 */
+	private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+	/**
+	 * "EVND"
+	 */
+	private static final int FOOTER_MAGIC = 0x45564E44;
+
+	private static final int HEADER_SIZE = 8;
+
+	private static final int FOOTER_SIZE = 8;
+
+	private final File file;
+
+	private final FileChannel channel;
+
+	private final long[] offsets;
+
+	/**
+	 * Preset dictionary of the records, {@code null} for archives of version 1
+	 */
+	private final byte[] dictionary;
+
+	private SerializedTestArchive(File file, FileChannel channel, long[] offsets, byte[] dictionary) {
+		this.file = file;
+		this.channel = channel;
+		this.offsets = offsets;
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Write the given tests into a new archive. Tests that cannot be serialized are skipped,
+	 * and the archive is still written with all the other ones.
+	 * The archive is first written to a temporary file, which then replaces the target,
+	 * so a failure never leaves a truncated archive behind.
+	 *
+	 * @param tests
+	 * @param target
+	 * @return {@code false} if the file could not be written, or if some tests were skipped
+	 */
+	public static boolean write(Iterable<TestChromosome> tests, File target) throws IllegalArgumentException {
+		Inputs.checkNull(tests, target);
+
+		File parent = target.getAbsoluteFile().getParentFile();
+		if (!parent.exists()) {
+			parent.mkdirs();
+		}
+
+		List<byte[]> serialized = new ArrayList<>();
+		int skipped = 0;
+		for (TestChromosome tc : tests) {
+			byte[] bytes = serialize(tc);
+			if (bytes != null) {
+				serialized.add(bytes);
+			} else {
+				skipped++;
+			}
+		}
+		if (skipped > 0) {
+			logger.warn("Skipped " + skipped + " out of " + (skipped + serialized.size())
+					+ " tests that could not be serialized into " + target.getAbsolutePath());
+		}
+
+		byte[] dictionary = serialized.isEmpty() ? new byte[0]
+				: Arrays.copyOf(serialized.get(0), Math.min(serialized.get(0).length, MAX_DICTIONARY_SIZE));
+
+		File tmp = null;
+		try {
+			tmp = File.createTempFile(target.getName(), ".tmp", parent);
+
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(dictionary.length);
+				out.write(dictionary);
+				long position = HEADER_SIZE + 4 + dictionary.length;
+
+				List<Long> offsets = new ArrayList<>();
+				for (byte[] bytes : serialized) {
+					byte[] record = compress(bytes, dictionary);
+					offsets.add(position);
+					out.writeInt(record.length);
+					out.write(record);
+					position += 4 + record.length;
+				}
+
+				for (long offset : offsets) {
+					out.writeLong(offset);
+				}
+				out.writeInt(offsets.size());
+				out.writeInt(FOOTER_MAGIC);
+			}
+
+			try {
+				Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
+			if (tmp != null) {
+				tmp.delete();
+			}
+			return false;
+		}
+
+		return skipped == 0;
+	}
+
+	private static byte[] serialize(TestChromosome tc) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(tc);
+		} catch (IOException e) {
+			logger.warn("Failed to serialize test: " + e.toString() + ". Serialization path: " + getSerializationPath(tc));
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Serialize the test again, this time keeping track of the path to the
+	 * object that could not be written
+	 */
+	private static String getSerializationPath(TestChromosome tc) {
+		DebuggingObjectOutputStream out = null;
+		try {
+			out = new DebuggingObjectOutputStream(new ByteArrayOutputStream());
+			out.writeObject(tc);
+		} catch (IOException e) {
+			//expected, as it already failed once
+		} catch (RuntimeException | LinkageError e) {
+			//the debugging stream relies on reflection on JDK internals
+			return "unknown";
+		}
+		if (out == null) {
+			return "unknown";
+		}
+		StringBuilder path = new StringBuilder();
+		for (Object o : out.getStack()) {
+			if (path.length() > 0) {
+				path.append(" -> ");
+			}
+			path.append(o == null ? "null" : o.getClass().getName());
+		}
+		return path.toString();
+	}
+
+	private static byte[] compress(byte[] bytes, byte[] dictionary) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		//raw deflate, so the dictionary can be set before the first byte
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+		try {
+			if (dictionary.length > 0) {
+				deflater.setDictionary(dictionary);
+			}
+			try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+				out.write(bytes);
+			}
+		} finally {
+			deflater.end();
+		}
+		return compressed.toByteArray();
+	}
+
+	/**
+	 * Check whether the given file is an archive, as opposed to a file
+	 * written with plain Java serialization by older versions of EvoSuite
+	 *
+	 * @param file
+	 * @return
+	 */
+	public static boolean isArchive(File file) {
+		if (!file.isFile() || file.length() < HEADER_SIZE + FOOTER_SIZE) {
+			return false;
+		}
+		try (FileInputStream in = new FileInputStream(file)) {
+			byte[] header = new byte[4];
+			if (in.read(header) != 4) {
+				return false;
+			}
+			return ByteBuffer.wrap(header).getInt() == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Open the given archive. Only the index of the tests is read, whereas the
+	 * tests themselves are decoded on demand with {@link #get(int)}. The archive
+	 * has to be closed once done with it
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException if the file is not a valid archive, or it has an unsupported version
+	 */
+	public static SerializedTestArchive open(File file) throws IOException {
+		Inputs.checkNull(file);
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			return open(file, channel);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static SerializedTestArchive open(File file, FileChannel channel) throws IOException {
+
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("Serialized test archive is too large: " + file.getAbsolutePath());
+		}
+		if (size < HEADER_SIZE + FOOTER_SIZE || read(channel, 0, HEADER_SIZE).getInt() != MAGIC) {
+			throw new IOException("Not a serialized test archive: " + file.getAbsolutePath());
+		}
+		int version = read(channel, 4, 4).getInt();
+		if (version != 1 && version != VERSION) {
+			throw new IOException("Unsupported version " + version + " in " + file.getAbsolutePath()
+					+ ". Supported versions: 1 to " + VERSION);
+		}
+
+		byte[] dictionary = null;
+		long recordsStart = HEADER_SIZE;
+		if (version >= 2) {
+			int length = read(channel, HEADER_SIZE, 4).getInt();
+			if (length < 0 || length > MAX_DICTIONARY_SIZE || HEADER_SIZE + 4 + length > size - FOOTER_SIZE) {
+				throw new IOException("Corrupted dictionary in " + file.getAbsolutePath());
+			}
+			dictionary = read(channel, HEADER_SIZE + 4, length).array();
+			recordsStart = HEADER_SIZE + 4 + length;
+		}
+
+		ByteBuffer footer = read(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+		int n = footer.getInt();
+		if (footer.getInt() != FOOTER_MAGIC) {
+			throw new IOException("Truncated serialized test archive: " + file.getAbsolutePath());
+		}
+		long indexStart = size - FOOTER_SIZE - 8L * n;
+		if (n < 0 || indexStart < recordsStart) {
+			throw new IOException("Corrupted index in " + file.getAbsolutePath());
+		}
+
+		ByteBuffer index = read(channel, indexStart, 8 * n);
+		long[] offsets = new long[n];
+		for (int i = 0; i < n; i++) {
+			offsets[i] = index.getLong();
+		}
+
+		return new SerializedTestArchive(file, channel, offsets, dictionary);
+	}
+
+	/**
+	 * Read exactly {@code length} bytes starting at the given position of the channel
+	 *
+	 * @return a buffer ready to be read
+	 * @throws IOException if the end of the file is reached first
+	 */
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new EOFException("Unexpected end of serialized test archive");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * @return number of tests in this archive
+	 */
+	public int size() {
+		return offsets.length;
+	}
+
+	/**
+	 * Decode the i-th test of this archive
+	 *
+	 * @param i
+	 * @return
+	 * @throws IOException if the test cannot be read back
+	 */
+	public TestChromosome get(int i) throws IOException {
+		if (i < 0 || i >= offsets.length) {
+			throw new IndexOutOfBoundsException("Invalid index " + i + " for archive of size " + offsets.length);
+		}
+
+		long start = offsets[i];
+		if (start < HEADER_SIZE || start + 4 > channel.size()) {
+			throw new IOException("Corrupted index for test " + i + " in " + file.getAbsolutePath());
+		}
+		int length = read(channel, start, 4).getInt();
+		if (length < 0 || start + 4 + length > channel.size()) {
+			throw new IOException("Corrupted test " + i + " in " + file.getAbsolutePath());
+		}
+		byte[] record = read(channel, start + 4, length).array();
+
+		Inflater inflater = new Inflater(dictionary != null);
+		try {
+			if (dictionary != null && dictionary.length > 0) {
+				inflater.setDictionary(dictionary);
+			}
+			try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(record), inflater))) {
+				return (TestChromosome) in.readObject();
+			} catch (ClassNotFoundException | ClassCastException e) {
+				throw new IOException("Cannot decode test " + i + " in " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+			}
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Release the file. Tests cannot be read any longer afterwards
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
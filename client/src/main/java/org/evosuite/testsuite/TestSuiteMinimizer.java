@@ -32,6 +32,7 @@ import org.evosuite.rmi.service.ClientState;
 import org.evosuite.rmi.service.ClientStateInformation;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.*;
+import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -57,6 +58,12 @@ public class TestSuiteMinimizer {
 
     private final List<TestFitnessFactory<?>> testFitnessFactories = new ArrayList<>();
 
+    /**
+     * Maximum number of execution results kept while minimizing per test.
+     * Each of them holds a full execution trace, so this is kept small
+     */
+    private static final int MAX_CACHED_EXECUTIONS = 100;
+
     /**
      * Assume the search has not started until startTime != 0
      */
@@ -168,6 +175,17 @@ public class TestSuiteMinimizer {
         List<TestChromosome> minimizedTests = new ArrayList<>();
         TestSuiteWriter minimizedSuite = new TestSuiteWriter();
 
+        /*
+         * The same test is often the one covering several goals, and minimizing it
+         * for each of them tries the same candidates again
+         */
+        Map<String, ExecutionResult> executionCache = new LinkedHashMap<String, ExecutionResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExecutionResult> eldest) {
+                return size() > MAX_CACHED_EXECUTIONS;
+            }
+        };
+
         for (TestFitnessFunction goal : goals) {
             updateClientStatus(numGoals > 0 ? 100 * currentGoal / numGoals : 100);
             currentGoal++;
@@ -211,7 +229,7 @@ public class TestSuiteMinimizer {
             if (!coveringTests.isEmpty()) {
                 TestChromosome test = coveringTests.get(0);
                 org.evosuite.testcase.TestCaseMinimizer minimizer = new org.evosuite.testcase.TestCaseMinimizer(
-                        goal);
+                        goal, executionCache);
                 TestChromosome copy = test.clone();
                 minimizer.minimize(copy);
                 if (isTimeoutReached()) {
@@ -345,12 +363,11 @@ public class TestSuiteMinimizer {
                     testChromosome.setChanged(true);
                     testChromosome.getTestCase().clearCoveredGoals();
 
+                    // only the first factory with a different fitness matters, so there is no need to evaluate the others
                     List<Double> modifiedVerFitness = new ArrayList<>();
-                    for (TestFitnessFactory<?> ff : testFitnessFactories)
-                        modifiedVerFitness.add(ff.getFitness(suite));
-
                     int compare_ff = 0;
-                    for (int i_fit = 0; i_fit < modifiedVerFitness.size(); i_fit++) {
+                    for (int i_fit = 0; i_fit < testFitnessFactories.size(); i_fit++) {
+                        modifiedVerFitness.add(testFitnessFactories.get(i_fit).getFitness(suite));
                         if (Double.compare(modifiedVerFitness.get(i_fit), fitness.get(i_fit)) < 0) {
                             compare_ff = -1; // new value is lower than previous one
                             break;
@@ -22,7 +22,6 @@ package org.evosuite.testsuite;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
-import org.evosuite.utils.DebuggingObjectOutputStream;
 import org.evosuite.runtime.util.Inputs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,47 +41,17 @@ public class TestSuiteSerialization {
     public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException{
         Inputs.checkNull(list,target);
 
-        File parent = target.getParentFile();
-        if(!parent.exists()){
-            parent.mkdirs();
+        List<TestChromosome> tests = new ArrayList<>();
+        for(TestSuiteChromosome ts : list) {
+            tests.addAll(ts.getTestChromosomes());
         }
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-            for(TestSuiteChromosome ts : list) {
-                for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
-                }
-            }
-
-            out.flush();
-            out.close();
-        }catch (IOException e){
-            logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
-            return false;
-        }
-
-        return true;
+        return SerializedTestArchive.write(tests, target);
     }
     
     public static boolean saveTests(TestSuiteChromosome ts, File target) throws IllegalArgumentException{
-        File parent = target.getParentFile();
-        if(!parent.exists()){
-            parent.mkdirs();
-        }
-
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-        	for (TestChromosome tc : ts.getTestChromosomes()) {
-        		out.writeObject(tc);
-            }
-
-            out.flush();
-            out.close();
-        }catch (IOException e){
-            logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
-            return false;
-        }
-
-        return true;
+        Inputs.checkNull(ts,target);
+        return SerializedTestArchive.write(ts.getTestChromosomes(), target);
     }
 
 
@@ -110,6 +79,11 @@ public class TestSuiteSerialization {
     public static List<TestChromosome> loadTests(File target) throws IllegalArgumentException{
         Inputs.checkNull(target);
 
+        if(SerializedTestArchive.isArchive(target)){
+            return loadTestsFromArchive(target);
+        }
+
+        //file written by an older version of EvoSuite, with a single object stream for all tests
         List<TestChromosome> list = new ArrayList<>();
 
         try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(target)) ){
@@ -120,10 +94,7 @@ public class TestSuiteSerialization {
                     if(obj instanceof TestChromosome){
                         //this check might fail if old version is used, and EvoSuite got updated
                         TestChromosome tc = (TestChromosome) obj;
-                        for(Statement st : tc.getTestCase()){
-                            st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
-                        }
-
+                        changeClassLoader(tc);
                         list.add(tc);
                     }
                     obj = in.readObject();
@@ -143,4 +114,32 @@ public class TestSuiteSerialization {
 
         return list;
     }
+
+    private static List<TestChromosome> loadTestsFromArchive(File target){
+
+        List<TestChromosome> list = new ArrayList<>();
+
+        try(SerializedTestArchive archive = SerializedTestArchive.open(target)){
+            for(int i=0; i<archive.size(); i++){
+                try {
+                    TestChromosome tc = archive.get(i);
+                    changeClassLoader(tc);
+                    list.add(tc);
+                } catch (Exception e) {
+                    //a single broken test does not prevent reading the others
+                    logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for reading: " + e.getMessage());
+        }
+
+        return list;
+    }
+
+    private static void changeClassLoader(TestChromosome tc){
+        for(Statement st : tc.getTestCase()){
+            st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+        }
+    }
 }
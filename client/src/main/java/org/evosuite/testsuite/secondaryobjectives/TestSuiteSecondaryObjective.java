@@ -54,6 +54,9 @@ public class TestSuiteSecondaryObjective {
         case RHO:
           secondaryObjectiveInstance = new RhoTestSuiteSecondaryObjective();
           break;
+        case COST:
+          // only defined for individual tests
+          continue;
         default:
           throw new RuntimeException(
               "ERROR: asked for unknown secondary objective \"" + secondaryObjective.name() + "\"");
@@ -20,8 +20,11 @@
 package org.evosuite.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -45,58 +48,52 @@ import dk.brics.automaton.Transition;
  */
 public class RegexDistanceUtils {
 
+	/**
+	 * Maximum number of regular expressions kept in each of the caches
+	 */
+	private static final int MAX_CACHED_REGEXES = 1000;
+
 	/*
 	 * Automatons for regex can be expensive to build. So we cache them,
-	 * as we might need to access to them several times during the search
+	 * as we might need to access to them several times during the search.
+	 * Distances can be calculated from any thread (eg, threads started by the SUT),
+	 * so the caches are synchronized, and bounded (least recently used regexes
+	 * are evicted first)
 	 */
-	private static Map<String, List<State>> regexStateCache = new HashMap<>();
-	private static Map<String, Automaton> regexAutomatonCache = new HashMap<>();
+	private static final Map<String, CompiledRegex> regexCache = createCache();
+	private static final Map<String, Pattern> patternCache = createCache();
+
+	/**
+	 * Buffer reused among calls on the same thread for the rows of the
+	 * dynamic programming matrices
+	 */
+	private static final ThreadLocal<double[]> rowBuffer = ThreadLocal.withInitial(() -> new double[256]);
+
+	private static <V> Map<String, V> createCache() {
+		return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				return size() > MAX_CACHED_REGEXES;
+			}
+		});
+	}
 
 	public static Automaton getRegexAutomaton(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		return regexAutomatonCache.get(regex);
+		return getCompiledRegex(regex).automaton;
 	}
 
 	public static String getRegexInstance(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		Automaton automaton = regexAutomatonCache.get(regex);
+		Automaton automaton = getRegexAutomaton(regex);
 		return automaton.getShortestExample(true);
 	}
 
 	public static String getNonMatchingRegexInstance(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		Automaton automaton = regexAutomatonCache.get(regex);
+		Automaton automaton = getRegexAutomaton(regex);
 		return automaton.getShortestExample(false);
 	}
 
-	private static class GraphTransition {
-				
-		public enum TransitionType{INSERTION, DELETION, REPLACEMENT, 
-			/**
-			 * A phantom transition is an artificial transition from the sink/final states to a single artificial sink/state.
-			 * This is used to simplify the recursion calculation of the subpath costs. 
-			 */
-			PHANTOM};
-		
-		public final double cost;
-		public final int fromRow;
-		public final State fromState;
-		public final TransitionType type;
-		
-		public GraphTransition(double cost, int fromRow, State fromState, TransitionType type) {
-			this.cost = cost;
-			this.fromRow = fromRow;
-			this.fromState = fromState;
-			this.type = type;
-		}
-	}
-
 	/**
 	 * Normalize x in [0,1]
 	 * 
@@ -178,68 +175,17 @@ public class RegexDistanceUtils {
 		return regex;
 	}
 
-	/**
-	 * Ensure that each row has the full data structures containing the target state
-	 * 
-	 * @param transitions 
-	 * @param state
-	 * @param numRows
-	 */
-	private static void ensureState(
-			Map<Integer, Map<State, Set<GraphTransition>>> transitions, State state,
-			int numRows) {
-		for (int row = 0; row <= numRows; row++) {
-			if (!transitions.containsKey(row))
-				transitions.put(row, new HashMap<>());
-			if (!transitions.get(row).containsKey(state))
-				transitions.get(row).put(state, new HashSet<>());
-		}
-	}
-
-	private static void cacheRegex(String regex) {
-		String r = expandRegex(regex);
-		Automaton automaton = new RegExp(r, RegExp.NONE).toAutomaton();
-		automaton.expandSingleton();
-
-		// We convert this to a graph without self-loops in order to determine the topological order
-		DirectedGraph<State, DefaultEdge> regexGraph = new DefaultDirectedGraph<>(
-				DefaultEdge.class);
-		Set<State> visitedStates = new HashSet<>();
-		Queue<State> states = new LinkedList<>();
-		State initialState = automaton.getInitialState();
-		states.add(initialState);
-
-		while (!states.isEmpty()) {
-			State currentState = states.poll();
-			if (visitedStates.contains(currentState))
-				continue;
-			if (!regexGraph.containsVertex(currentState))
-				regexGraph.addVertex(currentState);
-			for (Transition t : currentState.getTransitions()) {
-				// Need to get rid of back edges, otherwise there is no topological order!
-				if (!t.getDest().equals(currentState)) {
-					regexGraph.addVertex(t.getDest());
-					regexGraph.addEdge(currentState, t.getDest());
-					states.add(t.getDest());
-					CycleDetector<State, DefaultEdge> det = new CycleDetector<>(
-							regexGraph);
-					if (det.detectCycles()) {
-						regexGraph.removeEdge(currentState, t.getDest());
-					}
-				}
-			}
-			visitedStates.add(currentState);
-		}
-
-		TopologicalOrderIterator<State, DefaultEdge> iterator = new TopologicalOrderIterator<>(
-				regexGraph);
-		List<State> topologicalOrder = new ArrayList<>();
-		while (iterator.hasNext()) {
-			topologicalOrder.add(iterator.next());
+	private static CompiledRegex getCompiledRegex(String regex) {
+		CompiledRegex compiled = regexCache.get(regex);
+		if (compiled == null) {
+			/*
+			 * Note: two threads could compile the same regex at the same time,
+			 * but that is harmless
+			 */
+			compiled = new CompiledRegex(regex);
+			regexCache.put(regex, compiled);
 		}
-
-		regexStateCache.put(regex, topologicalOrder);
-		regexAutomatonCache.put(regex, automaton);
+		return compiled;
 	}
 
 	/**
@@ -255,13 +201,15 @@ public class RegexDistanceUtils {
 			return getDefaultDistance(arg, regex);
 		}
 
-		RegexGraph graph = new RegexGraph(arg, regex);		
-		CostMatrix matrix = new CostMatrix();
-		return matrix.calculateStandardCost(graph);		
+		return getCompiledRegex(regex).calculateStandardCost(arg);
 	}
 	
 	private static int getDefaultDistance(String arg, String regex) {
-        Pattern p = Pattern.compile(regex);
+		Pattern p = patternCache.get(regex);
+		if (p == null) {
+			p = Pattern.compile(regex);
+			patternCache.put(regex, p);
+		}
         if (p.matcher(arg).matches())
         	return 0;
         else
@@ -296,449 +244,433 @@ public class RegexDistanceUtils {
 	 * @return
 	 */
 	public static double getDistanceTailoredForStringAVM(String arg, String regex) {
-		RegexGraph graph = new RegexGraph(arg, regex);		
-		CostMatrix matrix = new CostMatrix();
-		return matrix.calculateCostForStringAVM(graph);		
+		return getCompiledRegex(regex).calculateCostForStringAVM(arg);
 	}
 	
 	protected static Automaton getAndCacheAutomaton(String regex){
-		/*
-		 * Cache it if first time we build it
-		 */
-		if (!regexAutomatonCache.containsKey(regex)) {
-			/*
-			 * Create an automaton representing the regex
-			 */
-			cacheRegex(regex);
+		return getRegexAutomaton(regex);
+	}
+
+	private static double[] getRowBuffer(int size) {
+		double[] buffer = rowBuffer.get();
+		if (buffer.length < size) {
+			buffer = new double[Math.max(size, buffer.length * 2)];
+			rowBuffer.set(buffer);
 		}
-		
-		Automaton automaton = regexAutomatonCache.get(regex);
-		return automaton;
+		return buffer;
 	}
 
-	
 	/**
-	 * A graph created based on an "arg" that is matched against a "regex".
-	 * There is going to be arg.length+1 copies of the regex automaton. 
-	 * Each copy represents a "row".
-	 * Each automaton state, in topological order, represents a "column".
-	 * The graph can be considered as a "rows"x"columns" matrix.
-	 * 
-	 * @author arcuri
-	 *
+	 * Cost of replacing the character c with one accepted by a transition
+	 * on the range [min,max]
 	 */
-	private static class RegexGraph {
-
-		private  Map<Integer, Map<State, Set<GraphTransition>>> transitions;
-		private  Map<Integer, State> intToStateMap;
-		private  Map<State, Integer> stateToIntMap;
-		
-		/**
-		 * Build the graph
-		 * @param arg
-		 * @param regex
-		 */
-		public RegexGraph(String arg, String regex){
-			transitions = createGraph(arg,regex);
+	private static double getReplacementCost(char c, char min, char max) {
+		if (c < min || c > max) {
+			int distMin = Math.abs(c - min);
+			int distMax = Math.abs(c - max);
+			return normalize(Math.min(distMin, distMax));
 		}
-		
-		public int getNumberOfRows(){
-			return transitions.keySet().size();
+		return 0.0;
+	}
+
+	/**
+	 * We cannot just do previousStateCost + transitionCost, as there might be computational overflows
+	 * 
+	 * @param previousStateCost
+	 * @param transitionCost
+	 * @return
+	 * @throws IllegalArgumentException
+	 */
+	private static double getSubPathCost(double previousStateCost, double transitionCost) throws IllegalArgumentException{
+		if(previousStateCost<0){
+			throw new IllegalArgumentException("previousStateCost cannot be negative: "+previousStateCost);
 		}
-		
-		public int getNumberOfColumns(){
-			return stateToIntMap.size();
+		if(transitionCost<0){
+			throw new IllegalArgumentException("transitionCost cannot be negative: "+transitionCost);
 		}
 		
-		/**
-		 * Get all the incoming transitions to the node located at coordinate "row" and "column"
-		 * @param row
-		 * @param column
-		 * @return
-		 */
-		public Set<GraphTransition> getIncomingTransitions(int row, int column){
-			State state = intToStateMap.get(column);
-			return transitions.get(row).get(state);
+		if(previousStateCost == Double.MAX_VALUE || transitionCost == Double.MAX_VALUE){
+			return Double.MAX_VALUE;
 		}
 		
-		public int getColumn(State state){
-			return stateToIntMap.get(state);
-		}
+		double sum =  previousStateCost + transitionCost;
 		
-		private  Map<Integer, Map<State, Set<GraphTransition>>> createGraph(String arg, String regex){
-
+		if(sum<previousStateCost || sum<transitionCost){
 			/*
-			 * Create a graph to calculate the distance. The algorithm is based on what discussed in:
-			 * 
-			 * Mohammad Alshraideh and Leonardo Bottaci
-			 * Search-based software test data generation for string data using program-specific search operators
-			 * http://neo.lcc.uma.es/mase/attachments/085_TestDataGenerationForStringData.pdf
-			 * 
-			 * and 
-			 * 
-			 * EUGENE W. MYERS and WEBB MILLER
-			 * APPROXIMATE MATCHING OF REGULAR EXPRESSIONS
-			 * http://www.cs.mun.ca/~harold/Courses/Old/Ling6800.W06/Diary/reg.aprox.pdf
+			 * likely overflow
 			 */
+			return Double.MAX_VALUE;
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * The automaton of a regex, compiled into arrays so that distances can be calculated
+	 * without building any object.
+	 *
+	 * <p>The distance is calculated on a graph with arg.length+1 copies of the regex automaton.
+	 * Each copy represents a "row".
+	 * Each automaton state, in topological order, represents a "column", plus a last column
+	 * for an artificial sink state reached (at no cost) from the accepting states in the last row.
+	 * The algorithm is based on what discussed in:</p>
+	 *
+	 * <p>Mohammad Alshraideh and Leonardo Bottaci
+	 * Search-based software test data generation for string data using program-specific search operators
+	 * http://neo.lcc.uma.es/mase/attachments/085_TestDataGenerationForStringData.pdf</p>
+	 *
+	 * <p>and</p>
+	 *
+	 * <p>EUGENE W. MYERS and WEBB MILLER
+	 * APPROXIMATE MATCHING OF REGULAR EXPRESSIONS
+	 * http://www.cs.mun.ca/~harold/Courses/Old/Ling6800.W06/Diary/reg.aprox.pdf</p>
+	 *
+	 * <p>Between two consecutive rows there are: insertion edges (cost 1) following the automaton
+	 * transitions in the same row, replacement edges following the automaton transitions
+	 * to the next row (whose cost depends on the replaced character), and deletion edges (cost 1)
+	 * from each state to itself in the next row.</p>
+	 *
+	 * <p>Important: even if the cost is 0 (eg match on the arg/regex in which we replace char X with X),
+	 * it is still a replacement. Consider the case "ac".matches("abc"): if the alignment c/c was free,
+	 * then it would be possible to insert 'b' in the middle of "abc". On the other hand, as a replacement
+	 * c/c, inserting 'b' is not allowed, as an insertion cannot be followed by a replacement.</p>
+	 *
+	 * @author arcuri
+	 */
+	private static final class CompiledRegex {
 
-			Automaton automaton = getAndCacheAutomaton(regex);
-			final int NUM_CHARS = arg.length();
-
-
-			List<State> topologicalOrder = regexStateCache.get(regex);
-
-			Map<Integer, Map<State, Set<GraphTransition>>> transitions = new HashMap<>();
+		private static final int DEL = 0;
+		private static final int REP = 1;
+		private static final int INS = 2;
 
-			intToStateMap = new HashMap<>();
-			stateToIntMap = new HashMap<>();
-			int numState = 0;
+		private final Automaton automaton;
 
-			for (State currentState : topologicalOrder) {
+		/**
+		 * Number of automaton states. Column numStates is the artificial sink state
+		 */
+		private final int numStates;
 
-				/*
-				 * Init data structure to quickly map/access state/index
-				 */
-				stateToIntMap.put(currentState, numState);
-				intToStateMap.put(numState, currentState);
-				numState++;
+		/**
+		 * Incoming transitions of each state (ie column), stored from inStart[col] (inclusive)
+		 * to inStart[col+1] (exclusive) in the inFrom/inMin/inMax arrays
+		 */
+		private final int[] inStart;
+		private final int[] inFrom;
+		private final char[] inMin;
+		private final char[] inMax;
 
+		/**
+		 * Whether a state has a transition to itself
+		 */
+		private final boolean[] selfLoop;
+
+		private final int[] accepting;
+
+		private CompiledRegex(String regex) {
+			String r = expandRegex(regex);
+			automaton = new RegExp(r, RegExp.NONE).toAutomaton();
+			automaton.expandSingleton();
+
+			// We convert this to a graph without self-loops in order to determine the topological order
+			DirectedGraph<State, DefaultEdge> regexGraph = new DefaultDirectedGraph<>(
+					DefaultEdge.class);
+			Set<State> visitedStates = new HashSet<>();
+			Queue<State> states = new LinkedList<>();
+			State initialState = automaton.getInitialState();
+			states.add(initialState);
+
+			while (!states.isEmpty()) {
+				State currentState = states.poll();
+				if (visitedStates.contains(currentState))
+					continue;
+				if (!regexGraph.containsVertex(currentState))
+					regexGraph.addVertex(currentState);
 				for (Transition t : currentState.getTransitions()) {
-
-					State destination = t.getDest();
-					ensureState(transitions, destination , NUM_CHARS);
-
-					for (int row = 0; row <= NUM_CHARS; row++) {
-						/*
-						 *  add an insertion edge from currentState in row to target state in same row
-						 */
-
-						transitions.get(row).get(destination).add(new GraphTransition(1.0, row, currentState, GraphTransition.TransitionType.INSERTION));
-					}
-
-					for (int row = 0; row < NUM_CHARS; row++) {
-						/*
-						 *  Add a replacement edge from currentState in row to t.getDest in row+1
-						 *  if charAt row+1 == the parameter of this transition, this is a zero-cost edge
-						 */
-
-						double cost = 0.0;
-
-						if (arg.charAt(row) < t.getMin() || arg.charAt(row) > t.getMax()) {					
-							int distMin = Math.abs(arg.charAt(row) - t.getMin());
-							int distMax = Math.abs(arg.charAt(row) - t.getMax());
-							cost = normalize(Math.min(distMin, distMax));
+					// Need to get rid of back edges, otherwise there is no topological order!
+					if (!t.getDest().equals(currentState)) {
+						regexGraph.addVertex(t.getDest());
+						regexGraph.addEdge(currentState, t.getDest());
+						states.add(t.getDest());
+						CycleDetector<State, DefaultEdge> det = new CycleDetector<>(
+								regexGraph);
+						if (det.detectCycles()) {
+							regexGraph.removeEdge(currentState, t.getDest());
 						}
-
-						/*
-						 * Important: even if the cost is 0 (eg match on the arg/regex in which we replace char X with X), we CANNOT
-						 * use a PHANTOM transition. Even if we do not replace anything, we still need to consider it as a replacement 
-						 * transition. Consider the case
-						 * 
-						 *  "ac".matches("abc")
-						 *  
-						 *  If we used a phantom transition to represent the alignment c/c, then it would be possible to insert 'b' in the 
-						 *  middle of "abc". On the other hand, if we use a replacement c/c, then inserting 'b' would not be allowed, as an
-						 *  insertion cannot be followed by a replacement.  
-						 */
-
-						transitions.get(row + 1).get(destination).add(new GraphTransition(cost, row, currentState, GraphTransition.TransitionType.REPLACEMENT));
 					}
 				}
+				visitedStates.add(currentState);
+			}
 
-				ensureState(transitions, currentState, NUM_CHARS);
-
-				for (int row = 0; row < NUM_CHARS; row++) {
-
-					/*
-					 * add a deletion edge with cost 1 from currentState to currentState in next row
-					 */
+			TopologicalOrderIterator<State, DefaultEdge> iterator = new TopologicalOrderIterator<>(
+					regexGraph);
+			List<State> topologicalOrder = new ArrayList<>();
+			while (iterator.hasNext()) {
+				topologicalOrder.add(iterator.next());
+			}
 
-					transitions.get(row + 1).get(currentState).add(new GraphTransition(1.0, row, currentState,  GraphTransition.TransitionType.DELETION));
-				}			
+			numStates = topologicalOrder.size();
+			Map<State, Integer> columns = new HashMap<>();
+			for (State state : topologicalOrder) {
+				columns.put(state, columns.size());
 			}
 
-			// Add zero-cost transitions from accepting states to final state
-			State finalState = new State();
-			ensureState(transitions, finalState, NUM_CHARS);
-			for (State s : automaton.getStates()) {
-				if (s.isAccept()) {
-					transitions.get(NUM_CHARS).get(finalState).add(new GraphTransition(0, NUM_CHARS, s, GraphTransition.TransitionType.PHANTOM));
+			inStart = new int[numStates + 1];
+			selfLoop = new boolean[numStates];
+			for (State state : topologicalOrder) {
+				for (Transition t : state.getTransitions()) {
+					inStart[columns.get(t.getDest()) + 1]++;
 				}
 			}
-			intToStateMap.put(numState, finalState); 
-			stateToIntMap.put(finalState, numState);	
-
-			return transitions;
-		}
-	}
+			for (int col = 0; col < numStates; col++) {
+				inStart[col + 1] += inStart[col];
+			}
 
-	/**
-	 * Class used to calculate the cost, ie the actual distance, based on a RegexGraph.	
-	 * 
-	 * @author arcuri
-	 */
-	private static class CostMatrix{
-		
-		private final int DEL = 0;
-		private final int REP = 1;
-		private final int INS = 2;
-		
-		public CostMatrix() {
-			super();			
+			int numTransitions = inStart[numStates];
+			inFrom = new int[numTransitions];
+			inMin = new char[numTransitions];
+			inMax = new char[numTransitions];
+			int[] next = new int[numStates];
+			System.arraycopy(inStart, 0, next, 0, numStates);
+			List<Integer> acceptingColumns = new ArrayList<>();
+			for (State state : topologicalOrder) {
+				int from = columns.get(state);
+				if (state.isAccept()) {
+					acceptingColumns.add(from);
+				}
+				for (Transition t : state.getTransitions()) {
+					int to = columns.get(t.getDest());
+					int k = next[to]++;
+					inFrom[k] = from;
+					inMin[k] = t.getMin();
+					inMax[k] = t.getMax();
+					if (from == to) {
+						selfLoop[to] = true;
+					}
+				}
+			}
+			accepting = acceptingColumns.stream().mapToInt(Integer::intValue).toArray();
 		}
 
-		public int calculateStandardCost(RegexGraph graph){
-			final int ROWS = graph.getNumberOfRows();
-			final int COLUMNS = graph.getNumberOfColumns();
-			
-			final double[][] matrix = new double[ROWS][COLUMNS]; 
-			
-			// First row is cost of matching empty sequence on regex
-			final int FIRST_ROW = 0;
-			
-			/*
-			 * init first starting state with 0 costs
-			 */
-			matrix[FIRST_ROW][0] = 0;
-			
-			//look at first row (which is special)
-			for (int col = 1; col < graph.getNumberOfColumns(); col++) {
-
+		private int calculateStandardCost(String arg) {
+			final int ROWS = arg.length() + 1;
+			final int COLUMNS = numStates + 1;
+			final int SINK = numStates;
+
+			// two rows, the previous one and the current one
+			final double[] buffer = getRowBuffer(2 * COLUMNS);
+			int previous = 0;
+			int current = COLUMNS;
+
+			// First row is cost of matching empty sequence on regex.
+			// Note: a cell on the right of the current one (ie, the source of a back edge of a loop)
+			// is read before being computed in the same row, and it starts at 0
+			Arrays.fill(buffer, current, current + COLUMNS, 0.0);
+			for (int col = 1; col < numStates; col++) {
 				double min = Double.MAX_VALUE;
-				
-				for (GraphTransition t :  graph.getIncomingTransitions(FIRST_ROW, col)) {
-
-					int otherCol = graph.getColumn(t.fromState);
-
+				for (int k = inStart[col]; k < inStart[col + 1]; k++) {
+					int otherCol = inFrom[k];
 					//self transition
-					if (col == otherCol){
-						continue;
+					if (otherCol != col) {
+						min = Math.min(min, getSubPathCost(buffer[current + otherCol], 1));
 					}
-					
-					double otherCost = matrix[FIRST_ROW][otherCol];
-
-					min = Math.min(min, getSubPathCost(otherCost, Math.ceil(t.cost)));
 				}
-				
-				matrix[FIRST_ROW][col] = min;
+				buffer[current + col] = min;
 			}
-		
+			buffer[current + SINK] = ROWS == 1 ? getSinkCost(buffer, current) : Double.MAX_VALUE;
+
 			//then look at the other rows
-			for(int i=1; i<ROWS; i++){
-				
-				for (int col = 0; col < COLUMNS; col++) {
-					
-					matrix[i][col] = Double.MAX_VALUE;
-					
-					for (GraphTransition t : graph.getIncomingTransitions(i, col)) {
-						
-						int otherCol = graph.getColumn(t.fromState);
-						int otherRow = t.fromRow;
-						
-						if(! t.type.equals(GraphTransition.TransitionType.PHANTOM)){														
-							matrix[i][col] = Math.min(matrix[i][col], getSubPathCost(matrix[otherRow][otherCol],Math.ceil(t.cost)));							
-						} else {
-							/*
-							 * artificial transition to final/sink state, so just take same values as previous state
-							 */
-							matrix[i][col] = Math.min(matrix[i][col], matrix[otherRow][otherCol]);
-							
+			for (int i = 1; i < ROWS; i++) {
+				previous = current;
+				current = COLUMNS - previous;
+				Arrays.fill(buffer, current, current + COLUMNS, 0.0);
+				final char c = arg.charAt(i - 1);
+
+				for (int col = 0; col < numStates; col++) {
+					// deletion
+					double min = getSubPathCost(buffer[previous + col], 1);
+
+					for (int k = inStart[col]; k < inStart[col + 1]; k++) {
+						int otherCol = inFrom[k];
+						// insertion (a self insertion cannot improve the cost)
+						if (otherCol != col) {
+							min = Math.min(min, getSubPathCost(buffer[current + otherCol], 1));
 						}
+						// replacement
+						double cost = Math.ceil(getReplacementCost(c, inMin[k], inMax[k]));
+						min = Math.min(min, getSubPathCost(buffer[previous + otherCol], cost));
 					}
+					buffer[current + col] = min;
 				}
+				buffer[current + SINK] = i == ROWS - 1 ? getSinkCost(buffer, current) : Double.MAX_VALUE;
 			}
-			
-			double min = matrix[ROWS-1][COLUMNS-1];			
+
+			double min = buffer[current + SINK];
 			return (int)Math.round(min);
 		}
-		
+
+		/**
+		 * artificial transitions to final/sink state, so just take same values as accepting states
+		 */
+		private double getSinkCost(double[] buffer, int offset) {
+			double min = Double.MAX_VALUE;
+			for (int col : accepting) {
+				min = Math.min(min, buffer[offset + col]);
+			}
+			return min;
+		}
+
 		/**
 		 * Note: this is different from normal matching algorithms, as we enforce an order
-		 * among the operators: delete, replace and then insert. 
-		 * @param graph
+		 * among the operators: delete, replace and then insert.
+		 *
+		 * @param arg
 		 * @return
 		 */
-		public double calculateCostForStringAVM(RegexGraph graph){
-			
-			final int ROWS = graph.getNumberOfRows();
-			final int COLUMNS = graph.getNumberOfColumns();
-			
+		private double calculateCostForStringAVM(String arg) {
+			final int ROWS = arg.length() + 1;
+			final int COLUMNS = numStates + 1;
+			final int SINK = numStates;
+			final int ROW_SIZE = 3 * COLUMNS;
+
 			/*
-			 * we create a matrix based on each row and each column in the graph.
-			 * Each cell has 3 values, each representing the cost of thre different types of path:
-			 * 
+			 * Each cell has 3 values, each representing the cost of three different types of path:
+			 *
 			 * 0) only deletion
 			 * 1) deletions followed by replacement
 			 * 2) as above, and then followed by insertions
+			 *
+			 * As for the standard cost, only two rows are needed.
 			 */
-			final double[][][] matrix = new double[ROWS][COLUMNS][3]; 
-			
-			calculateInsertionCostOnFirstRow(graph, matrix);
-			
-			for(int i=1; i<ROWS; i++){
-				
-				for (int col = 0; col < COLUMNS; col++) {
-					
+			final double[] m = getRowBuffer(2 * ROW_SIZE);
+			int previous = 0;
+			int current = ROW_SIZE;
+
+			calculateInsertionCostOnFirstRow(m, current, ROWS == 1);
+
+			for (int i = 1; i < ROWS; i++) {
+				previous = current;
+				current = ROW_SIZE - previous;
+				Arrays.fill(m, current, current + ROW_SIZE, 0.0);
+				final char c = arg.charAt(i - 1);
+
+				for (int col = 0; col < numStates; col++) {
+					final int cell = current + 3 * col;
+					final int above = previous + 3 * col;
+
 					/*
-					 * unless a path is explicitly updated, it will have maximum distance by default
+					 * deletion can only follow a deletion path (so only [DEL] or right side).
+					 * but, from this state on, any new path can be followed (so all on left side)
 					 */
-					matrix[i][col][DEL] = Double.MAX_VALUE;
-					matrix[i][col][REP] = Double.MAX_VALUE;
-					matrix[i][col][INS] = Double.MAX_VALUE;
-					
-					for (GraphTransition t : graph.getIncomingTransitions(i, col)) {
-						
-						int otherCol = graph.getColumn(t.fromState);
-						int otherRow = t.fromRow;
-						
-						if(t.type.equals(GraphTransition.TransitionType.INSERTION)){							
-							assert otherRow == i;			
+					double deletion = getSubPathCost(m[above + DEL], 1.0);
+					double del = deletion;
+					double rep = deletion;
+					double ins = deletion;
+
+					for (int k = inStart[col]; k < inStart[col + 1]; k++) {
+						final int other = 3 * inFrom[k];
+
+						if (inFrom[k] != col) {
 							/*
 							 * if we have an insertion, only the insertion path can be continued.
-							 * that's the reason why on the left side we only update for [INS].
-							 * An insertion can continue any type of path (and so all types are present on the right side). 
-							 */
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][INS],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.REPLACEMENT)){
-							/*
-							 * if we have a replacement, then we cannot continue a delete path.
-							 * So, no [DEL] on the left side.
-							 * A replacement can continue a delete or replace path, but not an insertion one (and so [DEL] and
-							 * [REP] on right side)
-							 */
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-							/*
-							 * from this state on, an insertion path can be followed, with same cost (ie right side) as replacement path
-							 */
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.DELETION)){
-							/*
-							 * deletion can only follow a deletion path (so only [DEL] or right side). 
-							 * but, from this state on, any new path can be followed (so all on left side)
-							 */
-							matrix[i][col][DEL] = Math.min(matrix[i][col][DEL], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.PHANTOM)){
-							assert t.cost == 0;							
-							/*
-							 * artificial transition to final/sink state, so just take same values as previous state
+							 * An insertion can continue any type of path.
 							 */
-							matrix[i][col][DEL] = Math.min(matrix[i][col][DEL], matrix[otherRow][otherCol][DEL]);
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], matrix[otherRow][otherCol][REP]);
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], matrix[otherRow][otherCol][INS]);
+							ins = Math.min(ins, getSubPathCost(m[current + other + DEL], 1.0));
+							ins = Math.min(ins, getSubPathCost(m[current + other + REP], 1.0));
+							ins = Math.min(ins, getSubPathCost(m[current + other + INS], 1.0));
 						}
+
+						/*
+						 * if we have a replacement, then we cannot continue a delete path.
+						 * A replacement can continue a delete or replace path, but not an insertion one.
+						 * From this state on, an insertion path can be followed, with same cost as replacement path
+						 */
+						double cost = getReplacementCost(c, inMin[k], inMax[k]);
+						double replacement = Math.min(getSubPathCost(m[previous + other + DEL], cost),
+								getSubPathCost(m[previous + other + REP], cost));
+						rep = Math.min(rep, replacement);
+						ins = Math.min(ins, replacement);
 					}
+
+					if (selfLoop[col]) {
+						// insertion on the same state, continuing any of the paths computed so far
+						ins = Math.min(ins, getSubPathCost(del, 1.0));
+						ins = Math.min(ins, getSubPathCost(rep, 1.0));
+						ins = Math.min(ins, getSubPathCost(ins, 1.0));
+					}
+
+					m[cell + DEL] = del;
+					m[cell + REP] = rep;
+					m[cell + INS] = ins;
 				}
-				
+
+				setSinkCosts(m, current, i == ROWS - 1);
+
 				/*
 				 * TODO: The algorithm of Myers's paper, at page 12, makes a distinction between D and E transitions.
 				 * Insertions of type E are done last. Not fully clear if it has an effect here: ie, recall that
-				 * here we do minimization (calculate distance) and not maximization (similarity)  
+				 * here we do minimization (calculate distance) and not maximization (similarity)
 				 */
 			}
-			
+
 			/*
 			 * get the minimum among the 3 different paths in the sink state
 			 */
-			double min = Double.MAX_VALUE;
-			for(double value : matrix[ROWS-1][COLUMNS-1]){
-				if(value < min){
-					min = value;
-				}
-			}
-			
-			return min;
+			final int sink = current + 3 * SINK;
+			return Math.min(m[sink + DEL], Math.min(m[sink + REP], m[sink + INS]));
 		}
 
-		/**
-		 * We cannot just do previousStateCost + transitionCost, as there might be computational overflows
-		 * 
-		 * @param previousStateCost
-		 * @param transitionCost
-		 * @return
-		 * @throws IllegalArgumentException
-		 */
-		private double getSubPathCost(double previousStateCost, double transitionCost) throws IllegalArgumentException{
-			if(previousStateCost<0){
-				throw new IllegalArgumentException("previousStateCost cannot be negative: "+previousStateCost);
-			}
-			if(transitionCost<0){
-				throw new IllegalArgumentException("transitionCost cannot be negative: "+transitionCost);
-			}
-			
-			if(previousStateCost == Double.MAX_VALUE || transitionCost == Double.MAX_VALUE){
-				return Double.MAX_VALUE;
+		private void setSinkCosts(double[] m, int offset, boolean lastRow) {
+			final int sink = offset + 3 * numStates;
+			m[sink + DEL] = Double.MAX_VALUE;
+			m[sink + REP] = Double.MAX_VALUE;
+			m[sink + INS] = Double.MAX_VALUE;
+			if (!lastRow) {
+				return;
 			}
-			
-			double sum =  previousStateCost + transitionCost;
-			
-			if(sum<previousStateCost || sum<transitionCost){
-				/*
-				 * likely overflow
-				 */
-				return Double.MAX_VALUE;
+			for (int col : accepting) {
+				for (int type = DEL; type <= INS; type++) {
+					m[sink + type] = Math.min(m[sink + type], m[offset + 3 * col + type]);
+				}
 			}
-			
-			return sum;
 		}
-		
+
 		/**
 		 * First row is special, ie very different from the others
-		 * 
-		 * @param graph
-		 * @param matrix
 		 */
-		private void calculateInsertionCostOnFirstRow(RegexGraph graph, final double[][][] matrix) {
-			
-			// First row is cost of matching empty sequence on regex
-			final int FIRST_ROW = 0;
-			
+		private void calculateInsertionCostOnFirstRow(final double[] m, final int offset, boolean lastRow) {
+
+			Arrays.fill(m, offset, offset + 3 * (numStates + 1), 0.0);
+
 			/*
-			 * init first starting state with 0 costs
+			 * init first starting state with 0 costs, then, as there can be only insertions,
+			 * the delete and replace paths cannot be followed, and so maximum distance
 			 */
-			matrix[FIRST_ROW][0][0] = 0;
-			matrix[FIRST_ROW][0][1] = 0;
-			matrix[FIRST_ROW][0][2] = 0;
-			
-			for (int col = 1; col < graph.getNumberOfColumns(); col++) {
+			for (int col = 1; col < numStates; col++) {
 
 				double min = Double.MAX_VALUE;
-				
-				for (GraphTransition t :  graph.getIncomingTransitions(FIRST_ROW, col)) {
-					
-					/*
-					 * on first row, there can be only insertions coming from the same row,
-					 * apart from last node that can have a phantom transition to sink state
-					 */
-					assert t.type.equals(GraphTransition.TransitionType.INSERTION) ||
-						t.type.equals(GraphTransition.TransitionType.PHANTOM);
-					assert t.fromRow == 0;
-					
-					int otherCol = graph.getColumn(t.fromState);
 
+				for (int k = inStart[col]; k < inStart[col + 1]; k++) {
+					int otherCol = inFrom[k];
 					//self transition
-					if (col == otherCol){
-						continue;
+					if (otherCol != col) {
+						min = Math.min(min, getSubPathCost(m[offset + 3 * otherCol + INS], 1.0));
 					}
-					
-					double otherCost = matrix[FIRST_ROW][otherCol][2];
+				}
+
+				m[offset + 3 * col + DEL] = Double.MAX_VALUE;
+				m[offset + 3 * col + REP] = Double.MAX_VALUE;
+				m[offset + 3 * col + INS] = min;
+			}
 
-					min = Math.min(min, getSubPathCost(otherCost, t.cost));
+			final int sink = offset + 3 * numStates;
+			m[sink + DEL] = Double.MAX_VALUE;
+			m[sink + REP] = Double.MAX_VALUE;
+			m[sink + INS] = Double.MAX_VALUE;
+			if (lastRow) {
+				for (int col : accepting) {
+					m[sink + INS] = Math.min(m[sink + INS], m[offset + 3 * col + INS]);
 				}
-				
-				/*
-				 * as there can be only insertions, the delete and replace paths cannot be followed, and 
-				 * so maximum distance
-				 */
-				matrix[FIRST_ROW][col][0] = Double.MAX_VALUE;
-				matrix[FIRST_ROW][col][1] = Double.MAX_VALUE;				
-				matrix[FIRST_ROW][col][2] = min;
 			}
-		}		
+		}
 	}
 }
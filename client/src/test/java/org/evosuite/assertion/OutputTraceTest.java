@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OutputTraceTest {
+
+    private static PrimitiveAssertion assertion(VariableReference var, Object value) {
+        PrimitiveAssertion assertion = new PrimitiveAssertion();
+        assertion.setSource(var);
+        assertion.setValue(value);
+        return assertion;
+    }
+
+    @Test
+    public void testDetectionOnlyChecksSourceVariable() {
+        DefaultTestCase test = new DefaultTestCase();
+        VariableReference var0 = test.addStatement(new IntPrimitiveStatement(test, 1));
+        VariableReference var1 = test.addStatement(new IntPrimitiveStatement(test, 2));
+
+        OutputTrace<PrimitiveTraceEntry> trace = new OutputTrace<>();
+        trace.addEntry(0, var0, new PrimitiveTraceEntry(var0, 1));
+        trace.addEntry(1, var1, new PrimitiveTraceEntry(var1, 2));
+
+        assertFalse(trace.isDetectedBy(assertion(var0, 1)));
+        assertTrue(trace.isDetectedBy(assertion(var0, 5)));
+        assertFalse(trace.isDetectedBy(assertion(var1, 2)));
+        assertTrue(trace.isDetectedBy(assertion(var1, 3)));
+    }
+
+    @Test
+    public void testDetachTrace() {
+        DefaultTestCase test = new DefaultTestCase();
+        VariableReference var0 = test.addStatement(new IntPrimitiveStatement(test, 1));
+
+        PrimitiveTraceObserver observer = new PrimitiveTraceObserver();
+        OutputTrace<PrimitiveTraceEntry> recorded = observer.trace;
+        recorded.addEntry(0, var0, new PrimitiveTraceEntry(var0, 1));
+
+        OutputTrace<PrimitiveTraceEntry> detached = observer.detachTrace();
+        assertSame(recorded, detached);
+        assertTrue(detached.containsEntry(0, var0));
+
+        assertNotSame(detached, observer.trace);
+        assertFalse(observer.getTrace().containsEntry(0, var0));
+    }
+}
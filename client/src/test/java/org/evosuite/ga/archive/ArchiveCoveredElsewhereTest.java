@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ArchiveCoveredElsewhereTest {
+
+    private final TestFitnessFunction foo = new MethodCoverageTestFitness("Foo", "foo()V");
+
+    private final TestFitnessFunction bar = new MethodCoverageTestFitness("Foo", "bar()V");
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        Properties.CRITERION = new Criterion[] {Criterion.METHOD};
+        CoverageArchive.instance.reset();
+        MIOArchive.instance.reset();
+    }
+
+    @After
+    public void tearDown() {
+        CoverageArchive.instance.reset();
+        MIOArchive.instance.reset();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Test
+    public void testCoverageArchiveExcludesTargetsCoveredElsewhere() {
+        checkTargetsCoveredElsewhereAreExcluded(CoverageArchive.instance);
+    }
+
+    @Test
+    public void testMIOArchiveExcludesTargetsCoveredElsewhere() {
+        checkTargetsCoveredElsewhereAreExcluded(MIOArchive.instance);
+    }
+
+    @Test
+    public void testResetForgetsTargetsCoveredElsewhere() {
+        Archive archive = CoverageArchive.instance;
+        archive.markCoveredElsewhere(Collections.singleton(ArchiveUtils.getGoalKey(foo)));
+        archive.reset();
+
+        archive.addTargets(Arrays.asList(foo, bar));
+        assertFalse(archive.isCoveredElsewhere(foo));
+        assertEquals(0, archive.getNumberOfTargetsCoveredElsewhere());
+        assertEquals(2, archive.getNumberOfUncoveredTargets());
+    }
+
+    private void checkTargetsCoveredElsewhereAreExcluded(Archive archive) {
+        archive.addTargets(Arrays.asList(foo, bar));
+        assertEquals(2, archive.getNumberOfUncoveredTargets());
+
+        // goals are published by their key, as done by the master node
+        archive.markCoveredElsewhere(Collections.singleton(ArchiveUtils.getGoalKey(foo)));
+
+        assertTrue(archive.isCoveredElsewhere(new MethodCoverageTestFitness("Foo", "foo()V")));
+        assertFalse(archive.isCoveredElsewhere(bar));
+        assertEquals(1, archive.getNumberOfTargetsCoveredElsewhere());
+
+        assertEquals(Collections.singleton(bar), archive.getUncoveredTargets());
+        assertEquals(1, archive.getNumberOfUncoveredTargets());
+
+        // the target is not covered by this archive, so it still counts towards its coverage
+        assertEquals(0, archive.getNumberOfCoveredTargets());
+        assertEquals(2, archive.getNumberOfUncoveredTargets(MethodCoverageTestFitness.class));
+        assertEquals(2, archive.getNumberOfTargets());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa.structural;
+
+import com.examples.with.different.packagename.FlagExample1;
+import com.examples.with.different.packagename.solver.TestCaseStringLength;
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.ga.archive.Archive;
+import org.evosuite.ga.archive.ArchiveUtils;
+import org.evosuite.ga.metaheuristics.StandardGA;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiCriteriaManagerTest {
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        Archive.getArchiveInstance().reset();
+
+        Properties.CRITERION = new Criterion[] {Criterion.BRANCH};
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+    }
+
+    @After
+    public void tearDown() {
+        Archive.getArchiveInstance().reset();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Test
+    public void testGoalsCoveredElsewhereAreSkipped() {
+        List<TestFitnessFunction> goals = new ArrayList<>(new BranchCoverageFactory().getCoverageGoals());
+        MultiCriteriaManager manager = new MultiCriteriaManager(goals);
+
+        Set<TestFitnessFunction> roots = new LinkedHashSet<>(manager.getCurrentGoals());
+        assertFalse(roots.isEmpty());
+        TestFitnessFunction skipped = roots.iterator().next();
+
+        // nothing happens until another client publishes a goal
+        manager.skipGoalsCoveredElsewhere();
+        assertEquals(roots, manager.getCurrentGoals());
+
+        Archive.getArchiveInstance().markCoveredElsewhere(
+                Collections.singleton(ArchiveUtils.getGoalKey(skipped)));
+        manager.skipGoalsCoveredElsewhere();
+
+        Set<TestFitnessFunction> expected = new LinkedHashSet<>(roots);
+        expected.remove(skipped);
+        expected.addAll(manager.graph.getStructuralChildren(skipped));
+        expected.addAll(manager.dependencies.get(skipped));
+        assertEquals(expected, manager.getCurrentGoals());
+
+        assertFalse(manager.getUncoveredGoals().contains(skipped));
+        assertEquals(goals.size() - 1, manager.getUncoveredGoals().size());
+        assertTrue(manager.getCoveredGoals().isEmpty());
+    }
+
+    @Test
+    public void testChildrenCoveredElsewhereAreNotAddedBack() throws Exception {
+        Properties.TARGET_CLASS = TestCaseStringLength.class.getCanonicalName();
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+
+        List<TestFitnessFunction> goals = new ArrayList<>(new BranchCoverageFactory().getCoverageGoals());
+        MultiCriteriaManager manager = new MultiCriteriaManager(goals);
+
+        // the jump of str != null is not taken for non-null strings, and that of
+        // str.length() == 5 is not taken for strings of length 5
+        TestFitnessFunction notNull = null;
+        TestFitnessFunction lengthIsFive = null;
+        for (TestFitnessFunction goal : goals) {
+            BranchCoverageTestFitness branch = (BranchCoverageTestFitness) goal;
+            if (branch.getBranch() == null || branch.getValue()) {
+                continue;
+            }
+            if (branch.getBranch().getInstruction().getLineNumber() == 25) {
+                notNull = goal;
+            } else if (branch.getBranch().getInstruction().getLineNumber() == 26) {
+                lengthIsFive = goal;
+            }
+        }
+        assertTrue(manager.getCurrentGoals().contains(notNull));
+        assertTrue(manager.graph.getStructuralChildren(notNull).contains(lengthIsFive));
+
+        // the child is not a current goal yet, so only calculateFitness can bring it back
+        Archive.getArchiveInstance().markCoveredElsewhere(
+                Collections.singleton(ArchiveUtils.getGoalKey(lengthIsFive)));
+        assertFalse(manager.getCurrentGoals().contains(lengthIsFive));
+
+        // String string0 = "abc"; TestCaseStringLength.test(string0);
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference string0 = builder.appendStringPrimitive("abc");
+        Method test = sut.getMethod("test", String.class);
+        builder.appendMethod(null, test, string0);
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(builder.getDefaultTestCase());
+
+        manager.calculateFitness(chromosome, new StandardGA<>(new RandomLengthTestFactory()));
+
+        assertTrue(manager.getCoveredGoals().contains(notNull));
+        assertFalse(manager.getCurrentGoals().contains(lengthIsFive));
+        assertFalse(manager.getUncoveredGoals().contains(lengthIsFive));
+    }
+}
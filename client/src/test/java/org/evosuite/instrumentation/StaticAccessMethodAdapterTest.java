@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.staticusage.ImmutableSingleton;
+import com.examples.with.different.packagename.staticusage.MutableSingleton;
+
+public class StaticAccessMethodAdapterTest {
+
+	private final MutableInstanceAnalyzer analyzer = MutableInstanceAnalyzer.getInstance(getClass().getClassLoader());
+
+	@Test
+	public void testArraysAndContainersAreMutable() {
+		Assert.assertTrue(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Foo", "cache", "[I", analyzer));
+		Assert.assertTrue(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Foo", "cache", "Ljava/util/Map;", analyzer));
+		Assert.assertTrue(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Foo", "log", "Ljava/lang/StringBuilder;", analyzer));
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Foo", "name", "Ljava/lang/String;", analyzer));
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Foo", "locale", "Ljava/util/Locale;", analyzer));
+	}
+
+	@Test
+	public void testSyntheticFieldsAreNotMutable() {
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Color", "$VALUES", "[Lorg/Color;", analyzer));
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Foo$1", "$SwitchMap$org$Color", "[I", analyzer));
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer("org/Color", "ENUM$VALUES", "[Lorg/Color;", analyzer));
+	}
+
+	@Test
+	public void testSingletons() {
+		String mutable = MutableSingleton.class.getName().replace('.', '/');
+		String immutable = ImmutableSingleton.class.getName().replace('.', '/');
+
+		Assert.assertTrue(StaticAccessMethodAdapter.isPossiblyMutableContainer(mutable, "INSTANCE", "L" + mutable + ";", analyzer));
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer(immutable, "INSTANCE", "L" + immutable + ";", analyzer));
+		// not a singleton
+		Assert.assertFalse(StaticAccessMethodAdapter.isPossiblyMutableContainer(immutable, "OTHER", "L" + mutable + ";", analyzer));
+	}
+
+	@Test
+	public void testOneAnalyzerPerClassLoader() {
+		ClassLoader other = new ClassLoader(getClass().getClassLoader()) {
+		};
+		Assert.assertSame(analyzer, MutableInstanceAnalyzer.getInstance(getClass().getClassLoader()));
+		Assert.assertNotSame(analyzer, MutableInstanceAnalyzer.getInstance(other));
+
+		MutableInstanceAnalyzer.clearAll();
+		Assert.assertNotSame(analyzer, MutableInstanceAnalyzer.getInstance(getClass().getClassLoader()));
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.junit.examples.JUnit4Test;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CoverageMatrixTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public void init() {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+	}
+
+	private static BitSet bits(int... indices) {
+		BitSet bits = new BitSet();
+		for (int i : indices) {
+			bits.set(i);
+		}
+		return bits;
+	}
+
+	@Test
+	public void testCoveredGoals() {
+		CoverageMatrix matrix = new CoverageMatrix(Arrays.asList("a", "b", "c"), Collections.singletonList("Foo"));
+		matrix.addTest("Foo#test0", bits(0), true);
+		matrix.addTest("Foo#test1", bits(2), false);
+
+		assertEquals(2, matrix.getNumberOfTests());
+		assertEquals(3, matrix.getNumberOfGoals());
+		assertTrue(matrix.isCovered(0, 0));
+		assertFalse(matrix.isCovered(0, 2));
+		assertTrue(matrix.isCovered(1, 2));
+		assertTrue(matrix.wasSuccessful(0));
+		assertFalse(matrix.wasSuccessful(1));
+		assertEquals(bits(0, 2), matrix.getCoveredGoals());
+
+		assertEquals(1, matrix.getGoalIndex("b"));
+		assertEquals(-1, matrix.getGoalIndex("d"));
+		assertTrue(matrix.containsGoals(Arrays.asList("c", "a")));
+		assertFalse(matrix.containsGoals(Arrays.asList("a", "d")));
+	}
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		CoverageMatrix matrix = new CoverageMatrix(Arrays.asList("a", "b", "c"), Collections.singletonList("Foo"));
+		matrix.addTest("Foo#test0", bits(0, 1), true);
+		matrix.addTest("Foo#test1", new BitSet(), false);
+		matrix.setDependencies(Collections.singletonList(JUnit4Test.class.getName()));
+
+		File file = new File(folder.getRoot(), "data" + File.separator + "foo.matrix");
+		matrix.write(file);
+		CoverageMatrix read = CoverageMatrix.read(file);
+
+		assertEquals(Collections.singletonList("Foo"), read.getTestClasses());
+		assertEquals(2, read.getNumberOfTests());
+		assertEquals("Foo#test1", read.getTestName(1));
+		assertTrue(read.isCovered(0, 1));
+		assertFalse(read.isCovered(1, 1));
+		assertTrue(read.wasSuccessful(0));
+		assertFalse(read.wasSuccessful(1));
+		assertEquals(2, read.getGoalIndex("c"));
+		assertTrue(read.isUpToDate());
+	}
+
+	@Test
+	public void testNoDependenciesIsNeverUpToDate() {
+		CoverageMatrix matrix = new CoverageMatrix(Collections.singletonList("a"), Collections.singletonList("Foo"));
+		assertFalse(matrix.isUpToDate());
+	}
+
+	@Test
+	public void testReuseForDifferentCriteria() {
+		// as if created for LINE and BRANCH
+		CoverageMatrix matrix = new CoverageMatrix(Arrays.asList("line1", "line2", "branch1", "branch2"),
+				Collections.singletonList("Foo"));
+		matrix.addTest("Foo#test0", bits(0, 3), true);
+		matrix.addTest("Foo#test1", bits(2), false);
+
+		// reused only for BRANCH
+		boolean[][] coverage = CoverageAnalysis.getCoverage(matrix, Arrays.asList("branch1", "branch2"));
+		assertEquals(2, coverage.length);
+		assertArrayEquals(new boolean[] { false, true, true }, coverage[0]);
+		assertArrayEquals(new boolean[] { true, false, false }, coverage[1]);
+
+		// reused for BRANCH and LINE, in this order
+		coverage = CoverageAnalysis.getCoverage(matrix, Arrays.asList("branch1", "branch2", "line1", "line2"));
+		assertArrayEquals(new boolean[] { false, true, true, false, true }, coverage[0]);
+		assertArrayEquals(new boolean[] { true, false, false, false, false }, coverage[1]);
+	}
+}
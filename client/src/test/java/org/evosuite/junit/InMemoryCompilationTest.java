@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+public class InMemoryCompilationTest {
+
+	private static JavaCompiler getCompiler() {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeTrue(compiler != null);
+		return compiler;
+	}
+
+	@Test
+	public void testCompileInMemory() throws Exception {
+		Map<String, String> sources = new LinkedHashMap<>();
+		sources.put("foo.A", "package foo; public class A { Runnable r = new Runnable(){ public void run(){} }; }");
+		sources.put("foo.B", "package foo; public class B extends A { }");
+
+		InMemoryCompilation compilation = InMemoryCompilation.compile(getCompiler(), sources, "");
+
+		assertTrue(compilation.isSuccessful());
+		assertTrue(compilation.getUnitsWithErrors().isEmpty());
+		assertTrue(compilation.getClasses().containsKey("foo.A"));
+		assertTrue(compilation.getClasses().containsKey("foo.A$1"));
+		assertTrue(compilation.getClasses().containsKey("foo.B"));
+	}
+
+	@Test
+	public void testErrorsAreMappedToUnits() throws Exception {
+		Map<String, String> sources = new LinkedHashMap<>();
+		sources.put("foo.Good", "package foo; public class Good { }");
+		sources.put("foo.Bad", "package foo; public class Bad { int x = \"not an int\"; }");
+
+		InMemoryCompilation compilation = InMemoryCompilation.compile(getCompiler(), sources, "");
+
+		assertFalse(compilation.isSuccessful());
+		assertEquals(1, compilation.getUnitsWithErrors().size());
+		assertTrue(compilation.getUnitsWithErrors().contains("foo.Bad"));
+		assertFalse(compilation.getDiagnostics().isEmpty());
+	}
+}
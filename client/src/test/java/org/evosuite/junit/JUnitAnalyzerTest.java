@@ -20,12 +20,10 @@
 package org.evosuite.junit;
 
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.runtime.sandbox.Sandbox;
@@ -51,6 +49,8 @@ public class JUnitAnalyzerTest {
 	private static final boolean DEFAULT_SANDBOX = Properties.SANDBOX; 
 	private static final boolean DEFAULT_ASSERTS_FOR_EVO = Properties.ENABLE_ASSERTS_FOR_EVOSUITE;
 	private static final boolean DEFAULT_SCAFFOLDING = Properties.TEST_SCAFFOLDING;
+	private static final int DEFAULT_REPETITIONS = Properties.JUNIT_CHECK_REPETITIONS;
+	private static final boolean DEFAULT_SEPARATE_CLASSLOADER = Properties.USE_SEPARATE_CLASSLOADER;
 	
 	private File file = new File(OpenStream.FILE_NAME);
 
@@ -76,6 +76,8 @@ public class JUnitAnalyzerTest {
 		Properties.SANDBOX = DEFAULT_SANDBOX;
 		Properties.ENABLE_ASSERTS_FOR_EVOSUITE = DEFAULT_ASSERTS_FOR_EVO;
 		Properties.TEST_SCAFFOLDING = DEFAULT_SCAFFOLDING;
+		Properties.JUNIT_CHECK_REPETITIONS = DEFAULT_REPETITIONS;
+		Properties.USE_SEPARATE_CLASSLOADER = DEFAULT_SEPARATE_CLASSLOADER;
 	}
 	
 	@Test 
@@ -152,15 +154,33 @@ public class JUnitAnalyzerTest {
 	}
 	
 	@Test
-	public void testCreationOfTmpDir() throws IOException{
-		
-		File dir = JUnitAnalyzer.createNewTmpDir();
-		Assert.assertNotNull(dir);
-		Assert.assertTrue(dir.exists());
-		
-		FileUtils.deleteDirectory(dir);
-		Assert.assertFalse(dir.exists());
+	public void testRepeatedStabilityCheck() throws Exception{
+
+		Properties.SELECTED_JUNIT = com.examples.with.different.packagename.sandbox.OpenStreamInATryCatch_FakeTestToCarve.class.getCanonicalName();
+		Properties.TARGET_CLASS = com.examples.with.different.packagename.sandbox.OpenStreamInATryCatch.class.getCanonicalName();
+
+		Properties.CRITERION = new Properties.Criterion[] { Properties.Criterion.BRANCH };
+		Properties.SEED_MUTATIONS = 0;
+		Properties.SEED_CLONE = 1;
+		Properties.ENABLE_ASSERTS_FOR_EVOSUITE = true; //needed for setLoggingForJUnit
+		Properties.JUNIT_CHECK_REPETITIONS = 3;
+		Properties.USE_SEPARATE_CLASSLOADER = false; //as done in TestSuiteGenerator when checking the tests
+
+		JUnitTestCarvedChromosomeFactory factory = new JUnitTestCarvedChromosomeFactory(null);
+		TestChromosome carved = factory.getChromosome();
+		Files.deleteIfExists(file.toPath());
+		Assert.assertNotNull(carved);
+
+		List<TestCase> list = new ArrayList<>();
+		list.add(carved.getTestCase());
+
+		JUnitAnalyzer.removeTestsThatDoNotCompile(list);
+		Assert.assertEquals(1, list.size());
+
+		int unstable = JUnitAnalyzer.handleTestsThatAreUnstable(list);
+		Assert.assertEquals(0, unstable);
+		Assert.assertEquals(1, list.size());
+		Assert.assertFalse(list.get(0).isUnstable());
 	}
-	
-	
+
 }
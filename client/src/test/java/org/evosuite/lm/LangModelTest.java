@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.lm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public class LangModelTest {
+
+    @Test
+    public void testScoreAndPrediction() throws IOException {
+        LangModel model = LangModel.getInstance("ukwac_char_lm");
+
+        double english = model.score("hello world");
+        double garbage = model.score("x}~#q|");
+        Assert.assertTrue(english > 0 && english <= 1.0);
+        Assert.assertTrue(english > garbage);
+        Assert.assertEquals(english, model.score(new StringBuilder("hello world")), 0.0);
+
+        Assert.assertNotNull(model.predict_char(0));
+        Assert.assertTrue(model.predict_char_prob(0) >= model.predict_char_prob(1));
+        Assert.assertNull(model.predict_char("a", 10));
+        Assert.assertEquals(0.0, model.predict_char_prob("a", -1), 0.0);
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        LangModel model = LangModel.getInstance("ukwac_char_lm");
+
+        File tmp = File.createTempFile("evosuite_lm", LangModel.BINARY_EXTENSION);
+        tmp.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            model.writeBinary(out);
+        }
+
+        LangModel copy = new LangModel(tmp.getAbsolutePath());
+
+        for (String s : new String[]{"hello world", "The Quick 42", "été"}) {
+            Assert.assertEquals(model.score(s), copy.score(s), 0.0);
+        }
+        Assert.assertEquals(model.predict_char("e", 3), copy.predict_char("e", 3));
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        model.writeBinary(first);
+        copy.writeBinary(second);
+        Assert.assertArrayEquals(first.toByteArray(), second.toByteArray());
+    }
+
+    @Test
+    public void testTextAndBinaryModelsAreIdentical() throws IOException {
+        // the binary model shipped in the resources is used by default
+        LangModel binary = LangModel.getInstance("ukwac_char_lm");
+        LangModel text = LangModel.loadText("ukwac_char_lm");
+
+        for (String s : new String[]{"hello world", "The Quick 42", "été", "x}~#q|", "", "<s>"}) {
+            Assert.assertEquals(text.score(s), binary.score(s), 0.0);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(text.predict_char("e", i), binary.predict_char("e", i));
+            Assert.assertEquals(text.predict_char_prob("e", i), binary.predict_char_prob("e", i), 0.0);
+        }
+
+        ByteArrayOutputStream fromText = new ByteArrayOutputStream();
+        ByteArrayOutputStream fromBinary = new ByteArrayOutputStream();
+        text.writeBinary(fromText);
+        binary.writeBinary(fromBinary);
+        Assert.assertArrayEquals(fromText.toByteArray(), fromBinary.toByteArray());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.lang.management.ManagementFactory;
+
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExecutionCostProfilingTest {
+
+	private final boolean DEFAULT_SANDBOX = Properties.SANDBOX;
+
+	private final boolean DEFAULT_PROFILE_EXECUTION_COST = Properties.PROFILE_EXECUTION_COST;
+
+	@Before
+	public void setUp() {
+		Properties.SANDBOX = false;
+	}
+
+	@After
+	public void reset() {
+		Properties.SANDBOX = DEFAULT_SANDBOX;
+		Properties.PROFILE_EXECUTION_COST = DEFAULT_PROFILE_EXECUTION_COST;
+		ClassPathHandler.resetSingleton();
+	}
+
+	private static DefaultTestCase createTest() {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendIntPrimitive(42);
+		//allocates about 4MB
+		builder.appendArrayStmt(int[].class, 1000000);
+		builder.appendIntPrimitive(7);
+		return builder.getDefaultTestCase();
+	}
+
+	@Test
+	public void testStatementCostsAreCollected() {
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		Assume.assumeTrue(((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemorySupported());
+
+		Properties.PROFILE_EXECUTION_COST = true;
+		ExecutionResult result = TestCaseExecutor.runTest(createTest());
+
+		Assert.assertTrue(result.getStatementAllocatedBytes(1) >= 4000000L);
+		Assert.assertTrue(result.getStatementAllocatedBytes(1) > result.getStatementAllocatedBytes(0));
+		Assert.assertTrue(result.getStatementAllocatedBytes(1) > result.getStatementAllocatedBytes(2));
+
+		long cpuTime = 0L;
+		long allocatedBytes = 0L;
+		for (int i = 0; i < 3; i++) {
+			Assert.assertTrue(result.getStatementCpuTime(i) >= 0L);
+			cpuTime += result.getStatementCpuTime(i);
+			allocatedBytes += result.getStatementAllocatedBytes(i);
+		}
+		Assert.assertEquals(cpuTime, result.getCpuTime());
+		Assert.assertEquals(allocatedBytes, result.getAllocatedBytes());
+
+		ExecutionResult copy = result.clone();
+		Assert.assertEquals(result.getAllocatedBytes(), copy.getAllocatedBytes());
+	}
+
+	@Test
+	public void testNoCostsWithoutProfiling() {
+		Properties.PROFILE_EXECUTION_COST = false;
+		ExecutionResult result = TestCaseExecutor.runTest(createTest());
+
+		Assert.assertEquals(0L, result.getCpuTime());
+		Assert.assertEquals(0L, result.getAllocatedBytes());
+		Assert.assertEquals(0L, result.getStatementAllocatedBytes(1));
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExecutionTraceImplTest {
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        ExecutionTraceImpl.enableTraceCalls();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+        ExecutionTraceImpl.disableTraceCalls();
+    }
+
+    private static void runLoop(ExecutionTraceImpl trace, int calls) {
+        for (int i = 0; i < calls; i++) {
+            trace.enteredMethod("Foo", "bar()V", null);
+            trace.branchPassed(1, 10, 0.0, i + 1.0);
+            trace.branchPassed(2, 20, calls - i, 0.0);
+            trace.exitMethod("Foo", "bar()V");
+        }
+    }
+
+    @Test
+    public void testUnboundedTraceKeepsEveryCall() {
+        Properties.MAX_TRACE_ENTRIES = 0;
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        runLoop(trace, 100);
+        Assert.assertEquals(100, trace.getMethodCalls().size());
+    }
+
+    @Test
+    public void testBoundedTraceSummarizesCalls() {
+        Properties.MAX_TRACE_ENTRIES = 10;
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        runLoop(trace, 100);
+
+        Assert.assertEquals(1, trace.getMethodCalls().size());
+        MethodCall call = trace.getMethodCalls().get(0);
+        Assert.assertEquals(100, call.callCount);
+        Assert.assertEquals(2, call.branchTrace.size());
+
+        int first = call.branchTrace.indexOf(1);
+        int second = call.branchTrace.indexOf(2);
+        Assert.assertEquals(0.0, call.trueDistanceTrace.get(first), 0.0);
+        Assert.assertEquals(1.0, call.falseDistanceTrace.get(first), 0.0);
+        Assert.assertEquals(1.0, call.trueDistanceTrace.get(second), 0.0);
+        Assert.assertEquals(0.0, call.falseDistanceTrace.get(second), 0.0);
+
+        ExecutionTraceImpl copy = trace.clone();
+        runLoop(copy, 5);
+        Assert.assertEquals(1, copy.getMethodCalls().size());
+        Assert.assertEquals(105, copy.getMethodCalls().get(0).callCount);
+    }
+
+    @Test
+    public void testTraceIsUnboundedByDefault() {
+        Assert.assertEquals(0, Properties.MAX_TRACE_ENTRIES);
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        runLoop(trace, 1000);
+        Assert.assertEquals(1000, trace.getMethodCalls().size());
+    }
+
+    @Test
+    public void testSummarizedCallKeepsMinimalDistances() {
+        Properties.MAX_TRACE_ENTRIES = 10;
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.enteredMethod("Foo", "bar()V", null);
+        for (int i = 0; i < 1000; i++) {
+            int branch = i % 100;
+            trace.branchPassed(branch, branch, 0.0, 1000.0 - i);
+        }
+        trace.exitMethod("Foo", "bar()V");
+
+        Assert.assertEquals(1, trace.getMethodCalls().size());
+        MethodCall call = trace.getMethodCalls().get(0);
+        Assert.assertEquals(100, call.branchTrace.size());
+        for (int branch = 0; branch < 100; branch++) {
+            int position = call.branchTrace.indexOf(branch);
+            Assert.assertEquals(0.0, call.trueDistanceTrace.get(position), 0.0);
+            Assert.assertEquals(100.0 - branch, call.falseDistanceTrace.get(position), 0.0);
+        }
+    }
+
+    @Test
+    public void testMutableStaticReadsAreTracked() {
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.getStaticPassed("Foo", "counter");
+        trace.getMutableStaticPassed("Bar", "cache");
+
+        Assert.assertTrue(trace.getClassesWithStaticReads().contains("Foo"));
+        Assert.assertTrue(trace.getClassesWithStaticReads().contains("Bar"));
+        Assert.assertFalse(trace.getClassesWithMutableStaticReads().contains("Foo"));
+        Assert.assertTrue(trace.getClassesWithMutableStaticReads().contains("Bar"));
+        Assert.assertTrue(trace.clone().getClassesWithMutableStaticReads().contains("Bar"));
+
+        trace.clear();
+        Assert.assertTrue(trace.getClassesWithMutableStaticReads().isEmpty());
+    }
+}
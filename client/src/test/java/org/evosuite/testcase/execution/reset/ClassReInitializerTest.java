@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution.reset;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClassReInitializerTest {
+
+	private TestCase test;
+
+	private ExecutionResult result;
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+
+		test = new DefaultTestCase();
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.putStaticPassed("Written", "counter");
+		trace.getStaticPassed("Read", "constant");
+		trace.getMutableStaticPassed("Cache", "map");
+		trace.getMutableStaticPassed("Written", "array");
+
+		result = new ExecutionResult(test);
+		result.setTrace(trace);
+	}
+
+	@After
+	public void tearDown() {
+		Properties.getInstance().resetToDefaults();
+	}
+
+	@Test
+	public void testOnlyWrittenClasses() {
+		Properties.RESET_DIRTY_CLASSES_ONLY = false;
+		Properties.RESET_STATIC_FIELD_GETS = false;
+
+		Set<String> expected = new HashSet<>(Arrays.asList("Written"));
+		Assert.assertEquals(expected, ClassReInitializer.getClassesToReset(test, result));
+	}
+
+	@Test
+	public void testDirtyClasses() {
+		Properties.RESET_DIRTY_CLASSES_ONLY = true;
+		Properties.RESET_STATIC_FIELD_GETS = false;
+
+		Set<String> expected = new HashSet<>(Arrays.asList("Written", "Cache"));
+		Assert.assertEquals(expected, ClassReInitializer.getClassesToReset(test, result));
+	}
+
+	@Test
+	public void testAllReadClasses() {
+		Properties.RESET_DIRTY_CLASSES_ONLY = true;
+		Properties.RESET_STATIC_FIELD_GETS = true;
+
+		Set<String> expected = new HashSet<>(Arrays.asList("Written", "Read", "Cache"));
+		Assert.assertEquals(expected, ClassReInitializer.getClassesToReset(test, result));
+	}
+}
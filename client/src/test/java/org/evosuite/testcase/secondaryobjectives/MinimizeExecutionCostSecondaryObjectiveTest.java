@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.secondaryobjectives;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MinimizeExecutionCostSecondaryObjectiveTest {
+
+	private final MinimizeExecutionCostSecondaryObjective objective = new MinimizeExecutionCostSecondaryObjective();
+
+	private static TestChromosome createChromosome(long cpuTime, long allocatedBytes) {
+		TestChromosome chromosome = new TestChromosome();
+		chromosome.setTestCase(new DefaultTestCase());
+		ExecutionResult result = new ExecutionResult(chromosome.getTestCase());
+		result.setStatementCost(0, cpuTime, allocatedBytes);
+		chromosome.setLastExecutionResult(result);
+		return chromosome;
+	}
+
+	@Test
+	public void testPrefersLowerCpuTime() {
+		TestChromosome cheap = createChromosome(1000L, 5000L);
+		TestChromosome expensive = createChromosome(100000L, 10L);
+
+		Assert.assertTrue(objective.compareChromosomes(cheap, expensive) < 0);
+		Assert.assertTrue(objective.compareChromosomes(expensive, cheap) > 0);
+	}
+
+	@Test
+	public void testPrefersFewerAllocatedBytesAtSameCpuTime() {
+		TestChromosome cheap = createChromosome(1000L, 100L);
+		TestChromosome expensive = createChromosome(1000L, 100000L);
+
+		Assert.assertTrue(objective.compareChromosomes(cheap, expensive) < 0);
+		Assert.assertTrue(objective.compareChromosomes(expensive, cheap) > 0);
+	}
+
+	@Test
+	public void testEqualCosts() {
+		TestChromosome first = createChromosome(1000L, 100L);
+		TestChromosome second = createChromosome(1000L, 100L);
+
+		Assert.assertEquals(0, objective.compareChromosomes(first, second));
+		Assert.assertEquals(0, objective.compareChromosomes(second, first));
+		Assert.assertEquals(0, objective.compareChromosomes(first, first));
+	}
+
+	@Test
+	public void testSameMagnitudeIsEqual() {
+		//differences within the same power of two are considered noise
+		TestChromosome first = createChromosome(1030L, 100L);
+		TestChromosome second = createChromosome(1100L, 120L);
+
+		Assert.assertEquals(0, objective.compareChromosomes(first, second));
+		Assert.assertEquals(0, objective.compareChromosomes(second, first));
+	}
+
+	@Test
+	public void testUnknownCostIsCheapest() {
+		TestChromosome notExecuted = new TestChromosome();
+		notExecuted.setTestCase(new DefaultTestCase());
+		TestChromosome executed = createChromosome(1000L, 100L);
+
+		Assert.assertTrue(objective.compareChromosomes(notExecuted, executed) < 0);
+		Assert.assertTrue(objective.compareChromosomes(executed, notExecuted) > 0);
+	}
+}
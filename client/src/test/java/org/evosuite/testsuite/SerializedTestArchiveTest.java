@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SerializedTestArchiveTest {
+
+	private File folder;
+
+	@Before
+	public void init() throws IOException {
+		folder = Files.createTempDirectory("archive").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		File[] files = folder.listFiles();
+		if (files != null) {
+			for (File f : files) {
+				f.delete();
+			}
+		}
+		folder.delete();
+	}
+
+	private static TestChromosome createTest(int statements) {
+		TestChromosome testChromosome = new TestChromosome();
+		TestCase test = new DefaultTestCase();
+		for (int i = 0; i < statements; i++) {
+			PrimitiveStatement<?> statement = PrimitiveStatement.getPrimitiveStatement(test, int.class);
+			test.addStatement(statement);
+		}
+		testChromosome.setTestCase(test);
+		return testChromosome;
+	}
+
+	@Test
+	public void testWriteAndReadLazily() throws IOException {
+		List<TestChromosome> tests = new ArrayList<>();
+		for (int i = 1; i <= 3; i++) {
+			tests.add(createTest(i));
+		}
+
+		File file = new File(folder, "tests.seed");
+		Assert.assertTrue(SerializedTestArchive.write(tests, file));
+		Assert.assertTrue(SerializedTestArchive.isArchive(file));
+
+		try (SerializedTestArchive archive = SerializedTestArchive.open(file)) {
+			Assert.assertEquals(3, archive.size());
+			Assert.assertEquals(2, archive.get(1).size());
+			Assert.assertEquals(3, archive.get(2).size());
+			Assert.assertEquals(1, archive.get(0).size());
+		}
+	}
+
+	@Test
+	public void testClosedArchiveCannotBeRead() throws IOException {
+		List<TestChromosome> tests = new ArrayList<>();
+		tests.add(createTest(1));
+		File file = new File(folder, "closed.seed");
+		Assert.assertTrue(SerializedTestArchive.write(tests, file));
+
+		SerializedTestArchive archive = SerializedTestArchive.open(file);
+		archive.close();
+		try {
+			archive.get(0);
+			Assert.fail();
+		} catch (ClosedChannelException e) {
+			//expected, the file is no longer held
+		}
+	}
+
+	private static class UnserializableTestCase extends DefaultTestCase {
+
+		private static final long serialVersionUID = 1L;
+
+		@SuppressWarnings("unused")
+		private final Object lock = new Object();
+	}
+
+	@Test
+	public void testSkippedTestsAreReported() {
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(createTest(1));
+		TestChromosome unserializable = new TestChromosome();
+		unserializable.setTestCase(new UnserializableTestCase());
+		suite.addTest(unserializable);
+		suite.addTest(createTest(2));
+
+		File file = new File(folder, "skipped.seed");
+		Assert.assertFalse(TestSuiteSerialization.saveTests(suite, file));
+
+		//the tests that could be serialized are still saved
+		List<TestChromosome> loaded = TestSuiteSerialization.loadTests(file);
+		Assert.assertEquals(2, loaded.size());
+		Assert.assertEquals(2, loaded.get(1).size());
+	}
+
+	@Test
+	public void testEmptyArchive() throws IOException {
+		File file = new File(folder, "empty.seed");
+		Assert.assertTrue(SerializedTestArchive.write(new ArrayList<>(), file));
+		try (SerializedTestArchive archive = SerializedTestArchive.open(file)) {
+			Assert.assertEquals(0, archive.size());
+		}
+		Assert.assertTrue(TestSuiteSerialization.loadTests(file).isEmpty());
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedArchive() throws IOException {
+		File file = new File(folder, "truncated.seed");
+		List<TestChromosome> tests = new ArrayList<>();
+		tests.add(createTest(2));
+		Assert.assertTrue(SerializedTestArchive.write(tests, file));
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 3);
+		}
+		SerializedTestArchive.open(file).close();
+	}
+
+	@Test
+	public void testSaveAndLoadSuite() {
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(createTest(1));
+		suite.addTest(createTest(4));
+
+		File file = new File(folder, "suite.seed");
+		Assert.assertTrue(TestSuiteSerialization.saveTests(suite, file));
+
+		List<TestChromosome> loaded = TestSuiteSerialization.loadTests(file);
+		Assert.assertEquals(2, loaded.size());
+		Assert.assertEquals(4, loaded.get(1).size());
+	}
+
+	@Test
+	public void testLoadLegacyFormat() throws IOException {
+		File file = new File(folder, "legacy.seed");
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+			out.writeObject(createTest(2));
+			out.writeObject(createTest(3));
+		}
+		Assert.assertFalse(SerializedTestArchive.isArchive(file));
+
+		List<TestChromosome> loaded = TestSuiteSerialization.loadTests(file);
+		Assert.assertEquals(2, loaded.size());
+		Assert.assertEquals(3, loaded.get(1).size());
+	}
+
+	@Test
+	public void testWriteReplacesExistingFile() throws IOException {
+		File file = new File(folder, "replaced.seed");
+		List<TestChromosome> tests = new ArrayList<>();
+		tests.add(createTest(1));
+		tests.add(createTest(2));
+		Assert.assertTrue(SerializedTestArchive.write(tests, file));
+
+		tests.remove(0);
+		Assert.assertTrue(SerializedTestArchive.write(tests, file));
+
+		try (SerializedTestArchive archive = SerializedTestArchive.open(file)) {
+			Assert.assertEquals(1, archive.size());
+		}
+		//no temporary file left behind
+		Assert.assertEquals(1, folder.listFiles().length);
+	}
+
+	@Test
+	public void testSmallerThanLegacyFormat() throws IOException {
+		List<TestChromosome> tests = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			tests.add(createTest(1 + (i % 10)));
+		}
+
+		File legacy = new File(folder, "legacy.seed");
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(legacy))) {
+			for (TestChromosome tc : tests) {
+				out.writeObject(tc);
+			}
+		}
+
+		File file = new File(folder, "archive.seed");
+		Assert.assertTrue(SerializedTestArchive.write(tests, file));
+
+		/*
+			each record repeats the class descriptors, but they are deflated
+			against the shared dictionary
+		 */
+		Assert.assertTrue("Archive: " + file.length() + ", legacy: " + legacy.length(),
+				file.length() < legacy.length());
+		try (SerializedTestArchive archive = SerializedTestArchive.open(file)) {
+			Assert.assertEquals(50, archive.size());
+		}
+	}
+}
@@ -375,6 +375,65 @@ public class TestTestSuiteMinimizer
         assertEquals(3, tsc.getTests().get(0).size());
         assertEquals(3, tsc.getTests().get(1).size());
 //        assertTrue(tsc.getTests().get(0).toCode().equals("FlagExample1 flagExample1_0 = new FlagExample1();\nint int0 = 28234;\nflagExample1_0.testMe(int0);\n"));
+//        assertTrue(tsc.getTests().get(1).toCode().equals("FlagExample1 flagExample1_0 = new FlagExample1();\nint int0 = 28241;\nflagExample1_0.testMe(int0);\n"));
+
+        double branch_fitness = branch.getFitness(tsc);
+        assertEquals(previous_branch_fitness, branch_fitness, 0.0);
+    }
+
+    @Test
+    public void minimizeSuiteFullCoverageWithTwoFitnessFunctionsMinimizeTestsEnabledWithoutDeltaDebugging() throws ClassNotFoundException, NoSuchFieldException, SecurityException, ConstructionFailedException, NoSuchMethodException
+    {
+        Properties.MINIMIZE_DDMIN = false;
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass clazz = new GenericClass(sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(clazz.getRawClass().getConstructors()[0], clazz);
+
+        TestFactory testFactory = TestFactory.getInstance();
+        testFactory.addConstructor(test, gc, 0, 0);
+
+        List<VariableReference> parameters = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            IntPrimitiveStatement ips = new IntPrimitiveStatement(test, 28234 + i);
+            VariableReference vr = test.addStatement(ips, i + 1);
+        }
+
+        ConstructorStatement ct = new ConstructorStatement(test, gc, parameters);
+
+        Method m = clazz.getRawClass().getMethod("testMe", new Class<?>[] { int.class });
+        GenericMethod method = new GenericMethod(m, sut);
+        testFactory.addMethod(test, method, 11, 0);
+
+        parameters = new ArrayList<>();
+        for (int i = 12; i < 15; i++) {
+            IntPrimitiveStatement ips = new IntPrimitiveStatement(test, i);
+            VariableReference vr = test.addStatement(ips, i);
+        }
+        ct = new ConstructorStatement(test, gc, parameters);
+        testFactory.addMethod(test, method, 15, 0);
+
+        assertEquals(16, test.size());
+
+        TestSuiteChromosome tsc = new TestSuiteChromosome();
+        tsc.addTest(test);
+
+        TestSuiteFitnessFunction branch = new BranchCoverageSuiteFitness();
+        double previous_branch_fitness = branch.getFitness(tsc);
+        tsc.setFitness(branch, previous_branch_fitness);
+        assertEquals(0.0, previous_branch_fitness, 0.0);
+
+        List<TestFitnessFactory<? extends TestFitnessFunction>> factories = new ArrayList<>();
+        factories.add(new BranchCoverageFactory());
+
+        TestSuiteMinimizer minimizer = new TestSuiteMinimizer(factories);
+        minimizer.minimize(tsc, true);
+        assertEquals(2, tsc.getTests().size());
+        assertEquals(3, tsc.getTests().get(0).size());
+        assertEquals(3, tsc.getTests().get(1).size());
+//        assertTrue(tsc.getTests().get(0).toCode().equals("FlagExample1 flagExample1_0 = new FlagExample1();\nint int0 = 28234;\nflagExample1_0.testMe(int0);\n"));
 //        assertTrue(tsc.getTests().get(1).toCode().equals("FlagExample1 flagExample1_0 = new FlagExample1();\nint int0 = 28241;\nflagExample1_0.testMe(int0);\n"));
 
         double branch_fitness = branch.getFitness(tsc);
@@ -23,12 +23,19 @@ package org.evosuite.utils;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import org.evosuite.utils.RegexDistanceUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import dk.brics.automaton.Automaton;
+
 /**
  * @author Gordon Fraser
  * 
@@ -288,4 +295,125 @@ public class TestRegexDistance {
         	assertTrue(0 < RegexDistanceUtils.getStandardDistance(str, regex));
         }
 	}
+
+	@Test
+	public void testStandardDistance() {
+		assertEquals(0, RegexDistanceUtils.getStandardDistance("abc", "abc"));
+		assertEquals(3, RegexDistanceUtils.getStandardDistance("", "abc"));
+		assertEquals(3, RegexDistanceUtils.getStandardDistance("abc", ""));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("abd", "abc"));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("ac", "abc"));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("abcd", "abc"));
+		assertEquals(2, RegexDistanceUtils.getStandardDistance("xyz", "x*"));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("A", "A{2,3}"));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("AAAA", "A{2,3}"));
+	}
+
+	@Test
+	public void testDistanceIsZeroOnlyOnMatch() {
+		String[] regexes = {"a*b", "(a|b)a*(c|d)", "[A-Z-0-9]+", "A{3,4}", "a.?c", "((mon)|(tue))", "\\d+\\.\\d{2}"};
+		String[] args = {"", "b", "aab", "ac", "bad", "A1", "AAAAA", "abc", "tue", "wed", "3.14", "3.1"};
+		for (String regex : regexes) {
+			for (String arg : args) {
+				boolean matches = Pattern.matches(regex, arg);
+				String message = arg + " / " + regex;
+				assertEquals(message, matches, RegexDistanceUtils.getStandardDistance(arg, regex) == 0);
+				assertEquals(message, matches, RegexDistanceUtils.getDistanceTailoredForStringAVM(arg, regex) == 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testLongArgument() {
+		// longer than the initial buffer of the rows, which has to grow
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append('b');
+		}
+		String arg = sb.toString();
+
+		assertEquals(0, RegexDistanceUtils.getStandardDistance(arg, "b*"));
+		assertEquals(1000, RegexDistanceUtils.getStandardDistance(arg, "a*"));
+		assertEquals(500.0, RegexDistanceUtils.getDistanceTailoredForStringAVM(arg, "a*"), 0.0);
+
+		// the grown buffer is reused for shorter arguments
+		assertEquals(0.5, RegexDistanceUtils.getDistanceTailoredForStringAVM("b", "a"), 0.0);
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("b", "a"));
+	}
+
+	@Test
+	public void testUnsupportedRegexOnlyChecksMatch() {
+		assertEquals(0, RegexDistanceUtils.getStandardDistance("hallo", "\\bhallo\\b"));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("hello world", "\\bhallo\\b"));
+	}
+
+	@Test
+	public void testAutomatonIsCached() {
+		String regex = "[a-c]{2}x*";
+		Automaton automaton = RegexDistanceUtils.getRegexAutomaton(regex);
+		Assert.assertSame(automaton, RegexDistanceUtils.getRegexAutomaton(regex));
+		Assert.assertSame(automaton, RegexDistanceUtils.getAndCacheAutomaton(regex));
+	}
+
+	@Test
+	public void testCacheIsBounded() {
+		String regex = "[d-f]{2}y*";
+		Automaton automaton = RegexDistanceUtils.getRegexAutomaton(regex);
+
+		// more regexes than the cache can hold: the least recently used one gets evicted
+		for (int i = 0; i < 1000; i++) {
+			RegexDistanceUtils.getRegexAutomaton("z" + i);
+		}
+
+		Automaton recompiled = RegexDistanceUtils.getRegexAutomaton(regex);
+		Assert.assertNotSame(automaton, recompiled);
+		assertEquals(0, RegexDistanceUtils.getStandardDistance("dfyy", regex));
+		assertEquals(1, RegexDistanceUtils.getStandardDistance("dgyy", regex));
+	}
+
+	@Test
+	public void testRegexInstances() {
+		String regex = "a{3}b[0-9]";
+		assertTrue(Pattern.matches(regex, RegexDistanceUtils.getRegexInstance(regex)));
+		Assert.assertFalse(Pattern.matches(regex, RegexDistanceUtils.getNonMatchingRegexInstance(regex)));
+	}
+
+	@Test(timeout = 10000)
+	public void testConcurrentDistances() throws Exception {
+		final String[] regexes = {"(a|b)a*(c|d)", "[A-Za-z]{4,10}\\@[A-Za-z]{4,10}", "a.?c", "[a0]*test"};
+		final String[] args = {"", "aac", "ZhiX@Hh", "acd", "a0a0tst", "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx"};
+
+		final double[] expected = new double[regexes.length * args.length];
+		for (int i = 0; i < regexes.length; i++) {
+			for (int j = 0; j < args.length; j++) {
+				expected[i * args.length + j] = RegexDistanceUtils.getDistanceTailoredForStringAVM(args[j], regexes[i]);
+			}
+		}
+
+		// each thread has its own rows, so concurrent calls do not interfere
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				results.add(executor.submit(() -> {
+					for (int round = 0; round < 50; round++) {
+						for (int i = 0; i < regexes.length; i++) {
+							for (int j = 0; j < args.length; j++) {
+								double distance = RegexDistanceUtils.getDistanceTailoredForStringAVM(args[j], regexes[i]);
+								if (distance != expected[i * args.length + j]) {
+									return false;
+								}
+							}
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
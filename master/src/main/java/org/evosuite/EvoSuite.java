@@ -42,6 +42,7 @@ import org.evosuite.runtime.sandbox.MSecurityManager;
 import org.evosuite.runtime.util.JavaExecCmdUtil;
 import org.evosuite.setup.InheritanceTree;
 import org.evosuite.setup.InheritanceTreeGenerator;
+import org.evosuite.statistics.backend.ReportFileAppender;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.SpawnProcessKeepAliveChecker;
@@ -353,6 +354,9 @@ public class EvoSuite {
             logger.error("Parsing failed.  Reason: " + exp.getMessage());
             // automatically generate the help statement
             Help.execute(options);
+        } finally {
+            // write the statistics still buffered, and release the report files
+            ReportFileAppender.closeAll();
         }
 
         return null;
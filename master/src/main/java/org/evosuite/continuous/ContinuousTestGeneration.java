@@ -30,9 +30,12 @@ import org.evosuite.continuous.job.JobDefinition;
 import org.evosuite.continuous.job.JobExecutor;
 import org.evosuite.continuous.job.JobScheduler;
 import org.evosuite.continuous.persistency.StorageManager;
+import org.evosuite.continuous.project.ClassFingerprints;
 import org.evosuite.continuous.project.ProjectAnalyzer;
 import org.evosuite.continuous.project.ProjectStaticData;
 import org.evosuite.utils.FileIOUtils;
+import org.evosuite.utils.LoggingUtils;
+import org.evosuite.xsd.CUT;
 import org.evosuite.xsd.Project;
 import org.evosuite.xsd.ProjectUtil;
 
@@ -166,22 +169,35 @@ public class ContinuousTestGeneration {
 			throw new IllegalStateException("Cannot debug CTG when more than one CUT is selected");
 		}
 
+		ProjectStaticData toSchedule = data;
+		if (Properties.CTG_INCREMENTAL) {
+			toSchedule = data.getChangedClasses();
+			LoggingUtils.getEvoLogger().info("* Incremental CTG: " + toSchedule.getTotalNumberOfTestableCUTs()
+					+ " out of " + data.getTotalNumberOfTestableCUTs() + " classes changed since last run");
+		}
+
 		if (Properties.CTG_TIME_PER_CLASS != null) {
-			configuration = configuration.getWithChangedTime(Properties.CTG_TIME_PER_CLASS, data.getTotalNumberOfTestableCUTs());
+			configuration = configuration.getWithChangedTime(Properties.CTG_TIME_PER_CLASS, toSchedule.getTotalNumberOfTestableCUTs());
 		}
 
-		JobScheduler scheduler = new JobScheduler(data, configuration);
-		JobExecutor executor = new JobExecutor(storage, projectClassPath, configuration);
+		if (toSchedule.getTotalNumberOfTestableCUTs() > 0) {
+			JobScheduler scheduler = new JobScheduler(toSchedule, configuration);
+			JobExecutor executor = new JobExecutor(storage, projectClassPath, configuration);
 
-		//loop: define (partial) schedule
-		while (scheduler.canExecuteMore()) {
-			List<JobDefinition> jobs = scheduler.createNewSchedule();
-			executor.executeJobs(jobs, configuration.getNumberOfUsableCores());
-			executor.waitForJobs();
+			//loop: define (partial) schedule
+			while (scheduler.canExecuteMore()) {
+				List<JobDefinition> jobs = scheduler.createNewSchedule();
+				executor.executeJobs(jobs, configuration.getNumberOfUsableCores());
+				executor.waitForJobs();
+			}
 		}
 
 		String description = storage.mergeAndCommitChanges(data, cuts);
 
+		if (Properties.CTG_INCREMENTAL) {
+			storeFingerprints(data);
+		}
+
 		if(exportFolder != null){
 			try {
 				exportToFolder(".",exportFolder);
@@ -198,6 +214,26 @@ public class ContinuousTestGeneration {
 		return description;
 	}
 
+	/**
+	 * Store the bytecode fingerprints of the CUTs, apart from the ones for
+	 * which the last generation failed, so that those are tried again in the next run
+	 */
+	private void storeFingerprints(ProjectStaticData data) {
+		Project db = StorageManager.getDatabaseProject();
+		ClassFingerprints.store(ClassFingerprints.getDefaultFile(), data, className -> {
+			if (db == null) {
+				return false;
+			}
+			CUT cut = db.getCut().stream()
+					.filter(c -> c.getFullNameOfTargetClass().equals(className))
+					.findFirst().orElse(null);
+			if (cut == null || cut.getGeneration().isEmpty()) {
+				return false;
+			}
+			return !cut.getGeneration().get(cut.getGeneration().size() - 1).isFailed();
+		});
+	}
+
 	public static File resolveExportFolder(String baseFolder, String exportFolder){
 
 		Path exp = Paths.get(exportFolder);
@@ -19,6 +19,12 @@
  */
 package org.evosuite.continuous.job;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
@@ -31,6 +37,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.evosuite.Properties;
 import org.evosuite.continuous.CtgConfiguration;
@@ -65,6 +72,19 @@ public class JobExecutor {
 
 	private static final Logger logger = LoggerFactory.getLogger(JobExecutor.class);
 
+	/**
+	 * When waiting for free memory, how often (in ms) to check it again
+	 * if no job completes in the meantime
+	 */
+	private static final long MEMORY_POLLING_INTERVAL_MS = 5_000;
+
+	/**
+	 * A job that just started will not have allocated its memory yet.
+	 * For this amount of time (in ms), its memory is considered as already
+	 * taken when checking the free memory of the machine
+	 */
+	private static final long MEMORY_STARTUP_GRACE_MS = 30_000;
+
 	private volatile boolean executing;
 	private long startTimeInMs;
 
@@ -87,6 +107,34 @@ public class JobExecutor {
 	 */
 	private Map<String,JobDefinition> finishedJobs; 
 
+	/**
+	 * The jobs currently running, indexed by their job id
+	 */
+	private Map<Integer,RunningJob> runningJobs;
+
+	/**
+	 * Time (in ms) not used by jobs that finished before their expected time.
+	 * It is given to the jobs that still need to be scheduled.
+	 * The handlers add to it when they complete a job, and withdraw
+	 * from it when they start a new one
+	 */
+	private final AtomicLong donatedBudgetInMs = new AtomicLong(0);
+
+	/**
+	 * Used to wake up the scheduler when a job is completed
+	 */
+	private final Object jobCompletion = new Object();
+
+	private static class RunningJob {
+		private final JobDefinition job;
+		private final long startTimeInMs;
+
+		private RunningJob(JobDefinition job, long startTimeInMs) {
+			this.job = job;
+			this.startTimeInMs = startTimeInMs;
+		}
+	}
+
 	protected final CtgConfiguration configuration;
 	
 	private String projectClassPath;
@@ -200,13 +248,14 @@ public class JobExecutor {
 		 */
 		jobQueue = new ArrayBlockingQueue<>(1);
 		finishedJobs = new ConcurrentHashMap<>();
+		runningJobs = new ConcurrentHashMap<>();
+		donatedBudgetInMs.set(0);
 	}
 
 	protected long execute(List<JobDefinition> jobs){
 		
 		long longestJob = -1L;
 		
-		//TODO handle memory
 		Queue<JobDefinition> toExecute = new LinkedList<>(jobs);
 		
 		List<JobDefinition> postponed = new LinkedList<>();
@@ -276,7 +325,21 @@ public class JobExecutor {
 			}
 
 			assert chosenJob != null;
-			longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
+
+			try {
+				waitForFreeMemory(chosenJob);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break mainLoop;
+			}
+
+			remaining = getRemainingTimeInMs();
+			if(remaining <= 0){
+				break mainLoop;
+			}
+
+			//the job might get extra budget from the ones that finished early
+			longestJob = Math.max(longestJob, chosenJob.seconds * 1000L + donatedBudgetInMs.get());
 			
 			try {
 				jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS); 
@@ -292,14 +355,159 @@ public class JobExecutor {
 
 	
 
+	/**
+	 * Give to the job a fair share of the budget donated so far by jobs that
+	 * finished early, ie the donated time divided by the number of jobs still waiting.
+	 * This is done when the job is actually started, and not when it is scheduled,
+	 * as in the meantime other jobs could had finished.
+	 * 
+	 * @param job
+	 * @param waiting number of jobs still to start, including the given one
+	 * @return either the same job, or a copy of it with extra budget
+	 */
+	protected JobDefinition addDonatedBudget(JobDefinition job, int waiting){
+		if(!Properties.CTG_DONATE_UNUSED_BUDGET || waiting <= 0){
+			return job;
+		}
+
+		int extraSeconds;
+		long available;
+		do {
+			//several handlers could start jobs at the same time
+			available = donatedBudgetInMs.get();
+			extraSeconds = (int) (available / waiting / 1000);
+			if(extraSeconds <= 0){
+				return job;
+			}
+		} while(!donatedBudgetInMs.compareAndSet(available, available - extraSeconds * 1000L));
+
+		logger.info("Job for "+job.cut+" gets "+extraSeconds+" extra seconds from jobs that finished early");
+		return job.getByAddingBudget(extraSeconds);
+	}
+
+	/**
+	 * Do not start the given job if other jobs are running and the machine
+	 * does not have enough free physical memory for it. The job is delayed until
+	 * either enough memory is released, or no other job is running (otherwise
+	 * we could wait forever).
+	 * If the free memory cannot be determined, then we just rely on the
+	 * constant memory per job of the configuration.
+	 * 
+	 * @param job
+	 * @throws InterruptedException
+	 */
+	protected void waitForFreeMemory(JobDefinition job) throws InterruptedException{
+		if(!Properties.CTG_MEMORY_AWARE){
+			return;
+		}
+
+		boolean logged = false;
+
+		synchronized (jobCompletion) {
+			while(!runningJobs.isEmpty() && getRemainingTimeInMs() > 0){
+				long free = getFreePhysicalMemoryInMB();
+				if(free < 0){
+					return;
+				}
+
+				/*
+				 * the job in the queue, and the ones started recently, have not
+				 * allocated their memory yet
+				 */
+				long reserved = 0;
+				JobDefinition queued = jobQueue.peek();
+				if(queued != null){
+					reserved += queued.memoryInMB;
+				}
+				long now = System.currentTimeMillis();
+				for(RunningJob running : runningJobs.values()){
+					if(now - running.startTimeInMs < MEMORY_STARTUP_GRACE_MS){
+						reserved += running.job.memoryInMB;
+					}
+				}
+
+				if(free - reserved >= job.memoryInMB){
+					return;
+				}
+
+				if(!logged){
+					logger.info("Delaying job for "+job.cut+": it needs "+job.memoryInMB+"MB, but only "+
+							(free - reserved) + "MB are free");
+					logged = true;
+				}
+				jobCompletion.wait(MEMORY_POLLING_INTERVAL_MS);
+			}
+		}
+	}
+
+	/**
+	 * Get the physical memory that is available for new processes.
+	 * On Linux, this includes the memory used by the OS for caching that
+	 * could be reclaimed.
+	 * 
+	 * @return a negative value if it cannot be determined
+	 */
+	protected static long getFreePhysicalMemoryInMB(){
+
+		File meminfo = new File("/proc/meminfo");
+		if(meminfo.exists()){
+			try (BufferedReader reader = new BufferedReader(new FileReader(meminfo))) {
+				String line;
+				while((line = reader.readLine()) != null){
+					if(line.startsWith("MemAvailable:")){
+						String kb = line.substring("MemAvailable:".length()).replace("kB", "").trim();
+						return Long.parseLong(kb) / 1024;
+					}
+				}
+			} catch (IOException | NumberFormatException e) {
+				logger.debug("Failed to read "+meminfo.getAbsolutePath()+": "+e.toString());
+			}
+		}
+
+		OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+		if(bean instanceof com.sun.management.OperatingSystemMXBean){
+			long bytes = ((com.sun.management.OperatingSystemMXBean) bean).getFreePhysicalMemorySize();
+			if(bytes >= 0){
+				return bytes / (1024 * 1024);
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return how much time (in ms) of the jobs that finished early has not been re-assigned yet
+	 */
+	public long getDonatedBudgetInMs() {
+		return donatedBudgetInMs.get();
+	}
+
 	public JobDefinition pollJob() throws InterruptedException{
-		return jobQueue.take();
+		JobDefinition job = jobQueue.take();
+		int waiting = (int) latch.getCount() - runningJobs.size();
+		job = addDonatedBudget(job, waiting);
+		runningJobs.put(job.jobID, new RunningJob(job, System.currentTimeMillis()));
+		return job;
 	}
 	
 	public void doneWithJob(JobDefinition job){
+		RunningJob running = runningJobs.remove(job.jobID);
+		if(running != null && Properties.CTG_DONATE_UNUSED_BUDGET){
+			long elapsed = System.currentTimeMillis() - running.startTimeInMs;
+			long unused = job.seconds * 1000L - elapsed;
+			if(unused > 0){
+				//eg, search ended early because all goals were covered, or the process crashed
+				donatedBudgetInMs.addAndGet(unused);
+			}
+		}
+
 		finishedJobs.put(job.cut, job);
 		latch.countDown();
 		LoggingUtils.getEvoLogger().info("Completed job. Left: "+latch.getCount());
+
+		synchronized (jobCompletion) {
+			jobCompletion.notifyAll();
+		}
 	}
 	
 	public void waitForJobs() {
@@ -0,0 +1,451 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.evosuite.continuous.persistency.StorageManager;
+import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Fingerprints of the bytecode of the classes in the project, used by CTG
+ * in incremental mode to only generate tests for the CUTs whose code has changed
+ * since the last run.
+ * </p>
+ *
+ * <p>
+ * The fingerprint of a class is computed at method granularity, ignoring debug
+ * info (eg line numbers), so recompiling or editing comments does not change it.
+ * The fingerprint of a CUT also includes the ones of all the project classes
+ * reachable from it (eg, called methods, also through lambdas and method
+ * references, accessed fields, parent classes, caught exceptions and types
+ * in signatures), as a change in those could change the behaviour of the CUT.
+ * </p>
+ */
+public class ClassFingerprints {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClassFingerprints.class);
+
+	/**
+	 * Name of the file where the fingerprints are stored, together with the
+	 * serialized test suites
+	 */
+	public static final String FILE_NAME = "fingerprints.csv";
+
+	/**
+	 * The fingerprint of a CUT as stored on disk, together with the static
+	 * data of the CUT, so that it does not need to be re-analyzed if it did not change
+	 */
+	public static class Stored {
+		public final String fingerprint;
+		public final int numberOfBranches;
+		public final boolean hasCode;
+
+		public Stored(String fingerprint, int numberOfBranches, boolean hasCode) {
+			this.fingerprint = fingerprint;
+			this.numberOfBranches = numberOfBranches;
+			this.hasCode = hasCode;
+		}
+	}
+
+	private static class Summary {
+		private final String hash;
+		private final Set<String> references;
+
+		private Summary(String hash, Set<String> references) {
+			this.hash = hash;
+			this.references = references;
+		}
+	}
+
+	/**
+	 * Cache of the fingerprints of single classes (without reachable ones),
+	 * or {@code null} if the bytecode of the class is not available
+	 */
+	private final Map<String, Summary> summaries = new HashMap<>();
+
+	private final Predicate<String> isProjectClass;
+
+	private final Function<String, byte[]> bytecodeProvider;
+
+	/**
+	 *
+	 * @param cuts all the CUTs in the project. Their inner classes are part of the project as well
+	 * @param bytecodeProvider give the bytecode of a class, or {@code null} if it is not available
+	 */
+	public ClassFingerprints(Collection<String> cuts, Function<String, byte[]> bytecodeProvider) {
+		final Set<String> names = new HashSet<>(cuts);
+		this.isProjectClass = name -> {
+			if (names.contains(name)) {
+				return true;
+			}
+			int dollar = name.indexOf('$');
+			return dollar > 0 && names.contains(name.substring(0, dollar));
+		};
+		this.bytecodeProvider = bytecodeProvider;
+	}
+
+	/**
+	 * Compute the fingerprint of the given class, including all the project
+	 * classes reachable from it
+	 *
+	 * @param className
+	 * @return {@code null} if the bytecode of the class is not available
+	 */
+	public String getFingerprint(String className) {
+
+		Summary summary = getSummary(className);
+		if (summary == null) {
+			return null;
+		}
+
+		/*
+		 * sorted, so that the fingerprint does not depend on the order in
+		 * which classes are visited
+		 */
+		Map<String, String> reachable = new TreeMap<>();
+		reachable.put(className, summary.hash);
+
+		Queue<String> toVisit = new LinkedList<>(summary.references);
+		while (!toVisit.isEmpty()) {
+			String name = toVisit.poll();
+			if (reachable.containsKey(name) || !isProjectClass.test(name)) {
+				continue;
+			}
+			Summary other = getSummary(name);
+			if (other == null) {
+				reachable.put(name, "");
+				continue;
+			}
+			reachable.put(name, other.hash);
+			toVisit.addAll(other.references);
+		}
+
+		MessageDigest digest = getDigest();
+		for (Map.Entry<String, String> entry : reachable.entrySet()) {
+			update(digest, entry.getKey());
+			update(digest, entry.getValue());
+		}
+		return toHex(digest.digest());
+	}
+
+	private Summary getSummary(String className) {
+		if (summaries.containsKey(className)) {
+			return summaries.get(className);
+		}
+		Summary summary = null;
+		byte[] bytes = bytecodeProvider.apply(className);
+		if (bytes != null) {
+			try {
+				ClassNode cn = readClass(bytes);
+				summary = new Summary(computeHash(cn), getReferencedClasses(cn));
+			} catch (RuntimeException e) {
+				//eg, unsupported class file version
+				logger.warn("Cannot compute fingerprint of " + className + ": " + e.toString());
+			}
+		}
+		summaries.put(className, summary);
+		return summary;
+	}
+
+	/**
+	 * Compute the fingerprint of the given bytecode, without considering
+	 * any other class
+	 *
+	 * @param bytes
+	 * @return
+	 */
+	public static String getClassHash(byte[] bytes) {
+		return computeHash(readClass(bytes));
+	}
+
+	private static ClassNode readClass(byte[] bytes) {
+		ClassReader reader = new ClassReader(bytes);
+		ClassNode cn = new ClassNode();
+		reader.accept(cn, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return cn;
+	}
+
+	private static String computeHash(ClassNode cn) {
+
+		MessageDigest digest = getDigest();
+		update(digest, cn.access + " " + cn.name + " " + cn.superName);
+
+		List<String> interfaces = new ArrayList<>(cn.interfaces);
+		Collections.sort(interfaces);
+		update(digest, interfaces.toString());
+
+		List<String> fields = new ArrayList<>();
+		for (FieldNode fn : cn.fields) {
+			fields.add(fn.access + " " + fn.name + " " + fn.desc + " " + fn.value);
+		}
+		Collections.sort(fields);
+		update(digest, fields.toString());
+
+		/*
+		 * each method is hashed on its own, so that re-ordering the methods
+		 * in the source code does not change the fingerprint
+		 */
+		List<String> methods = new ArrayList<>();
+		for (MethodNode mn : cn.methods) {
+			methods.add(mn.name + mn.desc + " " + getMethodHash(mn));
+		}
+		Collections.sort(methods);
+		update(digest, methods.toString());
+
+		return toHex(digest.digest());
+	}
+
+	private static String getMethodHash(MethodNode mn) {
+		/*
+		 * write the method in a class on its own, so its constant pool
+		 * only depends on the method itself
+		 */
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "Fingerprint", null, "java/lang/Object", null);
+		mn.accept(writer);
+		writer.visitEnd();
+
+		MessageDigest digest = getDigest();
+		digest.update(writer.toByteArray());
+		return toHex(digest.digest());
+	}
+
+	private static Set<String> getReferencedClasses(ClassNode cn) {
+		Set<String> references = new LinkedHashSet<>();
+		if (cn.superName != null) {
+			references.add(toClassName(cn.superName));
+		}
+		for (String name : cn.interfaces) {
+			references.add(toClassName(name));
+		}
+		for (FieldNode fn : cn.fields) {
+			addType(references, Type.getType(fn.desc));
+		}
+		for (MethodNode mn : cn.methods) {
+			addType(references, Type.getMethodType(mn.desc));
+			for (String exception : mn.exceptions) {
+				addType(references, Type.getObjectType(exception));
+			}
+			for (TryCatchBlockNode tcb : mn.tryCatchBlocks) {
+				if (tcb.type != null) { // null for finally blocks
+					addType(references, Type.getObjectType(tcb.type));
+				}
+			}
+			for (AbstractInsnNode node : mn.instructions.toArray()) {
+				if (node instanceof MethodInsnNode) {
+					MethodInsnNode min = (MethodInsnNode) node;
+					addType(references, Type.getObjectType(min.owner));
+					addType(references, Type.getMethodType(min.desc));
+				} else if (node instanceof FieldInsnNode) {
+					FieldInsnNode fin = (FieldInsnNode) node;
+					addType(references, Type.getObjectType(fin.owner));
+					addType(references, Type.getType(fin.desc));
+				} else if (node instanceof TypeInsnNode) {
+					addType(references, Type.getObjectType(((TypeInsnNode) node).desc));
+				} else if (node instanceof MultiANewArrayInsnNode) {
+					addType(references, Type.getType(((MultiANewArrayInsnNode) node).desc));
+				} else if (node instanceof LdcInsnNode) {
+					addConstant(references, ((LdcInsnNode) node).cst);
+				} else if (node instanceof InvokeDynamicInsnNode) {
+					// lambdas and method references point to the called method through the bootstrap arguments
+					InvokeDynamicInsnNode indy = (InvokeDynamicInsnNode) node;
+					addType(references, Type.getMethodType(indy.desc));
+					addConstant(references, indy.bsm);
+					for (Object arg : indy.bsmArgs) {
+						addConstant(references, arg);
+					}
+				}
+			}
+		}
+		references.remove(toClassName(cn.name));
+		return references;
+	}
+
+	private static void addConstant(Set<String> references, Object constant) {
+		if (constant instanceof Type) {
+			addType(references, (Type) constant);
+		} else if (constant instanceof Handle) {
+			Handle handle = (Handle) constant;
+			addType(references, Type.getObjectType(handle.getOwner()));
+			addType(references, Type.getType(handle.getDesc()));
+		}
+	}
+
+	/**
+	 * Add the classes in the given type: itself for objects, the element type for arrays,
+	 * argument and return types for methods
+	 */
+	private static void addType(Set<String> references, Type type) {
+		switch (type.getSort()) {
+			case Type.OBJECT:
+				references.add(type.getClassName());
+				break;
+			case Type.ARRAY:
+				addType(references, type.getElementType());
+				break;
+			case Type.METHOD:
+				for (Type argument : type.getArgumentTypes()) {
+					addType(references, argument);
+				}
+				addType(references, type.getReturnType());
+				break;
+			default:
+				//primitive types
+		}
+	}
+
+	private static String toClassName(String internalName) {
+		return internalName.replace('/', '.');
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			//this should never happen, as SHA-256 must be supported by every JVM
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String s) {
+		digest.update(s.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder();
+		for (byte b : bytes) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	public static File getDefaultFile() {
+		return new File(StorageManager.getSeedInFolder(), FILE_NAME);
+	}
+
+	/**
+	 * Load the fingerprints stored by a previous CTG run
+	 *
+	 * @param file
+	 * @return an empty map if there is no stored fingerprint
+	 */
+	public static Map<String, Stored> load(File file) {
+		Map<String, Stored> map = new LinkedHashMap<>();
+		if (!file.exists()) {
+			return map;
+		}
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] tokens = line.split(",");
+				if (tokens.length != 4) {
+					logger.warn("Invalid line in " + file.getAbsolutePath() + ": " + line);
+					continue;
+				}
+				map.put(tokens[0], new Stored(tokens[1], Integer.parseInt(tokens[2]), Boolean.parseBoolean(tokens[3])));
+			}
+		} catch (IOException | NumberFormatException e) {
+			logger.error("Failed to read fingerprints from " + file.getAbsolutePath() + ": " + e.getMessage());
+			map.clear();
+		}
+		return map;
+	}
+
+	/**
+	 * Store the fingerprints of the CUTs in the project
+	 *
+	 * @param file
+	 * @param data
+	 * @param done whether the job for a changed CUT completed successfully. If not, or if
+	 *             no job was scheduled for it, its fingerprint is not stored, so it will be
+	 *             considered as changed in the next run
+	 * @return
+	 */
+	public static boolean store(File file, ProjectStaticData data, Predicate<String> done) {
+
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			logger.error("Failed to create folder " + parent.getAbsolutePath());
+			return false;
+		}
+
+		try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			for (ClassInfo info : data.getClassInfos()) {
+				if (info.getFingerprint() == null) {
+					continue;
+				}
+				if (info.hasChanged() && info.isTestable()
+						&& (info.getTimeBudgetInSeconds() <= 0 || !done.test(info.getClassName()))) {
+					//no job was run for it, or it failed
+					continue;
+				}
+				writer.println(info.getClassName() + "," + info.getFingerprint() + ","
+						+ info.numberOfBranches + "," + info.hasCode);
+			}
+		} catch (IOException e) {
+			logger.error("Failed to write fingerprints to " + file.getAbsolutePath() + ": " + e.getMessage());
+			return false;
+		}
+		return true;
+	}
+}
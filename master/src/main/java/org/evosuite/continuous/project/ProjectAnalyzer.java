@@ -20,13 +20,18 @@
 package org.evosuite.continuous.project;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.io.IOUtils;
+
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.Properties.AvailableSchedule;
@@ -198,59 +203,115 @@ public class ProjectAnalyzer {
 			data.initializeLocalHistory();
 		}
 		
-		for (String className : getCutsToAnalyze()) {
+		Collection<String> cuts = getCutsToAnalyze();
+
+		ClassFingerprints fingerprints = null;
+		Map<String, ClassFingerprints.Stored> previous = null;
+		if(Properties.CTG_INCREMENTAL){
+			fingerprints = new ClassFingerprints(cuts, this::getBytecode);
+			previous = ClassFingerprints.load(ClassFingerprints.getDefaultFile());
+			logger.info("Loaded "+previous.size()+" fingerprints from previous CTG runs");
+		}
+
+		for (String className : cuts) {
 			Class<?> theClass = null; 
 			int numberOfBranches = -1;			
 			boolean hasCode = false;
 
-			Properties.TARGET_CLASS = className;
-			InstrumentingClassLoader instrumenting = new InstrumentingClassLoader();
-
-			BranchPool.getInstance(instrumenting).reset();
+			String fingerprint = null;
+			ClassFingerprints.Stored stored = null;
+			if(fingerprints != null){
+				fingerprint = fingerprints.getFingerprint(className);
+				stored = previous.get(className);
+				if(stored != null && !stored.fingerprint.equals(fingerprint)){
+					stored = null;
+				}
+			}
 
-			try{
+			if(stored != null){
 				/*
-				 * to access number of branches, we need to use
-				 * instrumenting class loader. But loading a class would
-				 * execute its static code, and so we need to 
-				 * use a security manager. 
+				 * the class and what it uses did not change since last run,
+				 * so no need to instrument it again to count its branches
 				 */
-				Sandbox.goingToExecuteUnsafeCodeOnSameThread();
-				instrumenting.loadClass(className);
+				try {
+					theClass = ClassPathHacker.getContinuousClassLoader().loadClass(className);
+				} catch (Exception | LinkageError e) {
+					logger.warn("Cannot handle "+className+" due to: "+e.getClass()+" "+e.getMessage());
+					continue;
+				}
+				numberOfBranches = stored.numberOfBranches;
+				hasCode = stored.hasCode;
+			} else {
+				Properties.TARGET_CLASS = className;
+				InstrumentingClassLoader instrumenting = new InstrumentingClassLoader();
 
-				numberOfBranches = BranchPool.getInstance(instrumenting).getBranchCounter();
-				hasCode = (numberOfBranches > 0) || (BranchPool.getInstance(instrumenting).getBranchlessMethods().size() > 0);
+				BranchPool.getInstance(instrumenting).reset();
 
-				/*
-				 * just to avoid possible issues with instrumenting classloader
-				 */
-				theClass = ClassPathHacker.getContinuousClassLoader().loadClass(className);
+				try{
+					/*
+					 * to access number of branches, we need to use
+					 * instrumenting class loader. But loading a class would
+					 * execute its static code, and so we need to 
+					 * use a security manager. 
+					 */
+					Sandbox.goingToExecuteUnsafeCodeOnSameThread();
+					instrumenting.loadClass(className);
 
-				//TODO kind
-				//if(theClass.isInterface()){
-				//	kind = ClassKind.INTERFACE;
-				//} else if(theClass.is  Modifier.isAbstract( someClass.getModifiers() );
+					numberOfBranches = BranchPool.getInstance(instrumenting).getBranchCounter();
+					hasCode = (numberOfBranches > 0) || (BranchPool.getInstance(instrumenting).getBranchlessMethods().size() > 0);
 
-			} catch  (Exception e) {
-				logger.warn("Cannot handle "+className+" due to: "+e.getClass()+" "+e.getMessage());
-				continue;
-			}
-			finally {
-				Sandbox.doneWithExecutingUnsafeCodeOnSameThread();
-				BranchPool.getInstance(instrumenting).reset();
-				Properties.TARGET_CLASS = "";
+					/*
+					 * just to avoid possible issues with instrumenting classloader
+					 */
+					theClass = ClassPathHacker.getContinuousClassLoader().loadClass(className);
+
+					//TODO kind
+					//if(theClass.isInterface()){
+					//	kind = ClassKind.INTERFACE;
+					//} else if(theClass.is  Modifier.isAbstract( someClass.getModifiers() );
+
+				} catch  (Exception e) {
+					logger.warn("Cannot handle "+className+" due to: "+e.getClass()+" "+e.getMessage());
+					continue;
+				}
+				finally {
+					Sandbox.doneWithExecutingUnsafeCodeOnSameThread();
+					BranchPool.getInstance(instrumenting).reset();
+					Properties.TARGET_CLASS = "";
+				}
 			}
 
 			ClassInfo ci = new ClassInfo(theClass, numberOfBranches, hasCode);
+			ci.setFingerprint(fingerprint);
 			data.addNewClass(ci);
 
 			if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
 				ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
 				ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
 			}
+
+			if (fingerprints != null) {
+				//the bytecode is more precise than the history of modified files
+				ci.setChanged(stored == null);
+				if (stored != null) {
+					ci.isToTest(false);
+				}
+			}
 		}
 
 		return data;
 	}
+
+	private byte[] getBytecode(String className){
+		try (InputStream in = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className)) {
+			if(in == null){
+				return null;
+			}
+			return IOUtils.toByteArray(in);
+		} catch (IOException e) {
+			logger.warn("Failed to read bytecode of "+className+": "+e.getMessage());
+			return null;
+		}
+	}
 }
 
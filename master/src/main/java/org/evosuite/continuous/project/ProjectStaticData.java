@@ -174,6 +174,12 @@ public class ProjectStaticData {
          */
         private int memoryInMB = 0;
 
+        /**
+         * fingerprint of the bytecode of this class and of all the classes
+         * reachable from it, or {@code null} if not computed
+         */
+        private String fingerprint = null;
+
 		public ClassInfo(Class<?> theClass, int numberOfBranches, boolean hasCode) {
 			super();
 			this.theClass = theClass;
@@ -216,6 +222,13 @@ public class ProjectStaticData {
         public int getMemoryInMB() {
             return memoryInMB;
         }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+        public String getFingerprint() {
+            return fingerprint;
+        }
 	}
 
 	/**
@@ -295,6 +308,24 @@ public class ProjectStaticData {
 		return Collections.unmodifiableCollection(classes.keySet());
 	}
 
+	/**
+	 * Return a view of this project containing only the classes that have changed.
+	 * The returned data shares the same {@link ClassInfo} instances
+	 * 
+	 * @return
+	 */
+	public ProjectStaticData getChangedClasses() {
+		ProjectStaticData changed = new ProjectStaticData();
+		changed.modifiedFiles.addAll(modifiedFiles);
+		changed.project = project;
+		for (ClassInfo info : classes.values()) {
+			if (info.hasChanged()) {
+				changed.addNewClass(info);
+			}
+		}
+		return changed;
+	}
+
 	/**
      * Returns true if a class has been changed, false otherwise
      */
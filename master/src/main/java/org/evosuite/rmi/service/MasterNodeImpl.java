@@ -24,6 +24,7 @@ import java.rmi.registry.Registry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,10 +63,16 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
 	private final Map<String, ClientStateInformation> clientStateInformation;
 
+	/**
+	 * Keys of all the goals covered so far by any of the clients running in parallel
+	 */
+	private final Set<String> coveredGoals;
+
 	public MasterNodeImpl(Registry registry) {
 		clients = new ConcurrentHashMap<>();
 		clientStates = new ConcurrentHashMap<>();
 		clientStateInformation = new ConcurrentHashMap<>();
+		coveredGoals = ConcurrentHashMap.newKeySet();
 		this.registry = registry;
 	}
 
@@ -220,6 +227,31 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         }
     }
 
+    @Override
+    public void evosuite_publishCoveredGoals(String clientRmiIdentifier, Set<String> goals)
+            throws RemoteException {
+        Set<String> newGoals = new LinkedHashSet<>();
+        for (String goal : goals) {
+            if (coveredGoals.add(goal)) {
+                newGoals.add(goal);
+            }
+        }
+        if (newGoals.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<String, ClientNodeRemote> entry : clients.entrySet()) {
+            if (entry.getKey().equals(clientRmiIdentifier)) {
+                continue;
+            }
+            try {
+                entry.getValue().coveredElsewhere(newGoals);
+            } catch (RemoteException e) {
+                logger.error("Cannot send covered goals to " + entry.getKey(), e);
+            }
+        }
+    }
+
     @Override
 	public void addListener(Listener<ClientStateInformation> listener) {
 		listeners.add(listener);
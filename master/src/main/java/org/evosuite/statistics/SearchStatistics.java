@@ -49,6 +49,7 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
 
 
@@ -395,9 +396,20 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 			return false;
 		} else {
 			backend.writeData(individual, map);
+			if(Properties.TIMELINE_RAW_DATA) {
+				writeTimelineData();
+			}
 			return true;
 		}
 	}
+
+	private void writeTimelineData() {
+		try {
+			TimelineData.write(Properties.TARGET_CLASS, sequenceOutputVariableFactories.values());
+		} catch (IOException e) {
+			logger.warn("Error while writing timeline data: " + e.getMessage());
+		}
+	}
 	
 	/**
 	 * Write result to disk using selected backend
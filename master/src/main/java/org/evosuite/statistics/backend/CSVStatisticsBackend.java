@@ -19,9 +19,7 @@
  */
 package org.evosuite.statistics.backend;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
@@ -106,12 +104,8 @@ public class CSVStatisticsBackend implements StatisticsBackend {
 		try {
 			File outputDir = getReportDir();			
 			File f = new File(outputDir.getAbsolutePath() + File.separator + "statistics.csv");
-			BufferedWriter out = new BufferedWriter(new FileWriter(f, true));
-			if (f.length() == 0L) {
-				out.write(getCSVHeader(data) + "\n");
-			}
-			out.write(getCSVData(data) + "\n");
-			out.close();
+			ReportFileAppender.append(f, (getCSVHeader(data) + "\n").getBytes(),
+					(getCSVData(data) + "\n").getBytes());
 
 		} catch (IOException e) {
 			logger.warn("Error while writing statistics: " + e.getMessage());
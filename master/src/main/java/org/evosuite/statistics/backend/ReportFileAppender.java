@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends records to report files through streams that are kept open, instead
+ * of opening (and closing) the file at each record.
+ * 
+ * <p>
+ * Records are buffered in memory and written in batches. A batch only ever
+ * contains whole records and is written with a single write on a stream opened
+ * in append mode, so records from different backends/clients in this JVM never
+ * interleave (writes are serialized here), and records from different JVMs
+ * appending to the same file do not either.
+ * 
+ * <p>
+ * Buffered records are written, and the files closed, by {@link #closeAll()},
+ * which is called at the end of each EvoSuite run and on JVM shutdown.
+ */
+public class ReportFileAppender {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportFileAppender.class);
+
+	/**
+	 * Buffered records are written once they reach this size
+	 */
+	private static final int BATCH_SIZE = 64 * 1024;
+
+	private static final Map<String, ReportFile> files = new HashMap<>();
+
+	private static boolean shutdownHookAdded = false;
+
+	private static class ReportFile {
+		private final File file;
+		private final FileOutputStream out;
+		private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+		private boolean empty;
+
+		ReportFile(File file) throws IOException {
+			this.file = file;
+			this.out = new FileOutputStream(file, true);
+			this.empty = out.getChannel().size() == 0L;
+		}
+
+		void append(byte[] header, byte[] record) throws IOException {
+			int length = record.length + (header != null && empty ? header.length : 0);
+			if (pending.size() > 0 && pending.size() + length > BATCH_SIZE) {
+				flush();
+			}
+			if (header != null && empty) {
+				pending.write(header);
+			}
+			pending.write(record);
+			empty = false;
+			if (pending.size() >= BATCH_SIZE) {
+				flush();
+			}
+		}
+
+		void flush() throws IOException {
+			if (pending.size() > 0) {
+				out.write(pending.toByteArray());
+				pending.reset();
+			}
+		}
+
+		void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				out.close();
+			}
+		}
+	}
+
+	private ReportFileAppender() {
+	}
+
+	/**
+	 * @param header
+	 *            written before the record if the file is empty. Can be
+	 *            {@code null}
+	 */
+	static synchronized void append(File file, byte[] header, byte[] record) throws IOException {
+		String key = file.getAbsolutePath();
+		ReportFile reportFile = files.get(key);
+
+		if (reportFile != null && !file.exists()) {
+			// deleted in the meantime, eg when a new experiment cleans the report dir
+			files.remove(key);
+			reportFile.pending.reset();
+			closeQuietly(reportFile);
+			reportFile = null;
+		}
+
+		if (reportFile == null) {
+			addShutdownHook();
+			reportFile = new ReportFile(file);
+			files.put(key, reportFile);
+		}
+
+		try {
+			reportFile.append(header, record);
+		} catch (IOException e) {
+			files.remove(key);
+			closeQuietly(reportFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * Write all the buffered records, and close all the report files. Files
+	 * are opened again by the next {@link #append}
+	 */
+	public static synchronized void closeAll() {
+		List<ReportFile> toClose = new ArrayList<>(files.values());
+		files.clear();
+		for (ReportFile reportFile : toClose) {
+			try {
+				reportFile.close();
+			} catch (IOException e) {
+				logger.warn("Error while writing " + reportFile.file + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private static void addShutdownHook() {
+		if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(ReportFileAppender::closeAll));
+			shutdownHookAdded = true;
+		}
+	}
+
+	private static void closeQuietly(ReportFile reportFile) {
+		try {
+			reportFile.out.close();
+		} catch (IOException e) {
+			// nothing we can do
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.statistics.SequenceOutputVariableFactory;
+
+/**
+ * All the samples of the timeline variables of a run, in a compact binary
+ * format.
+ * 
+ * <p>
+ * The CSV backend only reports the timeline variables at fixed intervals,
+ * one column per interval. Here, each run is appended to
+ * {@value #FILE_NAME} as one record: the name of the target class and, for
+ * each variable, its name followed by the number of samples, the column of
+ * time stamps (longs) and the column of values (doubles).
+ */
+public class TimelineData {
+
+	public static final String FILE_NAME = "timelines.bin";
+
+	private static final int MAGIC = 0x45565444;
+
+	private final String targetClass;
+
+	private final Map<String, long[]> timeStamps = new LinkedHashMap<>();
+
+	private final Map<String, double[]> values = new LinkedHashMap<>();
+
+	private TimelineData(String targetClass) {
+		this.targetClass = targetClass;
+	}
+
+	public String getTargetClass() {
+		return targetClass;
+	}
+
+	public Set<String> getVariables() {
+		return Collections.unmodifiableSet(timeStamps.keySet());
+	}
+
+	public long[] getTimeStamps(String variable) {
+		return timeStamps.get(variable);
+	}
+
+	public double[] getValues(String variable) {
+		return values.get(variable);
+	}
+
+	/**
+	 * Append the samples of the given timeline variables to
+	 * {@value #FILE_NAME} in the report dir
+	 */
+	public static void write(String targetClass, Collection<SequenceOutputVariableFactory<?>> factories)
+			throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeUTF(targetClass);
+			out.writeInt(factories.size());
+			for (SequenceOutputVariableFactory<?> factory : factories) {
+				long[] stamps = factory.getTimeStamps();
+				double[] samples = factory.getSampledValues();
+				out.writeUTF(factory.getVariable().name());
+				out.writeInt(stamps.length);
+				for (long stamp : stamps) {
+					out.writeLong(stamp);
+				}
+				for (double sample : samples) {
+					out.writeDouble(sample);
+				}
+			}
+		}
+
+		File file = new File(CSVStatisticsBackend.getReportDir(), FILE_NAME);
+		ReportFileAppender.append(file, null, bytes.toByteArray());
+	}
+
+	/**
+	 * Read all the runs stored in the given file
+	 */
+	public static List<TimelineData> read(File file) throws IOException {
+		List<TimelineData> runs = new ArrayList<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			while (true) {
+				int magic;
+				try {
+					magic = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				if (magic != MAGIC) {
+					throw new IOException("Corrupted timeline data in " + file);
+				}
+
+				TimelineData run = new TimelineData(in.readUTF());
+				int variables = in.readInt();
+				for (int i = 0; i < variables; i++) {
+					String name = in.readUTF();
+					int n = in.readInt();
+					long[] stamps = new long[n];
+					for (int j = 0; j < n; j++) {
+						stamps[j] = in.readLong();
+					}
+					double[] samples = new double[n];
+					for (int j = 0; j < n; j++) {
+						samples[j] = in.readDouble();
+					}
+					run.timeStamps.put(name, stamps);
+					run.values.put(name, samples);
+				}
+				runs.add(run);
+			}
+		}
+		return runs;
+	}
+}
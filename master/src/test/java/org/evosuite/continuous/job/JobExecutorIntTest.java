@@ -208,4 +208,57 @@ public class JobExecutorIntTest {
 
 		storage.clean();
 	}
+
+	@Test(timeout = 30_000)
+	public void testUnusedBudgetIsDonated() throws InterruptedException{
+
+		boolean storageOK = storage.isStorageOk();
+		assertTrue(storageOK);
+		storageOK = storage.createNewTmpFolders();
+		assertTrue(storageOK);
+
+		String classpath = System.getProperty("java.class.path");
+
+		int cores = 1;
+		int memory = 1000;
+		int minutes = 10000;
+
+		CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+		final JobExecutor exe = new JobExecutor(storage, classpath, conf);
+
+		JobDefinition simple = new JobDefinition(30, memory,
+				Simple.class.getName(), 0, null, null);
+
+		JobDefinition trivial = new JobDefinition(30, memory,
+				Trivial.class.getName(), 0, null, null);
+
+		final List<JobDefinition> jobs = Arrays.asList(simple,trivial);
+
+		exe.initExecution(jobs);
+
+		Thread t = new Thread(){
+			@Override
+			public void run(){
+				exe.execute(jobs);
+			}
+		};
+		try{
+			t.start();
+
+			//first job ends straight away, so nearly all its budget is unused
+			exe.doneWithJob(exe.pollJob());
+			assertTrue(exe.getDonatedBudgetInMs() > 25_000);
+
+			JobDefinition last = exe.pollJob();
+			Assert.assertEquals(trivial.cut, last.cut);
+			assertTrue(""+last.seconds, last.seconds > 55);
+			assertTrue(exe.getDonatedBudgetInMs() < 1000);
+			exe.doneWithJob(last);
+		}
+		finally{
+			t.interrupt();
+		}
+
+		storage.clean();
+	}
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.FileUtils;
+import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
+import org.junit.Assert;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.examples.with.different.packagename.continuous.Simple;
+import com.examples.with.different.packagename.continuous.Trivial;
+
+public class ClassFingerprintsTest {
+
+	private static byte[] createClass(String name, String callee, int value, int line) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "foo", "()I", null, null);
+		mv.visitCode();
+		Label label = new Label();
+		mv.visitLabel(label);
+		mv.visitLineNumber(line, label);
+		if (callee != null) {
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, callee, "foo", "()I", false);
+			mv.visitInsn(Opcodes.POP);
+		}
+		mv.visitLdcInsn(value);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	@Test
+	public void testDebugInfoIsIgnored() {
+		String a = ClassFingerprints.getClassHash(createClass("foo/A", null, 1, 10));
+		String b = ClassFingerprints.getClassHash(createClass("foo/A", null, 1, 42));
+		Assert.assertEquals(a, b);
+	}
+
+	@Test
+	public void testChangedMethod() {
+		String a = ClassFingerprints.getClassHash(createClass("foo/A", null, 1, 10));
+		String b = ClassFingerprints.getClassHash(createClass("foo/A", null, 2, 10));
+		Assert.assertNotEquals(a, b);
+	}
+
+	@Test
+	public void testChangeInReachableClass() {
+
+		Map<String, byte[]> bytecode = new HashMap<>();
+		bytecode.put("foo.A", createClass("foo/A", "foo/B", 1, 10));
+		bytecode.put("foo.B", createClass("foo/B", null, 1, 10));
+		bytecode.put("foo.C", createClass("foo/C", null, 1, 10));
+
+		ClassFingerprints before = new ClassFingerprints(Arrays.asList("foo.A", "foo.B", "foo.C"), bytecode::get);
+		String a = before.getFingerprint("foo.A");
+		String c = before.getFingerprint("foo.C");
+
+		bytecode.put("foo.B", createClass("foo/B", null, 2, 10));
+
+		ClassFingerprints after = new ClassFingerprints(Arrays.asList("foo.A", "foo.B", "foo.C"), bytecode::get);
+		Assert.assertNotEquals(a, after.getFingerprint("foo.A"));
+		Assert.assertEquals(c, after.getFingerprint("foo.C"));
+
+		Assert.assertNull(after.getFingerprint("foo.Missing"));
+	}
+
+	/**
+	 * Class foo/A with a field of the given type (if any) and a method with the given body
+	 */
+	private static byte[] createClass(String fieldDesc, Consumer<MethodVisitor> body) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "foo/A", null, "java/lang/Object", null);
+		if (fieldDesc != null) {
+			cw.visitField(Opcodes.ACC_PRIVATE, "field", fieldDesc, null, null).visitEnd();
+		}
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "foo", "()V", null, null);
+		mv.visitCode();
+		body.accept(mv);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Check whether a change in foo.B changes the fingerprint of foo.A
+	 */
+	private static boolean dependsOnB(byte[] classA) {
+		Map<String, byte[]> bytecode = new HashMap<>();
+		bytecode.put("foo.A", classA);
+		bytecode.put("foo.B", createClass("foo/B", null, 1, 10));
+		String before = new ClassFingerprints(Arrays.asList("foo.A", "foo.B"), bytecode::get).getFingerprint("foo.A");
+
+		bytecode.put("foo.B", createClass("foo/B", null, 2, 10));
+		String after = new ClassFingerprints(Arrays.asList("foo.A", "foo.B"), bytecode::get).getFingerprint("foo.A");
+		return !before.equals(after);
+	}
+
+	@Test
+	public void testNoDependency() {
+		Assert.assertFalse(dependsOnB(createClass(null, mv -> {})));
+	}
+
+	@Test
+	public void testMethodReference() {
+		// Supplier<Integer> s = B::foo;
+		Handle metafactory = new Handle(Opcodes.H_INVOKESTATIC, "java/lang/invoke/LambdaMetafactory", "metafactory",
+				"(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;"
+						+ "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)"
+						+ "Ljava/lang/invoke/CallSite;", false);
+		Handle target = new Handle(Opcodes.H_INVOKESTATIC, "foo/B", "foo", "()I", false);
+
+		Assert.assertTrue(dependsOnB(createClass(null, mv -> {
+			mv.visitInvokeDynamicInsn("get", "()Ljava/util/function/Supplier;", metafactory,
+					Type.getType("()Ljava/lang/Object;"), target, Type.getType("()Ljava/lang/Integer;"));
+			mv.visitInsn(Opcodes.POP);
+		})));
+	}
+
+	@Test
+	public void testClassConstant() {
+		// B.class
+		Assert.assertTrue(dependsOnB(createClass(null, mv -> {
+			mv.visitLdcInsn(Type.getObjectType("foo/B"));
+			mv.visitInsn(Opcodes.POP);
+		})));
+	}
+
+	@Test
+	public void testCaughtException() {
+		Assert.assertTrue(dependsOnB(createClass(null, mv -> {
+			Label start = new Label();
+			Label end = new Label();
+			Label handler = new Label();
+			Label done = new Label();
+			mv.visitTryCatchBlock(start, end, handler, "foo/B");
+			mv.visitLabel(start);
+			mv.visitInsn(Opcodes.NOP);
+			mv.visitLabel(end);
+			mv.visitJumpInsn(Opcodes.GOTO, done);
+			mv.visitLabel(handler);
+			mv.visitInsn(Opcodes.POP);
+			mv.visitLabel(done);
+		})));
+	}
+
+	@Test
+	public void testMultiDimensionalArray() {
+		// new B[1][1]
+		Assert.assertTrue(dependsOnB(createClass(null, mv -> {
+			mv.visitInsn(Opcodes.ICONST_1);
+			mv.visitInsn(Opcodes.ICONST_1);
+			mv.visitMultiANewArrayInsn("[[Lfoo/B;", 2);
+			mv.visitInsn(Opcodes.POP);
+		})));
+	}
+
+	@Test
+	public void testFieldType() {
+		Assert.assertTrue(dependsOnB(createClass("Lfoo/B;", mv -> {})));
+	}
+
+	@Test
+	public void testMethodDescriptor() {
+		// calls C.bar(B), where C is not part of the project
+		Assert.assertTrue(dependsOnB(createClass(null, mv -> {
+			mv.visitInsn(Opcodes.ACONST_NULL);
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, "bar/C", "bar", "(Lfoo/B;)V", false);
+		})));
+	}
+
+	@Test
+	public void testStoreAndLoad() throws IOException {
+
+		ProjectStaticData data = new ProjectStaticData();
+
+		ClassInfo unchanged = new ClassInfo(Simple.class, 4, true);
+		unchanged.setFingerprint("abc");
+		unchanged.setChanged(false);
+		data.addNewClass(unchanged);
+
+		//changed, but no job was run for it
+		ClassInfo notRun = new ClassInfo(Trivial.class, 0, true);
+		notRun.setFingerprint("def");
+		data.addNewClass(notRun);
+
+		File folder = Files.createTempDirectory("fingerprints").toFile();
+		try {
+			File file = new File(folder, ClassFingerprints.FILE_NAME);
+			Assert.assertTrue(ClassFingerprints.store(file, data, name -> true));
+
+			Map<String, ClassFingerprints.Stored> loaded = ClassFingerprints.load(file);
+			Assert.assertEquals(1, loaded.size());
+			ClassFingerprints.Stored stored = loaded.get(Simple.class.getName());
+			Assert.assertEquals("abc", stored.fingerprint);
+			Assert.assertEquals(4, stored.numberOfBranches);
+			Assert.assertTrue(stored.hasCode);
+		} finally {
+			FileUtils.deleteDirectory(folder);
+		}
+	}
+}
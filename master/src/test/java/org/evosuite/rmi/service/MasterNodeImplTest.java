@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MasterNodeImplTest {
+
+    private final Map<String, List<Set<String>>> received = new HashMap<>();
+
+    private MasterNodeImpl master;
+
+    @Before
+    public void setUp() throws Exception {
+        Map<String, ClientNodeRemote> nodes = new HashMap<>();
+        for (String id : Arrays.asList("ClientNode0", "ClientNode1", "ClientNode2")) {
+            received.put(id, new ArrayList<>());
+            nodes.put(id, createClient(received.get(id)));
+        }
+
+        Registry registry = (Registry) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Registry.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("lookup")) {
+                        return nodes.get(args[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        master = new MasterNodeImpl(registry);
+        for (String id : nodes.keySet()) {
+            master.evosuite_registerClientNode(id);
+        }
+    }
+
+    @Test
+    public void testGoalsAreForwardedToOtherClients() throws Exception {
+        master.evosuite_publishCoveredGoals("ClientNode0", goals("a", "b"));
+
+        assertTrue(received.get("ClientNode0").isEmpty());
+        assertEquals(Collections.singletonList(goals("a", "b")), received.get("ClientNode1"));
+        assertEquals(Collections.singletonList(goals("a", "b")), received.get("ClientNode2"));
+    }
+
+    @Test
+    public void testOnlyNewGoalsAreForwarded() throws Exception {
+        master.evosuite_publishCoveredGoals("ClientNode0", goals("a", "b"));
+        master.evosuite_publishCoveredGoals("ClientNode1", goals("b", "c"));
+
+        assertEquals(Collections.singletonList(goals("c")), received.get("ClientNode0"));
+        assertEquals(Collections.singletonList(goals("a", "b")), received.get("ClientNode1"));
+        assertEquals(Arrays.asList(goals("a", "b"), goals("c")), received.get("ClientNode2"));
+
+        // goals covered by every client before are not sent again
+        master.evosuite_publishCoveredGoals("ClientNode2", goals("a", "c"));
+        assertEquals(1, received.get("ClientNode0").size());
+        assertEquals(1, received.get("ClientNode1").size());
+        assertEquals(2, received.get("ClientNode2").size());
+    }
+
+    private static Set<String> goals(String... goals) {
+        return new LinkedHashSet<>(Arrays.asList(goals));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ClientNodeRemote createClient(List<Set<String>> received) {
+        return (ClientNodeRemote) Proxy.newProxyInstance(MasterNodeImplTest.class.getClassLoader(),
+                new Class<?>[] {ClientNodeRemote.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("coveredElsewhere")) {
+                        received.add(new LinkedHashSet<>((Set<String>) args[0]));
+                        return null;
+                    }
+                    if (method.getName().equals("toString")) {
+                        return "ClientNodeRemote";
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.statistics.OutputVariable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CSVStatisticsBackendTest {
+
+	private static final String DEFAULT_REPORT_DIR = Properties.REPORT_DIR;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public void init() {
+		Properties.REPORT_DIR = folder.getRoot().getAbsolutePath();
+	}
+
+	@After
+	public void reset() {
+		ReportFileAppender.closeAll();
+		Properties.REPORT_DIR = DEFAULT_REPORT_DIR;
+	}
+
+	private static Map<String, OutputVariable<?>> row(String targetClass, int coverage) {
+		Map<String, OutputVariable<?>> data = new LinkedHashMap<>();
+		data.put("TARGET_CLASS", new OutputVariable<>("TARGET_CLASS", targetClass));
+		data.put("Coverage", new OutputVariable<>("Coverage", coverage));
+		return data;
+	}
+
+	@Test
+	public void testHeaderIsWrittenOnce() throws Exception {
+		CSVStatisticsBackend backend = new CSVStatisticsBackend();
+		backend.writeData(null, row("Foo", 1));
+		backend.writeData(null, row("Bar", 0));
+		new CSVStatisticsBackend().writeData(null, row("Baz", 1));
+
+		ReportFileAppender.closeAll();
+		List<String> lines = Files.readAllLines(new File(folder.getRoot(), "statistics.csv").toPath());
+		assertEquals(Arrays.asList("TARGET_CLASS,Coverage", "Foo,1", "Bar,0", "Baz,1"), lines);
+	}
+
+	@Test
+	public void testFileDeletedInBetween() throws Exception {
+		CSVStatisticsBackend backend = new CSVStatisticsBackend();
+		File file = new File(folder.getRoot(), "statistics.csv");
+
+		backend.writeData(null, row("Foo", 1));
+		Files.delete(file.toPath());
+		backend.writeData(null, row("Bar", 0));
+
+		ReportFileAppender.closeAll();
+		List<String> lines = Files.readAllLines(file.toPath());
+		assertEquals(Arrays.asList("TARGET_CLASS,Coverage", "Bar,0"), lines);
+	}
+
+	@Test
+	public void testRowsAreWrittenInBatches() throws Exception {
+		CSVStatisticsBackend backend = new CSVStatisticsBackend();
+		File file = new File(folder.getRoot(), "statistics.csv");
+
+		backend.writeData(null, row("Foo", 1));
+		backend.writeData(null, row("Bar", 0));
+		assertEquals(0L, file.length());
+
+		ReportFileAppender.closeAll();
+		assertEquals(Arrays.asList("TARGET_CLASS,Coverage", "Foo,1", "Bar,0"), Files.readAllLines(file.toPath()));
+
+		// the file is opened again, and the header is not repeated
+		backend.writeData(null, row("Baz", 1));
+		ReportFileAppender.closeAll();
+		assertEquals(Arrays.asList("TARGET_CLASS,Coverage", "Foo,1", "Bar,0", "Baz,1"), Files.readAllLines(file.toPath()));
+	}
+}
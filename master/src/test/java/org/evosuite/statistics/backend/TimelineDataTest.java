@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.statistics.DirectSequenceOutputVariableFactory;
+import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.SequenceOutputVariableFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TimelineDataTest {
+
+	private static final String DEFAULT_REPORT_DIR = Properties.REPORT_DIR;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public void init() {
+		Properties.REPORT_DIR = folder.getRoot().getAbsolutePath();
+	}
+
+	@After
+	public void reset() {
+		ReportFileAppender.closeAll();
+		Properties.REPORT_DIR = DEFAULT_REPORT_DIR;
+	}
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		DirectSequenceOutputVariableFactory<Double> diversity = DirectSequenceOutputVariableFactory.getDouble(RuntimeVariable.DiversityTimeline);
+		DirectSequenceOutputVariableFactory<Integer> features = DirectSequenceOutputVariableFactory.getInteger(RuntimeVariable.FeaturesFound);
+		for (int i = 0; i < 100; i++) {
+			diversity.setValue(i / 100.0);
+			diversity.update(null);
+			features.setValue(i);
+			features.update(null);
+		}
+
+		List<SequenceOutputVariableFactory<?>> factories = Arrays.asList(diversity, features);
+		TimelineData.write("Foo", factories);
+		TimelineData.write("Bar", factories.subList(0, 1));
+
+		ReportFileAppender.closeAll();
+		List<TimelineData> runs = TimelineData.read(new File(folder.getRoot(), TimelineData.FILE_NAME));
+		assertEquals(2, runs.size());
+
+		TimelineData foo = runs.get(0);
+		assertEquals("Foo", foo.getTargetClass());
+		assertEquals(2, foo.getVariables().size());
+		assertArrayEquals(diversity.getTimeStamps(), foo.getTimeStamps(RuntimeVariable.DiversityTimeline.name()));
+		assertEquals(100, foo.getValues(RuntimeVariable.FeaturesFound.name()).length);
+		assertEquals(42.0, foo.getValues(RuntimeVariable.FeaturesFound.name())[42], 0.0);
+		assertEquals(0.42, foo.getValues(RuntimeVariable.DiversityTimeline.name())[42], 0.0);
+
+		assertEquals("Bar", runs.get(1).getTargetClass());
+		assertEquals(1, runs.get(1).getVariables().size());
+	}
+}
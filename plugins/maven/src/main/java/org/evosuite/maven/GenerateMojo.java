@@ -21,7 +21,11 @@ package org.evosuite.maven;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.*;
@@ -32,6 +36,7 @@ import org.evosuite.Properties;
 import org.evosuite.maven.util.EvoSuiteRunner;
 import org.evosuite.maven.util.FileUtils;
 import org.evosuite.maven.util.HistoryChanges;
+import org.evosuite.maven.util.ModuleGenerationQueue;
 import org.evosuite.utils.SpawnProcessKeepAliveChecker;
 
 import java.io.BufferedWriter;
@@ -106,9 +111,24 @@ public class GenerateMojo extends AbstractMojo {
 	@Parameter( property = "schedule", defaultValue = "BUDGET" )
 	private String schedule;
 
+	/**
+	 * If true, the modules of a multi-module project are not handled one after the other:
+	 * each module only queues its classes, and the last module to run this goal then runs CTG
+	 * on all of them at the same time, splitting the given cores and memory among modules
+	 * based on their number of classes
+	 */
+	@Parameter( property = "aggregate", defaultValue = "false" )
+	private boolean aggregate;
+
 	@Parameter(defaultValue = "${project}", required = true, readonly = true)
 	private MavenProject project;
 
+	@Parameter(defaultValue = "${session}", required = true, readonly = true)
+	private MavenSession session;
+
+	@Parameter(defaultValue = "${mojoExecution}", required = true, readonly = true)
+	private MojoExecution mojoExecution;
+
 	@Parameter(defaultValue = "${plugin.artifacts}", required = true, readonly = true)
 	private List<Artifact> artifacts;
 
@@ -140,6 +160,21 @@ public class GenerateMojo extends AbstractMojo {
 			getLog().info("Specified classes under test: "+cuts);
 		}
 		
+		if(aggregate){
+			ModuleGenerationQueue.init(session.getRequest(), getModulesRunningThisGoal());
+			try {
+				generateTests();
+			} finally {
+				//even if this module failed, the other modules might be waiting for it
+				runQueuedModulesIfAllVisited();
+			}
+		} else {
+			generateTests();
+		}
+	}
+
+	private void generateTests() throws MojoFailureException {
+
 		String target = null;
 		String cp = null;
 		
@@ -204,11 +239,121 @@ public class GenerateMojo extends AbstractMojo {
 		getLog().info("Basedir: "+basedir.getAbsolutePath());
 		if(target==null || cp==null || basedir==null){
 			getLog().info("Nothing to test");
+		} else if(aggregate){
+			String dir = basedir.getAbsolutePath();
+			int numberOfClasses = ModuleGenerationQueue.countClasses(target);
+			getLog().info("Queuing "+numberOfClasses+" classes, tests will be generated once all modules are visited");
+			List<String> params;
+			try {
+				params = getEvoSuiteParameters(target, cp, dir);
+			} catch (MojoFailureException e) {
+				ModuleGenerationQueue.addFailed(project.getArtifactId());
+				throw e;
+			}
+			ModuleGenerationQueue.add(new ModuleGenerationQueue.ModuleTarget(
+					project.getArtifactId(), dir, params, numberOfClasses));
+		} else {
+			runEvoSuiteOnSeparatedProcess(target, cp, basedir.getAbsolutePath());
+		}
+	}
+
+	private static String getModuleId(MavenProject p) {
+		return p.getGroupId() + ":" + p.getArtifactId();
+	}
+
+	/**
+	 * @return the modules of the reactor that are going to run this goal: all of them if it was
+	 * 			given on the command line, otherwise the ones binding it in their pom
+	 */
+	private List<String> getModulesRunningThisGoal() {
+		List<String> modules = new ArrayList<>();
+		List<MavenProject> projects = session.getProjects();
+		if(projects == null || projects.isEmpty()){
+			modules.add(getModuleId(project));
+			return modules;
+		}
+
+		boolean fromCommandLine = mojoExecution.getSource() == MojoExecution.Source.CLI;
+		String pluginKey = mojoExecution.getPlugin().getKey();
+
+		for(MavenProject p : projects){
+			if(fromCommandLine || bindsGoal(p, pluginKey, mojoExecution.getGoal())){
+				modules.add(getModuleId(p));
+			}
+		}
+		return modules;
+	}
+
+	private static boolean bindsGoal(MavenProject p, String pluginKey, String goal) {
+		Plugin plugin = p.getBuild() == null ? null : p.getBuild().getPluginsAsMap().get(pluginKey);
+		if(plugin == null){
+			return false;
+		}
+		for(PluginExecution execution : plugin.getExecutions()){
+			if(execution.getGoals().contains(goal)){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void runQueuedModulesIfAllVisited() throws MojoFailureException {
+
+		List<ModuleGenerationQueue.ModuleTarget> modules = ModuleGenerationQueue.visit(getModuleId(project));
+		if(modules != null){
+			runQueuedModules(modules);
+			return;
+		}
+
+		List<MavenProject> projects = session.getProjects();
+		boolean lastProjectOfReactor = projects == null || projects.isEmpty()
+				|| projects.get(projects.size() - 1).equals(project);
+		if(!session.isParallel() && lastProjectOfReactor){
+			/*
+				In a sequential build no other module is coming, so the ones still missing did not run
+				this goal (eg, it was skipped or their build failed). Better to fail than to silently
+				not generate tests for the modules already queued
+			 */
+			List<ModuleGenerationQueue.ModuleTarget> queued = ModuleGenerationQueue.drain();
+			List<String> names = new ArrayList<>();
+			for(ModuleGenerationQueue.ModuleTarget module : queued){
+				names.add(module.getName());
+			}
+			throw new MojoFailureException("Tests were not generated for the queued modules " + names
+					+ ", as these modules did not run the goal: " + ModuleGenerationQueue.getNotVisited());
+		}
+	}
+
+	private void runQueuedModules(List<ModuleGenerationQueue.ModuleTarget> modules) throws MojoFailureException {
+
+		Set<String> failed = ModuleGenerationQueue.getFailed();
+		if(modules.isEmpty()){
+			getLog().info("Nothing to test in any module");
+			checkNoFailedModules(failed);
 			return;
 		}
+		getLog().info("Going to generate tests for "+modules.size()+" modules");
 
-		runEvoSuiteOnSeparatedProcess(target, cp, basedir.getAbsolutePath());
+		List<String> commonParams = new ArrayList<>();
+		commonParams.add("-Dspawn_process_manager_port=" + startSpawnManager());
+
+		EvoSuiteRunner runner = new EvoSuiteRunner(getLog(),artifacts,projectBuilder,repoSession);
+		runner.registerShutDownHook();
+		boolean ok = ModuleGenerationQueue.runAll(modules, runner, numberOfCores, memoryInMB, commonParams, getLog());
+
+		stopSpawnManager();
+
+		checkNoFailedModules(failed);
+		if(!ok){
+			throw new MojoFailureException("Failed to correctly execute EvoSuite");
+		}
+	}
 
+	private static void checkNoFailedModules(Set<String> failed) throws MojoFailureException {
+		if(!failed.isEmpty()){
+			throw new MojoFailureException("Tests were not generated for the modules " + failed
+					+ ", as their EvoSuite parameters could not be set up");
+		}
 	}
 
 	private String addPathIfExists(String cp, String element, Set<String> alreadyExist) {
@@ -235,7 +380,45 @@ public class GenerateMojo extends AbstractMojo {
 	}
 
 	private void runEvoSuiteOnSeparatedProcess(String target, String cp, String dir) throws MojoFailureException {
-			
+
+		List<String> params = getEvoSuiteParameters(target, cp, dir);
+		params.add("-Dctg_memory="+memoryInMB);
+		params.add("-Dctg_cores="+numberOfCores);
+		params.add("-Dspawn_process_manager_port=" + startSpawnManager());
+
+		EvoSuiteRunner runner = new EvoSuiteRunner(getLog(),artifacts,projectBuilder,repoSession);
+		runner.registerShutDownHook();
+		boolean ok = runner.runEvoSuite(dir,params);
+
+		stopSpawnManager();
+
+		if(!ok){
+			throw new MojoFailureException("Failed to correctly execute EvoSuite");
+		}
+	}
+
+	private int startSpawnManager() {
+		if(spawnManagerPort != null) {
+			SpawnProcessKeepAliveChecker.getInstance().registerToRemoteServerAndDieIfFails(spawnManagerPort);
+			return spawnManagerPort;
+		} else {
+			return SpawnProcessKeepAliveChecker.getInstance().startServer();
+		}
+	}
+
+	private void stopSpawnManager() {
+		if(spawnManagerPort != null) {
+			SpawnProcessKeepAliveChecker.getInstance().unRegister();
+		} else {
+			SpawnProcessKeepAliveChecker.getInstance().stopServer();
+		}
+	}
+
+	/**
+	 * Parameters for CTG on the given target, apart from memory, cores and spawn manager port
+	 */
+	private List<String> getEvoSuiteParameters(String target, String cp, String dir) throws MojoFailureException {
+
 		List<String> params = new ArrayList<>();
 		params.add("-continuous");
 		params.add("execute");
@@ -253,18 +436,6 @@ public class GenerateMojo extends AbstractMojo {
 
 			params.add("-Dctg_history_file=" + dir + File.separator + Properties.CTG_DIR + File.separator + "history_file");
 		}
-		params.add("-Dctg_memory="+memoryInMB);
-		params.add("-Dctg_cores="+numberOfCores);
-
-		int port;
-		if(spawnManagerPort != null) {
-			SpawnProcessKeepAliveChecker.getInstance().registerToRemoteServerAndDieIfFails(spawnManagerPort);
-			port = spawnManagerPort;
-		} else {
-			port = SpawnProcessKeepAliveChecker.getInstance().startServer();
-		}
-		params.add("-Dspawn_process_manager_port=" + port);
-
 
 		if (timeInMinutesPerProject != 0) {
 			params.add("-Dctg_time="+timeInMinutesPerProject);
@@ -303,20 +474,8 @@ public class GenerateMojo extends AbstractMojo {
 		String path = writeClasspathToFile(cp);
 		params.add("-DCP_file_path="+path);
 		//params.add("-DCP=" + cp); //this did not work properly on Windows
-		
-		EvoSuiteRunner runner = new EvoSuiteRunner(getLog(),artifacts,projectBuilder,repoSession);
-		runner.registerShutDownHook();
-		boolean ok = runner.runEvoSuite(dir,params);
 
-		if(spawnManagerPort != null) {
-			SpawnProcessKeepAliveChecker.getInstance().unRegister();
-		} else {
-			SpawnProcessKeepAliveChecker.getInstance().stopServer();
-		}
-
-		if(!ok){
-			throw new MojoFailureException("Failed to correctly execute EvoSuite");
-		}
+		return params;
 	}
 
 	private String writeClasspathToFile(String classpath) {
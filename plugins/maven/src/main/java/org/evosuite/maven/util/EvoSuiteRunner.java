@@ -26,8 +26,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.building.ModelBuildingRequest;
@@ -75,7 +78,16 @@ public class EvoSuiteRunner {
 
 	private final RepositorySystemSession repoSession;
 
-	private Process process; 
+	/**
+	 * The EvoSuite processes currently running. There can be more than one
+	 * when several modules are handled at the same time
+	 */
+	private final Set<Process> processes = Collections.synchronizedSet(new HashSet<>());
+
+	/**
+	 * Command to start EvoSuite, resolved only once
+	 */
+	private List<String> command;
 
 	public EvoSuiteRunner(Log logger, List<Artifact> artifacts,
 			ProjectBuilder projectBuilder, RepositorySystemSession repoSession) {
@@ -90,8 +102,10 @@ public class EvoSuiteRunner {
 		Runtime.getRuntime().addShutdownHook(new Thread(){
 			@Override
 			public void run() {
-				if(process != null){
-					process.destroy();
+				synchronized (processes) {
+					for (Process process : processes) {
+						process.destroy();
+					}
 				}
 			}
 		});
@@ -103,14 +117,32 @@ public class EvoSuiteRunner {
 	 * @return
 	 */
 	public boolean runEvoSuite(String dir, List<String> params){
-		List<String> cmd = getCommandToRunEvoSuite();
-		if(cmd==null){
-			return false;
+		return runEvoSuite(dir, params, "");
+	}
+
+	/**
+	 * This is blocking, but it can be called by different threads at the same
+	 * time
+	 * 
+	 * @param outputPrefix
+	 *            prepended to each line of output of the process, to tell apart
+	 *            processes running at the same time
+	 */
+	public boolean runEvoSuite(String dir, List<String> params, String outputPrefix){
+		List<String> cmd;
+		synchronized (this) {
+			if(command == null){
+				command = getCommandToRunEvoSuite();
+			}
+			if(command == null){
+				return false;
+			}
+			cmd = new ArrayList<>(command);
 		}
 
 		cmd.addAll(params);
 
-		return runProcess(dir,cmd);
+		return runProcess(dir,cmd,outputPrefix);
 	}
 
 	/**
@@ -239,8 +271,9 @@ public class EvoSuiteRunner {
 		return cmd;
 	}
 
-	private boolean runProcess(String baseDir, List<String> cmd){
+	private boolean runProcess(String baseDir, List<String> cmd, String outputPrefix){
 
+		Process process = null;
 		try{
 			if(baseDir==null){
 				baseDir = System.getProperty("user.dir");
@@ -258,7 +291,8 @@ public class EvoSuiteRunner {
 			builder.redirectErrorStream(true);
 
 			process = builder.start();
-			handleProcessOutput(process,logger);
+			processes.add(process);
+			handleProcessOutput(process,logger,outputPrefix);
 			
 			//output
 			int exitCode = process.waitFor(); 				
@@ -286,14 +320,16 @@ public class EvoSuiteRunner {
 				process.destroy();					
 			}
 			return false;
+		} finally {
+			if(process != null){
+				processes.remove(process);
+			}
 		}
 
-		process = null;
-		
 		return true;
 	}
 
-	private void handleProcessOutput(final Process process, final Log logger){
+	private void handleProcessOutput(final Process process, final Log logger, final String outputPrefix){
 
 		Thread reader = new Thread(){
 			@Override
@@ -304,8 +340,11 @@ public class EvoSuiteRunner {
 
 					while(!this.isInterrupted()){
 						String line = in.readLine();
-						if(line!=null && !line.isEmpty()){
-							logger.info(line);
+						if(line == null){
+							break; //process is over. with several processes, do not keep spinning on the closed stream
+						}
+						if(!line.isEmpty()){
+							logger.info(outputPrefix + line);
 						}
 					}
 				} catch(Exception e){
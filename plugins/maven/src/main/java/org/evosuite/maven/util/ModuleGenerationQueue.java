@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.maven.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Test generation of all the modules of a reactor at the same time, instead
+ * of one module after the other.
+ * 
+ * <p>
+ * Each module adds its target, with the classpath already resolved by Maven.
+ * Every module expected to run the goal must then be marked as visited, even
+ * if it has nothing to test. This does not rely on the order of the modules,
+ * so it also works for parallel builds and when the last module of the
+ * reactor does not run the goal.
+ * Once all modules have been visited, the CTG processes of all of them are
+ * run on a shared pool of cores: each module gets a number of cores
+ * proportional to its number of classes (largest modules first), and waits
+ * for them to be free before starting. Each CTG process runs in the folder of
+ * its module, so results end up in the <code>.evosuite</code> folder of that
+ * module as usual.
+ */
+public class ModuleGenerationQueue {
+
+	public static class ModuleTarget {
+
+		private final String name;
+
+		private final String dir;
+
+		private final List<String> params;
+
+		private final int numberOfClasses;
+
+		/**
+		 * @param params
+		 *            parameters for EvoSuite, apart from cores and memory which
+		 *            are decided when the module is scheduled
+		 */
+		public ModuleTarget(String name, String dir, List<String> params, int numberOfClasses) {
+			this.name = name;
+			this.dir = dir;
+			this.params = new ArrayList<>(params);
+			this.numberOfClasses = numberOfClasses;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getNumberOfClasses() {
+			return numberOfClasses;
+		}
+	}
+
+	private static final List<ModuleTarget> queue = new ArrayList<>();
+
+	private static final Set<String> expected = new LinkedHashSet<>();
+
+	private static final Set<String> visited = new HashSet<>();
+
+	private static final Set<String> failed = new LinkedHashSet<>();
+
+	/**
+	 * Identifies the current build, as the plugin classes can be reused among builds
+	 */
+	private static Object build;
+
+	private ModuleGenerationQueue() {
+	}
+
+	/**
+	 * Start tracking a new build, unless it is the current one. Anything left
+	 * from a previous build is discarded
+	 *
+	 * @param build
+	 *            the same object for all the modules of a build
+	 * @param expectedModules
+	 *            the modules that are going to run the goal
+	 */
+	public static synchronized void init(Object build, Collection<String> expectedModules) {
+		if (ModuleGenerationQueue.build == build) {
+			return;
+		}
+		ModuleGenerationQueue.build = build;
+		queue.clear();
+		visited.clear();
+		failed.clear();
+		expected.clear();
+		expected.addAll(expectedModules);
+	}
+
+	public static synchronized void add(ModuleTarget module) {
+		queue.add(module);
+	}
+
+	/**
+	 * Record that the given module could not add its target, so that the
+	 * module running the queued ones can report it
+	 */
+	public static synchronized void addFailed(String module) {
+		failed.add(module);
+	}
+
+	/**
+	 * @return the modules that could not add their target
+	 */
+	public static synchronized Set<String> getFailed() {
+		return new LinkedHashSet<>(failed);
+	}
+
+	/**
+	 * Mark the given module as done, whether it added a target or not
+	 *
+	 * @return all the queued modules, which are removed from the queue, if
+	 *         this was the last expected module. {@code null} otherwise
+	 */
+	public static synchronized List<ModuleTarget> visit(String module) {
+		visited.add(module);
+		if (!visited.containsAll(expected)) {
+			return null;
+		}
+		return drain();
+	}
+
+	/**
+	 * @return the expected modules that have not been visited yet
+	 */
+	public static synchronized Set<String> getNotVisited() {
+		Set<String> missing = new LinkedHashSet<>(expected);
+		missing.removeAll(visited);
+		return missing;
+	}
+
+	/**
+	 * @return all the modules added so far, which are removed from the queue
+	 */
+	public static synchronized List<ModuleTarget> drain() {
+		List<ModuleTarget> modules = new ArrayList<>(queue);
+		queue.clear();
+		return modules;
+	}
+
+	/**
+	 * Count the top-level classes in the given folders, used as an estimate of
+	 * the work for a module
+	 * 
+	 * @param target
+	 *            folders separated by {@link File#pathSeparator}
+	 */
+	public static int countClasses(String target) {
+		int count = 0;
+		for (String element : target.split(File.pathSeparator)) {
+			File folder = new File(element);
+			if (!folder.isDirectory()) {
+				continue;
+			}
+			try (Stream<Path> files = Files.walk(folder.toPath())) {
+				count += (int) files.map(p -> p.getFileName().toString())
+						.filter(n -> n.endsWith(".class") && !n.contains("$"))
+						.count();
+			} catch (IOException e) {
+				// just an estimate
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Run the test generation of all the given modules. This is blocking
+	 * 
+	 * @param commonParams
+	 *            parameters added to the ones of each module
+	 * @return whether all the EvoSuite processes completed correctly
+	 */
+	public static boolean runAll(List<ModuleTarget> modules, EvoSuiteRunner runner, int cores, int memoryInMB,
+			List<String> commonParams, Log log) {
+
+		if (modules.isEmpty()) {
+			return true;
+		}
+
+		int totalCores = Math.max(1, cores);
+		int memoryPerCore = Math.max(1, memoryInMB / totalCores);
+
+		long totalClasses = 0;
+		for (ModuleTarget module : modules) {
+			totalClasses += Math.max(1, module.numberOfClasses);
+		}
+
+		List<ModuleTarget> sorted = new ArrayList<>(modules);
+		sorted.sort((a, b) -> Integer.compare(b.numberOfClasses, a.numberOfClasses));
+
+		/*
+		 * the fair semaphore starts the modules in order, even if a later
+		 * one would need fewer cores than the ones currently free
+		 */
+		Semaphore freeCores = new Semaphore(totalCores, true);
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(totalCores, sorted.size()));
+
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (ModuleTarget module : sorted) {
+			long share = Math.round((double) totalCores * Math.max(1, module.numberOfClasses) / totalClasses);
+			int moduleCores = (int) Math.max(1, Math.min(totalCores, share));
+
+			results.add(pool.submit(() -> {
+				freeCores.acquire(moduleCores);
+				try {
+					List<String> params = new ArrayList<>(module.params);
+					params.addAll(commonParams);
+					params.add("-Dctg_memory=" + (memoryPerCore * moduleCores));
+					params.add("-Dctg_cores=" + moduleCores);
+
+					log.info("Generating tests for module " + module.name + " (" + module.numberOfClasses
+							+ " classes) with " + moduleCores + " core(s)");
+					boolean ok = runner.runEvoSuite(module.dir, params, "[" + module.name + "] ");
+					if (!ok) {
+						log.error("Test generation failed for module " + module.name);
+					}
+					return ok;
+				} finally {
+					freeCores.release(moduleCores);
+				}
+			}));
+		}
+
+		boolean ok = true;
+		try {
+			for (Future<Boolean> result : results) {
+				try {
+					ok = result.get() && ok;
+				} catch (ExecutionException e) {
+					log.error("Test generation failed: " + e.getCause(), e.getCause());
+					ok = false;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			ok = false;
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return ok;
+	}
+}
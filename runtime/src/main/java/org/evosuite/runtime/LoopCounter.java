@@ -20,6 +20,7 @@
 package org.evosuite.runtime;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -29,7 +30,13 @@ import java.util.List;
  *
  * <p>
  * Therefore, for each loop in the instrumented CUTs, we can have a limit, and throw an exception
- * if too many iterations have occurred
+ * if too many iterations have occurred. The limit is
+ * {@link RuntimeSettings#maxNumberOfIterationsPerLoop}.
+ *
+ * <p>
+ * Note: the instrumented code calls {@link #checkLoopIteration(int)} on each jump, so that
+ * has to stay cheap: counters are kept in primitive arrays, and the static method is small
+ * enough to be inlined by the JIT.
  *
  * Created by Andrea Arcuri on 29/03/15.
  */
@@ -37,16 +44,46 @@ public class LoopCounter {
 
     private static final LoopCounter singleton = new LoopCounter();
 
+    private static final String UNKNOWN_LOCATION = "unknown";
+
     private boolean activated = true;
     
     /**
-     * Number of iterations so far
+     * Number of iterations so far, indexed by loop
+     */
+    private long[] counters;
+
+    /**
+     * Overall number of iterations, for each loop, over all the resets
+     */
+    private long[] totals;
+
+    /**
+     * Number of indices given so far
+     */
+    private int size;
+
+    /**
+     * Where each loop is (class and method name), if known
+     */
+    private final List<String> locations;
+
+    /**
+     * Highest number of iterations of a loop between two resets
+     */
+    private long maxIterations;
+
+    /**
+     * How many times a loop went over its budget
      */
-    private List<Long> counters;
+    private int exceededBudgets;
 
 
     private LoopCounter(){
-        counters = new ArrayList<>();
+        counters = new long[16];
+        totals = new long[16];
+        size = 0;
+        locations = new ArrayList<>();
     }
 
     public static LoopCounter getInstance(){
@@ -54,7 +91,18 @@ public class LoopCounter {
     }
 
     public void reset(){
-        counters.clear();
+        long[] c = counters;
+        // note: instrumented code could use indices given by another JVM, ie >= size
+        for (int i = 0; i < c.length; i++) {
+            long value = c[i];
+            if (value != 0) {
+                totals[i] += value;
+                if (value > maxIterations) {
+                    maxIterations = value;
+                }
+                c[i] = 0;
+            }
+        }
     }
     
     public void setActive(boolean active) {
@@ -72,11 +120,45 @@ public class LoopCounter {
      * @return the next valid index for a new loop
      */
     public int getNewIndex(){
-        int index = counters.size();
-        counters.add(0L);
+        return getNewIndex(UNKNOWN_LOCATION);
+    }
+
+    /**
+     * This is called during bytecode instrumentation to determine which index
+     * to assign to a new parsed loop
+     *
+     * @param location where the loop is, eg class and method name
+     * @return the next valid index for a new loop
+     */
+    public synchronized int getNewIndex(String location){
+        int index = size;
+        ensureCapacity(index + 1);
+        size = index + 1;
+        while (locations.size() < index) {
+            locations.add(UNKNOWN_LOCATION);
+        }
+        locations.add(location);
         return index;
     }
 
+    /**
+     * This is added directly in the instrumented CUT after each loop statement
+     *
+     * @param index
+     * @throws TooManyResourcesException if this loop has executed too many iterations
+     */
+    public static void checkLoopIteration(int index) throws TooManyResourcesException {
+        LoopCounter lc = singleton;
+        long[] c = lc.counters;
+        long max = RuntimeSettings.maxNumberOfIterationsPerLoop;
+        if (!lc.activated || max < 0 || index < 0 || index >= c.length) {
+            lc.checkLoop(index);
+            return;
+        }
+        if (++c[index] >= max) {
+            lc.budgetExceeded();
+        }
+    }
 
     /**
      * This is added directly in the instrumented CUT after each loop statement
@@ -98,31 +180,91 @@ public class LoopCounter {
         }
         
         //first check initialization
-        int size = counters.size();
-        if(index >= size){
-            for(int i=0; i < 1 + (index - size); i++){
-                counters.add(0L);
+        if(index >= counters.length){
+            synchronized (this) {
+                ensureCapacity(index + 1);
+                if (index >= size) {
+                    size = index + 1;
+                }
             }
         }
-        assert index < counters.size();
+        assert index < counters.length;
 
         //do increment
-        try {
-            long value = counters.get(index) + 1L;
-            counters.set(index, value);
-
-            if(value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
+        if(++counters[index] >= RuntimeSettings.maxNumberOfIterationsPerLoop) {
+            budgetExceeded();
+        }
+    }
+
+    private void budgetExceeded() throws TooManyResourcesException {
+        if(isInStaticInit()) {
+            return;
+        }
+        exceededBudgets++;
+        this.reset();
+        throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                RuntimeSettings.maxNumberOfIterationsPerLoop);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= counters.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, counters.length * 2);
+        totals = Arrays.copyOf(totals, newCapacity);
+        // counters last, as its length is what the fast path checks
+        counters = Arrays.copyOf(counters, newCapacity);
+    }
+
+    /**
+     * @return the highest number of iterations a loop went through in a single test execution
+     */
+    public long getMaxIterations() {
+        reset();
+        return maxIterations;
+    }
+
+    /**
+     * @return how many times a loop was stopped because it went over its budget
+     */
+    public int getNumberOfExceededBudgets() {
+        return exceededBudgets;
+    }
+
+    /**
+     * Return a description of the loops with most iterations so far
+     *
+     * @param n how many loops to return at most
+     * @return a list of "location [index]: iterations", sorted by iterations
+     */
+    public synchronized List<String> getHottestLoops(int n) {
+        reset();
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < size && i < totals.length; i++) {
+            if (totals[i] > 0) {
+                indices.add(i);
             }
-        } catch(NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
         }
+        indices.sort((a, b) -> Long.compare(totals[b], totals[a]));
+
+        List<String> hottest = new ArrayList<>();
+        for (int i = 0; i < n && i < indices.size(); i++) {
+            int index = indices.get(i);
+            String location = index < locations.size() ? locations.get(index) : UNKNOWN_LOCATION;
+            hottest.add(location + " [" + index + "]: " + totals[index]);
+        }
+        return hottest;
     }
 
+    /**
+     * Forget the statistics collected so far on the loops
+     */
+    public synchronized void clearStatistics() {
+        reset();
+        Arrays.fill(totals, 0L);
+        maxIterations = 0;
+        exceededBudgets = 0;
+    }
 
     private boolean isInStaticInit() {
         for (StackTraceElement elem : new Throwable().getStackTrace()) {
@@ -67,9 +67,9 @@ public class Runtime {
 		MockFramework.enable();
 
 		/*
-		 * TODO: If the setting of mockJVMNonDeterminism changes
-		 *       at runtime, then the MethodCallReplacementCache
-		 *       would need to be reset.
+		 * Note: if the setting of mockJVMNonDeterminism changes at
+		 *       runtime, MethodCallReplacementCache switches to the
+		 *       table built for the new settings by itself.
 		 */
 		if (RuntimeSettings.mockJVMNonDeterminism) {			
 			Random.reset();
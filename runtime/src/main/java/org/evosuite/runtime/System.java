@@ -21,13 +21,12 @@
 package org.evosuite.runtime;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.PropertyPermission;
 import java.util.Set;
 
+import org.evosuite.runtime.util.IdentityHashCodeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -228,7 +227,7 @@ public class System {
 		return currentTime; //++;
 	}
 
-	private static final Map<Integer, Integer> hashKeys = new HashMap<>();
+	private static final IdentityHashCodeRegistry hashKeys = new IdentityHashCodeRegistry();
 
 	public static void registerObjectForIdentityHashCode(Object o) {
 		identityHashCode(o);
@@ -238,13 +237,7 @@ public class System {
 		if(o == null)
 			return 0;
 
-		synchronized (hashKeys) {
-			Integer realId = java.lang.System.identityHashCode(o);
-			if(!hashKeys.containsKey(realId))
-				hashKeys.put(realId, hashKeys.size() + 1);
-
-			return hashKeys.get(realId);
-		}
+		return hashKeys.getId(o);
 	}
 
 	public static String toString(Object o) {
@@ -69,7 +69,6 @@ public class TransformerForTests implements ClassFileTransformer {
 		} else {
 			//ClassResetter.getInstance().setClassLoader(loader);
 			
-			ClassReader reader = new ClassReader(classfileBuffer);
 			synchronized(instrumentedClasses){
 				instrumentedClasses.add(classWithDots);
 			}
@@ -81,7 +80,7 @@ public class TransformerForTests implements ClassFileTransformer {
 				return classfileBuffer;
 			}
 
-			return instrumenter.transformBytes(loader, className, reader, false); // TODO: Need to set skip instrumentation for test class
+			return instrumenter.transformBytes(loader, className, classfileBuffer, false); // TODO: Need to set skip instrumentation for test class
 		}
 	}
 	
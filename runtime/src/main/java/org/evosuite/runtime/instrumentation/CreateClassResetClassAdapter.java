@@ -314,6 +314,13 @@ public class CreateClassResetClassAdapter extends ClassVisitor {
 		super.visitEnd();
 	}
 
+	/**
+	 * @return the static fields whose <code>final</code> modifier was removed
+	 */
+	public List<String> getModifiedStaticFields() {
+		return modifiedStaticFields;
+	}
+
 	@Deprecated
 	private void determineSerialisableUID() {
 		try {
@@ -27,7 +27,6 @@ import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.runtime.util.Inputs;
-import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -111,7 +110,7 @@ public class EvoClassLoader extends ClassLoader {
 			}
 			boolean shouldSkip = skipInstrumentationForPrefix.stream().anyMatch(s -> fullyQualifiedTargetClass.startsWith(s));
 			byte[] byteBuffer = instrumentation.transformBytes(this, className,
-			                                                   new ClassReader(is), shouldSkip);
+			                                                   InstrumentedBytesCache.readAllBytes(is), shouldSkip);
 			createPackageDefinition(fullyQualifiedTargetClass);
 			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0,
 			                              byteBuffer.length);
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-JVM cache of the bytes produced by {@link RuntimeInstrumentation}.
+ *
+ * <p>
+ * Each test class run with a separate {@link EvoClassLoader} would otherwise
+ * instrument again all the SUT classes it uses. Entries are keyed by a hash
+ * of the original bytes together with the instrumentation settings and the
+ * class loader used to compute the stack map frames, so the same class
+ * instrumented in the same way is only processed once.
+ *
+ * <p>
+ * Entries are only kept in memory: the instrumented bytes refer to loop
+ * indices given by the {@link org.evosuite.runtime.LoopCounter} of this JVM,
+ * so they cannot be reused by another one. The other side effects of the
+ * instrumentation (final classes and final static fields) are stored with
+ * each entry, to be registered again when the entry is reused.
+ */
+public class InstrumentedBytesCache {
+
+	/**
+	 * Upper bound on the total size of the cached bytes
+	 */
+	public static final long MAX_CACHED_BYTES = 64L * 1024L * 1024L;
+
+	/**
+	 * The result of instrumenting a class
+	 */
+	public static class Entry {
+
+		private final byte[] bytes;
+
+		private final List<String> finalClasses;
+
+		private final List<String> modifiedStaticFields;
+
+		private final boolean complete;
+
+		/**
+		 * @param complete
+		 *            false if the instrumentation failed, in which case the
+		 *            entry is not cached
+		 */
+		public Entry(byte[] bytes, List<String> finalClasses, List<String> modifiedStaticFields, boolean complete) {
+			this.bytes = bytes;
+			this.finalClasses = Collections.unmodifiableList(new ArrayList<>(finalClasses));
+			this.modifiedStaticFields = Collections.unmodifiableList(new ArrayList<>(modifiedStaticFields));
+			this.complete = complete;
+		}
+
+		/**
+		 * @return the instrumented bytes, which must not be modified
+		 */
+		public byte[] getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * @return the classes (with dots) whose final modifier was removed
+		 */
+		public List<String> getFinalClasses() {
+			return finalClasses;
+		}
+
+		/**
+		 * @return the static fields whose final modifier was removed
+		 */
+		public List<String> getModifiedStaticFields() {
+			return modifiedStaticFields;
+		}
+
+		public boolean isComplete() {
+			return complete;
+		}
+	}
+
+	private static final InstrumentedBytesCache instance = new InstrumentedBytesCache();
+
+	/** In access order, so the least recently used entries are evicted first */
+	private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long cachedBytes = 0;
+
+	/**
+	 * Unique id of each class loader used in a key. Weak keys, so the
+	 * class loaders can still be garbage collected
+	 */
+	private static final Map<ClassLoader, Integer> loaderIds = new WeakHashMap<>();
+
+	private static int nextLoaderId = 0;
+
+	private InstrumentedBytesCache() {
+	}
+
+	public static InstrumentedBytesCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * @param className
+	 *            class name with slashes
+	 * @param original
+	 *            the bytes of the class before instrumentation
+	 * @param configuration
+	 *            description of the settings the instrumentation depends on
+	 * @param typeLoader
+	 *            the class loader through which the common super classes are
+	 *            looked up when the frames are computed, as they depend on its
+	 *            classpath. Can be {@code null}
+	 * @return the key under which the instrumented bytes are stored
+	 */
+	public static String computeKey(String className, byte[] original, String configuration,
+			ClassLoader typeLoader) {
+		return className + '@' + configuration + '@' + getLoaderId(typeLoader) + '@' + sha256(original);
+	}
+
+	/**
+	 * Ids are never reused, unlike identity hash codes, so an entry cannot be
+	 * picked up by a new class loader with a different classpath
+	 */
+	private static synchronized int getLoaderId(ClassLoader loader) {
+		if (loader == null) {
+			return -1;
+		}
+		Integer id = loaderIds.get(loader);
+		if (id == null) {
+			id = nextLoaderId++;
+			loaderIds.put(loader, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @return the cached entry, or {@code null} if none
+	 */
+	public synchronized Entry get(String key) {
+		return cache.get(key);
+	}
+
+	/**
+	 * Store the entry, unless the instrumentation was not complete
+	 */
+	public synchronized void put(String key, Entry entry) {
+		if (!entry.isComplete() || entry.getBytes().length > MAX_CACHED_BYTES) {
+			return;
+		}
+		Entry previous = cache.put(key, entry);
+		if (previous != null) {
+			cachedBytes -= previous.getBytes().length;
+		}
+		cachedBytes += entry.getBytes().length;
+
+		Iterator<Map.Entry<String, Entry>> iterator = cache.entrySet().iterator();
+		while (cachedBytes > MAX_CACHED_BYTES && iterator.hasNext()) {
+			cachedBytes -= iterator.next().getValue().getBytes().length;
+			iterator.remove();
+		}
+	}
+
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	public synchronized void clear() {
+		cache.clear();
+		cachedBytes = 0;
+	}
+
+	private static String sha256(byte[] data) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every JVM has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+		byte[] hash = digest.digest(data);
+		StringBuilder sb = new StringBuilder(2 * hash.length);
+		for (byte b : hash) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	static byte[] readAllBytes(InputStream is) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = is.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
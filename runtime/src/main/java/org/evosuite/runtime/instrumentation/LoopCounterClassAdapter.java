@@ -28,10 +28,19 @@ import org.objectweb.asm.Opcodes;
  */
 public class LoopCounterClassAdapter extends ClassVisitor {
 
+    private String className;
+
     public LoopCounterClassAdapter(ClassVisitor cv) {
         super(Opcodes.ASM9, cv);
     }
 
+    @Override
+    public void visit(int version, int access, String name, String signature,
+                      String superName, String[] interfaces) {
+        className = name;
+        super.visit(version, access, name, signature, superName, interfaces);
+    }
+
     @Override
     public MethodVisitor visitMethod(int access, String name, String desc,
                                      String signature, String[] exceptions) {
@@ -50,6 +59,6 @@ public class LoopCounterClassAdapter extends ClassVisitor {
         }
 
 
-        return new LoopCounterMethodAdapter(mv, name, desc);
+        return new LoopCounterMethodAdapter(mv, className, name, desc);
     }
 }
@@ -39,13 +39,20 @@ public class LoopCounterMethodAdapter extends MethodVisitor {
 
     private static final String LOOP_COUNTER = Type.getInternalName(LoopCounter.class);
 
+    private final String location;
+
     public LoopCounterMethodAdapter(MethodVisitor mv, String methodName, String desc) {
+        this(mv, null, methodName, desc);
+    }
+
+    public LoopCounterMethodAdapter(MethodVisitor mv, String className, String methodName, String desc) {
         super(Opcodes.ASM9, mv);
+        this.location = (className == null ? "" : className.replace('/', '.') + ".") + methodName + desc;
     }
 
     @Override
     public void visitMaxs(int maxStack, int maxLocals) {
-        super.visitMaxs(maxStack+2, maxLocals);
+        super.visitMaxs(maxStack+1, maxLocals);
     }
 
     @Override
@@ -56,14 +63,11 @@ public class LoopCounterMethodAdapter extends MethodVisitor {
 
     private void addInstrumentation(){
 
-        int index = LoopCounter.getInstance().getNewIndex();
-
-        mv.visitMethodInsn(Opcodes.INVOKESTATIC,LOOP_COUNTER,
-                "getInstance", "()L"+LOOP_COUNTER+";" , false);
+        int index = LoopCounter.getInstance().getNewIndex(location);
 
         mv.visitLdcInsn(index);
 
-        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, LOOP_COUNTER,
-                "checkLoop", "(I)V", false);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, LOOP_COUNTER,
+                "checkLoopIteration", "(I)V", false);
     }
 }
@@ -211,6 +211,10 @@ public class MethodCallReplacement {
 		return methodName;
 	}
 
+	public String getDesc() {
+		return desc;
+	}
+
 	public String getMethodNameWithDesc() {
 		return methodName+desc;
 	}
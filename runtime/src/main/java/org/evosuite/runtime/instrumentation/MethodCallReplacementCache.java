@@ -24,6 +24,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,18 +44,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Table of the method calls to replace during instrumentation.
+ *
+ * <p>
+ * Building it requires reflecting over all the mocks in {@link MockList}, so
+ * a table is built only once per JVM for each combination of the
+ * {@link RuntimeSettings} it depends on, and then shared (it is immutable
+ * once built). Resetting the singleton does not throw the tables away.
+ * </p>
+ *
  * @author gordon
  */
 public class MethodCallReplacementCache {
 
 	private static final Logger logger = LoggerFactory.getLogger(MethodCallReplacementCache.class);
 
-	private static MethodCallReplacementCache instance = null;
+	private static volatile MethodCallReplacementCache instance = null;
+
+	/**
+	 * Tables already built, indexed by the configuration they were built for
+	 */
+	private static final Map<Integer, MethodCallReplacementCache> prebuilt = new HashMap<>();
+
+	/**
+	 * The {@link RuntimeSettings} this table was built for
+	 */
+	private final int configuration;
 
 	/**
-	 * method replacements, which are called with Opcodes.INVOKESTATIC
+	 * method replacements, which are called with Opcodes.INVOKESTATIC,
+	 * indexed by owner, method name and descriptor
 	 */
-	private final Map<String, Map<String, MethodCallReplacement>> replacementCalls = new HashMap<>();
+	private Map<String, Map<String, Map<String, MethodCallReplacement>>> replacementCalls = new HashMap<>();
 
 	/**
 	 * method replacements, which are called with Opcodes.INVOKEVIRTUAL
@@ -65,9 +86,11 @@ public class MethodCallReplacementCache {
 	/**
 	 * method replacements, which are called with Opcodes.INVOKESPECIAL
 	 */
-	private final Map<String, Map<String, MethodCallReplacement>> specialReplacementCalls = new HashMap<>();
+	private Map<String, Map<String, Map<String, MethodCallReplacement>>> specialReplacementCalls = new HashMap<>();
+
+	private MethodCallReplacementCache(int configuration) {
 
-	private MethodCallReplacementCache() {
+		this.configuration = configuration;
 
 		if (RuntimeSettings.mockJVMNonDeterminism) {
 
@@ -86,31 +109,101 @@ public class MethodCallReplacementCache {
 
 		handleMockList();
 
+		replacementCalls = freeze(replacementCalls);
+		specialReplacementCalls = freeze(specialReplacementCalls);
 	}
 
 	public static MethodCallReplacementCache getInstance() {
-		if (instance == null) {
-			instance = new MethodCallReplacementCache();
+		MethodCallReplacementCache current = instance;
+		int configuration = getCurrentConfiguration();
+		if (current != null && current.configuration == configuration) {
+			return current;
 		}
-		return instance;
+		synchronized (prebuilt) {
+			current = prebuilt.get(configuration);
+			if (current == null) {
+				current = new MethodCallReplacementCache(configuration);
+				prebuilt.put(configuration, current);
+			}
+			instance = current;
+		}
+		return current;
 	}
 
 	public static void resetSingleton() {
 		instance = null;
 	}
 
-	private void addReplacementCall(MethodCallReplacement replacement) {
-		if (!replacementCalls.containsKey(replacement.getClassName())) {
-			replacementCalls.put(replacement.getClassName(), new HashMap<>());
+	/**
+	 * Encode the settings that affect which replacements are created
+	 *
+	 * @return
+	 */
+	private static int getCurrentConfiguration() {
+		int configuration = 0;
+		if (RuntimeSettings.mockJVMNonDeterminism) {
+			configuration |= 1;
+		}
+		if (RuntimeSettings.useVFS) {
+			configuration |= 2;
+		}
+		if (RuntimeSettings.useVNET) {
+			configuration |= 4;
 		}
-		replacementCalls.get(replacement.getClassName()).put(replacement.getMethodNameWithDesc(), replacement);
+		if (RuntimeSettings.mockGUI) {
+			configuration |= 8;
+		}
+		return configuration;
 	}
 
-	private void addSpecialReplacementCall(MethodCallReplacement replacement) {
-		if (!specialReplacementCalls.containsKey(replacement.getClassName())) {
-			specialReplacementCalls.put(replacement.getClassName(), new HashMap<>());
+	private static Map<String, Map<String, Map<String, MethodCallReplacement>>> freeze(
+			Map<String, Map<String, Map<String, MethodCallReplacement>>> table) {
+		Map<String, Map<String, Map<String, MethodCallReplacement>>> frozen = new HashMap<>(table.size() * 2);
+		for (Map.Entry<String, Map<String, Map<String, MethodCallReplacement>>> owner : table.entrySet()) {
+			Map<String, Map<String, MethodCallReplacement>> methods = new HashMap<>(owner.getValue().size() * 2);
+			for (Map.Entry<String, Map<String, MethodCallReplacement>> method : owner.getValue().entrySet()) {
+				methods.put(method.getKey(), Collections.unmodifiableMap(new HashMap<>(method.getValue())));
+			}
+			frozen.put(owner.getKey(), Collections.unmodifiableMap(methods));
+		}
+		return Collections.unmodifiableMap(frozen);
+	}
+
+	private static void add(Map<String, Map<String, Map<String, MethodCallReplacement>>> table,
+			MethodCallReplacement replacement) {
+		table.computeIfAbsent(replacement.getClassName(), k -> new HashMap<>())
+				.computeIfAbsent(replacement.getMethodName(), k -> new HashMap<>())
+				.put(replacement.getDesc(), replacement);
+	}
+
+	private static MethodCallReplacement lookup(Map<String, Map<String, Map<String, MethodCallReplacement>>> table,
+			String className, String methodName, String desc) {
+		Map<String, Map<String, MethodCallReplacement>> methods = table.get(className);
+		if (methods == null) {
+			return null;
+		}
+		Map<String, MethodCallReplacement> descriptors = methods.get(methodName);
+		if (descriptors == null) {
+			return null;
+		}
+		return descriptors.get(desc);
+	}
+
+	private static MethodCallReplacement lookup(Map<String, Map<String, Map<String, MethodCallReplacement>>> table,
+			String className, String methodNameWithDesc) {
+		int index = methodNameWithDesc.indexOf('(');
+		if (index < 0) {
+			return null;
 		}
-		specialReplacementCalls.get(replacement.getClassName()).put(replacement.getMethodNameWithDesc(), replacement);
+		return lookup(table, className, methodNameWithDesc.substring(0, index), methodNameWithDesc.substring(index));
+	}
+
+	private void addReplacementCall(MethodCallReplacement replacement) {
+		add(replacementCalls, replacement);
+	}
+
+	private void addSpecialReplacementCall(MethodCallReplacement replacement) {
+		add(specialReplacementCalls, replacement);
 	}
 
 	// private void addVirtualReplacementCall(MethodCallReplacement replacement)
@@ -119,25 +212,33 @@ public class MethodCallReplacementCache {
 	// }
 
 	public boolean hasReplacementCall(String className, String methodNameWithDesc) {
-		if (!replacementCalls.containsKey(className))
-			return false;
-
-		return replacementCalls.get(className).containsKey(methodNameWithDesc);
+		return lookup(replacementCalls, className, methodNameWithDesc) != null;
 	}
 
 	public MethodCallReplacement getReplacementCall(String className, String methodNameWithDesc) {
-		return replacementCalls.get(className).get(methodNameWithDesc);
+		return lookup(replacementCalls, className, methodNameWithDesc);
 	}
 
-	public boolean hasSpecialReplacementCall(String className, String methodNameWithDesc) {
-		if (!specialReplacementCalls.containsKey(className))
-			return false;
+	/**
+	 * @return the replacement for the given call, or {@code null} if it should not be replaced
+	 */
+	public MethodCallReplacement getReplacementCall(String className, String methodName, String desc) {
+		return lookup(replacementCalls, className, methodName, desc);
+	}
 
-		return specialReplacementCalls.get(className).containsKey(methodNameWithDesc);
+	public boolean hasSpecialReplacementCall(String className, String methodNameWithDesc) {
+		return lookup(specialReplacementCalls, className, methodNameWithDesc) != null;
 	}
 
 	public MethodCallReplacement getSpecialReplacementCall(String className, String methodNameWithDesc) {
-		return specialReplacementCalls.get(className).get(methodNameWithDesc);
+		return lookup(specialReplacementCalls, className, methodNameWithDesc);
+	}
+
+	/**
+	 * @return the replacement for the given call, or {@code null} if it should not be replaced
+	 */
+	public MethodCallReplacement getSpecialReplacementCall(String className, String methodName, String desc) {
+		return lookup(specialReplacementCalls, className, methodName, desc);
 	}
 
 	// public Iterator<MethodCallReplacement> getVirtualReplacementCalls() {
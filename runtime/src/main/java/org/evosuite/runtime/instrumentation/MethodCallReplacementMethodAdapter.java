@@ -87,9 +87,10 @@ public class MethodCallReplacementMethodAdapter extends GeneratorAdapter {
 		// not for super calls because not all mock classes may be superclasses
 		// of the actual object. E.g. Throwable -> Exception -> RuntimeException
 		// A MockRuntimeException is not a subclass of MockException and MockThrowable
-		if(MethodCallReplacementCache.getInstance().hasReplacementCall(owner, name+desc) && 
+		MethodCallReplacementCache cache = MethodCallReplacementCache.getInstance();
+		MethodCallReplacement replacement = cache.getReplacementCall(owner, name, desc);
+		if(replacement != null &&
 				(opcode != Opcodes.INVOKESPECIAL || name.equals("<init>"))) {
-			MethodCallReplacement replacement = MethodCallReplacementCache.getInstance().getReplacementCall(owner, name+desc);
 			isReplaced = true;
 			replacement.insertMethodCall(this, Opcodes.INVOKESTATIC);
 			hasBeenInstrumented = true;
@@ -97,8 +98,8 @@ public class MethodCallReplacementMethodAdapter extends GeneratorAdapter {
 
 		// for constructors
 		if (!isReplaced) {
-			if(MethodCallReplacementCache.getInstance().hasSpecialReplacementCall(owner, name+desc)) {
-				MethodCallReplacement replacement = MethodCallReplacementCache.getInstance().getSpecialReplacementCall(owner, name+desc);
+			replacement = cache.getSpecialReplacementCall(owner, name, desc);
+			if(replacement != null) {
 				if (replacement.isTarget(owner, name, desc)
 						&& opcode == Opcodes.INVOKESPECIAL && name.equals("<init>")) {
 					isReplaced = true;
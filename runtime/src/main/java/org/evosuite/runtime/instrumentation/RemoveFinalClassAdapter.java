@@ -19,7 +19,9 @@
  */
 package org.evosuite.runtime.instrumentation;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.objectweb.asm.ClassVisitor;
@@ -29,6 +31,11 @@ import org.objectweb.asm.Opcodes;
 public class RemoveFinalClassAdapter extends ClassVisitor {
 	
 	public static final Set<String> finalClasses = new LinkedHashSet<>();
+
+	/**
+	 * The classes added to {@link #finalClasses} by this adapter
+	 */
+	private final List<String> visitedFinalClasses = new ArrayList<>();
 	
 	public RemoveFinalClassAdapter(ClassVisitor cv) {
 		super(Opcodes.ASM9, cv);
@@ -41,7 +48,7 @@ public class RemoveFinalClassAdapter extends ClassVisitor {
 	public void visit(int version, int access, String name, String signature,
 	        String superName, String[] interfaces) {
 		if((access & Opcodes.ACC_FINAL) == Opcodes.ACC_FINAL) {
-			finalClasses.add(name.replace('/', '.'));
+			addFinalClass(name);
 		}
 		if((access & Opcodes.ACC_ABSTRACT) == Opcodes.ACC_ABSTRACT &&
 				(access & Opcodes.ACC_PUBLIC) == 0 &&
@@ -61,7 +68,7 @@ public class RemoveFinalClassAdapter extends ClassVisitor {
 	@Override
 	public void visitInnerClass(String name, String outerName, String innerName, int access) {
 		if((access & Opcodes.ACC_FINAL) == Opcodes.ACC_FINAL) {
-			finalClasses.add(name.replace('/', '.'));
+			addFinalClass(name);
 		}
 		super.visitInnerClass(name, outerName, innerName, access & ~Opcodes.ACC_FINAL);
 	}
@@ -71,6 +78,20 @@ public class RemoveFinalClassAdapter extends ClassVisitor {
 		return super.visitMethod(access & ~Opcodes.ACC_FINAL, name, desc, signature, exceptions);
 	}
 	
+	private void addFinalClass(String name) {
+		String className = name.replace('/', '.');
+		finalClasses.add(className);
+		visitedFinalClasses.add(className);
+	}
+
+	/**
+	 * @return the names (with dots) of the classes whose final modifier was
+	 *         removed by this adapter
+	 */
+	public List<String> getVisitedFinalClasses() {
+		return visitedFinalClasses;
+	}
+
 	public static void reset() {
 		finalClasses.clear();
 	}
@@ -20,6 +20,7 @@
 package org.evosuite.runtime.instrumentation;
 
 import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.classhandling.ModifiedTargetStaticFields;
 import org.evosuite.runtime.util.ComputeClassWriter;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -28,7 +29,7 @@ import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.Collections;
 
 /**
  * This class is responsible for the bytecode instrumentation
@@ -108,8 +109,64 @@ public class RuntimeInstrumentation {
 		return false;
 	}
 
+	/**
+	 * Same as {@link #transformBytes(ClassLoader, String, ClassReader, boolean)},
+	 * but reusing the result of previous instrumentations of the same bytes
+	 * with the same settings and the same context class loader, if any
+	 *
+	 * @param classLoader
+	 * @param className
+	 *            class name with slashes
+	 * @param classfileBuffer
+	 *            bytes of the class to instrument
+	 * @param skipInstrumentation
+	 * @return the instrumented bytes, which must not be modified
+	 */
+	public byte[] transformBytes(ClassLoader classLoader, String className,
+			byte[] classfileBuffer, boolean skipInstrumentation) {
+
+		InstrumentedBytesCache cache = InstrumentedBytesCache.getInstance();
+		// ComputeClassWriter resolves the types through the context class loader
+		String key = InstrumentedBytesCache.computeKey(className, classfileBuffer,
+				getConfiguration(skipInstrumentation), Thread.currentThread().getContextClassLoader());
+
+		InstrumentedBytesCache.Entry entry = cache.get(key);
+		if (entry == null) {
+			entry = instrument(className, new ClassReader(classfileBuffer), skipInstrumentation);
+			cache.put(key, entry);
+		} else {
+			// registries might have been reset since the entry was created
+			RemoveFinalClassAdapter.finalClasses.addAll(entry.getFinalClasses());
+			if (!entry.getModifiedStaticFields().isEmpty()) {
+				ModifiedTargetStaticFields.getInstance().addFinalFields(entry.getModifiedStaticFields());
+			}
+		}
+		return entry.getBytes();
+	}
+
+	/**
+	 * @return a description of all the settings affecting {@link #transformBytes}
+	 */
+	private String getConfiguration(boolean skipInstrumentation) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(skipInstrumentation ? 'S' : '-');
+		sb.append(retransformingMode ? 'T' : '-');
+		sb.append(RuntimeSettings.resetStaticState ? 'R' : '-');
+		sb.append(RuntimeSettings.mockJVMNonDeterminism ? 'J' : '-');
+		sb.append(RuntimeSettings.useVFS ? 'F' : '-');
+		sb.append(RuntimeSettings.useVNET ? 'N' : '-');
+		sb.append(RuntimeSettings.mockGUI ? 'G' : '-');
+		sb.append(RuntimeSettings.maxNumberOfIterationsPerLoop >= 0 ? 'L' : '-');
+		return sb.toString();
+	}
+
 	public byte[] transformBytes(ClassLoader classLoader, String className,
 			ClassReader reader, boolean skipInstrumentation) {
+		return instrument(className, reader, skipInstrumentation).getBytes();
+	}
+
+	private InstrumentedBytesCache.Entry instrument(String className, ClassReader reader,
+			boolean skipInstrumentation) {
 
 		String classNameWithDots = className.replace('/', '.');
 
@@ -122,6 +179,8 @@ public class RuntimeInstrumentation {
 		ClassWriter writer = new ComputeClassWriter(asmFlags);
 
 		ClassVisitor cv = writer;
+		CreateClassResetClassAdapter resetClassAdapter = null;
+		RemoveFinalClassAdapter removeFinalClassAdapter = null;
 
 		if(!skipInstrumentation) {
 			if (RuntimeSettings.resetStaticState && !retransformingMode) {
@@ -129,7 +188,7 @@ public class RuntimeInstrumentation {
 			 * FIXME: currently reset does add a new method, but that does no work
 			 * when retransformingMode :(
 			 */
-				CreateClassResetClassAdapter resetClassAdapter = new CreateClassResetClassAdapter(cv, className, true);
+				resetClassAdapter = new CreateClassResetClassAdapter(cv, className, true);
 				cv = resetClassAdapter;
 			}
 
@@ -139,7 +198,8 @@ public class RuntimeInstrumentation {
 
 			cv = new KillSwitchClassAdapter(cv);
 
-			cv = new RemoveFinalClassAdapter(cv);
+			removeFinalClassAdapter = new RemoveFinalClassAdapter(cv);
+			cv = removeFinalClassAdapter;
 
 			if (RuntimeSettings.maxNumberOfIterationsPerLoop >= 0) {
 				cv = new LoopCounterClassAdapter(cv);
@@ -153,13 +213,18 @@ public class RuntimeInstrumentation {
 
 		cv = new JSRInlinerClassVisitor(cv);
 
+		boolean complete = true;
 		try {
 			cn.accept(cv);
 		} catch (Throwable ex) {
 			logger.error("Error while instrumenting class "+className+": "+ex.getMessage(),ex);
+			complete = false;
 		}
 
-		return writer.toByteArray();
+		return new InstrumentedBytesCache.Entry(writer.toByteArray(),
+				removeFinalClassAdapter == null ? Collections.<String>emptyList() : removeFinalClassAdapter.getVisitedFinalClasses(),
+				resetClassAdapter == null ? Collections.<String>emptyList() : resetClassAdapter.getModifiedStaticFields(),
+				complete);
 	}
 
 }
\ No newline at end of file
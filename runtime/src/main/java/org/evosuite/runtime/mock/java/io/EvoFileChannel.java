@@ -136,23 +136,39 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 			for(int j=offset; j<length; j++){
 				ByteBuffer dst = dsts[j];
 				int r = dst.remaining();
-				for(int i=0; i<r; i++){
-					int b = NativeMockedIO.read(path, posToUpdate);
-					if(b < 0){ //end of stream
-						return -1;
-					}
+				if(r == 0){
+					continue;
+				}
 
-					if(closed){
-						throw new AsynchronousCloseException();
+				int n;
+				if(dst.hasArray()){
+					n = NativeMockedIO.readBytes(path, posToUpdate, dst.array(), dst.arrayOffset() + dst.position(), r);
+					if(n > 0){
+						dst.position(dst.position() + n);
 					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
+				} else {
+					byte[] buffer = new byte[r];
+					n = NativeMockedIO.readBytes(path, posToUpdate, buffer, 0, r);
+					if(n > 0){
+						dst.put(buffer, 0, n);
 					}
+				}
 
-					dst.put((byte)b);
-					counter++;
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
+				}
+
+				if(n < 0){ //end of stream
+					return counter == 0 ? -1 : counter;
+				}
+				counter += n;
+				if(n < r){ //reached end of stream, no point in filling the next buffers
+					break;
 				}
 			}
 		}
@@ -203,26 +219,31 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 		int counter = 0;
 
-		byte[] buffer = new byte[1];
-
 		synchronized(readWriteMonitor){
 			for(int j=offset; j<length; j++){
 				ByteBuffer src = srcs[j];
 				int r = src.remaining();
-				for(int i=0; i<r; i++){
-					byte b = src.get();
-					buffer[0] = b;
-					NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, 1);
-					counter++;
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
+				if(r == 0){
+					continue;
+				}
 
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
+				if(src.hasArray()){
+					NativeMockedIO.writeBytes(path, posToUpdate, src.array(), src.arrayOffset() + src.position(), r);
+					src.position(src.position() + r);
+				} else {
+					byte[] buffer = new byte[r];
+					src.get(buffer);
+					NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, r);
+				}
+				counter += r;
+
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
 				}
 			}
 		}
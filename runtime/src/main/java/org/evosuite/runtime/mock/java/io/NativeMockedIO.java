@@ -60,6 +60,27 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+
+	/**
+	 * Bulk version of {@link #read(String, AtomicInteger)}
+	 *
+	 * @return the number of bytes read, or -1 if the end of the file was reached
+	 */
+	public static int readBytes(String path, AtomicInteger position, byte[] b, int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+
+		int n = vf.readBytes(position.get(), b, off, len);
+		if(n > 0){
+			position.addAndGet(n);
+		}
+
+		return n;
+	}
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
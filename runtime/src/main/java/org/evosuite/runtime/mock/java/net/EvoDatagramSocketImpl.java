@@ -89,10 +89,12 @@ public class EvoDatagramSocketImpl extends DatagramSocketImpl{
     public void receive(DatagramPacket p) throws IOException {
        DatagramPacket received = VirtualNetwork.getInstance().pullUdpPacket(localHost,localPort);
        if(received != null){
-           p.setData(received.getData());
+           //as for a real socket, the data is copied into the buffer of the given packet, truncated if needed
+           int length = Math.min(received.getLength(), p.getLength());
+           System.arraycopy(received.getData(), received.getOffset(), p.getData(), p.getOffset(), length);
            p.setAddress(received.getAddress());
            p.setPort(received.getPort());
-           p.setLength(received.getLength());
+           p.setLength(length);
        } else {
            //no point in simulating a blocking call
            throw new MockIOException("Simulated IO exception");
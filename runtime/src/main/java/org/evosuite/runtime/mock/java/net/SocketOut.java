@@ -70,7 +70,20 @@ public class SocketOut extends OutputStream{
 
 	@Override
 	public void write(byte[] b, int off, int len) throws IOException {
-		super.write(b, off, len);
+		if(off < 0 || len < 0 || len > b.length - off){
+			throw new IndexOutOfBoundsException();
+		}
+		if(len == 0){
+			return;
+		}
+
+		checkClosed();
+
+		if(isLocal){
+			tcp.writeToRemote(b, off, len);
+		} else {
+			tcp.writeToSUT(b, off, len);
+		}
 	}
 
 
@@ -39,8 +39,11 @@ import java.sql.SQLPermission;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.PropertyPermission;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -145,8 +148,18 @@ public class MSecurityManager extends SecurityManager {
 		 * is accessed during the security checks
 		 */		
 		boolean forceLoading = RuntimeSettings.mockJVMNonDeterminism;
+		/*
+		 * same for the key class of the decision cache
+		 */
+		new PermissionKey(new RuntimePermission("getStackTrace"), Sandbox.SandboxMode.OFF);
 	}
 
+	/**
+	 * Upper bound on the number of cached permission decisions. SUTs usually
+	 * ask for a small, fixed set of permissions, so once full we just stop caching
+	 */
+	private static final int MAX_CACHED_DECISIONS = 4096;
+
 	private final PermissionStatistics statistics = PermissionStatistics.getInstance();
 
 	private final SecurityManager defaultManager;
@@ -185,6 +198,14 @@ public class MSecurityManager extends SecurityManager {
 	 */
 	private final Set<Permission>  unrecognizedPermissions;
 
+	/**
+	 * Decisions taken for SUT (ie non-privileged) threads on permissions whose
+	 * outcome only depends on the permission itself and on the sandbox mode.
+	 * It is cleared each time the sandbox starts/ends executing a test case,
+	 * as some decisions depend on that state
+	 */
+	private final Map<PermissionKey, Boolean> decisionCache;
+
 	/**
 	 * Create a custom security manager for the SUT. The thread that create this
 	 * instance is automatically added as "privileged"
@@ -196,6 +217,7 @@ public class MSecurityManager extends SecurityManager {
 		executingTestCase = false;
 		privilegedThreadToIgnore = null;
 		unrecognizedPermissions = new CopyOnWriteArraySet<>();
+		decisionCache = new ConcurrentHashMap<>();
 
 		filesToDelete = new CopyOnWriteArraySet<>();
 	}
@@ -348,6 +370,7 @@ public class MSecurityManager extends SecurityManager {
 		}
 		
 		executingTestCase = true;
+		clearDecisionCache();
 	}
 
 	public boolean isExecutingTestCase() {
@@ -371,6 +394,15 @@ public class MSecurityManager extends SecurityManager {
 		}
 
 		executingTestCase = false;
+		clearDecisionCache();
+	}
+
+	/**
+	 * Forget all the cached permission decisions. This needs to be called
+	 * whenever the state on which those decisions are based changes
+	 */
+	public void clearDecisionCache() {
+		decisionCache.clear();
 	}
 
 	/**
@@ -527,6 +559,50 @@ public class MSecurityManager extends SecurityManager {
 
 
 
+		if (!isCacheable(perm)) {
+			return allowPermissionForSUT(perm);
+		}
+
+		PermissionKey key = new PermissionKey(perm, RuntimeSettings.sandboxMode);
+		Boolean decision = decisionCache.get(key);
+		if (decision == null) {
+			decision = allowPermissionForSUT(perm);
+			if (decisionCache.size() < MAX_CACHED_DECISIONS) {
+				decisionCache.put(key, decision);
+			}
+		}
+		return decision;
+	}
+
+	/**
+	 * Check whether the decision on the given permission for a SUT thread can be
+	 * cached, ie it does not depend on the call stack, on the VFS or on which
+	 * properties the SUT has read so far
+	 *
+	 * @param perm
+	 * @return
+	 */
+	private boolean isCacheable(Permission perm) {
+		if (perm instanceof FilePermission || perm instanceof PropertyPermission) {
+			return false;
+		}
+		if (perm instanceof RuntimePermission) {
+			// these depend on whether the call comes from AWT
+			String name = perm.getName().trim();
+			return !(name.equals("shutdownHooks") || name.equals("modifyThreadGroup")
+					|| name.equals("modifyThread"));
+		}
+		return true;
+	}
+
+	/**
+	 * Decide on a permission requested by a non-privileged thread
+	 *
+	 * @param perm
+	 * @return
+	 */
+	private boolean allowPermissionForSUT(Permission perm) {
+
 		if (RuntimeSettings.sandboxMode.equals(Sandbox.SandboxMode.IO)) {
 			// TODO: This makes JVM8 on MacOS crash
 			// PermissionStatistics.getInstance().countThreads(Thread.currentThread().getThreadGroup().activeCount());
@@ -1371,4 +1447,47 @@ public class MSecurityManager extends SecurityManager {
 
 		return false;
 	}
+
+	/**
+	 * Key of the decision cache: permissions are compared by type, name and
+	 * actions, as their own equals() could be redefined by the SUT
+	 */
+	private static final class PermissionKey {
+
+		private final Class<?> type;
+		private final String name;
+		private final String actions;
+		private final Sandbox.SandboxMode mode;
+		private final int hash;
+
+		PermissionKey(Permission perm, Sandbox.SandboxMode mode) {
+			this.type = perm.getClass();
+			this.name = perm.getName();
+			this.actions = perm.getActions();
+			this.mode = mode;
+			int h = type.hashCode();
+			h = 31 * h + (name == null ? 0 : name.hashCode());
+			h = 31 * h + (actions == null ? 0 : actions.hashCode());
+			h = 31 * h + (mode == null ? 0 : mode.hashCode());
+			this.hash = h;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof PermissionKey)) {
+				return false;
+			}
+			PermissionKey other = (PermissionKey) o;
+			return hash == other.hash && type == other.type && mode == other.mode
+					&& Objects.equals(name, other.name) && Objects.equals(actions, other.actions);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
 }
@@ -26,6 +26,7 @@ import org.evosuite.runtime.vnet.NativeTcp;
 import org.evosuite.runtime.vnet.RemoteTcpServer;
 import org.evosuite.runtime.vnet.VirtualNetwork;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
@@ -72,12 +73,18 @@ public class NetworkHandling {
 	 * 
 	 * @param sutServer  the host/port of the SUT 
 	 * @param data  if {@code null}, just simulate opening of connection
-	 * @return {@code false} if {@code sutServer} is {@code null}
+	 * @return {@code false} if {@code sutServer} is {@code null}, or if {@code data} does not fit
+	 * 			in the buffer of the connection
 	 */
 	public static boolean sendDataOnTcp(EvoSuiteLocalAddress sutServer, byte[] data){
 		if(sutServer==null){
 			return false;
 		}
+
+		if(data != null && data.length > NativeTcp.MAX_BUFFER_SIZE){
+			//checked before registering, so no connection is left behind
+			return false;
+		}
 		
 		NativeTcp connection = VirtualNetwork.getInstance().registerIncomingTcpConnection(
 				DEFAULT_REMOTE_ADDRESS, VirtualNetwork.getInstance().getNewRemoteEphemeralPort(),  
@@ -90,8 +97,11 @@ public class NetworkHandling {
 		 */
 		
 		if(data != null){
-			for(byte b : data){
-				connection.writeToSUT(b);
+			try {
+				connection.writeToSUT(data, 0, data.length);
+			} catch (IOException e) {
+				//cannot happen, as the data fits in the empty buffer of a new connection
+				throw new IllegalStateException(e);
 			}
 		}
 		//TODO close connection? or should rather be in another helper function? 
@@ -126,7 +136,8 @@ public class NetworkHandling {
      *
      * @param sutAddress
      * @param data
-     * @return
+     * @return {@code false} if {@code sutAddress} is {@code null}, if the remote host cannot be resolved,
+     *          or if too many packets are already buffered for {@code sutAddress}
      */
     public static boolean sendUdpPacket(EvoSuiteLocalAddress sutAddress, EvoSuiteRemoteAddress remoteAddress, byte[] data){
         if(sutAddress == null){
@@ -146,11 +157,9 @@ public class NetworkHandling {
             return false;
         }
 
-        VirtualNetwork.getInstance().sendPacketToSUT(data,
+        return VirtualNetwork.getInstance().sendPacketToSUT(data,
                 address,remoteAddress.getPort(),
                 sutAddress.getHost(), sutAddress.getPort());
-
-        return true;
     }
 
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Assigns deterministic hash codes to objects, in the order in which they are
+ * first seen.
+ *
+ * <p>
+ * Objects are compared by identity and only weakly referenced, so two objects
+ * with the same real identity hash code still get different ids, and
+ * garbage collected objects do not keep their entries alive. Ids come from a
+ * counter (and not from the size of the table), so they do not depend on when
+ * the GC clears an entry.
+ *
+ * <p>
+ * The table uses open addressing with linear probing on plain arrays. Entries
+ * whose referent has been collected are purged when the table needs to grow.
+ * All accesses go through a single lock: ids are assigned in the order in which
+ * threads register objects, as it would be with any other global counter.
+ */
+public final class IdentityHashCodeRegistry {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private WeakReference<?>[] keys;
+
+	private int[] hashes;
+
+	private int[] ids;
+
+	/**
+	 * Number of used slots, including the ones whose referent was collected
+	 */
+	private int used;
+
+	private int nextId;
+
+	public IdentityHashCodeRegistry() {
+		allocate(INITIAL_CAPACITY);
+		nextId = 1;
+	}
+
+	/**
+	 * Return the deterministic hash code of the given object, registering it
+	 * if it was not seen before
+	 *
+	 * @param o
+	 *            a non-null object
+	 * @return a positive id
+	 */
+	public synchronized int getId(Object o) {
+		final int hash = java.lang.System.identityHashCode(o);
+		final int mask = keys.length - 1;
+
+		int index = mix(hash) & mask;
+		WeakReference<?> ref;
+		while ((ref = keys[index]) != null) {
+			if (hashes[index] == hash && ref.get() == o) {
+				return ids[index];
+			}
+			index = (index + 1) & mask;
+		}
+
+		int id = nextId++;
+		keys[index] = new WeakReference<>(o);
+		hashes[index] = hash;
+		ids[index] = id;
+		used++;
+
+		if (used * 2 > keys.length) {
+			rehash();
+		}
+		return id;
+	}
+
+	/**
+	 * @return how many objects are currently registered and still alive
+	 */
+	public synchronized int size() {
+		int size = 0;
+		for (WeakReference<?> ref : keys) {
+			if (ref != null && ref.get() != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Forget all registered objects, and restart the ids from 1
+	 */
+	public synchronized void clear() {
+		if (keys.length == INITIAL_CAPACITY) {
+			Arrays.fill(keys, null);
+			used = 0;
+		} else {
+			allocate(INITIAL_CAPACITY);
+		}
+		nextId = 1;
+	}
+
+	private void allocate(int capacity) {
+		keys = new WeakReference<?>[capacity];
+		hashes = new int[capacity];
+		ids = new int[capacity];
+		used = 0;
+	}
+
+	private void rehash() {
+		WeakReference<?>[] oldKeys = keys;
+		int[] oldHashes = hashes;
+		int[] oldIds = ids;
+
+		int alive = 0;
+		for (WeakReference<?> ref : oldKeys) {
+			if (ref != null && ref.get() != null) {
+				alive++;
+			}
+		}
+
+		// only grow if purging the collected entries does not free enough space
+		int capacity = oldKeys.length;
+		while (alive * 4 > capacity) {
+			capacity *= 2;
+		}
+		allocate(capacity);
+
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			WeakReference<?> ref = oldKeys[i];
+			if (ref == null || ref.get() == null) {
+				continue;
+			}
+			int index = mix(oldHashes[i]) & mask;
+			while (keys[index] != null) {
+				index = (index + 1) & mask;
+			}
+			keys[index] = ref;
+			hashes[index] = oldHashes[i];
+			ids[index] = oldIds[i];
+			used++;
+		}
+	}
+
+	/**
+	 * Spread the bits of identity hash codes, which might not be uniform in
+	 * the lower bits
+	 */
+	private static int mix(int hash) {
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -19,10 +19,8 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * A virtual folder
@@ -32,18 +30,24 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class VFolder extends FSObject{
 
-	private final List<FSObject> children;
+	/**
+	 * Children indexed by name. Insertion order is kept, so that listing a folder
+	 * is deterministic. Access is synchronized on the map itself
+	 */
+	private final Map<String, FSObject> children;
 		
 	public VFolder(String path, VFolder parent) {
 		super(path, parent);
 		
-		children = new CopyOnWriteArrayList<>();
+		children = new LinkedHashMap<>();
 	}
 	
 	@Override
 	public boolean delete(){
-		if(children.size()>0){
-			return false;
+		synchronized (children) {
+			if(children.size()>0){
+				return false;
+			}
 		}
 		
 		return super.delete();
@@ -53,8 +57,13 @@ public class VFolder extends FSObject{
 		return parent == null && path==null;
 	}
 	
+	/**
+	 * Add the given child, unless there is already a child with the same name
+	 */
 	public void addChild(FSObject child){
-		children.add(child);
+		synchronized (children) {
+			children.putIfAbsent(child.getName(), child);
+		}
 	}
 	
 	public boolean removeChild(String name) throws IllegalArgumentException{
@@ -63,13 +72,21 @@ public class VFolder extends FSObject{
 			throw new IllegalArgumentException("Empty name");
 		}
 		
-		for(FSObject element : children){
-			if(name.equals(element.getName())){
-				return children.remove(element);				 
+		synchronized (children) {
+			return children.remove(name) != null;
+		}
+	}
+
+	/**
+	 * Re-index a child whose name has changed from {@code oldName}
+	 */
+	protected void renameChild(String oldName, FSObject child){
+		synchronized (children) {
+			if(children.get(oldName) == child){
+				children.remove(oldName);
 			}
+			children.putIfAbsent(child.getName(), child);
 		}
-		
-		return false;
 	}
 	
 	public boolean hasChild(String name){
@@ -77,11 +94,9 @@ public class VFolder extends FSObject{
 	}
 	
 	public String[] getChildrenNames(){
-		List<String> list = new ArrayList<>(children.size());
-		for (final FSObject child : children) {
-			list.add(child.getName());
-		}		
-		return list.toArray(new String[0]);
+		synchronized (children) {
+			return children.keySet().toArray(new String[0]);
+		}
 	}
 	
 	public FSObject getChild(String name){
@@ -89,12 +104,8 @@ public class VFolder extends FSObject{
 			throw new IllegalArgumentException("Empty name");
 		}
 
-		for (final FSObject current : children) {
-			if (name.equals(current.getName())) {
-				return current;
-			}
+		synchronized (children) {
+			return children.get(name);
 		}
-		
-		return null;
 	}
 }
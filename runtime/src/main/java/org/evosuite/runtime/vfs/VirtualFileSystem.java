@@ -23,8 +23,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -54,6 +57,11 @@ public final class VirtualFileSystem {
 
 	private static final Logger logger = LoggerFactory.getLogger(VirtualFileSystem.class);
 
+	/**
+	 * Max number of resolved paths kept in {@link #resolvedPaths}
+	 */
+	private static final int MAX_CACHED_PATHS = 1024;
+
 	/**
 	 * The only instance of this class
 	 */
@@ -100,6 +108,29 @@ public final class VirtualFileSystem {
 	 * 
 	 */
 	private final Set<LeakingResource> leakingResources;
+
+	/**
+	 * Cache from raw paths (as given by the SUT) to their absolute path and the VFS object
+	 * they resolve to. Access is synchronized on the map itself.
+	 * Entries are validated on access, and the whole cache is cleared whenever an object is
+	 * deleted or renamed, or the working directory changes
+	 */
+	private final Map<String, ResolvedPath> resolvedPaths;
+
+	/**
+	 * The working directory used to resolve the relative paths in {@link #resolvedPaths}
+	 */
+	private String resolvedPathsWorkingDir;
+
+	private static final class ResolvedPath {
+		private final String absolutePath;
+		private final FSObject target;
+
+		private ResolvedPath(String absolutePath, FSObject target) {
+			this.absolutePath = absolutePath;
+			this.target = target;
+		}
+	}
 	
 	//--------------------------------------------------------------------------
 
@@ -108,8 +139,16 @@ public final class VirtualFileSystem {
 	 */
 	private VirtualFileSystem() {
 		tmpFileCounter = new AtomicInteger(0);
-		accessedFiles = new CopyOnWriteArraySet<>(); //we only add during test execution, and read after
+		accessedFiles = ConcurrentHashMap.newKeySet(); //we only add during test execution, and read after
 		leakingResources =  new CopyOnWriteArraySet<>();
+		resolvedPaths = new LinkedHashMap<String, ResolvedPath>(16, 0.75f, true) {
+			private static final long serialVersionUID = -1739546215421765433L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ResolvedPath> eldest) {
+				return size() > MAX_CACHED_PATHS;
+			}
+		};
 		classesThatShouldThrowIOException = new CopyOnWriteArraySet<>(); //should only contain very few values
 	}
 
@@ -127,6 +166,7 @@ public final class VirtualFileSystem {
 	 */
 	public void resetSingleton() {
 		root = null;
+		clearResolvedPaths();
 		tmpFileCounter.set(0);
 		accessedFiles.clear();
 		shouldAllThrowIOException = false;
@@ -208,6 +248,7 @@ public final class VirtualFileSystem {
 	public void init() {
 
 		root = new VFolder(null, null);
+		clearResolvedPaths();
 
 		String workingDir = getWorkingDirPath();
 		createFolder(workingDir);
@@ -298,11 +339,48 @@ public final class VirtualFileSystem {
 	 * @return {@code null} if the object does not exist in the VFS
 	 */
 	public FSObject findFSObject(String rawPath) {
-		String path = new File(rawPath).getAbsolutePath();
-		String[] tokens = tokenize(path);
+		ResolvedPath cached = getResolvedPath(rawPath);
+		if (cached != null && cached.target != null && !cached.target.isDeleted()
+				&& cached.absolutePath.equals(cached.target.getPath())) {
+			markAccessedFile(cached.absolutePath);
+			return cached.target;
+		}
+
+		String path = cached != null ? cached.absolutePath : new File(rawPath).getAbsolutePath();
 
 		markAccessedFile(path);
 
+		FSObject target = resolve(path);
+		synchronized (resolvedPaths) {
+			resolvedPaths.put(rawPath, new ResolvedPath(path, target));
+		}
+		return target;
+	}
+
+	private ResolvedPath getResolvedPath(String rawPath) {
+		String workingDir = getWorkingDirPath();
+		synchronized (resolvedPaths) {
+			if (workingDir == null ? resolvedPathsWorkingDir != null : !workingDir.equals(resolvedPathsWorkingDir)) {
+				resolvedPaths.clear();
+				resolvedPathsWorkingDir = workingDir;
+				return null;
+			}
+			return resolvedPaths.get(rawPath);
+		}
+	}
+
+	private void clearResolvedPaths() {
+		synchronized (resolvedPaths) {
+			resolvedPaths.clear();
+		}
+	}
+
+	/**
+	 * Walk the VFS from the root along the tokens of the given absolute path
+	 */
+	private FSObject resolve(String path) {
+		String[] tokens = tokenize(path);
+
 		VFolder parent = root;
 		for (int i = 0; i < tokens.length; i++) {
 			String name = tokens[i];
@@ -333,6 +411,7 @@ public final class VirtualFileSystem {
 		if (obj == null || !obj.isWritePermission()) {
 			return false;
 		}
+		clearResolvedPaths();
 		return obj.delete();
 	}
 
@@ -381,6 +460,7 @@ public final class VirtualFileSystem {
 			return false;
 		}
 
+		clearResolvedPaths();
 		return src.rename(destination);
 	}
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vnet;
+
+/**
+ * A FIFO buffer of bytes backed by a circular array, which grows on demand
+ * up to a maximum capacity.
+ *
+ * <p>
+ * This class is not thread-safe, synchronization is left to its users
+ */
+final class ByteRingBuffer {
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final int maxCapacity;
+
+	private byte[] data;
+
+	/**
+	 * Position of the next byte to read
+	 */
+	private int head;
+
+	/**
+	 * Number of bytes in the buffer
+	 */
+	private int size;
+
+	ByteRingBuffer(int maxCapacity) {
+		if (maxCapacity <= 0) {
+			throw new IllegalArgumentException("Invalid capacity: " + maxCapacity);
+		}
+		this.maxCapacity = maxCapacity;
+		data = new byte[Math.min(INITIAL_CAPACITY, maxCapacity)];
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return how many bytes can still be added before the max capacity is reached
+	 */
+	int remainingCapacity() {
+		return maxCapacity - size;
+	}
+
+	/**
+	 * Append up to {@code len} bytes. If the buffer reaches its max capacity,
+	 * the remaining bytes are discarded
+	 *
+	 * @return the number of bytes actually added
+	 */
+	int write(byte[] b, int off, int len) {
+		int n = Math.min(len, maxCapacity - size);
+		if (n <= 0) {
+			return 0;
+		}
+		ensureCapacity(size + n);
+
+		int tail = (head + size) % data.length;
+		int first = Math.min(n, data.length - tail);
+		System.arraycopy(b, off, data, tail, first);
+		System.arraycopy(b, off + first, data, 0, n - first);
+		size += n;
+		return n;
+	}
+
+	/**
+	 * @return {@code false} if the buffer is full
+	 */
+	boolean write(byte b) {
+		if (size == maxCapacity) {
+			return false;
+		}
+		ensureCapacity(size + 1);
+		data[(head + size) % data.length] = b;
+		size++;
+		return true;
+	}
+
+	/**
+	 * @return the next byte as an unsigned value in [0,255], or -1 if the buffer is empty
+	 */
+	int read() {
+		if (size == 0) {
+			return -1;
+		}
+		int b = data[head] & 0xFF;
+		head = (head + 1) % data.length;
+		size--;
+		return b;
+	}
+
+	/**
+	 * Remove up to {@code len} bytes from the buffer
+	 *
+	 * @return the number of bytes copied into {@code b}, or -1 if the buffer is empty
+	 * 	and at least one byte was requested
+	 */
+	int read(byte[] b, int off, int len) {
+		if (len <= 0) {
+			return 0;
+		}
+		if (size == 0) {
+			return -1;
+		}
+		int n = Math.min(len, size);
+		int first = Math.min(n, data.length - head);
+		System.arraycopy(data, head, b, off, first);
+		System.arraycopy(data, 0, b, off + first, n - first);
+		head = (head + n) % data.length;
+		size -= n;
+		return n;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= data.length) {
+			return;
+		}
+		int newCapacity = data.length;
+		while (newCapacity < capacity) {
+			newCapacity = (int) Math.min((long) newCapacity * 2, maxCapacity);
+		}
+		byte[] copy = new byte[newCapacity];
+		int first = Math.min(size, data.length - head);
+		System.arraycopy(data, head, copy, 0, first);
+		System.arraycopy(data, 0, copy, first, size - first);
+		data = copy;
+		head = 0;
+	}
+}
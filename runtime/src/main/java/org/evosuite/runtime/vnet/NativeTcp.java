@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vnet;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.io.IOException;
 
 /**
  * Class used to simulate a bi-directional TCP socket connection between two hosts.
@@ -39,16 +38,24 @@ public class NativeTcp {
 	 * Note: actual buffer sizes can be influenced by SO_SNDBUF and SO_RCVBUF socket options.
 	 * But those are just "hints" for the OS
 	 */
+
+	/**
+	 * Max number of bytes kept in each direction of the connection. Writing
+	 * beyond it fails with an {@link IOException}, so a SUT writing in a loop
+	 * does not exhaust the memory. Blocking until the other side reads, as real
+	 * TCP would, would just make the test time out
+	 */
+	public static final int MAX_BUFFER_SIZE = 16 * 1024 * 1024;
 	
 	/**
 	 * The TCP buffer used locally by the SUT
 	 */
-	private final Queue<Byte> localBuffer;
+	private final ByteRingBuffer localBuffer;
 	
 	/**
 	 * The TCP buffer used by the EvoSuite tests to simulate a remote connection
 	 */
-	private final Queue<Byte> remoteBuffer;
+	private final ByteRingBuffer remoteBuffer;
 	
 	/**
 	 * Info on local (SUT) address/port
@@ -68,8 +75,8 @@ public class NativeTcp {
 		
 		this.localEndPoint = localEndPoint; //this can be null
 		this.remoteEndPoint = remoteEndPoint;
-		localBuffer = new ArrayDeque<>();
-		remoteBuffer = new ArrayDeque<>();
+		localBuffer = new ByteRingBuffer(MAX_BUFFER_SIZE);
+		remoteBuffer = new ByteRingBuffer(MAX_BUFFER_SIZE);
 	}
 	
 	public boolean isBound(){
@@ -87,9 +94,22 @@ public class NativeTcp {
 	/**
 	 *  Used by SUT to simulate sending of data to remote host
 	 */
-	public synchronized void writeToRemote(byte b){
+	public synchronized void writeToRemote(byte b) throws IOException{
 		//the data is directly added to remote buffer
-		remoteBuffer.add(b);
+		if(!remoteBuffer.write(b)){
+			throw bufferFull();
+		}
+	}
+
+	/**
+	 *  Bulk version of {@link #writeToRemote(byte)}. If not all the bytes fit in the buffer,
+	 *  none is written, so the other side never sees a truncated message
+	 */
+	public synchronized void writeToRemote(byte[] b, int off, int len) throws IOException{
+		if(remoteBuffer.remainingCapacity() < len){
+			throw bufferFull();
+		}
+		remoteBuffer.write(b, off, len);
 	}
 	
 	/**
@@ -100,22 +120,45 @@ public class NativeTcp {
      *   int representation
 	 */
 	public synchronized int readInSUTfromRemote(){
-		if(localBuffer.isEmpty()){
-			/*
-			 * Note: in  TCP, a read operation on a empty buffer would be blocking 
-			 */
-			return -1;  
-		}
-		
-		return localBuffer.poll() & 0xFF;
+		/*
+		 * Note: in  TCP, a read operation on a empty buffer would be blocking 
+		 */
+		return localBuffer.read();
+	}
+
+	/**
+	 * Bulk version of {@link #readInSUTfromRemote()}
+	 *
+	 * @return the number of bytes read, or -1 if there is no data to read
+	 */
+	public synchronized int readInSUTfromRemote(byte[] b, int off, int len){
+		return localBuffer.read(b, off, len);
 	}
 	
 	/**
 	 * Used by tests to simulate sending of data to the SUT opening a server connection
 	 * @param b
 	 */
-	public synchronized void writeToSUT(byte b){
-		localBuffer.add(b);
+	public synchronized void writeToSUT(byte b) throws IOException{
+		if(!localBuffer.write(b)){
+			throw bufferFull();
+		}
+	}
+
+	/**
+	 * Bulk version of {@link #writeToSUT(byte)}. If not all the bytes fit in the buffer,
+	 * none is written, so the SUT never reads a truncated message
+	 */
+	public synchronized void writeToSUT(byte[] b, int off, int len) throws IOException{
+		if(localBuffer.remainingCapacity() < len){
+			throw bufferFull();
+		}
+		localBuffer.write(b, off, len);
+	}
+
+	private static IOException bufferFull(){
+		return new IOException("Virtual TCP buffer is full: more than " + MAX_BUFFER_SIZE
+				+ " bytes were written without being read");
 	}
 		
 	/**
@@ -126,10 +169,16 @@ public class NativeTcp {
 	 * @return
 	 */
 	public synchronized int readInTestFromSUT(){
-		if(remoteBuffer.isEmpty()){
-			return -1;
-		}
-		return remoteBuffer.poll() & 0xFF;
+		return remoteBuffer.read();
+	}
+
+	/**
+	 * Bulk version of {@link #readInTestFromSUT()}
+	 *
+	 * @return the number of bytes read, or -1 if there is no data to read
+	 */
+	public synchronized int readInTestFromSUT(byte[] b, int off, int len){
+		return remoteBuffer.read(b, off, len);
 	}
 
 	/**
@@ -27,6 +27,7 @@ import java.net.URL;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -114,10 +115,16 @@ public class VirtualNetwork {
      */
     private final Map<EndPointInfo , AtomicInteger>  sentUdpPackets;
 
+    /**
+     * Max number of incoming UDP packets buffered for each SUT address/port.
+     * Further packets are dropped, as a real socket does when its receive buffer is full
+     */
+    public static final int MAX_BUFFERED_UDP_PACKETS = 1024;
+
     /**
      * key -> local address/port for SUT
      * <p>
-     * value -> queue of incoming UDP packets
+     * value -> queue of incoming UDP packets, bounded by {@link #MAX_BUFFERED_UDP_PACKETS}
      */
     private final Map<EndPointInfo , Queue<DatagramPacket>> udpPacketsToSUT;
 
@@ -312,17 +319,23 @@ public class VirtualNetwork {
         return p;
     }
 
-    public void sendPacketToSUT(byte[] data, InetAddress remoteAddress, int remotePort,  String sutAddress, int sutPort) {
+    /**
+     * Buffer a UDP packet till the SUT reads it
+     *
+     * @return {@code false} if the packet was dropped because
+     *          {@link #MAX_BUFFERED_UDP_PACKETS} packets are already buffered for the SUT address
+     */
+    public boolean sendPacketToSUT(byte[] data, InetAddress remoteAddress, int remotePort,  String sutAddress, int sutPort) {
         DatagramPacket packet = new DatagramPacket(data.clone(),data.length,remoteAddress, remotePort);
         EndPointInfo sut = new EndPointInfo(sutAddress,sutPort,ConnectionType.UDP);
 
         synchronized(udpPacketsToSUT) {
             Queue<DatagramPacket> queue = udpPacketsToSUT.get(sut);
             if(queue == null) {
-                queue = new ConcurrentLinkedQueue<>();
+                queue = new LinkedBlockingQueue<>(MAX_BUFFERED_UDP_PACKETS);
                 udpPacketsToSUT.put(sut,queue);
             }
-            queue.add(packet);
+            return queue.offer(packet);
         }
     }
 
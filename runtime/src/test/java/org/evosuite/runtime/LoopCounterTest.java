@@ -19,6 +19,8 @@
  */
 package org.evosuite.runtime;
 
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -29,6 +31,8 @@ import org.junit.Test;
  */
 public class LoopCounterTest {
 
+    private static final long DEFAULT_MAX_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
+
     @Before
     public void init() {
         LoopCounter.getInstance().reset();
@@ -36,7 +40,9 @@ public class LoopCounterTest {
 
     @After
     public void tearDown() {
+        RuntimeSettings.maxNumberOfIterationsPerLoop = DEFAULT_MAX_ITERATIONS;
         LoopCounter.getInstance().reset();
+        LoopCounter.getInstance().clearStatistics();
     }
 
     @Test(timeout = 10000)
@@ -69,4 +75,58 @@ public class LoopCounterTest {
 		LoopCounter.getInstance().checkLoop(5);
 		LoopCounter.getInstance().checkLoop(6);
     }
+
+    @Test
+    public void testBudgetExceeded() {
+        int index = LoopCounter.getInstance().getNewIndex("Foo.bar()V");
+        RuntimeSettings.maxNumberOfIterationsPerLoop = 10;
+
+        for (int i = 0; i < 9; i++) {
+            LoopCounter.checkLoopIteration(index);
+        }
+        try {
+            LoopCounter.checkLoopIteration(index);
+            Assert.fail();
+        } catch (TooManyResourcesException e) {
+            //expected
+        }
+        Assert.assertEquals(1, LoopCounter.getInstance().getNumberOfExceededBudgets());
+        Assert.assertEquals(10, LoopCounter.getInstance().getMaxIterations());
+
+        //counters are reset after a budget is exceeded
+        LoopCounter.checkLoopIteration(index);
+    }
+
+    @Test
+    public void testHottestLoops() {
+        int cold = LoopCounter.getInstance().getNewIndex("Foo.cold()V");
+        int hot = LoopCounter.getInstance().getNewIndex("Foo.hot()V");
+        for (int i = 0; i < 5; i++) {
+            LoopCounter.checkLoopIteration(hot);
+        }
+        LoopCounter.checkLoopIteration(cold);
+        LoopCounter.getInstance().reset();
+        for (int i = 0; i < 5; i++) {
+            LoopCounter.checkLoopIteration(hot);
+        }
+
+        List<String> hottest = LoopCounter.getInstance().getHottestLoops(1);
+        Assert.assertEquals(1, hottest.size());
+        Assert.assertEquals("Foo.hot()V [" + hot + "]: 10", hottest.get(0));
+        Assert.assertEquals(5, LoopCounter.getInstance().getMaxIterations());
+    }
+
+    @Test
+    public void testInactive() {
+        int index = LoopCounter.getInstance().getNewIndex();
+        RuntimeSettings.maxNumberOfIterationsPerLoop = 1;
+        LoopCounter.getInstance().setActive(false);
+        try {
+            for (int i = 0; i < 10; i++) {
+                LoopCounter.checkLoopIteration(index);
+            }
+        } finally {
+            LoopCounter.getInstance().setActive(true);
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.classhandling.ModifiedTargetStaticFields;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.classhandling.FinalWithConstant;
+import com.examples.with.different.packagename.classhandling.TimeA;
+
+public class InstrumentedBytesCacheTest {
+
+    private static final boolean DEFAULT_RESET = RuntimeSettings.resetStaticState;
+
+    @After
+    public void restore() {
+        RuntimeSettings.resetStaticState = DEFAULT_RESET;
+        InstrumentedBytesCache.getInstance().clear();
+        RemoveFinalClassAdapter.reset();
+        ModifiedTargetStaticFields.resetSingleton();
+    }
+
+    private static byte[] getBytes(Class<?> clazz) throws Exception {
+        String name = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream is = clazz.getClassLoader().getResourceAsStream(name)) {
+            return InstrumentedBytesCache.readAllBytes(is);
+        }
+    }
+
+    @Test
+    public void testSameClassIsInstrumentedOnlyOnce() throws Exception {
+        byte[] original = getBytes(TimeA.class);
+        String className = TimeA.class.getName().replace('.', '/');
+        RuntimeInstrumentation instrumentation = new RuntimeInstrumentation();
+
+        RuntimeSettings.resetStaticState = true;
+        byte[] first = instrumentation.transformBytes(null, className, original, false);
+        byte[] second = new RuntimeInstrumentation().transformBytes(null, className, original.clone(), false);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, InstrumentedBytesCache.getInstance().size());
+
+        // different settings lead to a different instrumentation
+        RuntimeSettings.resetStaticState = false;
+        byte[] third = instrumentation.transformBytes(null, className, original, false);
+        Assert.assertNotSame(first, third);
+        Assert.assertFalse(Arrays.equals(first, third));
+        Assert.assertEquals(2, InstrumentedBytesCache.getInstance().size());
+    }
+
+    @Test
+    public void testContextClassLoaderIsPartOfTheKey() throws Exception {
+        byte[] original = getBytes(TimeA.class);
+        String className = TimeA.class.getName().replace('.', '/');
+        RuntimeSettings.resetStaticState = true;
+
+        byte[] first = new RuntimeInstrumentation().transformBytes(null, className, original, false);
+
+        // the frames could differ with another classpath, so nothing is shared
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new URLClassLoader(new URL[0], contextLoader));
+        try {
+            byte[] second = new RuntimeInstrumentation().transformBytes(null, className, original, false);
+            Assert.assertNotSame(first, second);
+            Assert.assertEquals(2, InstrumentedBytesCache.getInstance().size());
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+
+        byte[] third = new RuntimeInstrumentation().transformBytes(null, className, original, false);
+        Assert.assertSame(first, third);
+    }
+
+    @Test
+    public void testSideEffectsAreReplayed() throws Exception {
+        byte[] original = getBytes(FinalWithConstant.class);
+        String className = FinalWithConstant.class.getName().replace('.', '/');
+
+        RuntimeSettings.resetStaticState = true;
+        byte[] first = new RuntimeInstrumentation().transformBytes(null, className, original, false);
+        Assert.assertTrue(RemoveFinalClassAdapter.finalClasses.contains(FinalWithConstant.class.getName()));
+        Assert.assertTrue(ModifiedTargetStaticFields.getInstance().containsField("VALUE"));
+
+        // as done when a new test generation context is created
+        RemoveFinalClassAdapter.reset();
+        ModifiedTargetStaticFields.resetSingleton();
+
+        byte[] second = new RuntimeInstrumentation().transformBytes(null, className, original, false);
+        Assert.assertSame(first, second);
+        Assert.assertTrue(RemoveFinalClassAdapter.finalClasses.contains(FinalWithConstant.class.getName()));
+        Assert.assertTrue(ModifiedTargetStaticFields.getInstance().containsField("VALUE"));
+    }
+}
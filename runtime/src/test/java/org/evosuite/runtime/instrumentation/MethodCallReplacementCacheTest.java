@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import org.evosuite.runtime.RuntimeSettings;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodCallReplacementCacheTest {
+
+    private static final boolean DEFAULT_JVM = RuntimeSettings.mockJVMNonDeterminism;
+
+    @After
+    public void restoreSettings() {
+        RuntimeSettings.mockJVMNonDeterminism = DEFAULT_JVM;
+        MethodCallReplacementCache.resetSingleton();
+    }
+
+    @Test
+    public void testTableIsNotRebuiltAfterReset() {
+        RuntimeSettings.mockJVMNonDeterminism = true;
+        MethodCallReplacementCache cache = MethodCallReplacementCache.getInstance();
+        MethodCallReplacementCache.resetSingleton();
+        Assert.assertSame(cache, MethodCallReplacementCache.getInstance());
+    }
+
+    @Test
+    public void testLookup() {
+        RuntimeSettings.mockJVMNonDeterminism = true;
+        MethodCallReplacementCache cache = MethodCallReplacementCache.getInstance();
+
+        MethodCallReplacement replacement = cache.getReplacementCall("java/lang/System", "currentTimeMillis", "()J");
+        Assert.assertNotNull(replacement);
+        Assert.assertSame(replacement, cache.getReplacementCall("java/lang/System", "currentTimeMillis()J"));
+        Assert.assertTrue(cache.hasReplacementCall("java/lang/System", "currentTimeMillis()J"));
+
+        Assert.assertNull(cache.getReplacementCall("java/lang/System", "currentTimeMillis", "()I"));
+        Assert.assertNull(cache.getReplacementCall("java/lang/Foo", "currentTimeMillis", "()J"));
+        Assert.assertFalse(cache.hasSpecialReplacementCall("java/lang/Foo", "<init>()V"));
+    }
+
+    @Test
+    public void testSwitchesTableWhenSettingsChange() {
+        RuntimeSettings.mockJVMNonDeterminism = true;
+        MethodCallReplacementCache withMocks = MethodCallReplacementCache.getInstance();
+
+        RuntimeSettings.mockJVMNonDeterminism = false;
+        MethodCallReplacementCache withoutMocks = MethodCallReplacementCache.getInstance();
+        Assert.assertNotSame(withMocks, withoutMocks);
+        Assert.assertNull(withoutMocks.getReplacementCall("java/lang/System", "currentTimeMillis", "()J"));
+
+        RuntimeSettings.mockJVMNonDeterminism = true;
+        Assert.assertSame(withMocks, MethodCallReplacementCache.getInstance());
+    }
+}
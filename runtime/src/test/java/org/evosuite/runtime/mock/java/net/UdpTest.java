@@ -86,6 +86,23 @@ public class UdpTest {
         Assert.assertEquals(42, received[0]);
     }
 
+    @Test
+    public void testReceiveTruncatedToPacketLength() throws Exception {
+        int port = 12345;
+        String host = "127.0.0.1";
+        MockDatagramSocket socket = new MockDatagramSocket(port, InetAddress.getByName(host));
+
+        NetworkHandling.sendUdpPacket(new EvoSuiteLocalAddress(host,port),new byte[]{1,2,3,4});
+
+        //the buffer is larger than the length the packet can receive
+        byte[] buffer = new byte[10];
+        DatagramPacket p = new DatagramPacket(buffer,1,2);
+        socket.receive(p);
+
+        Assert.assertEquals(2, p.getLength());
+        Assert.assertArrayEquals(new byte[]{0,1,2,0,0,0,0,0,0,0}, buffer);
+    }
+
     @Test
     public void testNonBlockingRead() throws Exception{
         int port = 12345;
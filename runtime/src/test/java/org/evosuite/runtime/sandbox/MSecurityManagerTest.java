@@ -347,4 +347,30 @@ public class MSecurityManagerTest {
 	}
 	
 	
+	@Test
+	public void testRepeatedDecisionsAreStillCounted() throws InterruptedException, ExecutionException, TimeoutException{
+
+		final java.security.Permission denied = new java.sql.SQLPermission("setLog");
+		int before = PermissionStatistics.getInstance().getPermissionDeniedCount(denied);
+
+		Future<?> future = executor.submit(new Runnable(){
+			@Override
+			public void run() {
+				for(int i=0; i<3; i++){
+					try{
+						System.getSecurityManager().checkPermission(denied);
+						Assert.fail();
+					} catch(SecurityException e){
+						//expected
+					}
+					//decision on an allowed permission should not change when repeated either
+					System.getSecurityManager().checkPermission(new java.lang.reflect.ReflectPermission("suppressAccessChecks"));
+				}
+			}
+		});
+		future.get(1000, TimeUnit.MILLISECONDS);
+
+		Assert.assertEquals(before + 3, PermissionStatistics.getInstance().getPermissionDeniedCount(denied));
+	}
+
 }
@@ -24,6 +24,7 @@ import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.mock.java.net.MockDatagramSocket;
 import org.evosuite.runtime.mock.java.net.MockInetAddress;
 import org.evosuite.runtime.mock.java.net.MockURL;
+import org.evosuite.runtime.vnet.NativeTcp;
 import org.evosuite.runtime.vnet.VirtualNetwork;
 import org.junit.After;
 import org.junit.Assert;
@@ -66,6 +67,34 @@ public class NetworkHandlingTest {
         Assert.assertNotNull(socket);
     }
 
+    @Test
+    public void testTooLargeDataOnTcpOpensNoConnection(){
+
+        EvoSuiteLocalAddress addr = new EvoSuiteLocalAddress("127.42.42.42",42);
+        Assert.assertFalse(NetworkHandling.sendDataOnTcp(addr, new byte[NativeTcp.MAX_BUFFER_SIZE + 1]));
+        Assert.assertNull(VirtualNetwork.getInstance().pullTcpConnection(addr.getHost(), addr.getPort()));
+
+        Assert.assertTrue(NetworkHandling.sendDataOnTcp(addr, new byte[NativeTcp.MAX_BUFFER_SIZE]));
+        NativeTcp connection = VirtualNetwork.getInstance().pullTcpConnection(addr.getHost(), addr.getPort());
+        Assert.assertEquals(NativeTcp.MAX_BUFFER_SIZE, connection.getAmountOfDataInLocalBuffer());
+    }
+
+    @Test
+    public void testUdpPacketsAreDroppedWhenTooManyAreBuffered(){
+
+        EvoSuiteLocalAddress sut = new EvoSuiteLocalAddress("127.42.42.42",42);
+        EvoSuiteRemoteAddress remote = new EvoSuiteRemoteAddress("127.62.62.62",62);
+
+        for(int i=0; i<VirtualNetwork.MAX_BUFFERED_UDP_PACKETS; i++){
+            Assert.assertTrue(NetworkHandling.sendUdpPacket(sut, remote, new byte[]{(byte) i}));
+        }
+        Assert.assertFalse(NetworkHandling.sendUdpPacket(sut, remote, new byte[]{42}));
+
+        //once the SUT reads a packet, there is room again
+        Assert.assertNotNull(VirtualNetwork.getInstance().pullUdpPacket(sut.getHost(), sut.getPort()));
+        Assert.assertTrue(NetworkHandling.sendUdpPacket(sut, remote, new byte[]{42}));
+    }
+
     @Test (timeout = 500)
     public void testSendUdp() throws  Exception{
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IdentityHashCodeRegistryTest {
+
+    @Test
+    public void testIdsFollowRegistrationOrder() {
+        IdentityHashCodeRegistry registry = new IdentityHashCodeRegistry();
+        Object a = new Object();
+        Object b = new Object();
+
+        Assert.assertEquals(1, registry.getId(a));
+        Assert.assertEquals(2, registry.getId(b));
+        Assert.assertEquals(1, registry.getId(a));
+        Assert.assertEquals(2, registry.getId(b));
+
+        registry.clear();
+        Assert.assertEquals(1, registry.getId(b));
+    }
+
+    @Test
+    public void testManyObjects() {
+        IdentityHashCodeRegistry registry = new IdentityHashCodeRegistry();
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            Object o = new Object();
+            objects.add(o);
+            Assert.assertEquals(i + 1, registry.getId(o));
+        }
+        // every object has its own id, even when real identity hashes collide
+        for (int i = 0; i < objects.size(); i++) {
+            Assert.assertEquals(i + 1, registry.getId(objects.get(i)));
+        }
+        Assert.assertEquals(objects.size(), registry.size());
+    }
+
+    @Test
+    public void testEqualObjectsGetDifferentIds() {
+        IdentityHashCodeRegistry registry = new IdentityHashCodeRegistry();
+        String a = new String("foo");
+        String b = new String("foo");
+        Assert.assertNotEquals(registry.getId(a), registry.getId(b));
+    }
+}
@@ -129,6 +129,36 @@ public class VirtualFileSystemTest {
 		Assert.assertEquals(0,buffer[2]);
 		Assert.assertEquals(0,buffer[3]);
 	}
+
+	@Test
+	public void testBulkReadWriteOfLargeFile() throws IOException{
+
+		File file = MockFile.createTempFile("large", ".tmp");
+
+		byte[] data = new byte[100_000];
+		for(int i=0; i<data.length; i++){
+			data[i] = (byte) i;
+		}
+		MockFileOutputStream out = new MockFileOutputStream(file);
+		out.write(data, 0, 60_000);
+		out.write(data, 60_000, data.length - 60_000);
+		out.close();
+		Assert.assertEquals(data.length, file.length());
+
+		MockFileInputStream in = new MockFileInputStream(file);
+		byte[] buffer = new byte[data.length + 10];
+		int count = 0;
+		int read;
+		while((read = in.read(buffer, count, buffer.length - count)) > 0){
+			count += read;
+		}
+		Assert.assertEquals(-1, in.read(buffer, 0, 1));
+		Assert.assertEquals(0, in.available());
+		in.close();
+
+		Assert.assertEquals(data.length, count);
+		Assert.assertArrayEquals(data, Arrays.copyOf(buffer, count));
+	}
 	
 	@Test
 	public void testReadingNonExistingFile() throws IOException{
@@ -253,4 +283,32 @@ public class VirtualFileSystemTest {
 		Assert.assertFalse(folder.exists());		
 	}
 
+	@Test
+	public void testListAndLookupAfterChanges() throws IOException{
+
+		MockFile folder = new MockFile("walk");
+		Assert.assertTrue(folder.mkdirs());
+		MockFile a = new MockFile(folder, "a");
+		MockFile b = new MockFile(folder, "b");
+		Assert.assertTrue(a.createNewFile());
+		Assert.assertTrue(b.createNewFile());
+		// creating an existing folder again should not duplicate it
+		Assert.assertTrue(VirtualFileSystem.getInstance().createFolder(folder.getAbsolutePath()));
+		Assert.assertArrayEquals(new String[]{"a", "b"}, folder.list());
+
+		Assert.assertTrue(a.exists());
+		Assert.assertTrue(a.delete());
+		Assert.assertFalse(a.exists());
+		Assert.assertArrayEquals(new String[]{"b"}, folder.list());
+
+		MockFile c = new MockFile(folder, "c");
+		Assert.assertTrue(b.renameTo(c));
+		Assert.assertFalse(b.exists());
+		Assert.assertTrue(c.exists());
+		Assert.assertArrayEquals(new String[]{"c"}, folder.list());
+
+		Assert.assertTrue(a.createNewFile());
+		Assert.assertTrue(a.exists());
+	}
+
 }
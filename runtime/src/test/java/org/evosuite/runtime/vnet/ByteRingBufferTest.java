@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vnet;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteRingBufferTest {
+
+	@Test
+	public void testSingleBytes(){
+		ByteRingBuffer buffer = new ByteRingBuffer(10);
+		Assert.assertEquals(-1, buffer.read());
+
+		Assert.assertTrue(buffer.write((byte) -1));
+		Assert.assertTrue(buffer.write((byte) 42));
+		Assert.assertEquals(2, buffer.size());
+		Assert.assertEquals(255, buffer.read());
+		Assert.assertEquals(42, buffer.read());
+		Assert.assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void testBulkWithWrapAroundAndGrowth(){
+		ByteRingBuffer buffer = new ByteRingBuffer(100_000);
+		byte[] data = new byte[1000];
+		for(int i=0; i<data.length; i++){
+			data[i] = (byte) i;
+		}
+
+		byte[] read = new byte[data.length];
+		for(int i=0; i<50; i++){
+			// leave some bytes in the buffer, so that reads and writes wrap around
+			Assert.assertEquals(700, buffer.write(data, 0, 700));
+			Assert.assertEquals(300, buffer.write(data, 700, 300));
+			Assert.assertEquals(data.length, buffer.read(read, 0, read.length));
+			Assert.assertArrayEquals(data, read);
+		}
+
+		Assert.assertEquals(data.length, buffer.write(data, 0, data.length));
+		Assert.assertEquals(data.length, buffer.write(data, 0, data.length));
+		Assert.assertEquals(2 * data.length, buffer.size());
+		byte[] all = new byte[3 * data.length];
+		Assert.assertEquals(2 * data.length, buffer.read(all, 0, all.length));
+		Assert.assertArrayEquals(data, Arrays.copyOfRange(all, data.length, 2 * data.length));
+		Assert.assertEquals(-1, buffer.read(all, 0, all.length));
+	}
+
+	@Test
+	public void testMaxCapacity(){
+		ByteRingBuffer buffer = new ByteRingBuffer(4);
+		Assert.assertEquals(4, buffer.write(new byte[]{1,2,3,4,5,6}, 0, 6));
+		Assert.assertFalse(buffer.write((byte) 7));
+		Assert.assertEquals(1, buffer.read());
+		Assert.assertTrue(buffer.write((byte) 7));
+
+		byte[] read = new byte[4];
+		Assert.assertEquals(4, buffer.read(read, 0, 4));
+		Assert.assertArrayEquals(new byte[]{2,3,4,7}, read);
+	}
+}
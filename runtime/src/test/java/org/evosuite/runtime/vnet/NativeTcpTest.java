@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vnet;
+
+import java.io.IOException;
+
+import org.evosuite.runtime.vnet.VirtualNetwork.ConnectionType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NativeTcpTest {
+
+	private static NativeTcp createConnection(){
+		return new NativeTcp(new EndPointInfo("127.0.0.1", 42, ConnectionType.TCP),
+				new EndPointInfo("127.0.0.2", 4242, ConnectionType.TCP));
+	}
+
+	@Test
+	public void testFullBufferFails() throws IOException {
+		NativeTcp tcp = createConnection();
+		byte[] data = new byte[NativeTcp.MAX_BUFFER_SIZE];
+		tcp.writeToRemote(data, 0, data.length);
+
+		try {
+			tcp.writeToRemote((byte) 1);
+			Assert.fail();
+		} catch (IOException e) {
+			//expected
+		}
+		try {
+			tcp.writeToRemote(new byte[]{1, 2}, 0, 2);
+			Assert.fail();
+		} catch (IOException e) {
+			//expected
+		}
+		Assert.assertEquals(NativeTcp.MAX_BUFFER_SIZE, tcp.getAmountOfDataInRemoteBuffer());
+
+		//once some data is read, there is room again
+		Assert.assertEquals(0, tcp.readInTestFromSUT());
+		tcp.writeToRemote((byte) 1);
+		Assert.assertEquals(NativeTcp.MAX_BUFFER_SIZE, tcp.getAmountOfDataInRemoteBuffer());
+	}
+
+	@Test
+	public void testBulkWriteToSUTIsAllOrNothing() throws IOException {
+		NativeTcp tcp = createConnection();
+		byte[] data = new byte[NativeTcp.MAX_BUFFER_SIZE - 1];
+		tcp.writeToSUT(data, 0, data.length);
+
+		try {
+			tcp.writeToSUT(new byte[]{1, 2, 3}, 0, 3);
+			Assert.fail();
+		} catch (IOException e) {
+			//expected
+		}
+		//no partial message is left in the buffer
+		Assert.assertEquals(NativeTcp.MAX_BUFFER_SIZE - 1, tcp.getAmountOfDataInLocalBuffer());
+
+		tcp.writeToSUT(new byte[]{1}, 0, 1);
+		Assert.assertEquals(NativeTcp.MAX_BUFFER_SIZE, tcp.getAmountOfDataInLocalBuffer());
+	}
+}